@@ -0,0 +1,101 @@
+/*
+*  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.ballerinalang.benchmarks;
+
+import org.ballerinalang.compiler.CompilerPhase;
+import org.ballerinalang.launcher.LauncherUtils;
+import org.ballerinalang.util.codegen.ProgramFile;
+import org.ballerinalang.util.diagnostic.Diagnostic;
+import org.ballerinalang.util.diagnostic.DiagnosticListener;
+import org.wso2.ballerinalang.compiler.Compiler;
+import org.wso2.ballerinalang.compiler.util.CompilerContext;
+import org.wso2.ballerinalang.compiler.util.CompilerOptions;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+import static org.ballerinalang.compiler.CompilerOptionName.COMPILER_PHASE;
+import static org.ballerinalang.compiler.CompilerOptionName.PRESERVE_WHITESPACE;
+import static org.ballerinalang.compiler.CompilerOptionName.SOURCE_ROOT;
+
+/**
+ * Utilities to compile the Ballerina programs of the benchmarks.
+ *
+ * @since 0.95
+ */
+public class BenchmarkUtils {
+
+    private static final String BENCHMARK_SOURCE_DIR = "benchmarks/";
+
+    private BenchmarkUtils() {
+    }
+
+    /**
+     * Compile a Ballerina source file packaged with the benchmarks.
+     *
+     * @param sourceFileName name of the source file in the benchmarks resource directory
+     * @return compiled program
+     * @throws IOException if the source file cannot be read
+     */
+    public static org.wso2.ballerinalang.programfile.ProgramFile compile(String sourceFileName) throws IOException {
+        Path sourceRoot = Files.createTempDirectory("ballerina-benchmarks");
+        Path sourcePath = sourceRoot.resolve(sourceFileName);
+        try (InputStream sourceStream = BenchmarkUtils.class.getClassLoader()
+                .getResourceAsStream(BENCHMARK_SOURCE_DIR + sourceFileName)) {
+            if (sourceStream == null) {
+                throw new IllegalArgumentException("benchmark source not found: " + sourceFileName);
+            }
+            Files.copy(sourceStream, sourcePath, StandardCopyOption.REPLACE_EXISTING);
+        }
+
+        try {
+            CompilerContext context = new CompilerContext();
+            CompilerOptions options = CompilerOptions.getInstance(context);
+            options.put(SOURCE_ROOT, sourceRoot.toString());
+            options.put(COMPILER_PHASE, CompilerPhase.CODE_GEN.toString());
+            options.put(PRESERVE_WHITESPACE, "false");
+            context.put(DiagnosticListener.class, (DiagnosticListener) diagnostic -> {
+                if (diagnostic.getKind() == Diagnostic.Kind.ERROR) {
+                    throw new IllegalStateException("error while compiling " + sourceFileName + ":" +
+                            diagnostic.getPosition().getStartLine() + ": " + diagnostic.getMessage());
+                }
+            });
+
+            Compiler compiler = Compiler.getInstance(context);
+            compiler.compile(sourceFileName);
+            return compiler.getCompiledProgram();
+        } finally {
+            Files.deleteIfExists(sourcePath);
+            Files.deleteIfExists(sourceRoot);
+        }
+    }
+
+    /**
+     * Compile a Ballerina source file packaged with the benchmarks, in to an executable program.
+     *
+     * @param sourceFileName name of the source file in the benchmarks resource directory
+     * @return executable program
+     * @throws IOException if the source file cannot be read
+     */
+    public static ProgramFile compileExecutable(String sourceFileName) throws IOException {
+        return LauncherUtils.getExecutableProgram(compile(sourceFileName));
+    }
+}
@@ -0,0 +1,147 @@
+/*
+*  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.ballerinalang.benchmarks.conversion;
+
+import org.ballerinalang.model.util.JSONUtils;
+import org.ballerinalang.model.util.XMLUtils;
+import org.ballerinalang.model.values.BInteger;
+import org.ballerinalang.model.values.BJSON;
+import org.ballerinalang.model.values.BMap;
+import org.ballerinalang.model.values.BString;
+import org.ballerinalang.model.values.BValue;
+import org.ballerinalang.model.values.BXML;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayOutputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of parsing JSON and XML, and of the conversions of {@link JSONUtils} and {@link XMLUtils}, over
+ * documents of a given number of records. The cast benchmarks measure the conversions of the xml and json type
+ * casts, both when the result is accessed and when it is only written out.
+ *
+ * @since 0.95
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ConversionBenchmark {
+
+    private static final String ATTRIBUTE_PREFIX = "@";
+    private static final String ARRAY_ENTRY_TAG = "item";
+
+    @Param({"10", "1000"})
+    private int records;
+
+    private String jsonString;
+    private String xmlString;
+    private BJSON json;
+    private BXML xml;
+    private BMap<String, BValue> map;
+    private ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+    @Setup
+    public void setup() {
+        StringBuilder jsonBuilder = new StringBuilder("{\"orders\":{\"order\":[");
+        StringBuilder xmlBuilder = new StringBuilder("<orders>");
+        map = new BMap<>();
+        for (int i = 0; i < records; i++) {
+            if (i > 0) {
+                jsonBuilder.append(',');
+            }
+            jsonBuilder.append("{\"id\":").append(i).append(",\"item\":\"item").append(i)
+                    .append("\",\"price\":").append(i * 1.5).append(",\"shipped\":").append(i % 2 == 0).append('}');
+            xmlBuilder.append("<order id=\"").append(i).append("\"><item>item").append(i).append("</item><price>")
+                    .append(i * 1.5).append("</price><shipped>").append(i % 2 == 0).append("</shipped></order>");
+            map.put("key" + i, i % 2 == 0 ? new BInteger(i) : new BString("value" + i));
+        }
+        jsonString = jsonBuilder.append("]}}").toString();
+        xmlString = xmlBuilder.append("</orders>").toString();
+
+        json = new BJSON(jsonString);
+        json.value();
+        xml = XMLUtils.parse(xmlString);
+    }
+
+    @Benchmark
+    public Object jsonParse() {
+        return new BJSON(jsonString).value();
+    }
+
+    @Benchmark
+    public String jsonSerialize() {
+        return json.stringValue();
+    }
+
+    @Benchmark
+    public BXML jsonToXML() {
+        return JSONUtils.convertToXML(json, ATTRIBUTE_PREFIX, ARRAY_ENTRY_TAG);
+    }
+
+    @Benchmark
+    public BJSON mapToJSON() {
+        return JSONUtils.convertMapToJSON(map);
+    }
+
+    @Benchmark
+    public BXML xmlParse() {
+        return XMLUtils.parse(xmlString);
+    }
+
+    @Benchmark
+    public String xmlSerialize() {
+        return xml.stringValue();
+    }
+
+    @Benchmark
+    public BJSON xmlToJSON() {
+        return XMLUtils.convertToJSON(xml, ATTRIBUTE_PREFIX, true);
+    }
+
+    @Benchmark
+    public Object xmlCastToJSON() {
+        return XMLUtils.toJSON(xml).value();
+    }
+
+    @Benchmark
+    public int xmlCastToJSONAndWrite() {
+        outputStream.reset();
+        BJSON result = XMLUtils.toJSON(xml);
+        result.setOutputStream(outputStream);
+        result.serializeData();
+        return outputStream.size();
+    }
+
+    @Benchmark
+    public BXML jsonCastToXML() {
+        return XMLUtils.jsonToXML(json);
+    }
+}
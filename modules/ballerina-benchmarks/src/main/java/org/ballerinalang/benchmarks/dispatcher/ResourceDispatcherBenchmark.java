@@ -0,0 +1,177 @@
+/*
+*  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.ballerinalang.benchmarks.dispatcher;
+
+import io.netty.handler.codec.http.DefaultHttpRequest;
+import io.netty.handler.codec.http.HttpMethod;
+import io.netty.handler.codec.http.HttpVersion;
+import org.ballerinalang.connector.api.Annotation;
+import org.ballerinalang.connector.api.ParamDetail;
+import org.ballerinalang.connector.api.Resource;
+import org.ballerinalang.connector.api.Service;
+import org.ballerinalang.net.http.Constants;
+import org.ballerinalang.net.http.HTTPResourceDispatcher;
+import org.ballerinalang.net.http.HttpService;
+import org.ballerinalang.net.uri.URITemplateException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.wso2.carbon.transport.http.netty.message.HTTPCarbonMessage;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of {@link HTTPResourceDispatcher#findResource} over services with a given number of resources.
+ * <p>
+ * Resources are parsed in to the URI template of an in-memory service, as the HTTP server connector does when a
+ * service is registered, so no listener is started.
+ *
+ * @since 0.95
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ResourceDispatcherBenchmark {
+
+    @Param({"10", "100", "1000"})
+    private int resourceCount;
+
+    private HttpService service;
+    private HTTPCarbonMessage firstResourceRequest;
+    private HTTPCarbonMessage lastResourceRequest;
+    private HTTPCarbonMessage nestedResourceRequest;
+
+    @Setup
+    public void setup() throws URITemplateException {
+        Resource[] resources = new Resource[resourceCount * 2];
+        for (int i = 0; i < resourceCount; i++) {
+            resources[i * 2] = new BenchmarkResource("resource" + i);
+            resources[i * 2 + 1] = new BenchmarkResource("nested" + i);
+        }
+        service = new HttpService(new BenchmarkService(resources));
+        for (int i = 0; i < resourceCount; i++) {
+            service.getUriTemplate().parse("/resource" + i + "/{id}", resources[i * 2]);
+            service.getUriTemplate().parse("/catalog/category" + i + "/items/{itemId}/*", resources[i * 2 + 1]);
+        }
+
+        firstResourceRequest = createRequest("/resource0/100");
+        lastResourceRequest = createRequest("/resource" + (resourceCount - 1) + "/100");
+        nestedResourceRequest = createRequest("/catalog/category" + (resourceCount / 2) + "/items/100/details");
+    }
+
+    @Benchmark
+    public Resource findFirstResource() {
+        return HTTPResourceDispatcher.findResource(service, firstResourceRequest);
+    }
+
+    @Benchmark
+    public Resource findLastResource() {
+        return HTTPResourceDispatcher.findResource(service, lastResourceRequest);
+    }
+
+    @Benchmark
+    public Resource findNestedResource() {
+        return HTTPResourceDispatcher.findResource(service, nestedResourceRequest);
+    }
+
+    private static HTTPCarbonMessage createRequest(String subPath) {
+        HTTPCarbonMessage request = new HTTPCarbonMessage(
+                new DefaultHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.GET, subPath));
+        request.setProperty(Constants.HTTP_METHOD, Constants.HTTP_METHOD_GET);
+        request.setProperty(Constants.SUB_PATH, subPath);
+        request.setProperty(org.wso2.carbon.messaging.Constants.TO, subPath);
+        return request;
+    }
+
+    /**
+     * Service without annotations, deployed on the default base path.
+     */
+    private static class BenchmarkService implements Service {
+
+        private final Resource[] resources;
+
+        private BenchmarkService(Resource[] resources) {
+            this.resources = resources;
+        }
+
+        @Override
+        public String getName() {
+            return "BenchmarkService";
+        }
+
+        @Override
+        public String getPackage() {
+            return ".";
+        }
+
+        @Override
+        public Annotation getAnnotation(String pkgPath, String name) {
+            return null;
+        }
+
+        @Override
+        public Resource[] getResources() {
+            return resources;
+        }
+    }
+
+    /**
+     * Resource without annotations, which accepts any HTTP method.
+     */
+    private static class BenchmarkResource implements Resource {
+
+        private final String name;
+
+        private BenchmarkResource(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public String getServiceName() {
+            return "BenchmarkService";
+        }
+
+        @Override
+        public Annotation getAnnotation(String pkgPath, String name) {
+            return null;
+        }
+
+        @Override
+        public List<ParamDetail> getParamDetails() {
+            return Collections.emptyList();
+        }
+    }
+}
@@ -0,0 +1,214 @@
+/*
+*  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.ballerinalang.benchmarks.parser;
+
+import org.ballerinalang.model.elements.PackageID;
+import org.ballerinalang.repository.PackageRepository;
+import org.ballerinalang.repository.PackageSource;
+import org.ballerinalang.repository.PackageSourceEntry;
+import org.ballerinalang.util.diagnostic.DiagnosticListener;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.wso2.ballerinalang.compiler.parser.BLangParserException;
+import org.wso2.ballerinalang.compiler.parser.Parser;
+import org.wso2.ballerinalang.compiler.parser.PredictionCache;
+import org.wso2.ballerinalang.compiler.tree.BLangPackage;
+import org.wso2.ballerinalang.compiler.util.CompilerContext;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Benchmarks of the parse throughput of the compiler.
+ * <p>
+ * Each benchmark parses all the Ballerina sources without syntax errors found in the directories of the
+ * {@value #SOURCE_DIRS_PROPERTY} system property, by default the samples and the test sources of the repository. The
+ * sources are read in to memory up front, so only the lexer, the parser and the model building are measured.
+ * {@code parse} measures the two-stage parse with warmed up prediction caches, {@code parseColdCache} the same with
+ * the caches cleared before each pass, and {@code parseFullLL} the single-stage LL parse.
+ *
+ * @since 0.95
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ParserBenchmark {
+
+    public static final String SOURCE_DIRS_PROPERTY = "ballerina.benchmarks.parser.sourceDirs";
+    private static final String DEFAULT_SOURCE_DIRS = "../../samples,../ballerina-test/src/test/resources/test-src";
+    private static final DiagnosticListener IGNORING_LISTENER = diagnostic -> { };
+
+    private PackageSource sources;
+    private Parser parser;
+
+    @Setup
+    public void setup() throws IOException {
+        List<PackageSourceEntry> entries = new ArrayList<>();
+        for (String sourceDir : System.getProperty(SOURCE_DIRS_PROPERTY, DEFAULT_SOURCE_DIRS).split(",")) {
+            for (Path sourcePath : findSources(Paths.get(sourceDir))) {
+                MemorySourceEntry entry = new MemorySourceEntry(sourcePath.toString(), Files.readAllBytes(sourcePath));
+                if (isValid(entry)) {
+                    entries.add(entry);
+                }
+            }
+        }
+        if (entries.isEmpty()) {
+            throw new IllegalStateException("no ballerina sources found in: " +
+                    System.getProperty(SOURCE_DIRS_PROPERTY, DEFAULT_SOURCE_DIRS));
+        }
+
+        sources = new MemorySource(entries);
+        parser = createParser();
+    }
+
+    @Benchmark
+    public BLangPackage parse() {
+        return parser.parse(sources, false);
+    }
+
+    @Benchmark
+    public BLangPackage parseColdCache() {
+        PredictionCache.getInstance().clear();
+        return parser.parse(sources, false);
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = "-D" + Parser.TWO_STAGE_PARSING_PROPERTY + "=false")
+    public BLangPackage parseFullLL() {
+        return parser.parse(sources, false);
+    }
+
+    private static List<Path> findSources(Path sourceDir) throws IOException {
+        if (!Files.isDirectory(sourceDir)) {
+            return new ArrayList<>();
+        }
+        try (Stream<Path> paths = Files.walk(sourceDir)) {
+            return paths.filter(path -> path.toString().endsWith(".bal")).sorted().collect(Collectors.toList());
+        }
+    }
+
+    private static boolean isValid(MemorySourceEntry entry) {
+        // Sources with syntax errors are left out, as the parser stops at the end of a package with errors
+        List<PackageSourceEntry> entries = new ArrayList<>();
+        entries.add(entry);
+        try {
+            createParser().parse(new MemorySource(entries), false);
+            return true;
+        } catch (BLangParserException e) {
+            return false;
+        }
+    }
+
+    private static Parser createParser() {
+        CompilerContext context = new CompilerContext();
+        context.put(DiagnosticListener.class, IGNORING_LISTENER);
+        return Parser.getInstance(context);
+    }
+
+    /**
+     * A package of the sources read in to memory.
+     */
+    private static class MemorySource implements PackageSource {
+        private final List<PackageSourceEntry> entries;
+
+        MemorySource(List<PackageSourceEntry> entries) {
+            this.entries = entries;
+        }
+
+        @Override
+        public PackageID getPackageId() {
+            return PackageID.DEFAULT;
+        }
+
+        @Override
+        public List<String> getEntryNames() {
+            return entries.stream().map(PackageSourceEntry::getEntryName).collect(Collectors.toList());
+        }
+
+        @Override
+        public PackageSourceEntry getPackageSourceEntry(String name) {
+            return entries.stream().filter(entry -> entry.getEntryName().equals(name)).findFirst().orElse(null);
+        }
+
+        @Override
+        public List<PackageSourceEntry> getPackageSourceEntries() {
+            return entries;
+        }
+
+        @Override
+        public Kind getKind() {
+            return Kind.SOURCE;
+        }
+
+        @Override
+        public String getName() {
+            return PackageID.DEFAULT.getName().getValue();
+        }
+
+        @Override
+        public PackageRepository getPackageRepository() {
+            return null;
+        }
+    }
+
+    /**
+     * A source read in to memory.
+     */
+    private static class MemorySourceEntry implements PackageSourceEntry {
+        private final String name;
+        private final byte[] code;
+
+        MemorySourceEntry(String name, byte[] code) {
+            this.name = name;
+            this.code = code;
+        }
+
+        @Override
+        public PackageID getPackageID() {
+            return PackageID.DEFAULT;
+        }
+
+        @Override
+        public String getEntryName() {
+            return name;
+        }
+
+        @Override
+        public byte[] getCode() {
+            return code;
+        }
+    }
+}
@@ -0,0 +1,98 @@
+/*
+*  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.ballerinalang.benchmarks.programfile;
+
+import org.ballerinalang.benchmarks.BenchmarkUtils;
+import org.ballerinalang.model.values.BInteger;
+import org.ballerinalang.model.values.BValue;
+import org.ballerinalang.util.codegen.ProgramFile;
+import org.ballerinalang.util.codegen.ProgramFileReader;
+import org.ballerinalang.util.program.BLangFunctions;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.wso2.ballerinalang.programfile.ProgramFileWriter;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of loading a program file, which is the startup cost of running a program.
+ * <p>
+ * A program file read from a path is memory mapped and its code is decoded on first use, while a program file read
+ * from a stream is decoded eagerly.
+ *
+ * @since 0.95
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ProgramFileReaderBenchmark {
+
+    private Path programFilePath;
+
+    @Setup
+    public void setup() throws IOException {
+        programFilePath = Files.createTempFile("vm-benchmark", ".balx");
+        ProgramFileWriter.writeProgram(BenchmarkUtils.compile("vm-benchmark.bal"), programFilePath);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(programFilePath);
+    }
+
+    @Benchmark
+    public ProgramFile readMapped() throws IOException {
+        return new ProgramFileReader().readProgram(programFilePath);
+    }
+
+    @Benchmark
+    public ProgramFile readStream() throws IOException {
+        try (InputStream programInStream = new BufferedInputStream(Files.newInputStream(programFilePath))) {
+            return new ProgramFileReader().readProgram(programInStream);
+        }
+    }
+
+    @Benchmark
+    public BValue[] readMappedAndInvoke() throws IOException {
+        ProgramFile programFile = new ProgramFileReader().readProgram(programFilePath);
+        return BLangFunctions.invokeNew(programFile, "add", new BValue[]{new BInteger(1), new BInteger(2)});
+    }
+
+    @Benchmark
+    public BValue[] readStreamAndInvoke() throws IOException {
+        ProgramFile programFile = readStream();
+        return BLangFunctions.invokeNew(programFile, "add", new BValue[]{new BInteger(1), new BInteger(2)});
+    }
+}
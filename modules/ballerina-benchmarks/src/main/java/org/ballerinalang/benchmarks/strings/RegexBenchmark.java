@@ -0,0 +1,99 @@
+/*
+*  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.ballerinalang.benchmarks.strings;
+
+import org.ballerinalang.nativeimpl.lang.utils.PatternCache;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Benchmarks of the regular expression natives of ballerina.lang.strings, comparing compiling the pattern on every
+ * call, as {@link String#replaceAll} does, with the shared {@link PatternCache} and with a pattern compiled once.
+ * The benchmarks run on several threads, the same as the natives called by concurrent requests.
+ *
+ * @since 0.95
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Threads(4)
+@Fork(1)
+public class RegexBenchmark {
+
+    private static final String LOG_LINE = "2017-10-18 10:15:32,517 INFO  [org.ballerinalang.net.http] - " +
+            "request GET /orders/1234?expand=items served in 12ms";
+    private static final String MASK_REGEX = "[0-9]{4}";
+    private static final String SPLIT_REGEX = "\\s+";
+    private static final String LOG_REGEX = "^([0-9-]+) ([0-9:,]+) ([A-Z]+) +\\[([^\\]]+)\\] - (.*)$";
+
+    private final Pattern logPattern = Pattern.compile(LOG_REGEX);
+
+    @Benchmark
+    public String replaceAllUncached() {
+        return LOG_LINE.replaceAll(MASK_REGEX, "****");
+    }
+
+    @Benchmark
+    public String replaceAllCached() {
+        return PatternCache.getInstance().get(MASK_REGEX).matcher(LOG_LINE).replaceAll("****");
+    }
+
+    @Benchmark
+    public String[] splitUncached() {
+        return LOG_LINE.split(SPLIT_REGEX);
+    }
+
+    @Benchmark
+    public String[] splitCached() {
+        return PatternCache.getInstance().get(SPLIT_REGEX).split(LOG_LINE);
+    }
+
+    @Benchmark
+    public String findGroupsUncached() {
+        return findLevel(Pattern.compile(LOG_REGEX));
+    }
+
+    @Benchmark
+    public String findGroupsCached() {
+        return findLevel(PatternCache.getInstance().get(LOG_REGEX));
+    }
+
+    @Benchmark
+    public String findGroupsCompiled() {
+        return findLevel(logPattern);
+    }
+
+    private static String findLevel(Pattern pattern) {
+        Matcher matcher = pattern.matcher(LOG_LINE);
+        return matcher.find() ? matcher.group(3) : null;
+    }
+}
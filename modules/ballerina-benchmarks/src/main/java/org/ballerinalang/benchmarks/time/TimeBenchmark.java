@@ -0,0 +1,93 @@
+/*
+*  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.ballerinalang.benchmarks.time;
+
+import org.ballerinalang.benchmarks.BenchmarkUtils;
+import org.ballerinalang.model.values.BInteger;
+import org.ballerinalang.model.values.BValue;
+import org.ballerinalang.util.codegen.ProgramFile;
+import org.ballerinalang.util.program.BLangFunctions;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the {@code ballerina.lang.time} natives.
+ * <p>
+ * Each benchmark invokes a function of {@code time-benchmark.bal}, which parses, formats or converts a time in a loop.
+ * The ISO patterns take the epoch fast paths, while the custom pattern measures a cached formatter.
+ *
+ * @since 0.95
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class TimeBenchmark {
+
+    private static final int LOOP_COUNT = 1000;
+
+    private ProgramFile programFile;
+
+    @Setup
+    public void setup() throws IOException {
+        programFile = BenchmarkUtils.compileExecutable("time-benchmark.bal");
+    }
+
+    @Benchmark
+    public BValue[] parse() {
+        return invoke("parseLoop");
+    }
+
+    @Benchmark
+    public BValue[] parseCustomPattern() {
+        return invoke("parseCustomPatternLoop");
+    }
+
+    @Benchmark
+    public BValue[] format() {
+        return invoke("formatLoop");
+    }
+
+    @Benchmark
+    public BValue[] toStringDefault() {
+        return invoke("toStringLoop");
+    }
+
+    @Benchmark
+    public BValue[] toTimezone() {
+        return invoke("toTimezoneLoop");
+    }
+
+    private BValue[] invoke(String functionName) {
+        BValue[] args = {new BInteger(LOOP_COUNT)};
+        return BLangFunctions.invokeNew(programFile, functionName, args);
+    }
+}
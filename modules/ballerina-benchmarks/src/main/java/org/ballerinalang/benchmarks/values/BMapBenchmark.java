@@ -0,0 +1,107 @@
+/*
+*  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.ballerinalang.benchmarks.values;
+
+import org.ballerinalang.model.values.BInteger;
+import org.ballerinalang.model.values.BMap;
+import org.ballerinalang.model.values.BValue;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of {@link BMap} lookups and updates, against a linear scan map of the same size.
+ *
+ * @since 0.95
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class BMapBenchmark {
+
+    @Param({"10", "1000", "100000"})
+    private int size;
+
+    private String[] keys;
+    private BMap<String, BValue> bMap;
+    private LinearScanMap<String, BValue> linearScanMap;
+    private BInteger value = new BInteger(1);
+    private int next;
+
+    @Setup
+    public void setup() {
+        keys = new String[size];
+        bMap = new BMap<>();
+        linearScanMap = new LinearScanMap<>();
+        for (int i = 0; i < size; i++) {
+            keys[i] = "key" + i;
+            bMap.put(keys[i], new BInteger(i));
+            linearScanMap.append(keys[i], new BInteger(i));
+        }
+    }
+
+    @Benchmark
+    public BValue bMapGet() {
+        return bMap.get(nextKey());
+    }
+
+    @Benchmark
+    public BValue linearScanMapGet() {
+        return linearScanMap.get(nextKey());
+    }
+
+    @Benchmark
+    public void bMapUpdate() {
+        bMap.put(nextKey(), value);
+    }
+
+    @Benchmark
+    public void linearScanMapUpdate() {
+        linearScanMap.put(nextKey(), value);
+    }
+
+    @Benchmark
+    public BMap<String, BValue> bMapPopulate() {
+        BMap<String, BValue> map = new BMap<>();
+        for (String key : keys) {
+            map.put(key, value);
+        }
+        return map;
+    }
+
+    private String nextKey() {
+        // Walk all the keys, so that lookups are not biased towards the front of the linear scan. Keys are copied,
+        // since keys computed by a program are not the instances stored in the map
+        String key = keys[next];
+        next = next + 1 == size ? 0 : next + 1;
+        return new String(key);
+    }
+}
@@ -0,0 +1,130 @@
+/*
+*  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.ballerinalang.benchmarks.values;
+
+import org.ballerinalang.model.types.BStructType;
+import org.ballerinalang.model.types.BTypes;
+import org.ballerinalang.model.values.BMap;
+import org.ballerinalang.model.values.BRefType;
+import org.ballerinalang.model.values.BRefValueArray;
+import org.ballerinalang.model.values.BString;
+import org.ballerinalang.model.values.BStruct;
+import org.ballerinalang.model.values.BValue;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the {@link BStruct} and {@link BRefValueArray} value classes.
+ *
+ * @since 0.95
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ValueBenchmark {
+
+    private static final int ARRAY_SIZE = 1000;
+
+    private BStructType structType;
+    private BStruct struct;
+    private BRefValueArray refArray;
+    private BString element = new BString("element");
+
+    @Setup
+    public void setup() {
+        structType = new BStructType("Person", ".");
+        structType.setStructFields(new BStructType.StructField[]{
+                new BStructType.StructField(BTypes.typeInt, "age"),
+                new BStructType.StructField(BTypes.typeFloat, "salary"),
+                new BStructType.StructField(BTypes.typeString, "name"),
+                new BStructType.StructField(BTypes.typeBoolean, "married"),
+                new BStructType.StructField(BTypes.typeMap, "address")});
+        structType.setFieldTypeCount(new int[]{1, 1, 1, 1, 0, 1});
+        struct = createStruct();
+
+        refArray = new BRefValueArray(BTypes.typeString);
+        for (int i = 0; i < ARRAY_SIZE; i++) {
+            refArray.add(i, element);
+        }
+    }
+
+    @Benchmark
+    public BStruct structCreate() {
+        return createStruct();
+    }
+
+    @Benchmark
+    public long structFieldAccess() {
+        struct.setIntField(0, struct.getIntField(0) + 1);
+        struct.setFloatField(0, struct.getFloatField(0) + 1.5);
+        struct.setBooleanField(0, struct.getBooleanField(0) ^ 1);
+        return struct.getIntField(0) + struct.getStringField(0).length();
+    }
+
+    @Benchmark
+    public BValue structCopy() {
+        return struct.copy();
+    }
+
+    @Benchmark
+    public BRefValueArray refArrayAdd() {
+        BRefValueArray array = new BRefValueArray(BTypes.typeString);
+        for (int i = 0; i < ARRAY_SIZE; i++) {
+            array.add(i, element);
+        }
+        return array;
+    }
+
+    @Benchmark
+    public int refArrayGet() {
+        int length = 0;
+        for (int i = 0; i < ARRAY_SIZE; i++) {
+            BRefType value = refArray.get(i);
+            length += value.stringValue().length();
+        }
+        return length;
+    }
+
+    @Benchmark
+    public BValue refArrayCopy() {
+        return refArray.copy();
+    }
+
+    private BStruct createStruct() {
+        BStruct person = new BStruct(structType);
+        person.setIntField(0, 25);
+        person.setFloatField(0, 1000.5);
+        person.setStringField(0, "John");
+        person.setBooleanField(0, 0);
+        person.setRefField(0, new BMap<String, BValue>());
+        return person;
+    }
+}
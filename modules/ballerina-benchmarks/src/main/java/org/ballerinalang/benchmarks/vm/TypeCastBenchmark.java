@@ -0,0 +1,89 @@
+/*
+*  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.ballerinalang.benchmarks.vm;
+
+import org.ballerinalang.benchmarks.BenchmarkUtils;
+import org.ballerinalang.model.values.BInteger;
+import org.ballerinalang.model.values.BValue;
+import org.ballerinalang.util.codegen.ProgramFile;
+import org.ballerinalang.util.program.BLangFunctions;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the runtime type casts of the {@code BLangVM}.
+ * <p>
+ * Each benchmark invokes a function of {@code type-cast-benchmark.bal}, which casts the same value over and over
+ * again in a loop, with the struct casting scenarios of the type casting tests. The struct equivalency casts are
+ * checked once per program, so the loops measure the cost of a cached cast.
+ *
+ * @since 0.95
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class TypeCastBenchmark {
+
+    private static final int LOOP_COUNT = 10000;
+
+    private ProgramFile programFile;
+
+    @Setup
+    public void setup() throws IOException {
+        programFile = BenchmarkUtils.compileExecutable("type-cast-benchmark.bal");
+    }
+
+    @Benchmark
+    public BValue[] structEquivalencyCast() {
+        return invoke("structEquivalencyCastLoop");
+    }
+
+    @Benchmark
+    public BValue[] sameStructCast() {
+        return invoke("sameStructCastLoop");
+    }
+
+    @Benchmark
+    public BValue[] incompatibleStructCast() {
+        return invoke("incompatibleStructCastLoop");
+    }
+
+    @Benchmark
+    public BValue[] constraintJSONCast() {
+        return invoke("constraintJSONCastLoop");
+    }
+
+    private BValue[] invoke(String functionName) {
+        BValue[] args = {new BInteger(LOOP_COUNT)};
+        return BLangFunctions.invokeNew(programFile, functionName, args);
+    }
+}
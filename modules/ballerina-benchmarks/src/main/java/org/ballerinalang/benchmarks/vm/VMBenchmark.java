@@ -0,0 +1,124 @@
+/*
+*  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.ballerinalang.benchmarks.vm;
+
+import org.ballerinalang.benchmarks.BenchmarkUtils;
+import org.ballerinalang.model.values.BInteger;
+import org.ballerinalang.model.values.BValue;
+import org.ballerinalang.util.codegen.ProgramFile;
+import org.ballerinalang.util.program.BLangFunctions;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of executing compiled Ballerina functions on the {@code BLangVM}.
+ * <p>
+ * Each benchmark invokes a function of {@code vm-benchmark.bal}, which loops over a single kind of instruction, so
+ * a regression can be traced to the opcodes involved. Run with {@code -prof gc} to compare the allocation rate of
+ * function calls.
+ *
+ * @since 0.95
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class VMBenchmark {
+
+    private static final int LOOP_COUNT = 10000;
+
+    private ProgramFile programFile;
+
+    @Setup
+    public void setup() throws IOException {
+        programFile = BenchmarkUtils.compileExecutable("vm-benchmark.bal");
+    }
+
+    @Benchmark
+    public BValue[] fib() {
+        return invoke("fib", 20);
+    }
+
+    @Benchmark
+    public BValue[] arithmeticLoop() {
+        return invoke("arithmeticLoop", LOOP_COUNT);
+    }
+
+    @Benchmark
+    public BValue[] callLoop() {
+        return invoke("callLoop", LOOP_COUNT);
+    }
+
+    @Benchmark
+    public BValue[] nativeMathLoop() {
+        return invoke("nativeMathLoop", LOOP_COUNT);
+    }
+
+    @Benchmark
+    public BValue[] nativeStringLoop() {
+        return invoke("nativeStringLoop", LOOP_COUNT);
+    }
+
+    @Benchmark
+    public BValue[] stringConcatLoop() {
+        return invoke("stringConcatLoop", 1000);
+    }
+
+    @Benchmark
+    public BValue[] structFieldAccess() {
+        return invoke("structFieldAccess", LOOP_COUNT);
+    }
+
+    @Benchmark
+    public BValue[] mapPutGet() {
+        return invoke("mapPutGet", 1000);
+    }
+
+    @Benchmark
+    public BValue[] arrayStoreLoad() {
+        return invoke("arrayStoreLoad", LOOP_COUNT);
+    }
+
+    @Benchmark
+    public BValue[] workerSendReceive() {
+        return invoke("workerSendReceive", 1000);
+    }
+
+    @Benchmark
+    public BValue[] forkJoinAll() {
+        return invoke("forkJoinAll", 1000);
+    }
+
+    private BValue[] invoke(String functionName, long arg) {
+        BValue[] args = {new BInteger(arg)};
+        return BLangFunctions.invokeNew(programFile, functionName, args);
+    }
+}
@@ -0,0 +1,58 @@
+import ballerina.lang.time;
+
+function parseLoop (int n) (int) {
+    int i = 0;
+    int total = 0;
+    while (i < n) {
+        time:Time timeStruct = time:parse("2017-06-26T09:46:22.444-0500", "yyyy-MM-dd'T'HH:mm:ss.SSSZ");
+        total = total + timeStruct.zone.zoneOffset;
+        i = i + 1;
+    }
+    return total;
+}
+
+function parseCustomPatternLoop (int n) (int) {
+    int i = 0;
+    int total = 0;
+    while (i < n) {
+        time:Time timeStruct = time:parse("26/06/2017 09:46", "dd/MM/yyyy HH:mm");
+        total = total + time:hour(timeStruct);
+        i = i + 1;
+    }
+    return total;
+}
+
+function formatLoop (int n) (string) {
+    time:Time timeStruct = time:createTime(2017, 3, 28, 23, 42, 45, 554, "America/Panama");
+    string timeString;
+    int i = 0;
+    while (i < n) {
+        timeString = time:format(timeStruct, "yyyy-MM-dd'T'HH:mm:ss.SSSZ");
+        i = i + 1;
+    }
+    return timeString;
+}
+
+function toStringLoop (int n) (string) {
+    time:Timezone zoneValue = {zoneId:"Asia/Colombo"};
+    string timeString;
+    int i = 0;
+    while (i < n) {
+        time:Time timeStruct = {time:1498488382000 + i, zone:zoneValue};
+        timeString = time:toString(timeStruct);
+        i = i + 1;
+    }
+    return timeString;
+}
+
+function toTimezoneLoop (int n) (int) {
+    time:Time timeStruct = time:createTime(2017, 3, 28, 23, 42, 45, 554, "America/Panama");
+    int total = 0;
+    int i = 0;
+    while (i < n) {
+        time:Time converted = time:toTimezone(timeStruct, "Asia/Colombo");
+        total = total + converted.zone.zoneOffset;
+        i = i + 1;
+    }
+    return total;
+}
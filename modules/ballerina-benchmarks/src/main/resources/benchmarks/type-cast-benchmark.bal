@@ -0,0 +1,89 @@
+struct Person {
+    string name;
+    int age;
+    map address;
+    int[] marks;
+    Person parent;
+    json info;
+    float score;
+    boolean alive;
+}
+
+struct Student {
+    string name;
+    int age;
+    map address;
+    int[] marks;
+}
+
+struct Employee {
+    string name;
+    int age;
+    Address address;
+}
+
+struct Address {
+    string street;
+    string city;
+}
+
+function structEquivalencyCastLoop (int n) (int) {
+    Person p = {name:"Supun", age:25, address:{"city":"Kandy", "country":"SriLanka"}, marks:[24, 81]};
+    any a = p;
+    Student s;
+    int sum = 0;
+    int i = 0;
+    while (i < n) {
+        s, _ = (Student) a;
+        sum = sum + s.age;
+        i = i + 1;
+    }
+    return sum;
+}
+
+function sameStructCastLoop (int n) (int) {
+    Student st = {name:"Supun", age:25};
+    any a = st;
+    Student s;
+    int sum = 0;
+    int i = 0;
+    while (i < n) {
+        s, _ = (Student) a;
+        sum = sum + s.age;
+        i = i + 1;
+    }
+    return sum;
+}
+
+function incompatibleStructCastLoop (int n) (int) {
+    Student st = {name:"Supun", age:25};
+    any a = st;
+    Person p;
+    TypeCastError err;
+    int failures = 0;
+    int i = 0;
+    while (i < n) {
+        p, err = (Person) a;
+        if (err != null) {
+            failures = failures + 1;
+        }
+        i = i + 1;
+    }
+    return failures;
+}
+
+function constraintJSONCastLoop (int n) (int) {
+    json j = {name:"John", age:30, address:{street:"York St", city:"London"}};
+    any a = j;
+    json<Employee> e;
+    int count = 0;
+    int i = 0;
+    while (i < n) {
+        e, _ = (json<Employee>) a;
+        if (e != null) {
+            count = count + 1;
+        }
+        i = i + 1;
+    }
+    return count;
+}
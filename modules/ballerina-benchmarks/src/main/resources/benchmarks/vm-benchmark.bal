@@ -0,0 +1,178 @@
+import ballerina.lang.math;
+import ballerina.lang.strings;
+
+struct Point {
+    int x;
+    int y;
+    string label;
+}
+
+function fib (int n) (int) {
+    if (n < 2) {
+        return n;
+    }
+    return fib(n - 1) + fib(n - 2);
+}
+
+function arithmeticLoop (int n) (int) {
+    int sum = 0;
+    int i = 0;
+    while (i < n) {
+        sum = sum + i * 2 - i % 3;
+        i = i + 1;
+    }
+    return sum;
+}
+
+function add (int a, int b) (int) {
+    return a + b;
+}
+
+function callLoop (int n) (int) {
+    int sum = 0;
+    int i = 0;
+    while (i < n) {
+        sum = add(sum, i);
+        i = i + 1;
+    }
+    return sum;
+}
+
+function nativeMathLoop (int n) (float) {
+    float sum = 0.0;
+    float x = 0.0;
+    int i = 0;
+    while (i < n) {
+        sum = sum + math:sqrt(math:pow(x, 2.0)) + math:absFloat(math:sin(x));
+        x = x + 1.0;
+        i = i + 1;
+    }
+    return sum;
+}
+
+function nativeStringLoop (int n) (int) {
+    int count = 0;
+    int i = 0;
+    while (i < n) {
+        string s = strings:toUpperCase("value" + i);
+        if (strings:hasPrefix(s, "VALUE1")) {
+            count = count + strings:length(s);
+        }
+        i = i + 1;
+    }
+    return count;
+}
+
+function stringConcatLoop (int n) (string) {
+    string s = "";
+    int i = 0;
+    while (i < n) {
+        s = s + "a";
+        i = i + 1;
+    }
+    return s;
+}
+
+function structFieldAccess (int n) (int) {
+    Point p = {x:0, y:0, label:"origin"};
+    int i = 0;
+    while (i < n) {
+        p.x = p.x + 1;
+        p.y = p.y + p.x;
+        i = i + 1;
+    }
+    return p.y;
+}
+
+function mapPutGet (int n) (int) {
+    map m = {};
+    int i = 0;
+    while (i < n) {
+        m["key" + i] = i;
+        i = i + 1;
+    }
+
+    int sum = 0;
+    int value;
+    i = 0;
+    while (i < n) {
+        value, _ = (int) m["key" + i];
+        sum = sum + value;
+        i = i + 1;
+    }
+    return sum;
+}
+
+function arrayStoreLoad (int n) (int) {
+    int[] values = [];
+    int i = 0;
+    while (i < n) {
+        values[i] = i;
+        i = i + 1;
+    }
+
+    int sum = 0;
+    i = 0;
+    while (i < lengthof values) {
+        sum = sum + values[i];
+        i = i + 1;
+    }
+    return sum;
+}
+
+function workerSendReceive (int n) (int) {
+    worker default {
+        n -> sampleWorker;
+        int result;
+        result <- sampleWorker;
+        return result;
+    }
+
+    worker sampleWorker {
+        int count;
+        count <- default;
+        int sum = 0;
+        int i = 0;
+        while (i < count) {
+            sum = sum + i;
+            i = i + 1;
+        }
+        sum -> default;
+    }
+}
+
+function forkJoinAll (int n) (int) {
+    int[] results = [];
+    fork {
+        worker w1 {
+            int sum = 0;
+            int i = 0;
+            while (i < n) {
+                sum = sum + i;
+                i = i + 1;
+            }
+            sum -> fork;
+        }
+
+        worker w2 {
+            int product = 1;
+            int i = 1;
+            while (i < n) {
+                product = (product * i) % 1000003;
+                i = i + 1;
+            }
+            product -> fork;
+        }
+    } join (all) (map responses) {
+        any[] w1Result;
+        any[] w2Result;
+        w1Result, _ = (any[]) responses["w1"];
+        w2Result, _ = (any[]) responses["w2"];
+        results[0], _ = (int) w1Result[0];
+        results[1], _ = (int) w2Result[0];
+    } timeout (30000) (map responses) {
+        results[0] = -1;
+        results[1] = -1;
+    }
+    return results[0] + results[1];
+}
@@ -33,6 +33,7 @@ public struct Parameter {
 @doc:Field {value:"maxLifetime: Maximum lifetime of a connection in the pool"}
 @doc:Field {value:"validationTimeout:  Maximum amount of time that a connection will be tested for aliveness"}
 @doc:Field {value:"leakDetectionThreshold: Amount of time that a connection can be out of the pool before a message is logged indicating a possible connection leak"}
+@doc:Field {value:"fetchSize: Number of rows fetched from the database at a time when reading a result set"}
 @doc:Field {value:"datasourceProperties: Data source specific properties which are used along with the dataSourceClassName"}
 public struct ConnectionProperties {
 	string url;
@@ -55,6 +56,7 @@ public struct ConnectionProperties {
 	int maxLifetime = -1;
 	int validationTimeout = -1;
 	int leakDetectionThreshold = -1;
+	int fetchSize = -1;
 	map datasourceProperties;
 }
 
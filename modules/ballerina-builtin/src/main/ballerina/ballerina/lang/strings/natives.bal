@@ -106,4 +106,39 @@ public native function split (string mainString, string regex) (string[]);
 @doc:Param { value:"b: string value to be converted" }
 @doc:Param { value:"encoding: Encoding to used in the conversion" }
 @doc:Return { value:"string: BLOB representation of the given String" }
-public native function toBlob (string s, string encoding) (blob);
\ No newline at end of file
+public native function toBlob (string s, string encoding) (blob);
+@doc:Description { value:"Regex struct represents a compiled regular expression"}
+@doc:Field { value:"pattern: The regular expression" }
+public struct Regex {
+    string pattern;
+}
+
+@doc:Description { value:"Compiles a regular expression, so that it can be used many times without compiling it again"}
+@doc:Param { value:"regex: The regular expression" }
+@doc:Return { value:"Regex: The compiled regular expression" }
+public native function compileRegex (string regex) (Regex);
+
+@doc:Description { value:"Checks whether the whole string matches the regular expression"}
+@doc:Param { value:"regex: The compiled regular expression" }
+@doc:Param { value:"mainString: The original string argument" }
+@doc:Return { value:"boolean: True if the string matches the regular expression; false otherwise" }
+public native function matchesRegex (Regex regex, string mainString) (boolean);
+
+@doc:Description { value:"Finds the first match of the regular expression in the string"}
+@doc:Param { value:"regex: The compiled regular expression" }
+@doc:Param { value:"mainString: The original string argument" }
+@doc:Return { value:"string[]: The matched string followed by the capture groups, or an empty array if there is no match" }
+public native function findGroups (Regex regex, string mainString) (string[]);
+
+@doc:Description { value:"Finds all the matches of the regular expression in the string"}
+@doc:Param { value:"regex: The compiled regular expression" }
+@doc:Param { value:"mainString: The original string argument" }
+@doc:Return { value:"string[]: The matched strings" }
+public native function findAll (Regex regex, string mainString) (string[]);
+
+@doc:Description { value:"Replaces all the matches of the regular expression with the replaceWith string and returns the result"}
+@doc:Param { value:"regex: The compiled regular expression" }
+@doc:Param { value:"mainString: The original string argument" }
+@doc:Param { value:"replaceWith: The replacement string, which may refer to the capture groups as $n" }
+@doc:Return { value:"string: The derived string" }
+public native function replaceRegex (Regex regex, string mainString, string replaceWith) (string);
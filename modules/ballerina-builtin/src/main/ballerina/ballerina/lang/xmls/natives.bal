@@ -192,3 +192,9 @@ public native function toJSON (xml x, Options options) (json);
 @doc:Param { value:"qname: Qualified name of the element" }
 @doc:Return { value:"xml: All the descendants that matches the given qualified name, as a sequence" }
 public native function selectDescendants(xml x, string qname) (xml);
+
+@doc:Description { value:"Selects the items matching a path of qualified names separated by '/'. The first name selects the matching elements of the XML, and each following name selects the matching children of the elements selected so far. A name after '//' selects the matching descendants instead, and '*' matches any element. Unlike getXml, the path can be evaluated on a streamed XML without reading all of it." }
+@doc:Param { value:"x: An XML object" }
+@doc:Param { value:"path: Path of the items to select" }
+@doc:Return { value:"xml: All the items that match the given path, as a sequence" }
+public native function selectPath(xml x, string path) (xml);
@@ -50,11 +50,21 @@ public class SQLDatasource implements BValue {
     private String databaseName;
     private String connectorId;
     private boolean xaConn;
+    private int fetchSize = -1;
 
     public String getDatabaseName() {
         return databaseName;
     }
 
+    /**
+     * Get the number of rows to fetch from the database at a time when reading a result set.
+     *
+     * @return fetch size, or -1 to use the default of the driver
+     */
+    public int getFetchSize() {
+        return fetchSize;
+    }
+
     public SQLDatasource() {}
 
     public boolean init(BStruct options, String dbType, String hostOrPath, int port, String username, String password,
@@ -181,6 +191,7 @@ public class SQLDatasource implements BValue {
                 if (leakDetectionThreshold != -1) {
                     config.setLeakDetectionThreshold(leakDetectionThreshold);
                 }
+                fetchSize = (int) options.getIntField(7);
                 boolean autoCommit = options.getBooleanField(0) != 0;
                 config.setAutoCommit(autoCommit);
                 boolean isolateInternalQueries = options.getBooleanField(1) != 0;
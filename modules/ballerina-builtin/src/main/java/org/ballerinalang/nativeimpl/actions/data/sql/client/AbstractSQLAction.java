@@ -346,6 +346,7 @@ public abstract class AbstractSQLAction extends AbstractNativeAction {
             }
         } else {
             stmt = conn.prepareStatement(query);
+            setFetchSize(stmt, datasource);
         }
         return stmt;
     }
@@ -363,10 +364,24 @@ public abstract class AbstractSQLAction extends AbstractNativeAction {
             }
         } else {
             stmt = conn.prepareCall(query);
+            setFetchSize(stmt, datasource);
         }
         return stmt;
     }
 
+    private void setFetchSize(Statement stmt, SQLDatasource datasource) throws SQLException {
+        int fetchSize = datasource.getFetchSize();
+        if (fetchSize > 0) {
+            // Rows are streamed to the consumer of the datatable, hence only a fetch size worth of rows is buffered.
+            try {
+                stmt.setFetchSize(fetchSize);
+            } catch (SQLException e) {
+                stmt.close();
+                throw e;
+            }
+        }
+    }
+
     private ArrayList<BDataTable.ColumnDefinition> getColumnDefinitions(ResultSet rs) throws SQLException {
         ArrayList<BDataTable.ColumnDefinition> columnDefs = new ArrayList<>();
         ResultSetMetaData rsMetaData = rs.getMetaData();
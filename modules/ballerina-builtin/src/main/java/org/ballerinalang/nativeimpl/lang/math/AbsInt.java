@@ -18,10 +18,9 @@
 package org.ballerinalang.nativeimpl.lang.math;
 
 import org.ballerinalang.bre.Context;
+import org.ballerinalang.bre.bvm.NativeCallFrame;
 import org.ballerinalang.model.types.TypeKind;
-import org.ballerinalang.model.values.BInteger;
-import org.ballerinalang.model.values.BValue;
-import org.ballerinalang.natives.AbstractNativeFunction;
+import org.ballerinalang.natives.AbstractDirectNativeFunction;
 import org.ballerinalang.natives.annotations.Argument;
 import org.ballerinalang.natives.annotations.BallerinaFunction;
 import org.ballerinalang.natives.annotations.ReturnType;
@@ -38,10 +37,10 @@ import org.ballerinalang.natives.annotations.ReturnType;
         returnType = {@ReturnType(type = TypeKind.INT)},
         isPublic = true
 )
-public class AbsInt extends AbstractNativeFunction {
+public class AbsInt extends AbstractDirectNativeFunction {
 
-    public BValue[] execute(Context ctx) {
-        long value = getIntArgument(ctx, 0);
-        return getBValues(new BInteger(Math.abs(value)));
+    public void execute(Context ctx, NativeCallFrame frame) {
+        long value = frame.getIntArgument(0);
+        frame.setIntReturn(0, Math.abs(value));
     }
 }
@@ -18,10 +18,9 @@
 package org.ballerinalang.nativeimpl.lang.math;
 
 import org.ballerinalang.bre.Context;
+import org.ballerinalang.bre.bvm.NativeCallFrame;
 import org.ballerinalang.model.types.TypeKind;
-import org.ballerinalang.model.values.BInteger;
-import org.ballerinalang.model.values.BValue;
-import org.ballerinalang.natives.AbstractNativeFunction;
+import org.ballerinalang.natives.AbstractDirectNativeFunction;
 import org.ballerinalang.natives.annotations.Argument;
 import org.ballerinalang.natives.annotations.BallerinaFunction;
 import org.ballerinalang.natives.annotations.ReturnType;
@@ -39,11 +38,11 @@ import org.ballerinalang.natives.annotations.ReturnType;
         returnType = {@ReturnType(type = TypeKind.INT)},
         isPublic = true
 )
-public class FloorMod extends AbstractNativeFunction {
+public class FloorMod extends AbstractDirectNativeFunction {
 
-    public BValue[] execute(Context ctx) {
-        long a = getIntArgument(ctx, 0);
-        long b = getIntArgument(ctx, 1);
-        return getBValues(new BInteger(Math.floorMod(a, b)));
+    public void execute(Context ctx, NativeCallFrame frame) {
+        long a = frame.getIntArgument(0);
+        long b = frame.getIntArgument(1);
+        frame.setIntReturn(0, Math.floorMod(a, b));
     }
 }
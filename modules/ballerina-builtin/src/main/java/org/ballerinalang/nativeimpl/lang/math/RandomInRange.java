@@ -18,10 +18,9 @@
 package org.ballerinalang.nativeimpl.lang.math;
 
 import org.ballerinalang.bre.Context;
+import org.ballerinalang.bre.bvm.NativeCallFrame;
 import org.ballerinalang.model.types.TypeKind;
-import org.ballerinalang.model.values.BInteger;
-import org.ballerinalang.model.values.BValue;
-import org.ballerinalang.natives.AbstractNativeFunction;
+import org.ballerinalang.natives.AbstractDirectNativeFunction;
 import org.ballerinalang.natives.annotations.Argument;
 import org.ballerinalang.natives.annotations.BallerinaFunction;
 import org.ballerinalang.natives.annotations.ReturnType;
@@ -41,12 +40,12 @@ import java.util.concurrent.ThreadLocalRandom;
         returnType = {@ReturnType(type = TypeKind.INT)},
         isPublic = true
 )
-public class RandomInRange extends AbstractNativeFunction {
+public class RandomInRange extends AbstractDirectNativeFunction {
 
-    public BValue[] execute(Context ctx) {
-        long start = getIntArgument(ctx, 0);
-        long end = getIntArgument(ctx, 1);
+    public void execute(Context ctx, NativeCallFrame frame) {
+        long start = frame.getIntArgument(0);
+        long end = frame.getIntArgument(1);
         long random = ThreadLocalRandom.current().nextLong(start, end);
-        return getBValues(new BInteger(random));
+        frame.setIntReturn(0, random);
     }
 }
@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.nativeimpl.lang.strings;
+
+import org.ballerinalang.bre.Context;
+import org.ballerinalang.bre.bvm.BLangVMStructs;
+import org.ballerinalang.model.values.BStruct;
+import org.ballerinalang.nativeimpl.lang.utils.PatternCache;
+import org.ballerinalang.natives.AbstractDirectNativeFunction;
+import org.ballerinalang.util.codegen.PackageInfo;
+import org.ballerinalang.util.codegen.StructInfo;
+import org.ballerinalang.util.exceptions.BallerinaException;
+
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * Contains utility methods for the natives which work on a compiled regular expression.
+ * <p>
+ * The compiled {@link Pattern} is kept as the native data of the Regex struct, so that it is compiled only once
+ * for the lifetime of the struct. A Regex struct created in Ballerina code is compiled when it is first used.
+ *
+ * @since 0.95
+ */
+public abstract class AbstractRegexFunction extends AbstractDirectNativeFunction {
+
+    public static final String STRINGS_PACKAGE = "ballerina.lang.strings";
+    public static final String STRUCT_TYPE_REGEX = "Regex";
+    public static final String KEY_PATTERN = "Pattern";
+
+    private StructInfo regexStructInfo;
+
+    BStruct createRegex(Context context, String regex) {
+        Pattern pattern = compile(regex);
+        BStruct regexStruct = BLangVMStructs.createBStruct(getRegexStructInfo(context), regex);
+        regexStruct.addNativeData(KEY_PATTERN, pattern);
+        return regexStruct;
+    }
+
+    Pattern getPattern(BStruct regexStruct) {
+        String regex = regexStruct.getStringField(0);
+        Pattern pattern = (Pattern) regexStruct.getNativeData(KEY_PATTERN);
+        // The pattern field may have been changed after the struct was compiled
+        if (pattern == null || !pattern.pattern().equals(regex)) {
+            pattern = compile(regex);
+            regexStruct.addNativeData(KEY_PATTERN, pattern);
+        }
+        return pattern;
+    }
+
+    private static Pattern compile(String regex) {
+        try {
+            return PatternCache.getInstance().get(regex);
+        } catch (PatternSyntaxException e) {
+            throw new BallerinaException("invalid regular expression '" + regex + "': " + e.getDescription());
+        }
+    }
+
+    private StructInfo getRegexStructInfo(Context context) {
+        StructInfo result = regexStructInfo;
+        if (result == null) {
+            PackageInfo stringsPackageInfo = context.getProgramFile().getPackageInfo(STRINGS_PACKAGE);
+            result = stringsPackageInfo.getStructInfo(STRUCT_TYPE_REGEX);
+            regexStructInfo = result;
+        }
+        return result;
+    }
+}
@@ -19,13 +19,13 @@
 package org.ballerinalang.nativeimpl.lang.strings;
 
 import org.ballerinalang.bre.Context;
+import org.ballerinalang.bre.bvm.NativeCallFrame;
 import org.ballerinalang.model.types.TypeKind;
 import org.ballerinalang.model.values.BJSON;
-import org.ballerinalang.model.values.BString;
 import org.ballerinalang.model.values.BValue;
 import org.ballerinalang.model.values.BXML;
 import org.ballerinalang.nativeimpl.lang.utils.ErrorHandler;
-import org.ballerinalang.natives.AbstractNativeFunction;
+import org.ballerinalang.natives.AbstractDirectNativeFunction;
 import org.ballerinalang.natives.annotations.Argument;
 import org.ballerinalang.natives.annotations.BallerinaFunction;
 import org.ballerinalang.natives.annotations.ReturnType;
@@ -42,28 +42,27 @@ import org.ballerinalang.natives.annotations.ReturnType;
         returnType = {@ReturnType(type = TypeKind.STRING)},
         isPublic = true
 )
-public class AnyValueOf extends AbstractNativeFunction {
+public class AnyValueOf extends AbstractDirectNativeFunction {
 
     @Override
-    public BValue[] execute(Context context) {
-        BValue value = getRefArgument(context, 0);
+    public void execute(Context context, NativeCallFrame frame) {
+        BValue value = frame.getRefArgument(0);
+        String stringValue = null;
         if (value instanceof BJSON) {
-            BString jsonStr = null;
             try {
-                jsonStr = new BString(value.stringValue());
+                stringValue = value.stringValue();
             } catch (Throwable e) {
                 ErrorHandler.handleJsonException("get json as string", e);
             }
-            return getBValues(jsonStr);
         } else if (value instanceof BXML) {
-            BString xmlStr = null;
             try {
-                xmlStr =  new BString(value.stringValue());
+                stringValue = value.stringValue();
             } catch (Throwable e) {
                 ErrorHandler.handleJsonException("get xml as string", e);
             }
-            return getBValues(xmlStr);
+        } else {
+            stringValue = value.stringValue();
         }
-        return getBValues(new BString(value.stringValue()));
+        frame.setStringReturn(0, stringValue);
     }
 }
@@ -0,0 +1,60 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.nativeimpl.lang.strings;
+
+import org.ballerinalang.bre.Context;
+import org.ballerinalang.bre.bvm.NativeCallFrame;
+import org.ballerinalang.model.types.TypeKind;
+import org.ballerinalang.model.values.BStringArray;
+import org.ballerinalang.model.values.BStruct;
+import org.ballerinalang.natives.annotations.Argument;
+import org.ballerinalang.natives.annotations.BallerinaFunction;
+import org.ballerinalang.natives.annotations.ReturnType;
+
+import java.util.regex.Matcher;
+
+/**
+ * Native function ballerina.lang.strings:findAll.
+ *
+ * @since 0.95
+ */
+@BallerinaFunction(
+        packageName = "ballerina.lang.strings",
+        functionName = "findAll",
+        args = {@Argument(name = "regex", type = TypeKind.STRUCT, structType = "Regex",
+                          structPackage = "ballerina.lang.strings"),
+                @Argument(name = "mainString", type = TypeKind.STRING)},
+        returnType = {@ReturnType(type = TypeKind.ARRAY, elementType = TypeKind.STRING)},
+        isPublic = true
+)
+public class FindAll extends AbstractRegexFunction {
+
+    @Override
+    public void execute(Context context, NativeCallFrame frame) {
+        BStruct regex = (BStruct) frame.getRefArgument(0);
+        String mainString = frame.getStringArgument(1);
+
+        Matcher matcher = getPattern(regex).matcher(mainString);
+        BStringArray matches = new BStringArray();
+        for (int i = 0; matcher.find(); i++) {
+            matches.add(i, matcher.group());
+        }
+        frame.setRefReturn(0, matches);
+    }
+}
@@ -19,10 +19,9 @@
 package org.ballerinalang.nativeimpl.lang.strings;
 
 import org.ballerinalang.bre.Context;
+import org.ballerinalang.bre.bvm.NativeCallFrame;
 import org.ballerinalang.model.types.TypeKind;
-import org.ballerinalang.model.values.BBoolean;
-import org.ballerinalang.model.values.BValue;
-import org.ballerinalang.natives.AbstractNativeFunction;
+import org.ballerinalang.natives.AbstractDirectNativeFunction;
 import org.ballerinalang.natives.annotations.Argument;
 import org.ballerinalang.natives.annotations.BallerinaFunction;
 import org.ballerinalang.natives.annotations.ReturnType;
@@ -40,14 +39,13 @@ import org.ballerinalang.natives.annotations.ReturnType;
         returnType = {@ReturnType(type = TypeKind.BOOLEAN)},
         isPublic = true
 )
-public class HasPrefix extends AbstractNativeFunction {
+public class HasPrefix extends AbstractDirectNativeFunction {
 
     @Override
-    public BValue[] execute(Context context) {
-        String param1 = getStringArgument(context, 0);
-        String prefix = getStringArgument(context, 1);
+    public void execute(Context context, NativeCallFrame frame) {
+        String param1 = frame.getStringArgument(0);
+        String prefix = frame.getStringArgument(1);
 
-        BBoolean booleanValue = new BBoolean(param1.startsWith(prefix));
-        return getBValues(booleanValue);
+        frame.setBooleanReturn(0, param1.startsWith(prefix));
     }
 }
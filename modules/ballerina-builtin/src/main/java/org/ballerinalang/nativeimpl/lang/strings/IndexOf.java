@@ -19,10 +19,9 @@
 package org.ballerinalang.nativeimpl.lang.strings;
 
 import org.ballerinalang.bre.Context;
+import org.ballerinalang.bre.bvm.NativeCallFrame;
 import org.ballerinalang.model.types.TypeKind;
-import org.ballerinalang.model.values.BInteger;
-import org.ballerinalang.model.values.BValue;
-import org.ballerinalang.natives.AbstractNativeFunction;
+import org.ballerinalang.natives.AbstractDirectNativeFunction;
 import org.ballerinalang.natives.annotations.Argument;
 import org.ballerinalang.natives.annotations.BallerinaFunction;
 import org.ballerinalang.natives.annotations.ReturnType;
@@ -40,14 +39,13 @@ import org.ballerinalang.natives.annotations.ReturnType;
         returnType = {@ReturnType(type = TypeKind.INT)},
         isPublic = true
 )
-public class IndexOf extends AbstractNativeFunction {
+public class IndexOf extends AbstractDirectNativeFunction {
 
     @Override
-    public BValue[] execute(Context context) {
-        String param1 = getStringArgument(context, 0);
-        String subString = getStringArgument(context, 1);
+    public void execute(Context context, NativeCallFrame frame) {
+        String param1 = frame.getStringArgument(0);
+        String subString = frame.getStringArgument(1);
 
-        BInteger intValue = new BInteger(param1.indexOf(subString));
-        return getBValues(intValue);
+        frame.setIntReturn(0, param1.indexOf(subString));
     }
 }
@@ -0,0 +1,53 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.nativeimpl.lang.strings;
+
+import org.ballerinalang.bre.Context;
+import org.ballerinalang.bre.bvm.NativeCallFrame;
+import org.ballerinalang.model.types.TypeKind;
+import org.ballerinalang.model.values.BStruct;
+import org.ballerinalang.natives.annotations.Argument;
+import org.ballerinalang.natives.annotations.BallerinaFunction;
+import org.ballerinalang.natives.annotations.ReturnType;
+
+/**
+ * Native function ballerina.lang.strings:matchesRegex.
+ *
+ * @since 0.95
+ */
+@BallerinaFunction(
+        packageName = "ballerina.lang.strings",
+        functionName = "matchesRegex",
+        args = {@Argument(name = "regex", type = TypeKind.STRUCT, structType = "Regex",
+                          structPackage = "ballerina.lang.strings"),
+                @Argument(name = "mainString", type = TypeKind.STRING)},
+        returnType = {@ReturnType(type = TypeKind.BOOLEAN)},
+        isPublic = true
+)
+public class MatchesRegex extends AbstractRegexFunction {
+
+    @Override
+    public void execute(Context context, NativeCallFrame frame) {
+        BStruct regex = (BStruct) frame.getRefArgument(0);
+        String mainString = frame.getStringArgument(1);
+
+        boolean matches = getPattern(regex).matcher(mainString).matches();
+        frame.setBooleanReturn(0, matches);
+    }
+}
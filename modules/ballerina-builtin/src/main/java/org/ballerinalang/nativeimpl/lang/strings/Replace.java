@@ -19,10 +19,9 @@
 package org.ballerinalang.nativeimpl.lang.strings;
 
 import org.ballerinalang.bre.Context;
+import org.ballerinalang.bre.bvm.NativeCallFrame;
 import org.ballerinalang.model.types.TypeKind;
-import org.ballerinalang.model.values.BString;
-import org.ballerinalang.model.values.BValue;
-import org.ballerinalang.natives.AbstractNativeFunction;
+import org.ballerinalang.natives.AbstractDirectNativeFunction;
 import org.ballerinalang.natives.annotations.Argument;
 import org.ballerinalang.natives.annotations.BallerinaFunction;
 import org.ballerinalang.natives.annotations.ReturnType;
@@ -41,15 +40,15 @@ import org.ballerinalang.natives.annotations.ReturnType;
         returnType = {@ReturnType(type = TypeKind.STRING)},
         isPublic = true
 )
-public class Replace extends AbstractNativeFunction {
+public class Replace extends AbstractDirectNativeFunction {
 
     @Override
-    public BValue[] execute(Context context) {
-        String mainString = getStringArgument(context, 0);
-        String replacePattern = getStringArgument(context, 1);
-        String replaceWith = getStringArgument(context, 2);
+    public void execute(Context context, NativeCallFrame frame) {
+        String mainString = frame.getStringArgument(0);
+        String replacePattern = frame.getStringArgument(1);
+        String replaceWith = frame.getStringArgument(2);
 
         String replacedString = mainString.replace(replacePattern, replaceWith);
-        return getBValues(new BString(replacedString));
+        frame.setStringReturn(0, replacedString);
     }
 }
@@ -19,10 +19,11 @@
 package org.ballerinalang.nativeimpl.lang.strings;
 
 import org.ballerinalang.bre.Context;
+import org.ballerinalang.bre.bvm.NativeCallFrame;
 import org.ballerinalang.model.types.TypeKind;
 import org.ballerinalang.model.values.BStringArray;
-import org.ballerinalang.model.values.BValue;
-import org.ballerinalang.natives.AbstractNativeFunction;
+import org.ballerinalang.nativeimpl.lang.utils.PatternCache;
+import org.ballerinalang.natives.AbstractDirectNativeFunction;
 import org.ballerinalang.natives.annotations.Argument;
 import org.ballerinalang.natives.annotations.BallerinaFunction;
 import org.ballerinalang.natives.annotations.ReturnType;
@@ -38,15 +39,15 @@ import org.ballerinalang.natives.annotations.ReturnType;
         returnType = {@ReturnType(type = TypeKind.ARRAY, elementType = TypeKind.STRING)},
         isPublic = true
 )
-public class Split extends AbstractNativeFunction {
+public class Split extends AbstractDirectNativeFunction {
 
     @Override
-    public BValue[] execute(Context context) {
-        String initialString = getStringArgument(context, 0);
-        String regex = getStringArgument(context, 1);
+    public void execute(Context context, NativeCallFrame frame) {
+        String initialString = frame.getStringArgument(0);
+        String regex = frame.getStringArgument(1);
 
-        String[] splitArray = initialString.split(regex);
+        String[] splitArray = PatternCache.getInstance().get(regex).split(initialString);
         BStringArray bSplitArray = new BStringArray(splitArray);
-        return getBValues(bSplitArray);
+        frame.setRefReturn(0, bSplitArray);
     }
 }
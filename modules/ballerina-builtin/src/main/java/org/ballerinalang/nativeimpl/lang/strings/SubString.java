@@ -1,10 +1,9 @@
 package org.ballerinalang.nativeimpl.lang.strings;
 
 import org.ballerinalang.bre.Context;
+import org.ballerinalang.bre.bvm.NativeCallFrame;
 import org.ballerinalang.model.types.TypeKind;
-import org.ballerinalang.model.values.BString;
-import org.ballerinalang.model.values.BValue;
-import org.ballerinalang.natives.AbstractNativeFunction;
+import org.ballerinalang.natives.AbstractDirectNativeFunction;
 import org.ballerinalang.natives.annotations.Argument;
 import org.ballerinalang.natives.annotations.BallerinaFunction;
 import org.ballerinalang.natives.annotations.ReturnType;
@@ -24,14 +23,14 @@ import org.ballerinalang.util.exceptions.RuntimeErrors;
         returnType = {@ReturnType(type = TypeKind.STRING)},
         isPublic = true
 )
-public class SubString extends AbstractNativeFunction {
+public class SubString extends AbstractDirectNativeFunction {
 
     @Override
-    public BValue[] execute(Context context) {
-        String initialString = getStringArgument(context, 0);
+    public void execute(Context context, NativeCallFrame frame) {
+        String initialString = frame.getStringArgument(0);
 
-        long fromLong = getIntArgument(context, 0);
-        long toLong = getIntArgument(context, 1);
+        long fromLong = frame.getIntArgument(1);
+        long toLong = frame.getIntArgument(2);
 
         if (toLong != (int) toLong) {
             throw BLangExceptionHelper
@@ -49,7 +48,6 @@ public class SubString extends AbstractNativeFunction {
             throw new BallerinaException("String index out of range. Actual:" + initialString.length() +
                     " requested: " + from + " to " + to);
         }
-        BString subString = new BString(initialString.substring(from, to));
-        return getBValues(subString);
+        frame.setStringReturn(0, initialString.substring(from, to));
     }
 }
@@ -18,10 +18,9 @@
 package org.ballerinalang.nativeimpl.lang.strings;
 
 import org.ballerinalang.bre.Context;
+import org.ballerinalang.bre.bvm.NativeCallFrame;
 import org.ballerinalang.model.types.TypeKind;
-import org.ballerinalang.model.values.BBlob;
-import org.ballerinalang.model.values.BValue;
-import org.ballerinalang.natives.AbstractNativeFunction;
+import org.ballerinalang.natives.AbstractDirectNativeFunction;
 import org.ballerinalang.natives.annotations.Argument;
 import org.ballerinalang.natives.annotations.BallerinaFunction;
 import org.ballerinalang.natives.annotations.ReturnType;
@@ -40,14 +39,14 @@ import java.io.UnsupportedEncodingException;
         returnType = {@ReturnType(type = TypeKind.BLOB)},
         isPublic = true
 )
-public class ToBlob extends AbstractNativeFunction {
+public class ToBlob extends AbstractDirectNativeFunction {
 
-    public BValue[] execute(Context ctx) {
+    public void execute(Context ctx, NativeCallFrame frame) {
         try {
-            String string = getStringArgument(ctx, 0);
-            String encoding = getStringArgument(ctx, 1);
+            String string = frame.getStringArgument(0);
+            String encoding = frame.getStringArgument(1);
             byte[] arr = string.getBytes(encoding);
-            return getBValues(new BBlob(arr));
+            frame.setBlobReturn(0, arr);
         } catch (UnsupportedEncodingException e) {
             throw new BallerinaException("Unsupported Encoding", e);
         }
@@ -19,10 +19,9 @@
 package org.ballerinalang.nativeimpl.lang.strings;
 
 import org.ballerinalang.bre.Context;
+import org.ballerinalang.bre.bvm.NativeCallFrame;
 import org.ballerinalang.model.types.TypeKind;
-import org.ballerinalang.model.values.BString;
-import org.ballerinalang.model.values.BValue;
-import org.ballerinalang.natives.AbstractNativeFunction;
+import org.ballerinalang.natives.AbstractDirectNativeFunction;
 import org.ballerinalang.natives.annotations.Argument;
 import org.ballerinalang.natives.annotations.BallerinaFunction;
 import org.ballerinalang.natives.annotations.ReturnType;
@@ -39,13 +38,13 @@ import org.ballerinalang.natives.annotations.ReturnType;
         returnType = {@ReturnType(type = TypeKind.STRING)},
         isPublic = true
 )
-public class Unescape extends AbstractNativeFunction {
+public class Unescape extends AbstractDirectNativeFunction {
 
     @Override
-    public BValue[] execute(Context context) {
-        String stringValue = getStringArgument(context, 0);
+    public void execute(Context context, NativeCallFrame frame) {
+        String stringValue = frame.getStringArgument(0);
         //todo extend this in a proper way
         String unescapedString = stringValue.replace("\\", "");
-        return getBValues(new BString(unescapedString));
+        frame.setStringReturn(0, unescapedString);
     }
 }
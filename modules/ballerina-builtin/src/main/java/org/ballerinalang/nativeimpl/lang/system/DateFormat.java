@@ -29,6 +29,8 @@ import org.ballerinalang.natives.annotations.ReturnType;
 
 import java.text.SimpleDateFormat;
 import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.TimeZone;
 
 /**
@@ -45,15 +47,35 @@ import java.util.TimeZone;
 
 public class DateFormat extends AbstractNativeFunction {
 
+    private static final int MAX_FORMATS = 16;
+    private static final TimeZone GMT = TimeZone.getTimeZone("GMT");
+
+    // SimpleDateFormat is not thread safe, hence the compiled formats are kept per thread
+    private static final ThreadLocal<Map<String, SimpleDateFormat>> DATE_FORMATS = ThreadLocal.withInitial(
+            () -> new LinkedHashMap<String, SimpleDateFormat>(MAX_FORMATS, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, SimpleDateFormat> eldest) {
+                    return size() > MAX_FORMATS;
+                }
+            });
+
     @Override public BValue[] execute(Context context) {
 
         String format = getStringArgument(context, 0);
         final Date date = new Date();
-        final TimeZone timeZone = TimeZone.getTimeZone("GMT");
-        final SimpleDateFormat dateFormat = new SimpleDateFormat(format);
-        dateFormat.setTimeZone(timeZone);
-        final String amzDate = dateFormat.format(date);
+        final String amzDate = getDateFormat(format).format(date);
 
         return getBValues(new BString(amzDate));
     }
+
+    private static SimpleDateFormat getDateFormat(String format) {
+        Map<String, SimpleDateFormat> dateFormats = DATE_FORMATS.get();
+        SimpleDateFormat dateFormat = dateFormats.get(format);
+        if (dateFormat == null) {
+            dateFormat = new SimpleDateFormat(format);
+            dateFormat.setTimeZone(GMT);
+            dateFormats.put(format, dateFormat);
+        }
+        return dateFormat;
+    }
 }
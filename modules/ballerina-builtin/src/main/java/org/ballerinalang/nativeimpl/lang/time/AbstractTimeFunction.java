@@ -20,13 +20,12 @@ package org.ballerinalang.nativeimpl.lang.time;
 import org.ballerinalang.bre.Context;
 import org.ballerinalang.bre.bvm.BLangVMStructs;
 import org.ballerinalang.model.values.BStruct;
-import org.ballerinalang.natives.AbstractNativeFunction;
+import org.ballerinalang.natives.AbstractDirectNativeFunction;
 import org.ballerinalang.util.codegen.PackageInfo;
 import org.ballerinalang.util.codegen.StructInfo;
 import org.ballerinalang.util.exceptions.BallerinaException;
 
 import java.time.Instant;
-import java.time.OffsetDateTime;
 import java.time.ZoneId;
 import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
@@ -34,25 +33,33 @@ import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
 import java.time.temporal.ChronoField;
 import java.time.temporal.TemporalAccessor;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneRules;
 import java.time.zone.ZoneRulesException;
-import java.util.Date;
-import java.util.TimeZone;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Contains utility methods for time related functions.
  *
  * @since 0.89
  */
-public abstract class AbstractTimeFunction extends AbstractNativeFunction {
+public abstract class AbstractTimeFunction extends AbstractDirectNativeFunction {
 
     public static final String TIME_PACKAGE = "ballerina.lang.time";
     public static final String STRUCT_TYPE_TIME = "Time";
     public static final String STRUCT_TYPE_TIMEZONE = "Timezone";
     public static final String KEY_ZONED_DATETIME = "ZonedDateTime";
 
+    // Bound of the cached zone offsets, as an offset is a zone of its own
+    private static final int MAX_TIMEZONES = 1024;
+
     private StructInfo timeStructInfo;
     private StructInfo zoneStructInfo;
 
+    // Current offsets of the zones by zone id, so that the zone rules are looked up only when an offset changes
+    private final Map<String, CachedZoneOffset> zoneOffsets = new ConcurrentHashMap<>();
+
     BStruct createCurrentTime(Context context) {
         long currentTime = Instant.now().toEpochMilli();
         BStruct currentTimezone = createCurrentTimeZone(context);
@@ -62,7 +69,7 @@ public abstract class AbstractTimeFunction extends AbstractNativeFunction {
     BStruct createDateTime(Context context, int year, int month, int day, int hour, int minute, int second,
             int milliSecond, String zoneID) {
         int nanoSecond = milliSecond * 1000000;
-        ZoneId zoneId = ZoneId.of(zoneID);
+        ZoneId zoneId = TimeCache.getZoneId(zoneID);
         ZonedDateTime zonedDateTime = ZonedDateTime.of(year, month, day, hour, minute, second, nanoSecond, zoneId);
         BStruct timezone = createTimeZone(context, zoneId);
         long timeValue = zonedDateTime.toInstant().toEpochMilli();
@@ -70,8 +77,19 @@ public abstract class AbstractTimeFunction extends AbstractNativeFunction {
     }
 
     BStruct parseTime(Context context, String dateValue, String pattern) {
+        if (EpochTimeFormat.DATE_TIME_PATTERN.equals(pattern)) {
+            int offset = EpochTimeFormat.parseOffset(dateValue);
+            long timeValue = offset == EpochTimeFormat.INVALID_OFFSET ? EpochTimeFormat.INVALID_TIME :
+                    EpochTimeFormat.parseEpochMilli(dateValue, offset);
+            if (timeValue != EpochTimeFormat.INVALID_TIME) {
+                BStruct timezone = createTimeZone(context, ZoneOffset.ofTotalSeconds(offset));
+                return BLangVMStructs.createBStruct(getTimeStructInfo(context), timeValue, timezone);
+            }
+            // Not a valid time, let the formatter handle it, e.g. to report the error
+        }
+
         try {
-            DateTimeFormatter formatter = DateTimeFormatter.ofPattern(pattern);
+            DateTimeFormatter formatter = TimeCache.getFormatter(pattern);
             TemporalAccessor temporalAccessor = formatter.parse(dateValue);
             //Initialize with default values
             int year = 0;
@@ -122,10 +140,18 @@ public abstract class AbstractTimeFunction extends AbstractNativeFunction {
     }
 
     String getFormattedtString(BStruct timeStruct, String pattern) {
+        if (EpochTimeFormat.DATE_TIME_PATTERN.equals(pattern)) {
+            long timeValue = timeStruct.getIntField(0);
+            String formattedString = EpochTimeFormat.formatDateTime(timeValue, getOffset(timeStruct, timeValue));
+            if (formattedString != null) {
+                return formattedString;
+            }
+        }
+
         String formattedString;
         try {
             ZonedDateTime dateTime = getZonedDateTime(timeStruct);
-            DateTimeFormatter dateTimeFormatter = DateTimeFormatter.ofPattern(pattern);
+            DateTimeFormatter dateTimeFormatter = TimeCache.getFormatter(pattern);
             formattedString =  dateTime.format(dateTimeFormatter);
         } catch (IllegalArgumentException e) {
             throw new BallerinaException("invalid pattern for formatting " + pattern);
@@ -134,6 +160,12 @@ public abstract class AbstractTimeFunction extends AbstractNativeFunction {
     }
 
     String getDefaultString(BStruct timeStruct) {
+        long timeValue = timeStruct.getIntField(0);
+        String formattedString = EpochTimeFormat.formatISO(timeValue, getOffset(timeStruct, timeValue));
+        if (formattedString != null) {
+            return formattedString;
+        }
+
         ZonedDateTime dateTime = getZonedDateTime(timeStruct);
         return dateTime.format(DateTimeFormatter.ISO_OFFSET_DATE_TIME);
     }
@@ -221,21 +253,28 @@ public abstract class AbstractTimeFunction extends AbstractNativeFunction {
             return dateTime;
         }
         long timeData = timeStruct.getIntField(0);
+        dateTime = Instant.ofEpochMilli(timeData).atZone(getZoneId(timeStruct));
+        timeStruct.addNativeData(KEY_ZONED_DATETIME, dateTime);
+        return dateTime;
+    }
+
+    private ZoneId getZoneId(BStruct timeStruct) {
         BStruct zoneData = (BStruct) timeStruct.getRefField(0);
-        ZoneId zoneId;
         if (zoneData != null) {
             String zoneIdName = zoneData.getStringField(0);
-            if (zoneIdName.isEmpty()) {
-                zoneId = ZoneId.systemDefault();
-            } else {
-                zoneId = ZoneId.of(zoneIdName);
+            if (!zoneIdName.isEmpty()) {
+                return TimeCache.getZoneId(zoneIdName);
             }
-        } else {
-            zoneId = ZoneId.systemDefault();
         }
-        dateTime = Instant.ofEpochMilli(timeData).atZone(zoneId);
-        timeStruct.addNativeData(KEY_ZONED_DATETIME, dateTime);
-        return dateTime;
+        return ZoneId.systemDefault();
+    }
+
+    private int getOffset(BStruct timeStruct, long timeValue) {
+        ZonedDateTime dateTime = (ZonedDateTime) timeStruct.getNativeData(KEY_ZONED_DATETIME);
+        if (dateTime != null) {
+            return dateTime.getOffset().getTotalSeconds();
+        }
+        return getZoneId(timeStruct).getRules().getOffset(Instant.ofEpochMilli(timeValue)).getTotalSeconds();
     }
 
     private void clearStructCache(BStruct timeStruct) {
@@ -243,39 +282,38 @@ public abstract class AbstractTimeFunction extends AbstractNativeFunction {
     }
 
     private BStruct createCurrentTimeZone(Context context) {
-        //Get zone id
-        ZoneId zoneId = ZoneId.systemDefault();
-        String zoneIdName = zoneId.toString();
-        //Get offset in seconds
-        ZoneOffset o = OffsetDateTime.now().getOffset();
-        int offset = o.getTotalSeconds();
-        return BLangVMStructs.createBStruct(getTimeZoneStructInfo(context), zoneIdName, offset);
+        return createTimeZone(context, ZoneId.systemDefault());
     }
 
     private BStruct createTimeZone(Context context, String zoneIdValue) {
-        String zoneIdName;
         try {
-            ZoneId zoneId = ZoneId.of(zoneIdValue);
-            zoneIdName = zoneId.toString();
-            //Get offset in seconds
-            TimeZone tz = TimeZone.getTimeZone(zoneId);
-            int offsetInMills  = tz.getOffset(new Date().getTime());
-            int offset = offsetInMills / 1000;
-            return BLangVMStructs.createBStruct(getTimeZoneStructInfo(context), zoneIdName, offset);
+            return createTimeZone(context, TimeCache.getZoneId(zoneIdValue));
         } catch (ZoneRulesException e) {
             throw new BallerinaException("invalid timezone id " + zoneIdValue);
         }
-
     }
 
+    /**
+     * Create a timezone struct of a zone, with the current offset of the zone. The offset is cached until the offset
+     * of the zone changes, but each time gets a struct of its own, as the fields of a struct can be modified.
+     */
     private BStruct createTimeZone(Context context, ZoneId zoneId) {
-        //Get zone id
         String zoneIdName = zoneId.toString();
-        //Get offset in seconds
-        TimeZone tz = TimeZone.getTimeZone(zoneId);
-        int offsetInMills  = tz.getOffset(new Date().getTime());
-        int offset = offsetInMills / 1000;
-        return BLangVMStructs.createBStruct(getTimeZoneStructInfo(context), zoneIdName, offset);
+        long now = System.currentTimeMillis();
+        CachedZoneOffset cached = zoneOffsets.get(zoneIdName);
+        if (cached == null || now >= cached.validUntil) {
+            ZoneRules rules = zoneId.getRules();
+            Instant instant = Instant.ofEpochMilli(now);
+            int offset = rules.getOffset(instant).getTotalSeconds();
+            ZoneOffsetTransition nextTransition = rules.nextTransition(instant);
+            long validUntil = nextTransition == null ? Long.MAX_VALUE : nextTransition.toEpochSecond() * 1000;
+            boolean cacheable = cached != null || zoneOffsets.size() < MAX_TIMEZONES;
+            cached = new CachedZoneOffset(zoneIdName, offset, validUntil);
+            if (cacheable) {
+                zoneOffsets.put(zoneIdName, cached);
+            }
+        }
+        return BLangVMStructs.createBStruct(getTimeZoneStructInfo(context), cached.zoneIdName, cached.offset);
     }
 
     private StructInfo getTimeZoneStructInfo(Context context) {
@@ -295,4 +333,19 @@ public abstract class AbstractTimeFunction extends AbstractNativeFunction {
         }
         return timeStructInfo;
     }
+
+    /**
+     * The offset of a zone, with the time until which the offset is valid.
+     */
+    private static class CachedZoneOffset {
+        final String zoneIdName;
+        final int offset;
+        final long validUntil;
+
+        CachedZoneOffset(String zoneIdName, int offset, long validUntil) {
+            this.zoneIdName = zoneIdName;
+            this.offset = offset;
+            this.validUntil = validUntil;
+        }
+    }
 }
@@ -18,9 +18,9 @@
 package org.ballerinalang.nativeimpl.lang.time;
 
 import org.ballerinalang.bre.Context;
+import org.ballerinalang.bre.bvm.NativeCallFrame;
 import org.ballerinalang.model.types.TypeKind;
 import org.ballerinalang.model.values.BStruct;
-import org.ballerinalang.model.values.BValue;
 import org.ballerinalang.natives.annotations.Argument;
 import org.ballerinalang.natives.annotations.BallerinaFunction;
 import org.ballerinalang.natives.annotations.ReturnType;
@@ -49,17 +49,16 @@ import org.ballerinalang.natives.annotations.ReturnType;
 public class AddDuration extends AbstractTimeFunction {
 
     @Override
-    public BValue[] execute(Context context) {
-        BStruct timeStruct = ((BStruct) getRefArgument(context, 0));
-        long years = getIntArgument(context, 0);
-        long months = getIntArgument(context, 1);
-        long dates = getIntArgument(context, 2);
-        long hours = getIntArgument(context, 3);
-        long minutes = getIntArgument(context, 4);
-        long seconds = getIntArgument(context, 5);
-        long milliSeconds = getIntArgument(context, 6);
-        return new BValue[] {
-                addDuration(context, timeStruct, years, months, dates, hours, minutes, seconds, milliSeconds)
-        };
+    public void execute(Context context, NativeCallFrame frame) {
+        BStruct timeStruct = ((BStruct) frame.getRefArgument(0));
+        long years = frame.getIntArgument(1);
+        long months = frame.getIntArgument(2);
+        long dates = frame.getIntArgument(3);
+        long hours = frame.getIntArgument(4);
+        long minutes = frame.getIntArgument(5);
+        long seconds = frame.getIntArgument(6);
+        long milliSeconds = frame.getIntArgument(7);
+        frame.setRefReturn(0,
+                addDuration(context, timeStruct, years, months, dates, hours, minutes, seconds, milliSeconds));
     }
 }
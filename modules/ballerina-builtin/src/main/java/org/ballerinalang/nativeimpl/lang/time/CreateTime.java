@@ -18,8 +18,8 @@
 package org.ballerinalang.nativeimpl.lang.time;
 
 import org.ballerinalang.bre.Context;
+import org.ballerinalang.bre.bvm.NativeCallFrame;
 import org.ballerinalang.model.types.TypeKind;
-import org.ballerinalang.model.values.BValue;
 import org.ballerinalang.natives.annotations.Argument;
 import org.ballerinalang.natives.annotations.BallerinaFunction;
 import org.ballerinalang.natives.annotations.ReturnType;
@@ -47,17 +47,16 @@ import org.ballerinalang.natives.annotations.ReturnType;
 public class CreateTime extends AbstractTimeFunction {
 
     @Override
-    public BValue[] execute(Context context) {
-        int years = (int) getIntArgument(context, 0);
-        int months = (int) getIntArgument(context, 1);
-        int dates = (int) getIntArgument(context, 2);
-        int hours = (int) getIntArgument(context, 3);
-        int minutes = (int) getIntArgument(context, 4);
-        int seconds = (int) getIntArgument(context, 5);
-        int milliSeconds = (int) getIntArgument(context, 6);
-        String zoneId = getStringArgument(context, 0);
-        return new BValue[] {
-                createDateTime(context, years, months, dates, hours, minutes, seconds, milliSeconds, zoneId)
-        };
+    public void execute(Context context, NativeCallFrame frame) {
+        int years = (int) frame.getIntArgument(0);
+        int months = (int) frame.getIntArgument(1);
+        int dates = (int) frame.getIntArgument(2);
+        int hours = (int) frame.getIntArgument(3);
+        int minutes = (int) frame.getIntArgument(4);
+        int seconds = (int) frame.getIntArgument(5);
+        int milliSeconds = (int) frame.getIntArgument(6);
+        String zoneId = frame.getStringArgument(7);
+        frame.setRefReturn(0,
+                createDateTime(context, years, months, dates, hours, minutes, seconds, milliSeconds, zoneId));
     }
 }
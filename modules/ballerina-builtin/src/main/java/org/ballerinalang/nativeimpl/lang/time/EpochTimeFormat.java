@@ -0,0 +1,268 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.nativeimpl.lang.time;
+
+/**
+ * {@code EpochTimeFormat} formats and parses the ISO date time formats most commonly used with the time natives,
+ * straight from and to the epoch time and the zone offset, without creating a {@link java.time.ZonedDateTime}.
+ * <p>
+ * The output is the same as the {@link java.time.format.DateTimeFormatter} of the format. Only the years from 1 to
+ * 9999 and the offsets in whole minutes are handled, which covers all the times in practice. The methods return
+ * a marker value for anything else, and the caller falls back to the formatter.
+ *
+ * @since 0.95
+ */
+final class EpochTimeFormat {
+
+    /**
+     * The pattern of a date time with milliseconds and the offset, e.g. {@code 2017-06-26T09:46:22.444-0500}.
+     */
+    static final String DATE_TIME_PATTERN = "yyyy-MM-dd'T'HH:mm:ss.SSSZ";
+
+    static final int INVALID_OFFSET = Integer.MIN_VALUE;
+    static final long INVALID_TIME = Long.MIN_VALUE;
+
+    private static final int DATE_TIME_LENGTH = 28;
+    private static final int SECONDS_PER_DAY = 86400;
+    private static final int MAX_OFFSET_SECONDS = 18 * 3600;
+    // Number of days from 0000-01-01 to 1970-01-01, the same as in java.time.LocalDate
+    private static final long DAYS_0000_TO_1970 = 719528L;
+
+    private EpochTimeFormat() {
+    }
+
+    /**
+     * Format a time in the {@link java.time.format.DateTimeFormatter#ISO_OFFSET_DATE_TIME} format, e.g.
+     * {@code 2017-06-26T09:46:22.444-05:00}.
+     *
+     * @param epochMilli    time in milliseconds since the epoch
+     * @param offsetSeconds offset of the zone at the time
+     * @return formatted time, or null if the time is not handled
+     */
+    static String formatISO(long epochMilli, int offsetSeconds) {
+        if (offsetSeconds % 60 != 0) {
+            return null;
+        }
+        char[] chars = new char[29];
+        int length = formatDateTime(epochMilli, offsetSeconds, chars);
+        if (length < 0) {
+            return null;
+        }
+
+        int milliSecond = (int) Math.floorMod(epochMilli, 1000L);
+        if (milliSecond != 0) {
+            // The fraction is printed without the trailing zeros
+            chars[length++] = '.';
+            chars[length++] = (char) ('0' + milliSecond / 100);
+            if (milliSecond % 100 != 0) {
+                chars[length++] = (char) ('0' + milliSecond / 10 % 10);
+                if (milliSecond % 10 != 0) {
+                    chars[length++] = (char) ('0' + milliSecond % 10);
+                }
+            }
+        }
+
+        if (offsetSeconds == 0) {
+            chars[length++] = 'Z';
+        } else {
+            length = formatOffset(offsetSeconds, true, chars, length);
+        }
+        return new String(chars, 0, length);
+    }
+
+    /**
+     * Format a time with the {@value #DATE_TIME_PATTERN} pattern.
+     *
+     * @param epochMilli    time in milliseconds since the epoch
+     * @param offsetSeconds offset of the zone at the time
+     * @return formatted time, or null if the time is not handled
+     */
+    static String formatDateTime(long epochMilli, int offsetSeconds) {
+        if (offsetSeconds % 60 != 0) {
+            return null;
+        }
+        char[] chars = new char[DATE_TIME_LENGTH];
+        int length = formatDateTime(epochMilli, offsetSeconds, chars);
+        if (length < 0) {
+            return null;
+        }
+
+        int milliSecond = (int) Math.floorMod(epochMilli, 1000L);
+        chars[length++] = '.';
+        length = formatDigits(milliSecond, 3, chars, length);
+        length = formatOffset(offsetSeconds, false, chars, length);
+        return new String(chars, 0, length);
+    }
+
+    /**
+     * Parse the offset of a time in the {@value #DATE_TIME_PATTERN} pattern.
+     *
+     * @param value time to parse
+     * @return offset in seconds, or {@link #INVALID_OFFSET} if the value is not handled
+     */
+    static int parseOffset(String value) {
+        if (value.length() != DATE_TIME_LENGTH) {
+            return INVALID_OFFSET;
+        }
+        char sign = value.charAt(23);
+        int hours = parseDigits(value, 24, 2);
+        int minutes = parseDigits(value, 26, 2);
+        if ((sign != '+' && sign != '-') || hours < 0 || minutes < 0 || minutes > 59) {
+            return INVALID_OFFSET;
+        }
+        int offsetSeconds = hours * 3600 + minutes * 60;
+        if (offsetSeconds > MAX_OFFSET_SECONDS) {
+            return INVALID_OFFSET;
+        }
+        return sign == '-' ? -offsetSeconds : offsetSeconds;
+    }
+
+    /**
+     * Parse a time in the {@value #DATE_TIME_PATTERN} pattern.
+     *
+     * @param value         time to parse
+     * @param offsetSeconds offset of the time, as parsed by {@link #parseOffset(String)}
+     * @return time in milliseconds since the epoch, or {@link #INVALID_TIME} if the value is not handled
+     */
+    static long parseEpochMilli(String value, int offsetSeconds) {
+        if (value.length() != DATE_TIME_LENGTH || value.charAt(4) != '-' || value.charAt(7) != '-' ||
+                value.charAt(10) != 'T' || value.charAt(13) != ':' || value.charAt(16) != ':' ||
+                value.charAt(19) != '.') {
+            return INVALID_TIME;
+        }
+        int year = parseDigits(value, 0, 4);
+        int month = parseDigits(value, 5, 2);
+        int day = parseDigits(value, 8, 2);
+        int hour = parseDigits(value, 11, 2);
+        int minute = parseDigits(value, 14, 2);
+        int second = parseDigits(value, 17, 2);
+        int milliSecond = parseDigits(value, 20, 3);
+        if (year < 1 || month < 1 || month > 12 || day < 1 || day > lengthOfMonth(year, month) || hour < 0 ||
+                hour > 23 || minute < 0 || minute > 59 || second < 0 || second > 59 || milliSecond < 0) {
+            return INVALID_TIME;
+        }
+
+        long epochSecond = toEpochDay(year, month, day) * SECONDS_PER_DAY + hour * 3600 + minute * 60 + second -
+                offsetSeconds;
+        return epochSecond * 1000 + milliSecond;
+    }
+
+    /**
+     * Format the local date and time of a time, up to the seconds, e.g. {@code 2017-06-26T09:46:22}.
+     *
+     * @return number of characters written, or -1 if the year is out of range
+     */
+    private static int formatDateTime(long epochMilli, int offsetSeconds, char[] chars) {
+        long localSecond = Math.floorDiv(epochMilli, 1000L) + offsetSeconds;
+        long epochDay = Math.floorDiv(localSecond, (long) SECONDS_PER_DAY);
+        int secondOfDay = (int) Math.floorMod(localSecond, (long) SECONDS_PER_DAY);
+
+        // Civil date of the epoch day, the same as java.time.LocalDate.ofEpochDay, for the years from 0
+        long zeroDay = epochDay + DAYS_0000_TO_1970 - 60;
+        if (zeroDay < 0) {
+            return -1;
+        }
+        long year = (400 * zeroDay + 591) / 146097;
+        long dayOfYear = zeroDay - (365 * year + year / 4 - year / 100 + year / 400);
+        if (dayOfYear < 0) {
+            year--;
+            dayOfYear = zeroDay - (365 * year + year / 4 - year / 100 + year / 400);
+        }
+        int marchDayOfYear = (int) dayOfYear;
+        int marchMonth = (marchDayOfYear * 5 + 2) / 153;
+        int month = (marchMonth + 2) % 12 + 1;
+        int day = marchDayOfYear - (marchMonth * 306 + 5) / 10 + 1;
+        year += marchMonth / 10;
+        if (year < 1 || year > 9999) {
+            return -1;
+        }
+
+        int length = formatDigits((int) year, 4, chars, 0);
+        chars[length++] = '-';
+        length = formatDigits(month, 2, chars, length);
+        chars[length++] = '-';
+        length = formatDigits(day, 2, chars, length);
+        chars[length++] = 'T';
+        length = formatDigits(secondOfDay / 3600, 2, chars, length);
+        chars[length++] = ':';
+        length = formatDigits(secondOfDay / 60 % 60, 2, chars, length);
+        chars[length++] = ':';
+        return formatDigits(secondOfDay % 60, 2, chars, length);
+    }
+
+    private static int formatOffset(int offsetSeconds, boolean colon, char[] chars, int length) {
+        int absOffset = Math.abs(offsetSeconds);
+        chars[length++] = offsetSeconds < 0 ? '-' : '+';
+        length = formatDigits(absOffset / 3600, 2, chars, length);
+        if (colon) {
+            chars[length++] = ':';
+        }
+        return formatDigits(absOffset / 60 % 60, 2, chars, length);
+    }
+
+    private static int formatDigits(int value, int digits, char[] chars, int length) {
+        for (int i = length + digits - 1; i >= length; i--) {
+            chars[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+        return length + digits;
+    }
+
+    private static int parseDigits(String value, int start, int digits) {
+        int result = 0;
+        for (int i = start; i < start + digits; i++) {
+            char c = value.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            result = result * 10 + (c - '0');
+        }
+        return result;
+    }
+
+    private static long toEpochDay(int year, int month, int day) {
+        // The same as java.time.LocalDate.toEpochDay, for the years from 0
+        long total = 365L * year + (year + 3) / 4 - (year + 99) / 100 + (year + 399) / 400;
+        total += (367 * month - 362) / 12;
+        total += day - 1;
+        if (month > 2) {
+            total--;
+            if (!isLeapYear(year)) {
+                total--;
+            }
+        }
+        return total - DAYS_0000_TO_1970;
+    }
+
+    private static int lengthOfMonth(int year, int month) {
+        switch (month) {
+            case 2:
+                return isLeapYear(year) ? 29 : 28;
+            case 4:
+            case 6:
+            case 9:
+            case 11:
+                return 30;
+            default:
+                return 31;
+        }
+    }
+
+    private static boolean isLeapYear(int year) {
+        return (year & 3) == 0 && (year % 100 != 0 || year % 400 == 0);
+    }
+}
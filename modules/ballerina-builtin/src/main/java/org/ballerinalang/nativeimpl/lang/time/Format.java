@@ -18,10 +18,9 @@
 package org.ballerinalang.nativeimpl.lang.time;
 
 import org.ballerinalang.bre.Context;
+import org.ballerinalang.bre.bvm.NativeCallFrame;
 import org.ballerinalang.model.types.TypeKind;
-import org.ballerinalang.model.values.BString;
 import org.ballerinalang.model.values.BStruct;
-import org.ballerinalang.model.values.BValue;
 import org.ballerinalang.natives.annotations.Argument;
 import org.ballerinalang.natives.annotations.BallerinaFunction;
 import org.ballerinalang.natives.annotations.ReturnType;
@@ -43,9 +42,9 @@ import org.ballerinalang.natives.annotations.ReturnType;
 public class Format extends AbstractTimeFunction {
 
     @Override
-    public BValue[] execute(Context context) {
-        BStruct timeStruct = ((BStruct) getRefArgument(context, 0));
-        String pattern = getStringArgument(context, 0);
-        return new BValue[]{new BString(getFormattedtString(timeStruct, pattern))};
+    public void execute(Context context, NativeCallFrame frame) {
+        BStruct timeStruct = ((BStruct) frame.getRefArgument(0));
+        String pattern = frame.getStringArgument(1);
+        frame.setStringReturn(0, getFormattedtString(timeStruct, pattern));
     }
 }
@@ -18,10 +18,9 @@
 package org.ballerinalang.nativeimpl.lang.time;
 
 import org.ballerinalang.bre.Context;
+import org.ballerinalang.bre.bvm.NativeCallFrame;
 import org.ballerinalang.model.types.TypeKind;
-import org.ballerinalang.model.values.BInteger;
 import org.ballerinalang.model.values.BStruct;
-import org.ballerinalang.model.values.BValue;
 import org.ballerinalang.natives.annotations.Argument;
 import org.ballerinalang.natives.annotations.BallerinaFunction;
 import org.ballerinalang.natives.annotations.ReturnType;
@@ -44,9 +43,10 @@ import org.ballerinalang.natives.annotations.ReturnType;
 public class GetDate extends AbstractTimeFunction {
 
     @Override
-    public BValue[] execute(Context context) {
-        BStruct timeStruct = ((BStruct) getRefArgument(context, 0));
-        return getBValues(new BInteger(getYear(timeStruct)), new BInteger(getMonth(timeStruct)),
-                new BInteger(getDay(timeStruct)));
+    public void execute(Context context, NativeCallFrame frame) {
+        BStruct timeStruct = ((BStruct) frame.getRefArgument(0));
+        frame.setIntReturn(0, getYear(timeStruct));
+        frame.setIntReturn(1, getMonth(timeStruct));
+        frame.setIntReturn(2, getDay(timeStruct));
     }
 }
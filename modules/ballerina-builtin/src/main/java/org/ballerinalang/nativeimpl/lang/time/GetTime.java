@@ -18,10 +18,9 @@
 package org.ballerinalang.nativeimpl.lang.time;
 
 import org.ballerinalang.bre.Context;
+import org.ballerinalang.bre.bvm.NativeCallFrame;
 import org.ballerinalang.model.types.TypeKind;
-import org.ballerinalang.model.values.BInteger;
 import org.ballerinalang.model.values.BStruct;
-import org.ballerinalang.model.values.BValue;
 import org.ballerinalang.natives.annotations.Argument;
 import org.ballerinalang.natives.annotations.BallerinaFunction;
 import org.ballerinalang.natives.annotations.ReturnType;
@@ -45,9 +44,11 @@ import org.ballerinalang.natives.annotations.ReturnType;
 public class GetTime extends AbstractTimeFunction {
 
     @Override
-    public BValue[] execute(Context context) {
-        BStruct timeStruct = ((BStruct) getRefArgument(context, 0));
-        return getBValues(new BInteger(getHour(timeStruct)), new BInteger(getMinute(timeStruct)),
-                new BInteger(getSecond(timeStruct)), new BInteger(getMilliSecond(timeStruct)));
+    public void execute(Context context, NativeCallFrame frame) {
+        BStruct timeStruct = ((BStruct) frame.getRefArgument(0));
+        frame.setIntReturn(0, getHour(timeStruct));
+        frame.setIntReturn(1, getMinute(timeStruct));
+        frame.setIntReturn(2, getSecond(timeStruct));
+        frame.setIntReturn(3, getMilliSecond(timeStruct));
     }
 }
@@ -18,8 +18,8 @@
 package org.ballerinalang.nativeimpl.lang.time;
 
 import org.ballerinalang.bre.Context;
+import org.ballerinalang.bre.bvm.NativeCallFrame;
 import org.ballerinalang.model.types.TypeKind;
-import org.ballerinalang.model.values.BValue;
 import org.ballerinalang.natives.annotations.Argument;
 import org.ballerinalang.natives.annotations.BallerinaFunction;
 import org.ballerinalang.natives.annotations.ReturnType;
@@ -41,9 +41,9 @@ import org.ballerinalang.natives.annotations.ReturnType;
 public class Parse extends  AbstractTimeFunction {
 
     @Override
-    public BValue[] execute(Context context) {
-        String dateString = getStringArgument(context, 0);
-        String pattern = getStringArgument(context, 1);
-        return new BValue[] { parseTime(context, dateString, pattern) };
+    public void execute(Context context, NativeCallFrame frame) {
+        String dateString = frame.getStringArgument(0);
+        String pattern = frame.getStringArgument(1);
+        frame.setRefReturn(0, parseTime(context, dateString, pattern));
     }
 }
@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.nativeimpl.lang.time;
+
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * {@code TimeCache} holds the compiled date time formatters and the zones of the time natives, so that a pattern or a
+ * zone id used over and over again is resolved only once. Both are immutable, hence shared by all the natives.
+ * <p>
+ * The caches are bounded. Lookups do not lock, and when a cache is full an arbitrary entry is evicted. The maximum
+ * number of entries of each cache can be set with the {@value #MAX_SIZE_PROPERTY} system property.
+ *
+ * @since 0.95
+ */
+public final class TimeCache {
+
+    public static final String MAX_SIZE_PROPERTY = "ballerina.time.cacheSize";
+    private static final int DEFAULT_MAX_SIZE = 256;
+    private static final int MAX_SIZE = Math.max(1, Integer.getInteger(MAX_SIZE_PROPERTY, DEFAULT_MAX_SIZE));
+
+    private static final Map<String, DateTimeFormatter> FORMATTERS = new ConcurrentHashMap<>();
+    private static final Map<String, ZoneId> ZONES = new ConcurrentHashMap<>();
+
+    private TimeCache() {
+    }
+
+    /**
+     * Get the formatter of a pattern, compiling it if it is not in the cache.
+     *
+     * @param pattern pattern of the formatter
+     * @return formatter of the pattern
+     * @throws IllegalArgumentException if the pattern is invalid
+     */
+    public static DateTimeFormatter getFormatter(String pattern) {
+        return get(FORMATTERS, pattern, DateTimeFormatter::ofPattern);
+    }
+
+    /**
+     * Get the zone of a zone id, resolving it if it is not in the cache.
+     *
+     * @param zoneId zone id
+     * @return zone of the id
+     * @throws java.time.DateTimeException if the zone id is invalid
+     */
+    public static ZoneId getZoneId(String zoneId) {
+        return get(ZONES, zoneId, ZoneId::of);
+    }
+
+    public static void clear() {
+        FORMATTERS.clear();
+        ZONES.clear();
+    }
+
+    private static <V> V get(Map<String, V> cache, String key, Function<String, V> resolver) {
+        V value = cache.get(key);
+        if (value != null) {
+            return value;
+        }
+
+        // Resolved outside of the map, so that an invalid key is not cached and its exception is thrown as it is
+        value = resolver.apply(key);
+        if (cache.size() >= MAX_SIZE) {
+            Iterator<String> keys = cache.keySet().iterator();
+            if (keys.hasNext()) {
+                cache.remove(keys.next());
+            }
+        }
+        cache.putIfAbsent(key, value);
+        return value;
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.nativeimpl.lang.utils;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.regex.Pattern;
+
+/**
+ * {@code PatternCache} holds the compiled regular expressions of the natives which take a regular expression as a
+ * string argument, so that a pattern used over and over again is compiled only once.
+ * <p>
+ * The cache is shared by all the natives and is bounded. Lookups do not lock, and when the cache is full the least
+ * recently used pattern is evicted. The recency of a pattern is the {@link System#nanoTime()} of its last use, which a
+ * lookup stores without a fence, so that lookups on different threads do not contend on a shared counter. The
+ * maximum number of patterns can be set with the {@value #MAX_SIZE_PROPERTY} system property.
+ *
+ * @since 0.95
+ */
+public class PatternCache {
+
+    public static final String MAX_SIZE_PROPERTY = "ballerina.regex.cacheSize";
+    private static final int DEFAULT_MAX_SIZE = 256;
+
+    private static final PatternCache INSTANCE = new PatternCache(Integer.getInteger(MAX_SIZE_PROPERTY,
+            DEFAULT_MAX_SIZE));
+
+    private final Map<String, CachedPattern> patterns = new ConcurrentHashMap<>();
+
+    private final int maxSize;
+
+    public PatternCache(int maxSize) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("invalid pattern cache size: " + maxSize);
+        }
+        this.maxSize = maxSize;
+    }
+
+    public static PatternCache getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Get the compiled pattern of a regular expression, compiling it if it is not in the cache.
+     *
+     * @param regex regular expression
+     * @return compiled pattern
+     * @throws java.util.regex.PatternSyntaxException if the regular expression is invalid
+     */
+    public Pattern get(String regex) {
+        CachedPattern cachedPattern = patterns.get(regex);
+        if (cachedPattern != null) {
+            CachedPattern.LAST_ACCESS.lazySet(cachedPattern, System.nanoTime());
+            return cachedPattern.pattern;
+        }
+
+        // Compile outside of the map, so that a slow compilation does not block the other lookups. If two threads
+        // compile the same pattern, the first one to be added is kept.
+        CachedPattern newPattern = new CachedPattern(Pattern.compile(regex), System.nanoTime());
+        cachedPattern = patterns.putIfAbsent(regex, newPattern);
+        if (cachedPattern != null) {
+            return cachedPattern.pattern;
+        }
+        if (patterns.size() > maxSize) {
+            evict();
+        }
+        return newPattern.pattern;
+    }
+
+    public int size() {
+        return patterns.size();
+    }
+
+    public void clear() {
+        patterns.clear();
+    }
+
+    private synchronized void evict() {
+        while (patterns.size() > maxSize) {
+            Map.Entry<String, CachedPattern> leastRecentlyUsed = null;
+            for (Map.Entry<String, CachedPattern> entry : patterns.entrySet()) {
+                // Compare the difference, as nano times may overflow
+                if (leastRecentlyUsed == null ||
+                        entry.getValue().lastAccess - leastRecentlyUsed.getValue().lastAccess < 0) {
+                    leastRecentlyUsed = entry;
+                }
+            }
+            if (leastRecentlyUsed == null) {
+                return;
+            }
+            patterns.remove(leastRecentlyUsed.getKey(), leastRecentlyUsed.getValue());
+        }
+    }
+
+    /**
+     * A compiled pattern with the time it was last used, in nanoseconds.
+     */
+    private static class CachedPattern {
+        static final AtomicLongFieldUpdater<CachedPattern> LAST_ACCESS =
+                AtomicLongFieldUpdater.newUpdater(CachedPattern.class, "lastAccess");
+
+        final Pattern pattern;
+        volatile long lastAccess;
+
+        CachedPattern(Pattern pattern, long lastAccess) {
+            this.pattern = pattern;
+            this.lastAccess = lastAccess;
+        }
+    }
+}
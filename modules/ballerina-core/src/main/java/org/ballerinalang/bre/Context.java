@@ -17,15 +17,13 @@
 */
 package org.ballerinalang.bre;
 
+import org.ballerinalang.bre.bvm.ActionContinuation;
 import org.ballerinalang.bre.bvm.ControlStackNew;
 import org.ballerinalang.bre.bvm.WorkerCounter;
 import org.ballerinalang.connector.impl.BServerConnectorFuture;
 import org.ballerinalang.model.values.BStruct;
-import org.ballerinalang.model.values.BValue;
-import org.ballerinalang.util.codegen.ActionInfo;
 import org.ballerinalang.util.codegen.ProgramFile;
 import org.ballerinalang.util.codegen.ServiceInfo;
-import org.ballerinalang.util.codegen.cpentries.FunctionCallCPEntry;
 import org.ballerinalang.util.debugger.DebugInfoHolder;
 import org.wso2.carbon.messaging.CarbonMessage;
 
@@ -55,11 +53,8 @@ public class Context {
 
     protected WorkerCounter workerCounter;
 
-    // TODO : Temporary solution to make non-blocking working.
-    public BValue[] nativeArgValues;
     public ProgramFile programFile;
-    public FunctionCallCPEntry funcCallCPEntry;
-    public ActionInfo actionInfo;
+    private ActionContinuation actionContinuation;
     private String threadId;
 
     @Deprecated
@@ -185,6 +180,19 @@ public class Context {
         this.startIP = startIP;
     }
 
+    /**
+     * Get the continuation of the native action this context is suspended on.
+     *
+     * @return action continuation, or {@code null} if the context isn't waiting on an action
+     */
+    public ActionContinuation getActionContinuation() {
+        return actionContinuation;
+    }
+
+    public void setActionContinuation(ActionContinuation actionContinuation) {
+        this.actionContinuation = actionContinuation;
+    }
+
     public ProgramFile getProgramFile() {
         return programFile;
     }
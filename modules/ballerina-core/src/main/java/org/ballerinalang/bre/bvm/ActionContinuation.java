@@ -0,0 +1,160 @@
+/*
+*  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.ballerinalang.bre.bvm;
+
+import org.ballerinalang.bre.Context;
+import org.ballerinalang.model.values.BValue;
+import org.ballerinalang.runtime.threadpool.ResponseWorkerThread;
+import org.ballerinalang.runtime.threadpool.ThreadPoolFactory;
+import org.ballerinalang.util.codegen.ActionInfo;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code ActionContinuation} captures the state of a VM suspended on a native action invocation.
+ * <p>
+ * The continuation holds the instruction to resume from, the frame of the native action and the caller's return
+ * registers. The action completes the continuation from any thread. If the VM has already given up its thread by
+ * then, the context is resumed on an executor thread, otherwise the VM picks the result up and carries on inline.
+ *
+ * @since 0.94
+ */
+public class ActionContinuation {
+
+    private final Context context;
+    private final ActionInfo actionInfo;
+    private final StackFrame actionFrame;
+    private final int resumeIP;
+    private final int[] retRegs;
+
+    private boolean completed;
+    private boolean suspended;
+    private ExecutorService resumeExecutor;
+    private ScheduledFuture<?> timeoutTask;
+
+    ActionContinuation(Context context, ActionInfo actionInfo, StackFrame actionFrame, int resumeIP, int[] retRegs) {
+        this.context = context;
+        this.actionInfo = actionInfo;
+        this.actionFrame = actionFrame;
+        this.resumeIP = resumeIP;
+        this.retRegs = retRegs;
+    }
+
+    public ActionInfo getActionInfo() {
+        return actionInfo;
+    }
+
+    public StackFrame getActionFrame() {
+        return actionFrame;
+    }
+
+    public int getResumeIP() {
+        return resumeIP;
+    }
+
+    public int[] getRetRegs() {
+        return retRegs;
+    }
+
+    /**
+     * Suspend the VM on this continuation, unless the action has already completed.
+     *
+     * @param timeout  time in milliseconds to wait for the action to complete, a non positive value waits forever
+     * @param executor executor to resume the context on
+     * @return {@code true} if the VM has to give up its thread, {@code false} if the result is already available
+     */
+    synchronized boolean suspend(long timeout, ExecutorService executor) {
+        if (completed) {
+            return false;
+        }
+        suspended = true;
+        resumeExecutor = executor;
+        if (timeout > 0) {
+            timeoutTask = ThreadPoolFactory.getInstance().getTimeoutScheduler()
+                    .schedule(this::timeout, timeout, TimeUnit.MILLISECONDS);
+        }
+        return true;
+    }
+
+    /**
+     * Complete the action successfully.
+     *
+     * @param returnValue value returned by the action, or {@code null} if it doesn't return a value
+     */
+    public void complete(BValue returnValue) {
+        ExecutorService executor;
+        synchronized (this) {
+            if (completed) {
+                // Already timed out or completed.
+                return;
+            }
+            completed = true;
+            if (returnValue != null) {
+                actionFrame.returnValues[0] = returnValue;
+            }
+            executor = dispatchExecutor();
+        }
+        resume(executor);
+    }
+
+    /**
+     * Complete the action with an error.
+     *
+     * @param message error message
+     */
+    public void fail(String message) {
+        ExecutorService executor;
+        synchronized (this) {
+            if (completed) {
+                return;
+            }
+            completed = true;
+            context.setError(BLangVMErrors.createError(context, resumeIP - 1, message));
+            executor = dispatchExecutor();
+        }
+        resume(executor);
+    }
+
+    private void timeout() {
+        fail("Action execution timed out, timeout period - " + actionTimeout() + ", Action - " +
+                actionInfo.getNativeAction().getPackagePath() + ":" + actionInfo.getNativeAction().getName());
+    }
+
+    private long actionTimeout() {
+        return actionInfo.getNativeAction().getTimeout();
+    }
+
+    private ExecutorService dispatchExecutor() {
+        if (!suspended) {
+            // The VM is still on its thread and resumes inline.
+            return null;
+        }
+        if (timeoutTask != null) {
+            timeoutTask.cancel(false);
+        }
+        return resumeExecutor;
+    }
+
+    private void resume(ExecutorService executor) {
+        if (executor != null) {
+            executor.execute(new ResponseWorkerThread(context));
+        }
+    }
+}
@@ -63,7 +63,9 @@ import org.ballerinalang.model.values.BXML;
 import org.ballerinalang.model.values.BXMLAttributes;
 import org.ballerinalang.model.values.BXMLQName;
 import org.ballerinalang.model.values.StructureType;
+import org.ballerinalang.natives.AbstractDirectNativeFunction;
 import org.ballerinalang.natives.AbstractNativeFunction;
+import org.ballerinalang.runtime.threadpool.ResponseWorkerThread;
 import org.ballerinalang.runtime.threadpool.ThreadPoolFactory;
 import org.ballerinalang.util.codegen.ActionInfo;
 import org.ballerinalang.util.codegen.CallableUnitInfo;
@@ -83,16 +85,14 @@ import org.ballerinalang.util.codegen.WorkerDataChannelInfo;
 import org.ballerinalang.util.codegen.WorkerInfo;
 import org.ballerinalang.util.codegen.attributes.AttributeInfo;
 import org.ballerinalang.util.codegen.attributes.AttributeInfoPool;
+import org.ballerinalang.util.codegen.attributes.CodeAttributeInfo;
 import org.ballerinalang.util.codegen.attributes.DefaultValueAttributeInfo;
 import org.ballerinalang.util.codegen.attributes.LocalVariableAttributeInfo;
 import org.ballerinalang.util.codegen.cpentries.ActionRefCPEntry;
 import org.ballerinalang.util.codegen.cpentries.ConstantPoolEntry;
-import org.ballerinalang.util.codegen.cpentries.FloatCPEntry;
 import org.ballerinalang.util.codegen.cpentries.ForkJoinCPEntry;
 import org.ballerinalang.util.codegen.cpentries.FunctionCallCPEntry;
 import org.ballerinalang.util.codegen.cpentries.FunctionRefCPEntry;
-import org.ballerinalang.util.codegen.cpentries.IntegerCPEntry;
-import org.ballerinalang.util.codegen.cpentries.StringCPEntry;
 import org.ballerinalang.util.codegen.cpentries.StructureRefCPEntry;
 import org.ballerinalang.util.codegen.cpentries.TypeRefCPEntry;
 import org.ballerinalang.util.codegen.cpentries.WorkerDataChannelRefCPEntry;
@@ -102,6 +102,8 @@ import org.ballerinalang.util.debugger.VMDebugManager;
 import org.ballerinalang.util.exceptions.BLangExceptionHelper;
 import org.ballerinalang.util.exceptions.BallerinaException;
 import org.ballerinalang.util.exceptions.RuntimeErrors;
+import org.ballerinalang.util.profiler.CallNode;
+import org.ballerinalang.util.profiler.VMProfiler;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.wso2.ballerinalang.util.Lists;
@@ -120,6 +122,8 @@ import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
 
+import static org.ballerinalang.util.codegen.PackageInfo.INSTRUCTION_WIDTH;
+
 /**
  * This class executes Ballerina instruction codes.
  *
@@ -135,48 +139,79 @@ public class BLangVM {
     private ConstantPoolEntry[] constPool;
     // Instruction pointer;
     private int ip = 0;
-    private Instruction[] code;
+    private int[] code;
+    private long[] intConstants;
+    private double[] floatConstants;
+    private String[] stringConstants;
 
     private StructureType globalMemBlock;
 
+    private StackFramePool framePool;
+
+    // Results of the type casts of the program, shared by all the VMs running it
+    private final TypeCastCache typeCastCache;
+
+    // Call frame of the direct native function being invoked, which is reused for every call
+    private final NativeCallFrame nativeCallFrame = new NativeCallFrame();
+
+    // Context this VM was started with, and whether it gave up its thread while parked or waiting on an action
+    private Context runContext;
+    private boolean suspended;
+
+    // Whether this run is profiled, and the number of times each opcode was executed in this run.
+    private boolean profiling;
+    private long[] opcodeCounts;
+
     public BLangVM(ProgramFile programFile) {
         this.programFile = programFile;
         this.globalMemBlock = programFile.getGlobalMemoryBlock();
+        this.typeCastCache = programFile.getTypeCastCache();
     }
 
     private void traceCode(PackageInfo packageInfo) {
         PrintStream printStream = System.out;
-        for (int i = 0; i < code.length; i++) {
-            printStream.println(i + ": " + Mnemonics.getMnem(code[i].getOpcode()) + " " +
-                    getOperandsLine(code[i].getOperands()));
+        Instruction[] instructions = packageInfo.getInstructions();
+        for (int i = 0; i < instructions.length; i++) {
+            printStream.println(i + ": " + Mnemonics.getMnem(instructions[i].getOpcode()) + " " +
+                    getOperandsLine(instructions[i].getOperands()));
         }
     }
 
+    private void loadPackageCode(PackageInfo packageInfo) {
+        this.constPool = packageInfo.getConstPoolEntries();
+        this.code = packageInfo.getCode();
+        this.intConstants = packageInfo.getIntConstants();
+        this.floatConstants = packageInfo.getFloatConstants();
+        this.stringConstants = packageInfo.getStringConstants();
+    }
+
     public void run(Context ctx) {
         StackFrame currentFrame = ctx.getControlStackNew().getCurrentFrame();
-        this.constPool = currentFrame.packageInfo.getConstPoolEntries();
-        this.code = currentFrame.packageInfo.getInstructions();
+        loadPackageCode(currentFrame.packageInfo);
 
         this.context = ctx;
+        this.runContext = ctx;
+        this.suspended = false;
         this.controlStack = context.getControlStackNew();
         this.ip = context.getStartIP();
+        this.framePool = StackFramePool.getInstance();
 
-        if (context.getError() != null) {
+        this.profiling = VMProfiler.getInstance().isProfilingActive();
+        if (profiling) {
+            this.opcodeCounts = new long[InstructionCodes.INSTRUCTION_CODE_COUNT];
+            if (currentFrame.profileNode == null && currentFrame.callableUnitInfo != null) {
+                profileCall(null, currentFrame);
+            }
+        } else {
+            this.opcodeCounts = null;
+        }
+
+        ActionContinuation continuation = context.getActionContinuation();
+        if (continuation != null) {
+            // Resuming after a native action has completed.
+            resumeAction(continuation);
+        } else if (context.getError() != null) {
             handleError();
-        } else if (isWaitingOnNonBlockingAction()) {
-            // // TODO : Temporary to solution make non-blocking working.
-            BType[] retTypes = context.actionInfo.getRetParamTypes();
-            StackFrame calleeSF = controlStack.popFrame();
-            this.constPool = controlStack.currentFrame.packageInfo.getConstPoolEntries();
-            this.code = controlStack.currentFrame.packageInfo.getInstructions();
-            handleReturnFromNativeCallableUnit(controlStack.currentFrame, context.funcCallCPEntry.getRetRegs(),
-                    calleeSF.returnValues, retTypes);
-
-            // TODO Remove
-            //prepareStructureTypeFromNativeAction(context.nativeArgValues);
-            context.nativeArgValues = null;
-            context.funcCallCPEntry = null;
-            context.actionInfo = null;
         }
 
         try {
@@ -191,14 +226,27 @@ public class BLangVM {
             context.setError(BLangVMErrors.createError(context, ip, message));
             handleError();
         } finally {
-            if (!isWaitingOnNonBlockingAction() || context.getError() != null) {
+            if (!suspended) {
                 // end of the active worker from the VM. ( graceful or forced exit on unhandled error. )
-                // Doesn't count non-blocking action invocation.
+                // Doesn't count a context suspended on a native action or a worker parked on a data channel.
                 ctx.endTrackWorker();
             }
+            if (profiling) {
+                VMProfiler.getInstance().addOpcodeCounts(opcodeCounts);
+            }
         }
     }
 
+    /**
+     * Check whether the last run gave up its thread before the end of its code, i.e. whether the context waits on a
+     * native action or is parked on a data channel, and is resumed later on another VM.
+     *
+     * @return true if the last run is suspended
+     */
+    public boolean isSuspended() {
+        return suspended;
+    }
+
     public void execWorker(Context context, int startIP) {
         context.setStartIP(startIP);
         if (VMDebugManager.getInstance().isDebugSessionActive()) {
@@ -231,95 +279,107 @@ public class BLangVM {
         ForkJoinCPEntry forkJoinCPEntry;
 
         boolean isDebugging = context.isDebugEnabled();
+        long[] opcodeCounts = this.opcodeCounts;
+        // Keeps the dispatch loop to a single check when neither debugging nor profiling.
+        boolean isInstrumented = isDebugging || opcodeCounts != null;
 
         StackFrame currentSF, callersSF;
         int callersRetRegIndex;
 
-        while (ip >= 0 && ip < code.length && controlStack.fp >= 0) {
+        int[] codeStream;
+        int op;
+        while (ip >= 0 && ip * INSTRUCTION_WIDTH < code.length && controlStack.fp >= 0) {
 
-            if (isDebugging) {
-                debugging(ip);
+            if (isInstrumented) {
+                if (isDebugging) {
+                    debugging(ip);
+                }
+                if (opcodeCounts != null) {
+                    opcodeCounts[code[ip * INSTRUCTION_WIDTH]]++;
+                }
             }
-            Instruction instruction = code[ip];
-            int opcode = instruction.getOpcode();
-            int[] operands = instruction.getOperands();
+            // Operands of the instruction are inlined after the opcode. The stream is kept in a local since
+            // invocations may switch the code of the current package.
+            codeStream = code;
+            op = ip * INSTRUCTION_WIDTH + 1;
+            int opcode = codeStream[op - 1];
             ip++;
             StackFrame sf = controlStack.getCurrentFrame();
 
             switch (opcode) {
                 case InstructionCodes.ICONST:
-                    cpIndex = operands[0];
-                    i = operands[1];
-                    sf.longRegs[i] = ((IntegerCPEntry) constPool[cpIndex]).getValue();
+                    cpIndex = codeStream[op];
+                    i = codeStream[op + 1];
+                    sf.longRegs[i] = intConstants[cpIndex];
                     break;
                 case InstructionCodes.FCONST:
-                    cpIndex = operands[0];
-                    i = operands[1];
-                    sf.doubleRegs[i] = ((FloatCPEntry) constPool[cpIndex]).getValue();
+                    cpIndex = codeStream[op];
+                    i = codeStream[op + 1];
+                    sf.doubleRegs[i] = floatConstants[cpIndex];
                     break;
                 case InstructionCodes.SCONST:
-                    cpIndex = operands[0];
-                    i = operands[1];
-                    sf.stringRegs[i] = ((StringCPEntry) constPool[cpIndex]).getValue();
+                    cpIndex = codeStream[op];
+                    i = codeStream[op + 1];
+                    sf.stringRegs[i] = stringConstants[cpIndex];
                     break;
                 case InstructionCodes.ICONST_0:
-                    i = operands[0];
+                    i = codeStream[op];
                     sf.longRegs[i] = 0;
                     break;
                 case InstructionCodes.ICONST_1:
-                    i = operands[0];
+                    i = codeStream[op];
                     sf.longRegs[i] = 1;
                     break;
                 case InstructionCodes.ICONST_2:
-                    i = operands[0];
+                    i = codeStream[op];
                     sf.longRegs[i] = 2;
                     break;
                 case InstructionCodes.ICONST_3:
-                    i = operands[0];
+                    i = codeStream[op];
                     sf.longRegs[i] = 3;
                     break;
                 case InstructionCodes.ICONST_4:
-                    i = operands[0];
+                    i = codeStream[op];
                     sf.longRegs[i] = 4;
                     break;
                 case InstructionCodes.ICONST_5:
-                    i = operands[0];
+                    i = codeStream[op];
                     sf.longRegs[i] = 5;
                     break;
                 case InstructionCodes.FCONST_0:
-                    i = operands[0];
+                    i = codeStream[op];
                     sf.doubleRegs[i] = 0;
                     break;
                 case InstructionCodes.FCONST_1:
-                    i = operands[0];
+                    i = codeStream[op];
                     sf.doubleRegs[i] = 1;
                     break;
                 case InstructionCodes.FCONST_2:
-                    i = operands[0];
+                    i = codeStream[op];
                     sf.doubleRegs[i] = 2;
                     break;
                 case InstructionCodes.FCONST_3:
-                    i = operands[0];
+                    i = codeStream[op];
                     sf.doubleRegs[i] = 3;
                     break;
                 case InstructionCodes.FCONST_4:
-                    i = operands[0];
+                    i = codeStream[op];
                     sf.doubleRegs[i] = 4;
                     break;
                 case InstructionCodes.FCONST_5:
-                    i = operands[0];
+                    i = codeStream[op];
                     sf.doubleRegs[i] = 5;
                     break;
                 case InstructionCodes.BCONST_0:
-                    i = operands[0];
+                    i = codeStream[op];
                     sf.intRegs[i] = 0;
                     break;
                 case InstructionCodes.BCONST_1:
-                    i = operands[0];
+                    i = codeStream[op];
                     sf.intRegs[i] = 1;
                     break;
                 case InstructionCodes.RCONST_NULL:
-                    i = operands[0];
+                    i = codeStream[op];
                     sf.refRegs[i] = null;
                     break;
 
@@ -350,7 +410,7 @@ public class BLangVM {
                 case InstructionCodes.RFIELDLOAD:
                 case InstructionCodes.MAPLOAD:
                 case InstructionCodes.JSONLOAD:
-                    execLoadOpcodes(sf, opcode, operands);
+                    execLoadOpcodes(sf, opcode, codeStream, op);
                     break;
 
                 case InstructionCodes.ISTORE:
@@ -380,7 +440,7 @@ public class BLangVM {
                 case InstructionCodes.RFIELDSTORE:
                 case InstructionCodes.MAPSTORE:
                 case InstructionCodes.JSONSTORE:
-                    execStoreOpcodes(sf, opcode, operands);
+                    execStoreOpcodes(sf, opcode, codeStream, op);
                     break;
 
                 case InstructionCodes.IADD:
@@ -410,12 +470,12 @@ public class BLangVM {
                 case InstructionCodes.BNE:
                 case InstructionCodes.RNE:
                 case InstructionCodes.TNE:
-                    execBinaryOpCodes(sf, opcode, operands);
+                    execBinaryOpCodes(sf, opcode, codeStream, op);
                     break;
 
                 case InstructionCodes.LENGTHOF:
-                    i = operands[0];
-                    j = operands[1];
+                    i = codeStream[op];
+                    j = codeStream[op + 1];
                     if (sf.refRegs[i] == null) {
                         handleNullRefError();
                         break;
@@ -424,8 +484,8 @@ public class BLangVM {
                     sf.longRegs[j] = newArray.size();
                     break;
                 case InstructionCodes.LENGTHOFJSON:
-                    i = operands[0];
-                    j = operands[1];
+                    i = codeStream[op];
+                    j = codeStream[op + 1];
                     if (sf.refRegs[i] == null) {
                         handleNullRefError();
                         break;
@@ -439,14 +499,14 @@ public class BLangVM {
                     break;
 
                 case InstructionCodes.TYPELOAD:
-                    cpIndex = operands[0];
-                    j = operands[1];
+                    cpIndex = codeStream[op];
+                    j = codeStream[op + 1];
                     TypeRefCPEntry typeEntry = (TypeRefCPEntry) constPool[cpIndex];
                     sf.refRegs[j] = new BTypeValue(typeEntry.getType());
                     break;
                 case InstructionCodes.TYPEOF:
-                    i = operands[0];
-                    j = operands[1];
+                    i = codeStream[op];
+                    j = codeStream[op + 1];
                     if (sf.refRegs[i] == null) {
                         handleNullRefError();
                         break;
@@ -468,52 +528,52 @@ public class BLangVM {
                 case InstructionCodes.BR_FALSE:
                 case InstructionCodes.GOTO:
                 case InstructionCodes.HALT:
-                    execCmpAndBranchOpcodes(sf, opcode, operands);
+                    execCmpAndBranchOpcodes(sf, opcode, codeStream, op);
                     break;
 
                 case InstructionCodes.TR_RETRY:
-                    i = operands[0];
-                    j = operands[1];
+                    i = codeStream[op];
+                    j = codeStream[op + 1];
                     retryTransaction(i, j);
                     break;
                 case InstructionCodes.CALL:
-                    cpIndex = operands[0];
+                    cpIndex = codeStream[op];
                     funcRefCPEntry = (FunctionRefCPEntry) constPool[cpIndex];
                     functionInfo = funcRefCPEntry.getFunctionInfo();
 
-                    cpIndex = operands[1];
+                    cpIndex = codeStream[op + 1];
                     funcCallCPEntry = (FunctionCallCPEntry) constPool[cpIndex];
                     invokeCallableUnit(functionInfo, funcCallCPEntry);
                     break;
                 case InstructionCodes.TR_BEGIN:
-                    i = operands[0];
-                    j = operands[1];
+                    i = codeStream[op];
+                    j = codeStream[op + 1];
                     beginTransaction(i, j);
                     break;
                 case InstructionCodes.TR_END:
-                    i = operands[0];
+                    i = codeStream[op];
                     endTransaction(i);
                     break;
                 case InstructionCodes.WRKINVOKE:
-                    cpIndex = operands[0];
+                    cpIndex = codeStream[op];
                     workerRefCPEntry = (WorkerDataChannelRefCPEntry) constPool[cpIndex];
                     workerDataChannel = workerRefCPEntry.getWorkerDataChannelInfo();
 
-                    cpIndex = operands[1];
+                    cpIndex = codeStream[op + 1];
                     wrkrIntRefCPEntry = (WrkrInteractionArgsCPEntry) constPool[cpIndex];
                     invokeWorker(workerDataChannel, wrkrIntRefCPEntry);
                     break;
                 case InstructionCodes.WRKREPLY:
-                    cpIndex = operands[0];
+                    cpIndex = codeStream[op];
                     workerRefCPEntry = (WorkerDataChannelRefCPEntry) constPool[cpIndex];
                     workerDataChannel = workerRefCPEntry.getWorkerDataChannelInfo();
 
-                    cpIndex = operands[1];
+                    cpIndex = codeStream[op + 1];
                     wrkrIntRefCPEntry = (WrkrInteractionArgsCPEntry) constPool[cpIndex];
                     replyWorker(workerDataChannel, wrkrIntRefCPEntry);
                     break;
                 case InstructionCodes.FORKJOIN:
-                    cpIndex = operands[0];
+                    cpIndex = codeStream[op];
 
                     forkJoinCPEntry = (ForkJoinCPEntry) constPool[cpIndex];
                     invokeForkJoin(forkJoinCPEntry);
@@ -525,34 +585,34 @@ public class BLangVM {
                     handleWorkerReturn();
                     break;
                 case InstructionCodes.NCALL:
-                    cpIndex = operands[0];
+                    cpIndex = codeStream[op];
                     funcRefCPEntry = (FunctionRefCPEntry) constPool[cpIndex];
                     functionInfo = funcRefCPEntry.getFunctionInfo();
 
-                    cpIndex = operands[1];
+                    cpIndex = codeStream[op + 1];
                     funcCallCPEntry = (FunctionCallCPEntry) constPool[cpIndex];
                     invokeNativeFunction(functionInfo, funcCallCPEntry);
                     break;
                 case InstructionCodes.ACALL:
-                    cpIndex = operands[0];
+                    cpIndex = codeStream[op];
                     actionRefCPEntry = (ActionRefCPEntry) constPool[cpIndex];
                     actionInfo = actionRefCPEntry.getActionInfo();
 
-                    cpIndex = operands[1];
+                    cpIndex = codeStream[op + 1];
                     funcCallCPEntry = (FunctionCallCPEntry) constPool[cpIndex];
                     invokeCallableUnit(actionInfo, funcCallCPEntry);
                     break;
                 case InstructionCodes.NACALL:
-                    cpIndex = operands[0];
+                    cpIndex = codeStream[op];
                     actionRefCPEntry = (ActionRefCPEntry) constPool[cpIndex];
                     actionInfo = actionRefCPEntry.getActionInfo();
 
-                    cpIndex = operands[1];
+                    cpIndex = codeStream[op + 1];
                     funcCallCPEntry = (FunctionCallCPEntry) constPool[cpIndex];
                     invokeNativeAction(actionInfo, funcCallCPEntry);
                     break;
                 case InstructionCodes.THROW:
-                    i = operands[0];
+                    i = codeStream[op];
                     if (i >= 0) {
                         BStruct error = (BStruct) sf.refRegs[i];
                         if (error == null) {
@@ -566,18 +626,18 @@ public class BLangVM {
                     handleError();
                     break;
                 case InstructionCodes.ERRSTORE:
-                    i = operands[0];
+                    i = codeStream[op];
                     sf.refLocalVars[i] = context.getError();
                     // clear error.
                     context.setError(null);
                     break;
                 case InstructionCodes.FPCALL:
-                    i = operands[0];
+                    i = codeStream[op];
                     if (sf.refRegs[i] == null) {
                         handleNullRefError();
                         break;
                     }
-                    cpIndex = operands[1];
+                    cpIndex = codeStream[op + 1];
                     funcCallCPEntry = (FunctionCallCPEntry) constPool[cpIndex];
                     funcRefCPEntry = ((BFunctionPointer) sf.refRegs[i]).value();
                     functionInfo = funcRefCPEntry.getFunctionInfo();
@@ -588,8 +648,8 @@ public class BLangVM {
                     }
                     break;
                 case InstructionCodes.FPLOAD:
-                    i = operands[0];
-                    j = operands[1];
+                    i = codeStream[op];
+                    j = codeStream[op + 1];
                     funcRefCPEntry = (FunctionRefCPEntry) constPool[i];
                     sf.refRegs[j] = new BFunctionPointer(funcRefCPEntry);
                     break;
@@ -612,7 +672,7 @@ public class BLangVM {
                 case InstructionCodes.ANY2C:
                 case InstructionCodes.NULL2JSON:
                 case InstructionCodes.CHECKCAST:
-                    execTypeCastOpcodes(sf, opcode, operands);
+                    execTypeCastOpcodes(sf, opcode, codeStream, op);
                     break;
 
                 case InstructionCodes.I2F:
@@ -644,16 +704,16 @@ public class BLangVM {
                 case InstructionCodes.XML2JSON:
                 case InstructionCodes.JSON2XML:
                 case InstructionCodes.XMLATTRS2MAP:
-                    execTypeConversionOpcodes(sf, opcode, operands);
+                    execTypeConversionOpcodes(sf, opcode, codeStream, op);
                     break;
 
                 case InstructionCodes.INEWARRAY:
-                    i = operands[0];
+                    i = codeStream[op];
                     sf.refRegs[i] = new BIntArray();
                     break;
                 case InstructionCodes.ARRAYLEN:
-                    i = operands[0];
-                    j = operands[1];
+                    i = codeStream[op];
+                    j = codeStream[op + 1];
 
                     BValue value = sf.refRegs[i];
 
@@ -663,37 +723,37 @@ public class BLangVM {
                     }
 
                     if (value.getType().getTag() == TypeTags.JSON_TAG) {
-                        sf.longRegs[j] = ((BJSON) value).value().size();
+                        sf.longRegs[j] = JSONUtils.getJSONArrayLength((BJSON) value);
                         break;
                     }
 
                     sf.longRegs[j] = ((BNewArray) value).size();
                     break;
                 case InstructionCodes.FNEWARRAY:
-                    i = operands[0];
+                    i = codeStream[op];
                     sf.refRegs[i] = new BFloatArray();
                     break;
                 case InstructionCodes.SNEWARRAY:
-                    i = operands[0];
+                    i = codeStream[op];
                     sf.refRegs[i] = new BStringArray();
                     break;
                 case InstructionCodes.BNEWARRAY:
-                    i = operands[0];
+                    i = codeStream[op];
                     sf.refRegs[i] = new BBooleanArray();
                     break;
                 case InstructionCodes.LNEWARRAY:
-                    i = operands[0];
+                    i = codeStream[op];
                     sf.refRegs[i] = new BBlobArray();
                     break;
                 case InstructionCodes.RNEWARRAY:
-                    i = operands[0];
-                    cpIndex = operands[1];
+                    i = codeStream[op];
+                    cpIndex = codeStream[op + 1];
                     typeRefCPEntry = (TypeRefCPEntry) constPool[cpIndex];
                     sf.refRegs[i] = new BRefValueArray(typeRefCPEntry.getType());
                     break;
                 case InstructionCodes.JSONNEWARRAY:
-                    i = operands[0];
-                    j = operands[1];
+                    i = codeStream[op];
+                    j = codeStream[op + 1];
                     // This is a temporary solution to create n-valued JSON array
                     StringJoiner stringJoiner = new StringJoiner(",", "[", "]");
                     for (int index = 0; index < sf.longRegs[j]; index++) {
@@ -703,66 +763,66 @@ public class BLangVM {
                     break;
 
                 case InstructionCodes.NEWSTRUCT:
-                    createNewStruct(operands, sf);
+                    createNewStruct(codeStream, op, sf);
                     break;
                 case InstructionCodes.NEWCONNECTOR:
-                    createNewConnector(operands, sf);
+                    createNewConnector(codeStream, op, sf);
                     break;
                 case InstructionCodes.NEWMAP:
-                    i = operands[0];
+                    i = codeStream[op];
                     sf.refRegs[i] = new BMap<String, BRefType>();
                     break;
                 case InstructionCodes.NEWJSON:
-                    i = operands[0];
+                    i = codeStream[op];
                     sf.refRegs[i] = new BJSON("{}");
                     break;
                 case InstructionCodes.NEWDATATABLE:
-                    i = operands[0];
+                    i = codeStream[op];
                     sf.refRegs[i] = new BDataTable(null, new ArrayList<>(0));
                     break;
                 case InstructionCodes.IRET:
-                    i = operands[0];
-                    j = operands[1];
+                    i = codeStream[op];
+                    j = codeStream[op + 1];
                     currentSF = controlStack.getCurrentFrame();
                     callersSF = controlStack.getStack()[controlStack.fp - 1];
                     callersRetRegIndex = currentSF.retRegIndexes[i];
                     callersSF.longRegs[callersRetRegIndex] = currentSF.longRegs[j];
                     break;
                 case InstructionCodes.FRET:
-                    i = operands[0];
-                    j = operands[1];
+                    i = codeStream[op];
+                    j = codeStream[op + 1];
                     currentSF = controlStack.getCurrentFrame();
                     callersSF = controlStack.getStack()[controlStack.fp - 1];
                     callersRetRegIndex = currentSF.retRegIndexes[i];
                     callersSF.doubleRegs[callersRetRegIndex] = currentSF.doubleRegs[j];
                     break;
                 case InstructionCodes.SRET:
-                    i = operands[0];
-                    j = operands[1];
+                    i = codeStream[op];
+                    j = codeStream[op + 1];
                     currentSF = controlStack.getCurrentFrame();
                     callersSF = controlStack.getStack()[controlStack.fp - 1];
                     callersRetRegIndex = currentSF.retRegIndexes[i];
                     callersSF.stringRegs[callersRetRegIndex] = currentSF.stringRegs[j];
                     break;
                 case InstructionCodes.BRET:
-                    i = operands[0];
-                    j = operands[1];
+                    i = codeStream[op];
+                    j = codeStream[op + 1];
                     currentSF = controlStack.getCurrentFrame();
                     callersSF = controlStack.getStack()[controlStack.fp - 1];
                     callersRetRegIndex = currentSF.retRegIndexes[i];
                     callersSF.intRegs[callersRetRegIndex] = currentSF.intRegs[j];
                     break;
                 case InstructionCodes.LRET:
-                    i = operands[0];
-                    j = operands[1];
+                    i = codeStream[op];
+                    j = codeStream[op + 1];
                     currentSF = controlStack.getCurrentFrame();
                     callersSF = controlStack.getStack()[controlStack.fp - 1];
                     callersRetRegIndex = currentSF.retRegIndexes[i];
                     callersSF.byteRegs[callersRetRegIndex] = currentSF.byteRegs[j];
                     break;
                 case InstructionCodes.RRET:
-                    i = operands[0];
-                    j = operands[1];
+                    i = codeStream[op];
+                    j = codeStream[op + 1];
                     currentSF = controlStack.getCurrentFrame();
                     callersSF = controlStack.getStack()[controlStack.fp - 1];
                     callersRetRegIndex = currentSF.retRegIndexes[i];
@@ -781,7 +841,7 @@ public class BLangVM {
                 case InstructionCodes.NEWXMLTEXT:
                 case InstructionCodes.NEWXMLPI:
                 case InstructionCodes.XMLSTORE:
-                    execXMLOpcodes(sf, opcode, operands);
+                    execXMLOpcodes(sf, opcode, codeStream, op);
                     break;
                 default:
                     throw new UnsupportedOperationException();
@@ -789,94 +849,94 @@ public class BLangVM {
         }
     }
 
-    private void execCmpAndBranchOpcodes(StackFrame sf, int opcode, int[] operands) {
+    private void execCmpAndBranchOpcodes(StackFrame sf, int opcode, int[] codeStream, int op) {
         int i;
         int j;
         int k;
         switch (opcode) {
             case InstructionCodes.IGT:
-                i = operands[0];
-                j = operands[1];
-                k = operands[2];
+                i = codeStream[op];
+                j = codeStream[op + 1];
+                k = codeStream[op + 2];
                 sf.intRegs[k] = sf.longRegs[i] > sf.longRegs[j] ? 1 : 0;
                 break;
             case InstructionCodes.FGT:
-                i = operands[0];
-                j = operands[1];
-                k = operands[2];
+                i = codeStream[op];
+                j = codeStream[op + 1];
+                k = codeStream[op + 2];
                 sf.intRegs[k] = sf.doubleRegs[i] > sf.doubleRegs[j] ? 1 : 0;
                 break;
 
             case InstructionCodes.IGE:
-                i = operands[0];
-                j = operands[1];
-                k = operands[2];
+                i = codeStream[op];
+                j = codeStream[op + 1];
+                k = codeStream[op + 2];
                 sf.intRegs[k] = sf.longRegs[i] >= sf.longRegs[j] ? 1 : 0;
                 break;
             case InstructionCodes.FGE:
-                i = operands[0];
-                j = operands[1];
-                k = operands[2];
+                i = codeStream[op];
+                j = codeStream[op + 1];
+                k = codeStream[op + 2];
                 sf.intRegs[k] = sf.doubleRegs[i] >= sf.doubleRegs[j] ? 1 : 0;
                 break;
 
             case InstructionCodes.ILT:
-                i = operands[0];
-                j = operands[1];
-                k = operands[2];
+                i = codeStream[op];
+                j = codeStream[op + 1];
+                k = codeStream[op + 2];
                 sf.intRegs[k] = sf.longRegs[i] < sf.longRegs[j] ? 1 : 0;
                 break;
             case InstructionCodes.FLT:
-                i = operands[0];
-                j = operands[1];
-                k = operands[2];
+                i = codeStream[op];
+                j = codeStream[op + 1];
+                k = codeStream[op + 2];
                 sf.intRegs[k] = sf.doubleRegs[i] < sf.doubleRegs[j] ? 1 : 0;
                 break;
 
             case InstructionCodes.ILE:
-                i = operands[0];
-                j = operands[1];
-                k = operands[2];
+                i = codeStream[op];
+                j = codeStream[op + 1];
+                k = codeStream[op + 2];
                 sf.intRegs[k] = sf.longRegs[i] <= sf.longRegs[j] ? 1 : 0;
                 break;
             case InstructionCodes.FLE:
-                i = operands[0];
-                j = operands[1];
-                k = operands[2];
+                i = codeStream[op];
+                j = codeStream[op + 1];
+                k = codeStream[op + 2];
                 sf.intRegs[k] = sf.doubleRegs[i] <= sf.doubleRegs[j] ? 1 : 0;
                 break;
 
             case InstructionCodes.REQ_NULL:
-                i = operands[0];
-                j = operands[1];
+                i = codeStream[op];
+                j = codeStream[op + 1];
                 if (sf.refRegs[i] == null) {
                     ip = j;
                 }
                 break;
             case InstructionCodes.RNE_NULL:
-                i = operands[0];
-                j = operands[1];
+                i = codeStream[op];
+                j = codeStream[op + 1];
                 if (sf.refRegs[i] != null) {
                     ip = j;
                 }
                 break;
 
             case InstructionCodes.BR_TRUE:
-                i = operands[0];
-                j = operands[1];
+                i = codeStream[op];
+                j = codeStream[op + 1];
                 if (sf.intRegs[i] == 1) {
                     ip = j;
                 }
                 break;
             case InstructionCodes.BR_FALSE:
-                i = operands[0];
-                j = operands[1];
+                i = codeStream[op];
+                j = codeStream[op + 1];
                 if (sf.intRegs[i] == 0) {
                     ip = j;
                 }
                 break;
             case InstructionCodes.GOTO:
-                i = operands[0];
+                i = codeStream[op];
                 ip = i;
                 break;
             case InstructionCodes.HALT:
@@ -887,7 +947,7 @@ public class BLangVM {
         }
     }
 
-    private void execLoadOpcodes(StackFrame sf, int opcode, int[] operands) {
+    private void execLoadOpcodes(StackFrame sf, int opcode, int[] codeStream, int op) {
         int i;
         int j;
         int k;
@@ -905,39 +965,39 @@ public class BLangVM {
         BJSON jsonVal;
         switch (opcode) {
             case InstructionCodes.ILOAD:
-                lvIndex = operands[0];
-                i = operands[1];
+                lvIndex = codeStream[op];
+                i = codeStream[op + 1];
                 sf.longRegs[i] = sf.longLocalVars[lvIndex];
                 break;
             case InstructionCodes.FLOAD:
-                lvIndex = operands[0];
-                i = operands[1];
+                lvIndex = codeStream[op];
+                i = codeStream[op + 1];
                 sf.doubleRegs[i] = sf.doubleLocalVars[lvIndex];
                 break;
             case InstructionCodes.SLOAD:
-                lvIndex = operands[0];
-                i = operands[1];
+                lvIndex = codeStream[op];
+                i = codeStream[op + 1];
                 sf.stringRegs[i] = sf.stringLocalVars[lvIndex];
                 break;
             case InstructionCodes.BLOAD:
-                lvIndex = operands[0];
-                i = operands[1];
+                lvIndex = codeStream[op];
+                i = codeStream[op + 1];
                 sf.intRegs[i] = sf.intLocalVars[lvIndex];
                 break;
             case InstructionCodes.LLOAD:
-                lvIndex = operands[0];
-                i = operands[1];
+                lvIndex = codeStream[op];
+                i = codeStream[op + 1];
                 sf.byteRegs[i] = sf.byteLocalVars[lvIndex];
                 break;
             case InstructionCodes.RLOAD:
-                lvIndex = operands[0];
-                i = operands[1];
+                lvIndex = codeStream[op];
+                i = codeStream[op + 1];
                 sf.refRegs[i] = sf.refLocalVars[lvIndex];
                 break;
             case InstructionCodes.IALOAD:
-                i = operands[0];
-                j = operands[1];
-                k = operands[2];
+                i = codeStream[op];
+                j = codeStream[op + 1];
+                k = codeStream[op + 2];
                 bIntArray = (BIntArray) sf.refRegs[i];
                 if (bIntArray == null) {
                     handleNullRefError();
@@ -952,9 +1012,9 @@ public class BLangVM {
                 }
                 break;
             case InstructionCodes.FALOAD:
-                i = operands[0];
-                j = operands[1];
-                k = operands[2];
+                i = codeStream[op];
+                j = codeStream[op + 1];
+                k = codeStream[op + 2];
                 bFloatArray = (BFloatArray) sf.refRegs[i];
                 if (bFloatArray == null) {
                     handleNullRefError();
@@ -969,9 +1029,9 @@ public class BLangVM {
                 }
                 break;
             case InstructionCodes.SALOAD:
-                i = operands[0];
-                j = operands[1];
-                k = operands[2];
+                i = codeStream[op];
+                j = codeStream[op + 1];
+                k = codeStream[op + 2];
                 bStringArray = (BStringArray) sf.refRegs[i];
                 if (bStringArray == null) {
                     handleNullRefError();
@@ -986,9 +1046,9 @@ public class BLangVM {
                 }
                 break;
             case InstructionCodes.BALOAD:
-                i = operands[0];
-                j = operands[1];
-                k = operands[2];
+                i = codeStream[op];
+                j = codeStream[op + 1];
+                k = codeStream[op + 2];
                 bBooleanArray = (BBooleanArray) sf.refRegs[i];
                 if (bBooleanArray == null) {
                     handleNullRefError();
@@ -1003,9 +1063,9 @@ public class BLangVM {
                 }
                 break;
             case InstructionCodes.LALOAD:
-                i = operands[0];
-                j = operands[1];
-                k = operands[2];
+                i = codeStream[op];
+                j = codeStream[op + 1];
+                k = codeStream[op + 2];
                 bBlobArray = (BBlobArray) sf.refRegs[i];
                 if (bBlobArray == null) {
                     handleNullRefError();
@@ -1020,9 +1080,9 @@ public class BLangVM {
                 }
                 break;
             case InstructionCodes.RALOAD:
-                i = operands[0];
-                j = operands[1];
-                k = operands[2];
+                i = codeStream[op];
+                j = codeStream[op + 1];
+                k = codeStream[op + 2];
                 bArray = (BRefValueArray) sf.refRegs[i];
                 if (bArray == null) {
                     handleNullRefError();
@@ -1037,9 +1097,9 @@ public class BLangVM {
                 }
                 break;
             case InstructionCodes.JSONALOAD:
-                i = operands[0];
-                j = operands[1];
-                k = operands[2];
+                i = codeStream[op];
+                j = codeStream[op + 1];
+                k = codeStream[op + 2];
                 jsonVal = (BJSON) sf.refRegs[i];
                 if (jsonVal == null) {
                     handleNullRefError();
@@ -1055,41 +1115,41 @@ public class BLangVM {
                 break;
             case InstructionCodes.IGLOAD:
                 // Global variable index
-                i = operands[0];
+                i = codeStream[op];
                 // Stack registry index
-                j = operands[1];
+                j = codeStream[op + 1];
                 sf.longRegs[j] = globalMemBlock.getIntField(i);
                 break;
             case InstructionCodes.FGLOAD:
-                i = operands[0];
-                j = operands[1];
+                i = codeStream[op];
+                j = codeStream[op + 1];
                 sf.doubleRegs[j] = globalMemBlock.getFloatField(i);
                 break;
             case InstructionCodes.SGLOAD:
-                i = operands[0];
-                j = operands[1];
+                i = codeStream[op];
+                j = codeStream[op + 1];
                 sf.stringRegs[j] = globalMemBlock.getStringField(i);
                 break;
             case InstructionCodes.BGLOAD:
-                i = operands[0];
-                j = operands[1];
+                i = codeStream[op];
+                j = codeStream[op + 1];
                 sf.intRegs[j] = globalMemBlock.getBooleanField(i);
                 break;
             case InstructionCodes.LGLOAD:
-                i = operands[0];
-                j = operands[1];
+                i = codeStream[op];
+                j = codeStream[op + 1];
                 sf.byteRegs[j] = globalMemBlock.getBlobField(i);
                 break;
             case InstructionCodes.RGLOAD:
-                i = operands[0];
-                j = operands[1];
+                i = codeStream[op];
+                j = codeStream[op + 1];
                 sf.refRegs[j] = globalMemBlock.getRefField(i);
                 break;
 
             case InstructionCodes.IFIELDLOAD:
-                i = operands[0];
-                fieldIndex = operands[1];
-                j = operands[2];
+                i = codeStream[op];
+                fieldIndex = codeStream[op + 1];
+                j = codeStream[op + 2];
                 structureType = (StructureType) sf.refRegs[i];
                 if (structureType == null) {
                     handleNullRefError();
@@ -1099,9 +1159,9 @@ public class BLangVM {
                 sf.longRegs[j] = structureType.getIntField(fieldIndex);
                 break;
             case InstructionCodes.FFIELDLOAD:
-                i = operands[0];
-                fieldIndex = operands[1];
-                j = operands[2];
+                i = codeStream[op];
+                fieldIndex = codeStream[op + 1];
+                j = codeStream[op + 2];
                 structureType = (StructureType) sf.refRegs[i];
                 if (structureType == null) {
                     handleNullRefError();
@@ -1111,9 +1171,9 @@ public class BLangVM {
                 sf.doubleRegs[j] = structureType.getFloatField(fieldIndex);
                 break;
             case InstructionCodes.SFIELDLOAD:
-                i = operands[0];
-                fieldIndex = operands[1];
-                j = operands[2];
+                i = codeStream[op];
+                fieldIndex = codeStream[op + 1];
+                j = codeStream[op + 2];
                 structureType = (StructureType) sf.refRegs[i];
                 if (structureType == null) {
                     handleNullRefError();
@@ -1123,9 +1183,9 @@ public class BLangVM {
                 sf.stringRegs[j] = structureType.getStringField(fieldIndex);
                 break;
             case InstructionCodes.BFIELDLOAD:
-                i = operands[0];
-                fieldIndex = operands[1];
-                j = operands[2];
+                i = codeStream[op];
+                fieldIndex = codeStream[op + 1];
+                j = codeStream[op + 2];
                 structureType = (StructureType) sf.refRegs[i];
                 if (structureType == null) {
                     handleNullRefError();
@@ -1135,9 +1195,9 @@ public class BLangVM {
                 sf.intRegs[j] = structureType.getBooleanField(fieldIndex);
                 break;
             case InstructionCodes.LFIELDLOAD:
-                i = operands[0];
-                fieldIndex = operands[1];
-                j = operands[2];
+                i = codeStream[op];
+                fieldIndex = codeStream[op + 1];
+                j = codeStream[op + 2];
                 structureType = (StructureType) sf.refRegs[i];
                 if (structureType == null) {
                     handleNullRefError();
@@ -1147,9 +1207,9 @@ public class BLangVM {
                 sf.byteRegs[j] = structureType.getBlobField(fieldIndex);
                 break;
             case InstructionCodes.RFIELDLOAD:
-                i = operands[0];
-                fieldIndex = operands[1];
-                j = operands[2];
+                i = codeStream[op];
+                fieldIndex = codeStream[op + 1];
+                j = codeStream[op + 2];
                 structureType = (StructureType) sf.refRegs[i];
                 if (structureType == null) {
                     handleNullRefError();
@@ -1160,9 +1220,9 @@ public class BLangVM {
                 break;
 
             case InstructionCodes.MAPLOAD:
-                i = operands[0];
-                j = operands[1];
-                k = operands[2];
+                i = codeStream[op];
+                j = codeStream[op + 1];
+                k = codeStream[op + 2];
                 bMap = (BMap<String, BRefType>) sf.refRegs[i];
                 if (bMap == null) {
                     handleNullRefError();
@@ -1173,9 +1233,9 @@ public class BLangVM {
                 break;
 
             case InstructionCodes.JSONLOAD:
-                i = operands[0];
-                j = operands[1];
-                k = operands[2];
+                i = codeStream[op];
+                j = codeStream[op + 1];
+                k = codeStream[op + 2];
                 jsonVal = (BJSON) sf.refRegs[i];
                 if (jsonVal == null) {
                     handleNullRefError();
@@ -1189,7 +1249,7 @@ public class BLangVM {
         }
     }
 
-    private void execStoreOpcodes(StackFrame sf, int opcode, int[] operands) {
+    private void execStoreOpcodes(StackFrame sf, int opcode, int[] codeStream, int op) {
         int i;
         int j;
         int k;
@@ -1207,39 +1267,39 @@ public class BLangVM {
         BJSON jsonVal;
         switch (opcode) {
             case InstructionCodes.ISTORE:
-                i = operands[0];
-                lvIndex = operands[1];
+                i = codeStream[op];
+                lvIndex = codeStream[op + 1];
                 sf.longLocalVars[lvIndex] = sf.longRegs[i];
                 break;
             case InstructionCodes.FSTORE:
-                i = operands[0];
-                lvIndex = operands[1];
+                i = codeStream[op];
+                lvIndex = codeStream[op + 1];
                 sf.doubleLocalVars[lvIndex] = sf.doubleRegs[i];
                 break;
             case InstructionCodes.SSTORE:
-                i = operands[0];
-                lvIndex = operands[1];
+                i = codeStream[op];
+                lvIndex = codeStream[op + 1];
                 sf.stringLocalVars[lvIndex] = sf.stringRegs[i];
                 break;
             case InstructionCodes.BSTORE:
-                i = operands[0];
-                lvIndex = operands[1];
+                i = codeStream[op];
+                lvIndex = codeStream[op + 1];
                 sf.intLocalVars[lvIndex] = sf.intRegs[i];
                 break;
             case InstructionCodes.LSTORE:
-                i = operands[0];
-                lvIndex = operands[1];
+                i = codeStream[op];
+                lvIndex = codeStream[op + 1];
                 sf.byteLocalVars[lvIndex] = sf.byteRegs[i];
                 break;
             case InstructionCodes.RSTORE:
-                i = operands[0];
-                lvIndex = operands[1];
+                i = codeStream[op];
+                lvIndex = codeStream[op + 1];
                 sf.refLocalVars[lvIndex] = sf.refRegs[i];
                 break;
             case InstructionCodes.IASTORE:
-                i = operands[0];
-                j = operands[1];
-                k = operands[2];
+                i = codeStream[op];
+                j = codeStream[op + 1];
+                k = codeStream[op + 2];
                 bIntArray = (BIntArray) sf.refRegs[i];
                 if (bIntArray == null) {
                     handleNullRefError();
@@ -1254,9 +1314,9 @@ public class BLangVM {
                 }
                 break;
             case InstructionCodes.FASTORE:
-                i = operands[0];
-                j = operands[1];
-                k = operands[2];
+                i = codeStream[op];
+                j = codeStream[op + 1];
+                k = codeStream[op + 2];
                 bFloatArray = (BFloatArray) sf.refRegs[i];
                 if (bFloatArray == null) {
                     handleNullRefError();
@@ -1271,9 +1331,9 @@ public class BLangVM {
                 }
                 break;
             case InstructionCodes.SASTORE:
-                i = operands[0];
-                j = operands[1];
-                k = operands[2];
+                i = codeStream[op];
+                j = codeStream[op + 1];
+                k = codeStream[op + 2];
                 bStringArray = (BStringArray) sf.refRegs[i];
                 if (bStringArray == null) {
                     handleNullRefError();
@@ -1288,9 +1348,9 @@ public class BLangVM {
                 }
                 break;
             case InstructionCodes.BASTORE:
-                i = operands[0];
-                j = operands[1];
-                k = operands[2];
+                i = codeStream[op];
+                j = codeStream[op + 1];
+                k = codeStream[op + 2];
                 bBooleanArray = (BBooleanArray) sf.refRegs[i];
                 if (bBooleanArray == null) {
                     handleNullRefError();
@@ -1305,9 +1365,9 @@ public class BLangVM {
                 }
                 break;
             case InstructionCodes.LASTORE:
-                i = operands[0];
-                j = operands[1];
-                k = operands[2];
+                i = codeStream[op];
+                j = codeStream[op + 1];
+                k = codeStream[op + 2];
                 bBlobArray = (BBlobArray) sf.refRegs[i];
                 if (bBlobArray == null) {
                     handleNullRefError();
@@ -1322,9 +1382,9 @@ public class BLangVM {
                 }
                 break;
             case InstructionCodes.RASTORE:
-                i = operands[0];
-                j = operands[1];
-                k = operands[2];
+                i = codeStream[op];
+                j = codeStream[op + 1];
+                k = codeStream[op + 2];
                 bArray = (BRefValueArray) sf.refRegs[i];
                 if (bArray == null) {
                     handleNullRefError();
@@ -1339,9 +1399,9 @@ public class BLangVM {
                 }
                 break;
             case InstructionCodes.JSONASTORE:
-                i = operands[0];
-                j = operands[1];
-                k = operands[2];
+                i = codeStream[op];
+                j = codeStream[op + 1];
+                k = codeStream[op + 2];
                 jsonVal = (BJSON) sf.refRegs[i];
                 if (jsonVal == null) {
                     handleNullRefError();
@@ -1357,41 +1417,41 @@ public class BLangVM {
                 break;
             case InstructionCodes.IGSTORE:
                 // Stack reg index
-                i = operands[0];
+                i = codeStream[op];
                 // Global var index
-                j = operands[1];
+                j = codeStream[op + 1];
                 globalMemBlock.setIntField(j, sf.longRegs[i]);
                 break;
             case InstructionCodes.FGSTORE:
-                i = operands[0];
-                j = operands[1];
+                i = codeStream[op];
+                j = codeStream[op + 1];
                 globalMemBlock.setFloatField(j, sf.doubleRegs[i]);
                 break;
             case InstructionCodes.SGSTORE:
-                i = operands[0];
-                j = operands[1];
+                i = codeStream[op];
+                j = codeStream[op + 1];
                 globalMemBlock.setStringField(j, sf.stringRegs[i]);
                 break;
             case InstructionCodes.BGSTORE:
-                i = operands[0];
-                j = operands[1];
+                i = codeStream[op];
+                j = codeStream[op + 1];
                 globalMemBlock.setBooleanField(j, sf.intRegs[i]);
                 break;
             case InstructionCodes.LGSTORE:
-                i = operands[0];
-                j = operands[1];
+                i = codeStream[op];
+                j = codeStream[op + 1];
                 globalMemBlock.setBlobField(j, sf.byteRegs[i]);
                 break;
             case InstructionCodes.RGSTORE:
-                i = operands[0];
-                j = operands[1];
+                i = codeStream[op];
+                j = codeStream[op + 1];
                 globalMemBlock.setRefField(j, sf.refRegs[i]);
                 break;
 
             case InstructionCodes.IFIELDSTORE:
-                i = operands[0];
-                fieldIndex = operands[1];
-                j = operands[2];
+                i = codeStream[op];
+                fieldIndex = codeStream[op + 1];
+                j = codeStream[op + 2];
                 structureType = (StructureType) sf.refRegs[i];
                 if (structureType == null) {
                     handleNullRefError();
@@ -1401,9 +1461,9 @@ public class BLangVM {
                 structureType.setIntField(fieldIndex, sf.longRegs[j]);
                 break;
             case InstructionCodes.FFIELDSTORE:
-                i = operands[0];
-                fieldIndex = operands[1];
-                j = operands[2];
+                i = codeStream[op];
+                fieldIndex = codeStream[op + 1];
+                j = codeStream[op + 2];
                 structureType = (StructureType) sf.refRegs[i];
                 if (structureType == null) {
                     handleNullRefError();
@@ -1413,9 +1473,9 @@ public class BLangVM {
                 structureType.setFloatField(fieldIndex, sf.doubleRegs[j]);
                 break;
             case InstructionCodes.SFIELDSTORE:
-                i = operands[0];
-                fieldIndex = operands[1];
-                j = operands[2];
+                i = codeStream[op];
+                fieldIndex = codeStream[op + 1];
+                j = codeStream[op + 2];
                 structureType = (StructureType) sf.refRegs[i];
                 if (structureType == null) {
                     handleNullRefError();
@@ -1425,9 +1485,9 @@ public class BLangVM {
                 structureType.setStringField(fieldIndex, sf.stringRegs[j]);
                 break;
             case InstructionCodes.BFIELDSTORE:
-                i = operands[0];
-                fieldIndex = operands[1];
-                j = operands[2];
+                i = codeStream[op];
+                fieldIndex = codeStream[op + 1];
+                j = codeStream[op + 2];
                 structureType = (StructureType) sf.refRegs[i];
                 if (structureType == null) {
                     handleNullRefError();
@@ -1437,9 +1497,9 @@ public class BLangVM {
                 structureType.setBooleanField(fieldIndex, sf.intRegs[j]);
                 break;
             case InstructionCodes.LFIELDSTORE:
-                i = operands[0];
-                fieldIndex = operands[1];
-                j = operands[2];
+                i = codeStream[op];
+                fieldIndex = codeStream[op + 1];
+                j = codeStream[op + 2];
                 structureType = (StructureType) sf.refRegs[i];
                 if (structureType == null) {
                     handleNullRefError();
@@ -1449,9 +1509,9 @@ public class BLangVM {
                 structureType.setBlobField(fieldIndex, sf.byteRegs[j]);
                 break;
             case InstructionCodes.RFIELDSTORE:
-                i = operands[0];
-                fieldIndex = operands[1];
-                j = operands[2];
+                i = codeStream[op];
+                fieldIndex = codeStream[op + 1];
+                j = codeStream[op + 2];
                 structureType = (StructureType) sf.refRegs[i];
                 if (structureType == null) {
                     handleNullRefError();
@@ -1463,9 +1523,9 @@ public class BLangVM {
 
 
             case InstructionCodes.MAPSTORE:
-                i = operands[0];
-                j = operands[1];
-                k = operands[2];
+                i = codeStream[op];
+                j = codeStream[op + 1];
+                k = codeStream[op + 2];
                 bMap = (BMap<String, BRefType>) sf.refRegs[i];
                 if (bMap == null) {
                     handleNullRefError();
@@ -1477,9 +1537,9 @@ public class BLangVM {
 
 
             case InstructionCodes.JSONSTORE:
-                i = operands[0];
-                j = operands[1];
-                k = operands[2];
+                i = codeStream[op];
+                j = codeStream[op + 1];
+                k = codeStream[op + 2];
                 jsonVal = (BJSON) sf.refRegs[i];
                 if (jsonVal == null) {
                     handleNullRefError();
@@ -1492,33 +1552,33 @@ public class BLangVM {
         }
     }
 
-    private void execBinaryOpCodes(StackFrame sf, int opcode, int[] operands) {
+    private void execBinaryOpCodes(StackFrame sf, int opcode, int[] codeStream, int op) {
         int i;
         int j;
         int k;
         switch (opcode) {
             case InstructionCodes.IADD:
-                i = operands[0];
-                j = operands[1];
-                k = operands[2];
+                i = codeStream[op];
+                j = codeStream[op + 1];
+                k = codeStream[op + 2];
                 sf.longRegs[k] = sf.longRegs[i] + sf.longRegs[j];
                 break;
             case InstructionCodes.FADD:
-                i = operands[0];
-                j = operands[1];
-                k = operands[2];
+                i = codeStream[op];
+                j = codeStream[op + 1];
+                k = codeStream[op + 2];
                 sf.doubleRegs[k] = sf.doubleRegs[i] + sf.doubleRegs[j];
                 break;
             case InstructionCodes.SADD:
-                i = operands[0];
-                j = operands[1];
-                k = operands[2];
+                i = codeStream[op];
+                j = codeStream[op + 1];
+                k = codeStream[op + 2];
                 sf.stringRegs[k] = sf.stringRegs[i] + sf.stringRegs[j];
                 break;
             case InstructionCodes.XMLADD:
-                i = operands[0];
-                j = operands[1];
-                k = operands[2];
+                i = codeStream[op];
+                j = codeStream[op + 1];
+                k = codeStream[op + 2];
                 BXML lhsXMLVal = (BXML) sf.refRegs[i];
                 BXML rhsXMLVal = (BXML) sf.refRegs[j];
                 if (lhsXMLVal == null || rhsXMLVal == null) {
@@ -1530,33 +1590,33 @@ public class BLangVM {
                 sf.refRegs[k] = XMLUtils.concatenate(lhsXMLVal, rhsXMLVal);
                 break;
             case InstructionCodes.ISUB:
-                i = operands[0];
-                j = operands[1];
-                k = operands[2];
+                i = codeStream[op];
+                j = codeStream[op + 1];
+                k = codeStream[op + 2];
                 sf.longRegs[k] = sf.longRegs[i] - sf.longRegs[j];
                 break;
             case InstructionCodes.FSUB:
-                i = operands[0];
-                j = operands[1];
-                k = operands[2];
+                i = codeStream[op];
+                j = codeStream[op + 1];
+                k = codeStream[op + 2];
                 sf.doubleRegs[k] = sf.doubleRegs[i] - sf.doubleRegs[j];
                 break;
             case InstructionCodes.IMUL:
-                i = operands[0];
-                j = operands[1];
-                k = operands[2];
+                i = codeStream[op];
+                j = codeStream[op + 1];
+                k = codeStream[op + 2];
                 sf.longRegs[k] = sf.longRegs[i] * sf.longRegs[j];
                 break;
             case InstructionCodes.FMUL:
-                i = operands[0];
-                j = operands[1];
-                k = operands[2];
+                i = codeStream[op];
+                j = codeStream[op + 1];
+                k = codeStream[op + 2];
                 sf.doubleRegs[k] = sf.doubleRegs[i] * sf.doubleRegs[j];
                 break;
             case InstructionCodes.IDIV:
-                i = operands[0];
-                j = operands[1];
-                k = operands[2];
+                i = codeStream[op];
+                j = codeStream[op + 1];
+                k = codeStream[op + 2];
                 if (sf.longRegs[j] == 0) {
                     context.setError(BLangVMErrors.createError(context, ip, " / by zero"));
                     handleError();
@@ -1566,9 +1626,9 @@ public class BLangVM {
                 sf.longRegs[k] = sf.longRegs[i] / sf.longRegs[j];
                 break;
             case InstructionCodes.FDIV:
-                i = operands[0];
-                j = operands[1];
-                k = operands[2];
+                i = codeStream[op];
+                j = codeStream[op + 1];
+                k = codeStream[op + 2];
                 if (sf.doubleRegs[j] == 0) {
                     context.setError(BLangVMErrors.createError(context, ip, " / by zero"));
                     handleError();
@@ -1578,9 +1638,9 @@ public class BLangVM {
                 sf.doubleRegs[k] = sf.doubleRegs[i] / sf.doubleRegs[j];
                 break;
             case InstructionCodes.IMOD:
-                i = operands[0];
-                j = operands[1];
-                k = operands[2];
+                i = codeStream[op];
+                j = codeStream[op + 1];
+                k = codeStream[op + 2];
                 if (sf.longRegs[j] == 0) {
                     context.setError(BLangVMErrors.createError(context, ip, " / by zero"));
                     handleError();
@@ -1590,9 +1650,9 @@ public class BLangVM {
                 sf.longRegs[k] = sf.longRegs[i] % sf.longRegs[j];
                 break;
             case InstructionCodes.FMOD:
-                i = operands[0];
-                j = operands[1];
-                k = operands[2];
+                i = codeStream[op];
+                j = codeStream[op + 1];
+                k = codeStream[op + 2];
                 if (sf.doubleRegs[j] == 0) {
                     context.setError(BLangVMErrors.createError(context, ip, " / by zero"));
                     handleError();
@@ -1602,54 +1662,54 @@ public class BLangVM {
                 sf.doubleRegs[k] = sf.doubleRegs[i] % sf.doubleRegs[j];
                 break;
             case InstructionCodes.INEG:
-                i = operands[0];
-                j = operands[1];
+                i = codeStream[op];
+                j = codeStream[op + 1];
                 sf.longRegs[j] = -sf.longRegs[i];
                 break;
             case InstructionCodes.FNEG:
-                i = operands[0];
-                j = operands[1];
+                i = codeStream[op];
+                j = codeStream[op + 1];
                 sf.doubleRegs[j] = -sf.doubleRegs[i];
                 break;
             case InstructionCodes.BNOT:
-                i = operands[0];
-                j = operands[1];
+                i = codeStream[op];
+                j = codeStream[op + 1];
                 sf.intRegs[j] = sf.intRegs[i] == 0 ? 1 : 0;
                 break;
             case InstructionCodes.IEQ:
-                i = operands[0];
-                j = operands[1];
-                k = operands[2];
+                i = codeStream[op];
+                j = codeStream[op + 1];
+                k = codeStream[op + 2];
                 sf.intRegs[k] = sf.longRegs[i] == sf.longRegs[j] ? 1 : 0;
                 break;
             case InstructionCodes.FEQ:
-                i = operands[0];
-                j = operands[1];
-                k = operands[2];
+                i = codeStream[op];
+                j = codeStream[op + 1];
+                k = codeStream[op + 2];
                 sf.intRegs[k] = sf.doubleRegs[i] == sf.doubleRegs[j] ? 1 : 0;
                 break;
             case InstructionCodes.SEQ:
-                i = operands[0];
-                j = operands[1];
-                k = operands[2];
+                i = codeStream[op];
+                j = codeStream[op + 1];
+                k = codeStream[op + 2];
                 sf.intRegs[k] = sf.stringRegs[i].equals(sf.stringRegs[j]) ? 1 : 0;
                 break;
             case InstructionCodes.BEQ:
-                i = operands[0];
-                j = operands[1];
-                k = operands[2];
+                i = codeStream[op];
+                j = codeStream[op + 1];
+                k = codeStream[op + 2];
                 sf.intRegs[k] = sf.intRegs[i] == sf.intRegs[j] ? 1 : 0;
                 break;
             case InstructionCodes.REQ:
-                i = operands[0];
-                j = operands[1];
-                k = operands[2];
+                i = codeStream[op];
+                j = codeStream[op + 1];
+                k = codeStream[op + 2];
                 sf.intRegs[k] = sf.refRegs[i] == sf.refRegs[j] ? 1 : 0;
                 break;
             case InstructionCodes.TEQ:
-                i = operands[0];
-                j = operands[1];
-                k = operands[2];
+                i = codeStream[op];
+                j = codeStream[op + 1];
+                k = codeStream[op + 2];
                 if (sf.refRegs[i] == null || sf.refRegs[j] == null) {
                     handleNullRefError();
                 }
@@ -1657,39 +1717,39 @@ public class BLangVM {
                 break;
 
             case InstructionCodes.INE:
-                i = operands[0];
-                j = operands[1];
-                k = operands[2];
+                i = codeStream[op];
+                j = codeStream[op + 1];
+                k = codeStream[op + 2];
                 sf.intRegs[k] = sf.longRegs[i] != sf.longRegs[j] ? 1 : 0;
                 break;
             case InstructionCodes.FNE:
-                i = operands[0];
-                j = operands[1];
-                k = operands[2];
+                i = codeStream[op];
+                j = codeStream[op + 1];
+                k = codeStream[op + 2];
                 sf.intRegs[k] = sf.doubleRegs[i] != sf.doubleRegs[j] ? 1 : 0;
                 break;
             case InstructionCodes.SNE:
-                i = operands[0];
-                j = operands[1];
-                k = operands[2];
+                i = codeStream[op];
+                j = codeStream[op + 1];
+                k = codeStream[op + 2];
                 sf.intRegs[k] = !(sf.stringRegs[i].equals(sf.stringRegs[j])) ? 1 : 0;
                 break;
             case InstructionCodes.BNE:
-                i = operands[0];
-                j = operands[1];
-                k = operands[2];
+                i = codeStream[op];
+                j = codeStream[op + 1];
+                k = codeStream[op + 2];
                 sf.intRegs[k] = sf.intRegs[i] != sf.intRegs[j] ? 1 : 0;
                 break;
             case InstructionCodes.RNE:
-                i = operands[0];
-                j = operands[1];
-                k = operands[2];
+                i = codeStream[op];
+                j = codeStream[op + 1];
+                k = codeStream[op + 2];
                 sf.intRegs[k] = sf.refRegs[i] != sf.refRegs[j] ? 1 : 0;
                 break;
             case InstructionCodes.TNE:
-                i = operands[0];
-                j = operands[1];
-                k = operands[2];
+                i = codeStream[op];
+                j = codeStream[op + 1];
+                k = codeStream[op + 2];
                 if (sf.refRegs[i] == null || sf.refRegs[j] == null) {
                     handleNullRefError();
                 }
@@ -1700,7 +1760,7 @@ public class BLangVM {
         }
     }
 
-    private void execXMLOpcodes(StackFrame sf, int opcode, int[] operands) {
+    private void execXMLOpcodes(StackFrame sf, int opcode, int[] codeStream, int op) {
         int i;
         int j;
         int k;
@@ -1713,9 +1773,9 @@ public class BLangVM {
 
         switch (opcode) {
             case InstructionCodes.XMLATTRSTORE:
-                i = operands[0];
-                j = operands[1];
-                k = operands[2];
+                i = codeStream[op];
+                j = codeStream[op + 1];
+                k = codeStream[op + 2];
 
                 xmlVal = (BXML) sf.refRegs[i];
                 if (xmlVal == null) {
@@ -1733,9 +1793,9 @@ public class BLangVM {
                         sf.stringRegs[k]);
                 break;
             case InstructionCodes.XMLATTRLOAD:
-                i = operands[0];
-                j = operands[1];
-                k = operands[2];
+                i = codeStream[op];
+                j = codeStream[op + 1];
+                k = codeStream[op + 2];
 
                 xmlVal = (BXML) sf.refRegs[i];
                 if (xmlVal == null) {
@@ -1753,8 +1813,8 @@ public class BLangVM {
                         xmlQName.getPrefix());
                 break;
             case InstructionCodes.XML2XMLATTRS:
-                i = operands[0];
-                j = operands[1];
+                i = codeStream[op];
+                j = codeStream[op + 1];
 
                 xmlVal = (BXML) sf.refRegs[i];
                 if (xmlVal == null) {
@@ -1765,9 +1825,9 @@ public class BLangVM {
                 sf.refRegs[j] = new BXMLAttributes(xmlVal);
                 break;
             case InstructionCodes.S2QNAME:
-                i = operands[0];
-                j = operands[1];
-                k = operands[2];
+                i = codeStream[op];
+                j = codeStream[op + 1];
+                k = codeStream[op + 2];
 
                 String qNameStr = sf.stringRegs[i];
                 int parenEndIndex = qNameStr.indexOf('}');
@@ -1782,10 +1842,10 @@ public class BLangVM {
 
                 break;
             case InstructionCodes.NEWQNAME:
-                localNameIndex = operands[0];
-                uriIndex = operands[1];
-                prefixIndex = operands[2];
-                i = operands[3];
+                localNameIndex = codeStream[op];
+                uriIndex = codeStream[op + 1];
+                prefixIndex = codeStream[op + 2];
+                i = codeStream[op + 3];
 
                 String localname = sf.stringRegs[localNameIndex];
                 localname = StringEscapeUtils.escapeXml11(localname);
@@ -1800,14 +1860,14 @@ public class BLangVM {
             case InstructionCodes.NEWXMLTEXT:
             case InstructionCodes.NEWXMLPI:
             case InstructionCodes.XMLSTORE:
-                execXMLCreationOpcodes(sf, opcode, operands);
+                execXMLCreationOpcodes(sf, opcode, codeStream, op);
                 break;
             default:
                 throw new UnsupportedOperationException();
         }
     }
 
-    private void execTypeCastOpcodes(StackFrame sf, int opcode, int[] operands) {
+    private void execTypeCastOpcodes(StackFrame sf, int opcode, int[] codeStream, int op) {
         int i;
         int j;
         int k;
@@ -1818,34 +1878,34 @@ public class BLangVM {
 
         switch (opcode) {
             case InstructionCodes.I2ANY:
-                i = operands[0];
-                j = operands[1];
+                i = codeStream[op];
+                j = codeStream[op + 1];
                 sf.refRegs[j] = new BInteger(sf.longRegs[i]);
                 break;
             case InstructionCodes.F2ANY:
-                i = operands[0];
-                j = operands[1];
+                i = codeStream[op];
+                j = codeStream[op + 1];
                 sf.refRegs[j] = new BFloat(sf.doubleRegs[i]);
                 break;
             case InstructionCodes.S2ANY:
-                i = operands[0];
-                j = operands[1];
+                i = codeStream[op];
+                j = codeStream[op + 1];
                 sf.refRegs[j] = new BString(sf.stringRegs[i]);
                 break;
             case InstructionCodes.B2ANY:
-                i = operands[0];
-                j = operands[1];
+                i = codeStream[op];
+                j = codeStream[op + 1];
                 sf.refRegs[j] = new BBoolean(sf.intRegs[i] == 1);
                 break;
             case InstructionCodes.L2ANY:
-                i = operands[0];
-                j = operands[1];
+                i = codeStream[op];
+                j = codeStream[op + 1];
                 sf.refRegs[j] = new BBlob(sf.byteRegs[i]);
                 break;
             case InstructionCodes.ANY2I:
-                i = operands[0];
-                j = operands[1];
-                k = operands[2];
+                i = codeStream[op];
+                j = codeStream[op + 1];
+                k = codeStream[op + 2];
 
                 bRefType = sf.refRegs[i];
                 if (bRefType == null) {
@@ -1860,9 +1920,9 @@ public class BLangVM {
                 }
                 break;
             case InstructionCodes.ANY2F:
-                i = operands[0];
-                j = operands[1];
-                k = operands[2];
+                i = codeStream[op];
+                j = codeStream[op + 1];
+                k = codeStream[op + 2];
 
                 bRefType = sf.refRegs[i];
                 if (bRefType == null) {
@@ -1877,9 +1937,9 @@ public class BLangVM {
                 }
                 break;
             case InstructionCodes.ANY2S:
-                i = operands[0];
-                j = operands[1];
-                k = operands[2];
+                i = codeStream[op];
+                j = codeStream[op + 1];
+                k = codeStream[op + 2];
 
                 bRefType = sf.refRegs[i];
                 if (bRefType == null) {
@@ -1894,9 +1954,9 @@ public class BLangVM {
                 }
                 break;
             case InstructionCodes.ANY2B:
-                i = operands[0];
-                j = operands[1];
-                k = operands[2];
+                i = codeStream[op];
+                j = codeStream[op + 1];
+                k = codeStream[op + 2];
 
                 bRefType = sf.refRegs[i];
                 if (bRefType == null) {
@@ -1911,9 +1971,9 @@ public class BLangVM {
                 }
                 break;
             case InstructionCodes.ANY2L:
-                i = operands[0];
-                j = operands[1];
-                k = operands[2];
+                i = codeStream[op];
+                j = codeStream[op + 1];
+                k = codeStream[op + 2];
 
                 bRefType = sf.refRegs[i];
                 if (bRefType == null) {
@@ -1928,27 +1988,27 @@ public class BLangVM {
                 }
                 break;
             case InstructionCodes.ANY2JSON:
-                handleAnyToRefTypeCast(sf, operands, BTypes.typeJSON);
+                handleAnyToRefTypeCast(sf, codeStream, op, BTypes.typeJSON);
                 break;
             case InstructionCodes.ANY2XML:
-                handleAnyToRefTypeCast(sf, operands, BTypes.typeXML);
+                handleAnyToRefTypeCast(sf, codeStream, op, BTypes.typeXML);
                 break;
             case InstructionCodes.ANY2MAP:
-                handleAnyToRefTypeCast(sf, operands, BTypes.typeMap);
+                handleAnyToRefTypeCast(sf, codeStream, op, BTypes.typeMap);
                 break;
             case InstructionCodes.ANY2TYPE:
-                handleAnyToRefTypeCast(sf, operands, BTypes.typeType);
+                handleAnyToRefTypeCast(sf, codeStream, op, BTypes.typeType);
                 break;
             case InstructionCodes.ANY2DT:
-                handleAnyToRefTypeCast(sf, operands, BTypes.typeDatatable);
+                handleAnyToRefTypeCast(sf, codeStream, op, BTypes.typeDatatable);
                 break;
             case InstructionCodes.ANY2T:
             case InstructionCodes.ANY2C:
             case InstructionCodes.CHECKCAST:
-                i = operands[0];
-                cpIndex = operands[1];
-                j = operands[2];
-                k = operands[3];
+                i = codeStream[op];
+                cpIndex = codeStream[op + 1];
+                j = codeStream[op + 2];
+                k = codeStream[op + 3];
                 typeRefCPEntry = (TypeRefCPEntry) constPool[cpIndex];
 
                 bRefType = sf.refRegs[i];
@@ -1964,7 +2024,7 @@ public class BLangVM {
                 }
                 break;
             case InstructionCodes.NULL2JSON:
-                j = operands[1];
+                j = codeStream[op + 1];
                 sf.refRegs[j] = new BJSON("null");
                 break;
             default:
@@ -1972,25 +2032,7 @@ public class BLangVM {
         }
     }
 
-    private boolean checkConstraintJSONEquivalency(BJSON json, BStructType targetType) {
-        BStructType.StructField[] tFields = targetType.getStructFields();
-        for (int i = 0; i < tFields.length; i++) {
-            if (JSONUtils.hasElement(json, tFields[i].getFieldName())) {
-                if (tFields[i].getFieldType() instanceof BStructType) {
-                    if (checkConstraintJSONEquivalency(JSONUtils.getElement(json, tFields[i].getFieldName()),
-                            (BStructType) tFields[i].getFieldType())) {
-                        continue;
-                    }
-                } else {
-                    continue;
-                }
-            }
-            return false;
-        }
-        return true;
-    }
-
-    private void execTypeConversionOpcodes(StackFrame sf, int opcode, int[] operands) {
+    private void execTypeConversionOpcodes(StackFrame sf, int opcode, int[] codeStream, int op) {
         int i;
         int j;
         int k;
@@ -1998,49 +2040,49 @@ public class BLangVM {
 
         switch (opcode) {
             case InstructionCodes.I2F:
-                i = operands[0];
-                j = operands[1];
+                i = codeStream[op];
+                j = codeStream[op + 1];
                 sf.doubleRegs[j] = (double) sf.longRegs[i];
                 break;
             case InstructionCodes.I2S:
-                i = operands[0];
-                j = operands[1];
+                i = codeStream[op];
+                j = codeStream[op + 1];
                 sf.stringRegs[j] = Long.toString(sf.longRegs[i]);
                 break;
             case InstructionCodes.I2B:
-                i = operands[0];
-                j = operands[1];
+                i = codeStream[op];
+                j = codeStream[op + 1];
                 sf.intRegs[j] = sf.longRegs[i] != 0 ? 1 : 0;
                 break;
             case InstructionCodes.I2JSON:
-                i = operands[0];
-                j = operands[1];
+                i = codeStream[op];
+                j = codeStream[op + 1];
                 sf.refRegs[j] = new BJSON(Long.toString(sf.longRegs[i]));
                 break;
             case InstructionCodes.F2I:
-                i = operands[0];
-                j = operands[1];
+                i = codeStream[op];
+                j = codeStream[op + 1];
                 sf.longRegs[j] = (long) sf.doubleRegs[i];
                 break;
             case InstructionCodes.F2S:
-                i = operands[0];
-                j = operands[1];
+                i = codeStream[op];
+                j = codeStream[op + 1];
                 sf.stringRegs[j] = Double.toString(sf.doubleRegs[i]);
                 break;
             case InstructionCodes.F2B:
-                i = operands[0];
-                j = operands[1];
+                i = codeStream[op];
+                j = codeStream[op + 1];
                 sf.intRegs[j] = sf.doubleRegs[i] != 0.0 ? 1 : 0;
                 break;
             case InstructionCodes.F2JSON:
-                i = operands[0];
-                j = operands[1];
+                i = codeStream[op];
+                j = codeStream[op + 1];
                 sf.refRegs[j] = new BJSON(Double.toString(sf.doubleRegs[i]));
                 break;
             case InstructionCodes.S2I:
-                i = operands[0];
-                j = operands[1];
-                k = operands[2];
+                i = codeStream[op];
+                j = codeStream[op + 1];
+                k = codeStream[op + 2];
 
                 try {
                     sf.longRegs[j] = Long.parseLong(sf.stringRegs[i]);
@@ -2050,9 +2092,9 @@ public class BLangVM {
                 }
                 break;
             case InstructionCodes.S2F:
-                i = operands[0];
-                j = operands[1];
-                k = operands[2];
+                i = codeStream[op];
+                j = codeStream[op + 1];
+                k = codeStream[op + 2];
 
                 try {
                     sf.doubleRegs[j] = Double.parseDouble(sf.stringRegs[i]);
@@ -2062,53 +2104,53 @@ public class BLangVM {
                 }
                 break;
             case InstructionCodes.S2B:
-                i = operands[0];
-                j = operands[1];
-                k = operands[2];
+                i = codeStream[op];
+                j = codeStream[op + 1];
+                k = codeStream[op + 2];
                 sf.intRegs[j] = Boolean.parseBoolean(sf.stringRegs[i]) ? 1 : 0;
                 break;
             case InstructionCodes.S2JSON:
-                i = operands[0];
-                j = operands[1];
+                i = codeStream[op];
+                j = codeStream[op + 1];
                 String jsonStr = StringEscapeUtils.escapeJson(sf.stringRegs[i]);
                 sf.refRegs[j] = new BJSON("\"" + jsonStr + "\"");
                 break;
             case InstructionCodes.B2I:
-                i = operands[0];
-                j = operands[1];
+                i = codeStream[op];
+                j = codeStream[op + 1];
                 sf.longRegs[j] = sf.intRegs[i];
                 break;
             case InstructionCodes.B2F:
-                i = operands[0];
-                j = operands[1];
+                i = codeStream[op];
+                j = codeStream[op + 1];
                 sf.doubleRegs[j] = sf.intRegs[i];
                 break;
             case InstructionCodes.B2S:
-                i = operands[0];
-                j = operands[1];
+                i = codeStream[op];
+                j = codeStream[op + 1];
                 sf.stringRegs[j] = sf.intRegs[i] == 1 ? "true" : "false";
                 break;
             case InstructionCodes.B2JSON:
-                i = operands[0];
-                j = operands[1];
+                i = codeStream[op];
+                j = codeStream[op + 1];
                 sf.refRegs[j] = new BJSON(sf.intRegs[i] == 1 ? "true" : "false");
                 break;
             case InstructionCodes.JSON2I:
-                convertJSONToInt(operands, sf);
+                convertJSONToInt(codeStream, op, sf);
                 break;
             case InstructionCodes.JSON2F:
-                convertJSONToFloat(operands, sf);
+                convertJSONToFloat(codeStream, op, sf);
                 break;
             case InstructionCodes.JSON2S:
-                convertJSONToString(operands, sf);
+                convertJSONToString(codeStream, op, sf);
                 break;
             case InstructionCodes.JSON2B:
-                convertJSONToBoolean(operands, sf);
+                convertJSONToBoolean(codeStream, op, sf);
                 break;
             case InstructionCodes.DT2XML:
-                i = operands[0];
-                j = operands[1];
-                k = operands[2];
+                i = codeStream[op];
+                j = codeStream[op + 1];
+                k = codeStream[op + 2];
 
                 bRefType = sf.refRegs[i];
                 if (bRefType == null) {
@@ -2124,9 +2166,9 @@ public class BLangVM {
                 }
                 break;
             case InstructionCodes.DT2JSON:
-                i = operands[0];
-                j = operands[1];
-                k = operands[2];
+                i = codeStream[op];
+                j = codeStream[op + 1];
+                k = codeStream[op + 2];
 
                 bRefType = sf.refRegs[i];
                 if (bRefType == null) {
@@ -2142,21 +2184,21 @@ public class BLangVM {
                 }
                 break;
             case InstructionCodes.T2MAP:
-                convertStructToMap(operands, sf);
+                convertStructToMap(codeStream, op, sf);
                 break;
             case InstructionCodes.T2JSON:
-                convertStructToJSON(operands, sf);
+                convertStructToJSON(codeStream, op, sf);
                 break;
             case InstructionCodes.MAP2T:
-                convertMapToStruct(operands, sf);
+                convertMapToStruct(codeStream, op, sf);
                 break;
             case InstructionCodes.JSON2T:
-                convertJSONToStruct(operands, sf);
+                convertJSONToStruct(codeStream, op, sf);
                 break;
             case InstructionCodes.XML2JSON:
-                i = operands[0];
-                j = operands[1];
-                k = operands[2];
+                i = codeStream[op];
+                j = codeStream[op + 1];
+                k = codeStream[op + 2];
 
                 bRefType = sf.refRegs[i];
                 if (bRefType == null) {
@@ -2172,9 +2214,9 @@ public class BLangVM {
                 }
                 break;
             case InstructionCodes.JSON2XML:
-                i = operands[0];
-                j = operands[1];
-                k = operands[2];
+                i = codeStream[op];
+                j = codeStream[op + 1];
+                k = codeStream[op + 2];
 
                 bRefType = sf.refRegs[i];
                 if (bRefType == null) {
@@ -2190,9 +2232,9 @@ public class BLangVM {
                 }
                 break;
             case InstructionCodes.XMLATTRS2MAP:
-                i = operands[0];
-                j = operands[1];
-                k = operands[2];
+                i = codeStream[op];
+                j = codeStream[op + 1];
+                k = codeStream[op + 2];
 
                 bRefType = sf.refRegs[i];
                 if (bRefType == null) {
@@ -2212,7 +2254,7 @@ public class BLangVM {
         }
     }
 
-    private void execXMLCreationOpcodes(StackFrame sf, int opcode, int[] operands) {
+    private void execXMLCreationOpcodes(StackFrame sf, int opcode, int[] codeStream, int op) {
         int i;
         int j;
         int k;
@@ -2221,10 +2263,10 @@ public class BLangVM {
 
         switch (opcode) {
             case InstructionCodes.NEWXMLELEMENT:
-                i = operands[0];
-                j = operands[1];
-                k = operands[2];
-                l = operands[3];
+                i = codeStream[op];
+                j = codeStream[op + 1];
+                k = codeStream[op + 2];
+                l = codeStream[op + 3];
 
                 BXMLQName startTagName = (BXMLQName) sf.refRegs[j];
                 BXMLQName endTagName = (BXMLQName) sf.refRegs[k];
@@ -2237,8 +2279,8 @@ public class BLangVM {
                 }
                 break;
             case InstructionCodes.NEWXMLCOMMENT:
-                i = operands[0];
-                j = operands[1];
+                i = codeStream[op];
+                j = codeStream[op + 1];
 
                 try {
                     sf.refRegs[i] = XMLUtils.createXMLComment(sf.stringRegs[j]);
@@ -2248,8 +2290,8 @@ public class BLangVM {
                 }
                 break;
             case InstructionCodes.NEWXMLTEXT:
-                i = operands[0];
-                j = operands[1];
+                i = codeStream[op];
+                j = codeStream[op + 1];
 
                 try {
                     sf.refRegs[i] = XMLUtils.createXMLText(sf.stringRegs[j]);
@@ -2259,9 +2301,9 @@ public class BLangVM {
                 }
                 break;
             case InstructionCodes.NEWXMLPI:
-                i = operands[0];
-                j = operands[1];
-                k = operands[2];
+                i = codeStream[op];
+                j = codeStream[op + 1];
+                k = codeStream[op + 2];
 
                 try {
                     sf.refRegs[i] = XMLUtils.createXMLProcessingInstruction(sf.stringRegs[j], sf.stringRegs[k]);
@@ -2271,8 +2313,8 @@ public class BLangVM {
                 }
                 break;
             case InstructionCodes.XMLSTORE:
-                i = operands[0];
-                j = operands[1];
+                i = codeStream[op];
+                j = codeStream[op + 1];
 
                 xmlVal = (BXML<?>) sf.refRegs[i];
                 BXML<?> child = (BXML<?>) sf.refRegs[j];
@@ -2305,7 +2347,8 @@ public class BLangVM {
                     debugHit(currentExecLine, holder);
                     return;
                 }
-                if (holder.getLastLine().checkIpRangeForInstructionCode(code, InstructionCodes.RET)
+                Instruction[] instructions = controlStack.currentFrame.packageInfo.getInstructions();
+                if (holder.getLastLine().checkIpRangeForInstructionCode(instructions, InstructionCodes.RET)
                         && controlStack.fp == holder.getFp() - 1) {
                     debugHit(currentExecLine, holder);
                     return;
@@ -2423,10 +2466,10 @@ public class BLangVM {
         return breakPointInfo;
     }
 
-    private void handleAnyToRefTypeCast(StackFrame sf, int[] operands, BType targetType) {
-        int i = operands[0];
-        int j = operands[1];
-        int k = operands[2];
+    private void handleAnyToRefTypeCast(StackFrame sf, int[] codeStream, int op, BType targetType) {
+        int i = codeStream[op];
+        int j = codeStream[op + 1];
+        int k = codeStream[op + 2];
 
         BRefType bRefType = sf.refRegs[i];
         if (bRefType == null) {
@@ -2470,18 +2513,18 @@ public class BLangVM {
         sf.refRegs[errorRegIndex] = errorVal;
     }
 
-    private void createNewConnector(int[] operands, StackFrame sf) {
-        int cpIndex = operands[0];
-        int i = operands[1];
+    private void createNewConnector(int[] codeStream, int op, StackFrame sf) {
+        int cpIndex = codeStream[op];
+        int i = codeStream[op + 1];
         StructureRefCPEntry structureRefCPEntry = (StructureRefCPEntry) constPool[cpIndex];
         ConnectorInfo connectorInfo = (ConnectorInfo) structureRefCPEntry.getStructureTypeInfo();
         BConnector bConnector = new BConnector(connectorInfo.getType());
         sf.refRegs[i] = bConnector;
     }
 
-    private void createNewStruct(int[] operands, StackFrame sf) {
-        int cpIndex = operands[0];
-        int i = operands[1];
+    private void createNewStruct(int[] codeStream, int op, StackFrame sf) {
+        int cpIndex = codeStream[op];
+        int i = codeStream[op + 1];
         StructureRefCPEntry structureRefCPEntry = (StructureRefCPEntry) constPool[cpIndex];
         StructInfo structInfo = (StructInfo) structureRefCPEntry.getStructureTypeInfo();
         BStruct bStruct = new BStruct(structInfo.getType());
@@ -2578,15 +2621,16 @@ public class BLangVM {
         StackFrame callerSF = controlStack.getCurrentFrame();
 
         WorkerInfo defaultWorkerInfo = callableUnitInfo.getDefaultWorkerInfo();
-        StackFrame calleeSF = new StackFrame(callableUnitInfo, defaultWorkerInfo, ip, funcCallCPEntry.getRetRegs());
+        StackFrame calleeSF = framePool.acquire(callableUnitInfo, defaultWorkerInfo, ip, funcCallCPEntry.getRetRegs());
         controlStack.pushFrame(calleeSF);
+        if (profiling) {
+            profileCall(callerSF, calleeSF);
+        }
 
         // Copy arg values from the current StackFrame to the new StackFrame
         copyArgValues(callerSF, calleeSF, argRegs, paramTypes);
 
-        // TODO Improve following two lines
-        this.constPool = calleeSF.packageInfo.getConstPoolEntries();
-        this.code = calleeSF.packageInfo.getInstructions();
+        loadPackageCode(calleeSF.packageInfo);
         ip = defaultWorkerInfo.getCodeAttributeInfo().getCodeAddrs();
 
     }
@@ -2701,8 +2745,7 @@ public class BLangVM {
             this.context = workerContext.parent;
             this.controlStack = this.context.getControlStackNew();
             controlStack.popFrame();
-            this.constPool = this.controlStack.getCurrentFrame().packageInfo.getConstPoolEntries();
-            this.code = this.controlStack.getCurrentFrame().packageInfo.getInstructions();
+            loadPackageCode(this.controlStack.getCurrentFrame().packageInfo);
             ip = parentSF.retAddrs;
         } else {
             String msg = workerContext.parentSF.returnedWorker + " already returned.";
@@ -2714,12 +2757,37 @@ public class BLangVM {
     public void replyWorker(WorkerDataChannelInfo workerDataChannel,
                             WrkrInteractionArgsCPEntry wrkrIntCPEntry) {
 
-        BValue[] passedInValues = (BValue[]) workerDataChannel.takeData();
+        BValue[] passedInValues;
+        if (canParkWorker()) {
+            // Resume from this receive instruction, once data is available
+            Context parkedContext = context;
+            parkedContext.setStartIP(ip - 1);
+            passedInValues = (BValue[]) workerDataChannel.takeDataOrPark(() -> ThreadPoolFactory.getInstance()
+                    .getWorkerExecutor().execute(new ResponseWorkerThread(parkedContext)));
+            if (passedInValues == null) {
+                // Release the thread. The context must not be touched beyond this point.
+                suspended = true;
+                ip = -1;
+                return;
+            }
+        } else {
+            passedInValues = (BValue[]) workerDataChannel.takeData();
+        }
+
         StackFrame currentFrame = controlStack.getCurrentFrame();
         copyArgValuesForWorkerReply(currentFrame, wrkrIntCPEntry.getArgRegs(),
                 wrkrIntCPEntry.getbTypes(), passedInValues);
     }
 
+    /**
+     * A worker can be parked on a data channel only if it runs in its own worker context and its state is not
+     * bound to the current thread by a transaction or a debug session.
+     */
+    private boolean canParkWorker() {
+        return ThreadPoolFactory.getInstance().isNonBlockingWorkers() && context == runContext &&
+                context instanceof WorkerContext && !context.isInTransaction() && !context.isDebugEnabled();
+    }
+
     public static void copyArgValuesForWorkerInvoke(StackFrame callerSF, int[] argRegs, BType[] paramTypes,
                                                     BValue[] arguments) {
         for (int i = 0; i < argRegs.length; i++) {
@@ -2817,12 +2885,16 @@ public class BLangVM {
     }
 
     public static void copyValues(StackFrame parent, StackFrame workerSF) {
-        System.arraycopy(parent.longLocalVars, 0, workerSF.longLocalVars, 0, parent.longLocalVars.length);
-        System.arraycopy(parent.doubleLocalVars, 0, workerSF.doubleLocalVars, 0, parent.doubleLocalVars.length);
-        System.arraycopy(parent.intLocalVars, 0, workerSF.intLocalVars, 0, parent.intLocalVars.length);
-        System.arraycopy(parent.stringLocalVars, 0, workerSF.stringLocalVars, 0, parent.stringLocalVars.length);
-        System.arraycopy(parent.byteLocalVars, 0, workerSF.byteLocalVars, 0, parent.byteLocalVars.length);
-        System.arraycopy(parent.refLocalVars, 0, workerSF.refLocalVars, 0, parent.refLocalVars.length);
+        // A pooled parent frame may hold arrays larger than the slots used by its callable unit
+        CodeAttributeInfo codeAttribInfo = parent.workerInfo.getCodeAttributeInfo();
+        System.arraycopy(parent.longLocalVars, 0, workerSF.longLocalVars, 0, codeAttribInfo.getMaxLongLocalVars());
+        System.arraycopy(parent.doubleLocalVars, 0, workerSF.doubleLocalVars, 0,
+                codeAttribInfo.getMaxDoubleLocalVars());
+        System.arraycopy(parent.intLocalVars, 0, workerSF.intLocalVars, 0, codeAttribInfo.getMaxIntLocalVars());
+        System.arraycopy(parent.stringLocalVars, 0, workerSF.stringLocalVars, 0,
+                codeAttribInfo.getMaxStringLocalVars());
+        System.arraycopy(parent.byteLocalVars, 0, workerSF.byteLocalVars, 0, codeAttribInfo.getMaxByteLocalVars());
+        System.arraycopy(parent.refLocalVars, 0, workerSF.refLocalVars, 0, codeAttribInfo.getMaxRefLocalVars());
     }
 
 
@@ -2859,15 +2931,39 @@ public class BLangVM {
         }
     }
 
+    private void profileCall(StackFrame callerSF, StackFrame calleeSF) {
+        CallNode callerNode = callerSF != null && callerSF.profileNode != null ? callerSF.profileNode :
+                VMProfiler.getInstance().getRootNode();
+        calleeSF.profileNode = callerNode.getChild(calleeSF.callableUnitInfo);
+        calleeSF.profileChildTime = 0;
+        calleeSF.profileStartTime = System.nanoTime();
+    }
+
+    private void profileReturn(StackFrame calleeSF, StackFrame callerSF) {
+        if (calleeSF.profileNode == null) {
+            // Entered before profiling was started.
+            return;
+        }
+
+        long time = System.nanoTime() - calleeSF.profileStartTime;
+        calleeSF.profileNode.record(time, time - calleeSF.profileChildTime);
+        calleeSF.profileNode = null;
+        if (callerSF != null) {
+            callerSF.profileChildTime += time;
+        }
+    }
+
     private void handleReturn() {
         StackFrame currentSF = controlStack.popFrame();
+        if (profiling) {
+            profileReturn(currentSF, controlStack.currentFrame);
+        }
         if (controlStack.fp >= 0) {
             StackFrame callersSF = controlStack.currentFrame;
-            // TODO Improve
-            this.constPool = callersSF.packageInfo.getConstPoolEntries();
-            this.code = callersSF.packageInfo.getInstructions();
+            loadPackageCode(callersSF.packageInfo);
         }
         ip = currentSF.retAddrs;
+        framePool.release(currentSF);
     }
 
     private void copyWorkersReturnValues(StackFrame workerCallerSF, StackFrame parentsSF, StackFrame parentCallersSF) {
@@ -2924,20 +3020,29 @@ public class BLangVM {
     }
 
     private void invokeNativeFunction(FunctionInfo functionInfo, FunctionCallCPEntry funcCallCPEntry) {
+        AbstractNativeFunction nativeFunction = functionInfo.getNativeFunction();
+        if (nativeFunction instanceof AbstractDirectNativeFunction) {
+            invokeDirectNativeFunction(functionInfo, (AbstractDirectNativeFunction) nativeFunction, funcCallCPEntry);
+            return;
+        }
+
         StackFrame callerSF = controlStack.currentFrame;
 
         // TODO : Remove once we handle this properly for return values
         BType[] retTypes = functionInfo.getRetParamTypes();
         BValue[] returnValues = new BValue[retTypes.length];
 
-        StackFrame caleeSF = new StackFrame(functionInfo, functionInfo.getDefaultWorkerInfo(), ip, null, returnValues);
+        StackFrame caleeSF = framePool.acquire(functionInfo, functionInfo.getDefaultWorkerInfo(), ip, null,
+                returnValues);
         copyArgValues(callerSF, caleeSF, funcCallCPEntry.getArgRegs(),
                 functionInfo.getParamTypes());
 
         controlStack.pushFrame(caleeSF);
+        if (profiling) {
+            profileCall(callerSF, caleeSF);
+        }
 
         // Invoke Native function;
-        AbstractNativeFunction nativeFunction = functionInfo.getNativeFunction();
         try {
             nativeFunction.executeNative(context);
         } catch (Throwable e) {
@@ -2947,9 +3052,47 @@ public class BLangVM {
         }
         // Copy return values to the callers stack
         controlStack.popFrame();
+        if (profiling) {
+            profileReturn(caleeSF, callerSF);
+        }
+        framePool.release(caleeSF);
         handleReturnFromNativeCallableUnit(callerSF, funcCallCPEntry.getRetRegs(), returnValues, retTypes);
     }
 
+    private void invokeDirectNativeFunction(FunctionInfo functionInfo, AbstractDirectNativeFunction nativeFunction,
+                                            FunctionCallCPEntry funcCallCPEntry) {
+        StackFrame callerSF = controlStack.currentFrame;
+        StackFrame calleeSF = null;
+        if (profiling) {
+            // The profiler records the calls against the frames, so a frame is pushed without copying the arguments.
+            calleeSF = framePool.acquire(functionInfo, functionInfo.getDefaultWorkerInfo(), ip, null);
+            controlStack.pushFrame(calleeSF);
+            profileCall(callerSF, calleeSF);
+        }
+
+        nativeCallFrame.init(callerSF, funcCallCPEntry.getArgRegs(), funcCallCPEntry.getRetRegs());
+        try {
+            nativeFunction.execute(context, nativeCallFrame);
+        } catch (Throwable e) {
+            if (calleeSF == null) {
+                // Push the frame of the native function only now, so that it is a part of the stack trace.
+                calleeSF = framePool.acquire(functionInfo, functionInfo.getDefaultWorkerInfo(), ip, null);
+                controlStack.pushFrame(calleeSF);
+            }
+            context.setError(BLangVMErrors.createError(this.context, ip, e.getMessage()));
+            handleError();
+            return;
+        } finally {
+            nativeCallFrame.clear();
+        }
+
+        if (calleeSF != null) {
+            controlStack.popFrame();
+            profileReturn(calleeSF, callerSF);
+            framePool.release(calleeSF);
+        }
+    }
+
     private void invokeNativeAction(ActionInfo actionInfo, FunctionCallCPEntry funcCallCPEntry) {
         StackFrame callerSF = controlStack.currentFrame;
 
@@ -2967,59 +3110,67 @@ public class BLangVM {
         StackFrame caleeSF = new StackFrame(actionInfo, defaultWorkerInfo, ip, null, returnValues);
         copyArgValues(callerSF, caleeSF, funcCallCPEntry.getArgRegs(),
                 actionInfo.getParamTypes());
-
+        if (caleeSF.packageInfo == null) {
+            caleeSF.packageInfo = actionInfo.getPackageInfo();
+        }
 
         controlStack.pushFrame(caleeSF);
+        if (profiling) {
+            profileCall(callerSF, caleeSF);
+        }
 
+        ActionContinuation continuation = new ActionContinuation(context, actionInfo, caleeSF, ip,
+                funcCallCPEntry.getRetRegs());
         try {
-            boolean nonBlocking = !context.isInTransaction() && nativeAction.isNonBlockingAction();
-            BClientConnectorFutureListener listener = new BClientConnectorFutureListener(context, nonBlocking);
-            if (nonBlocking) {
-                // Enable non-blocking.
-                context.setStartIP(ip);
-                // TODO : Temporary solution to make non-blocking working.
-                if (caleeSF.packageInfo == null) {
-                    caleeSF.packageInfo = actionInfo.getPackageInfo();
-                }
-                context.programFile = programFile;
-                context.funcCallCPEntry = funcCallCPEntry;
-                context.actionInfo = actionInfo;
+            context.setStartIP(ip);
+            context.programFile = programFile;
+            context.setActionContinuation(continuation);
 
-                ConnectorFuture future = nativeAction.execute(context);
-                if (future == null) {
-                    throw new BallerinaException("Native action doesn't provide a future object to sync");
-                }
-                future.setConnectorFutureListener(listener);
+            ConnectorFuture future = nativeAction.execute(context);
+            if (future == null) {
+                throw new BallerinaException("Native action doesn't provide a future object to sync");
+            }
+            future.setConnectorFutureListener(new BClientConnectorFutureListener(continuation));
 
+            if (continuation.suspend(nativeAction.getTimeout(), getResumeExecutor())) {
+                // Give up the thread, the context is resumed once the action completes.
+                suspended = true;
                 ip = -1;
                 return;
-            } else {
-                ConnectorFuture future = nativeAction.execute(context);
-                if (future == null) {
-                    throw new BallerinaException("Native action doesn't provide a future object to sync");
-                }
-                future.setConnectorFutureListener(listener);
-                //default nonBlocking timeout 5 mins
-                long timeout = 300000;
-                boolean res = listener.sync(timeout);
-                if (!res) {
-                    //non blocking execution timed out.
-                    throw new BallerinaException("Action execution timed out, timeout period - " + timeout
-                            + ", Action - " + nativeAction.getPackagePath() + ":" + nativeAction.getName());
-                }
-                if (context.getError() != null) {
-                    handleError();
-                }
-                // Copy return values to the callers stack
-                controlStack.popFrame();
-                handleReturnFromNativeCallableUnit(callerSF, funcCallCPEntry.getRetRegs(), returnValues, retTypes);
-
             }
         } catch (Throwable e) {
+            context.setActionContinuation(null);
             context.setError(BLangVMErrors.createError(this.context, ip, e.getMessage()));
             handleError();
             return;
         }
+
+        // Action has completed already, continue without switching threads.
+        resumeAction(continuation);
+    }
+
+    private void resumeAction(ActionContinuation continuation) {
+        context.setActionContinuation(null);
+        if (context.getError() != null) {
+            handleError();
+            return;
+        }
+
+        // Copy return values to the callers stack
+        StackFrame actionSF = controlStack.popFrame();
+        if (profiling) {
+            profileReturn(actionSF, controlStack.currentFrame);
+        }
+        loadPackageCode(controlStack.currentFrame.packageInfo);
+        handleReturnFromNativeCallableUnit(controlStack.currentFrame, continuation.getRetRegs(),
+                actionSF.returnValues, continuation.getActionInfo().getRetParamTypes());
+    }
+
+    private ExecutorService getResumeExecutor() {
+        if (context instanceof WorkerContext) {
+            return ThreadPoolFactory.getInstance().getWorkerExecutor();
+        }
+        return ThreadPoolFactory.getInstance().getExecutor();
     }
 
     public static void handleReturnFromNativeCallableUnit(StackFrame callerSF, int[] returnRegIndexes,
@@ -3070,16 +3221,36 @@ public class BLangVM {
     }
 
     private boolean checkConstraintJSONCast(BType targetType, BRefType value) {
-        if (checkConstraintJSONEquivalency((BJSON) value,
-                (BStructType) ((BJSONConstraintType) targetType).getConstraint())) {
-            return true;
-        }
-        return false;
+        BStructType constraint = (BStructType) ((BJSONConstraintType) targetType).getConstraint();
+        return typeCastCache.getValidator(constraint).validate((BJSON) value);
     }
 
     private boolean checkCast(BValue sourceValue, BType targetType) {
         BType sourceType = sourceValue.getType();
 
+        Boolean castable = typeCastCache.get(sourceType, targetType);
+        if (castable != null) {
+            return castable;
+        }
+
+        // Casts from json depend on the value, hence they are not cached
+        if (!sourceType.equals(targetType) && targetType.getTag() != TypeTags.ANY_TAG) {
+            if (targetType.getTag() == TypeTags.C_JSON_TAG && sourceType.getTag() == TypeTags.JSON_TAG) {
+                return checkConstraintJSONCast(targetType, (BRefType) sourceValue);
+            }
+
+            // Check JSON casting
+            if (getElementType(sourceType).getTag() == TypeTags.JSON_TAG) {
+                return JSONUtils.checkJSONCast(((BJSON) sourceValue).value(), targetType);
+            }
+        }
+
+        castable = checkCast(sourceType, targetType);
+        typeCastCache.put(sourceType, targetType, castable);
+        return castable;
+    }
+
+    private boolean checkCast(BType sourceType, BType targetType) {
         if (sourceType.equals(targetType)) {
             return true;
         }
@@ -3093,16 +3264,6 @@ public class BLangVM {
             return true;
         }
 
-        if (targetType.getTag() == TypeTags.C_JSON_TAG &&
-                sourceValue.getType().getTag() == TypeTags.JSON_TAG) {
-            return checkConstraintJSONCast(targetType, (BRefType) sourceValue);
-        }
-
-        // Check JSON casting
-        if (getElementType(sourceType).getTag() == TypeTags.JSON_TAG) {
-            return JSONUtils.checkJSONCast(((BJSON) sourceValue).value(), targetType);
-        }
-
         // Array casting
         if (targetType.getTag() == TypeTags.ARRAY_TAG || sourceType.getTag() == TypeTags.ARRAY_TAG) {
             return checkArrayCast(sourceType, targetType);
@@ -3204,10 +3365,10 @@ public class BLangVM {
         return false;
     }
 
-    private void convertJSONToInt(int[] operands, StackFrame sf) {
-        int i = operands[0];
-        int j = operands[1];
-        int k = operands[2];
+    private void convertJSONToInt(int[] codeStream, int op, StackFrame sf) {
+        int i = codeStream[op];
+        int j = codeStream[op + 1];
+        int k = codeStream[op + 2];
 
         BJSON jsonValue = (BJSON) sf.refRegs[i];
         if (jsonValue == null) {
@@ -3235,10 +3396,10 @@ public class BLangVM {
         handleTypeConversionError(sf, k, JSONUtils.getTypeName(jsonNode), TypeConstants.INT_TNAME);
     }
 
-    private void convertJSONToFloat(int[] operands, StackFrame sf) {
-        int i = operands[0];
-        int j = operands[1];
-        int k = operands[2];
+    private void convertJSONToFloat(int[] codeStream, int op, StackFrame sf) {
+        int i = codeStream[op];
+        int j = codeStream[op + 1];
+        int k = codeStream[op + 2];
 
         BJSON jsonValue = (BJSON) sf.refRegs[i];
         if (jsonValue == null) {
@@ -3266,10 +3427,10 @@ public class BLangVM {
         handleTypeConversionError(sf, k, JSONUtils.getTypeName(jsonNode), TypeConstants.FLOAT_TNAME);
     }
 
-    private void convertJSONToString(int[] operands, StackFrame sf) {
-        int i = operands[0];
-        int j = operands[1];
-        int k = operands[2];
+    private void convertJSONToString(int[] codeStream, int op, StackFrame sf) {
+        int i = codeStream[op];
+        int j = codeStream[op + 1];
+        int k = codeStream[op + 2];
 
         BJSON jsonValue = (BJSON) sf.refRegs[i];
         if (jsonValue == null) {
@@ -3298,10 +3459,10 @@ public class BLangVM {
         handleTypeConversionError(sf, k, JSONUtils.getTypeName(jsonNode), TypeConstants.STRING_TNAME);
     }
 
-    private void convertJSONToBoolean(int[] operands, StackFrame sf) {
-        int i = operands[0];
-        int j = operands[1];
-        int k = operands[2];
+    private void convertJSONToBoolean(int[] codeStream, int op, StackFrame sf) {
+        int i = codeStream[op];
+        int j = codeStream[op + 1];
+        int k = codeStream[op + 2];
 
         BJSON jsonValue = (BJSON) sf.refRegs[i];
         if (jsonValue == null) {
@@ -3330,9 +3491,9 @@ public class BLangVM {
         handleTypeConversionError(sf, k, JSONUtils.getTypeName(jsonNode), TypeConstants.BOOLEAN_TNAME);
     }
 
-    private void convertStructToMap(int[] operands, StackFrame sf) {
-        int i = operands[0];
-        int j = operands[1];
+    private void convertStructToMap(int[] codeStream, int op, StackFrame sf) {
+        int i = codeStream[op];
+        int j = codeStream[op + 1];
 
         BStruct bStruct = (BStruct) sf.refRegs[i];
         if (bStruct == null) {
@@ -3377,10 +3538,10 @@ public class BLangVM {
         sf.refRegs[j] = map;
     }
 
-    private void convertStructToJSON(int[] operands, StackFrame sf) {
-        int i = operands[0];
-        int j = operands[1];
-        int k = operands[2];
+    private void convertStructToJSON(int[] codeStream, int op, StackFrame sf) {
+        int i = codeStream[op];
+        int j = codeStream[op + 1];
+        int k = codeStream[op + 2];
 
         BStruct bStruct = (BStruct) sf.refRegs[i];
         if (bStruct == null) {
@@ -3398,11 +3559,11 @@ public class BLangVM {
         }
     }
 
-    private void convertMapToStruct(int[] operands, StackFrame sf) {
-        int i = operands[0];
-        int cpIndex = operands[1];
-        int j = operands[2];
-        int k = operands[3];
+    private void convertMapToStruct(int[] codeStream, int op, StackFrame sf) {
+        int i = codeStream[op];
+        int cpIndex = codeStream[op + 1];
+        int j = codeStream[op + 2];
+        int k = codeStream[op + 3];
 
         TypeRefCPEntry typeRefCPEntry = (TypeRefCPEntry) constPool[cpIndex];
         BMap<String, BValue> bMap = (BMap<String, BValue>) sf.refRegs[i];
@@ -3501,11 +3662,11 @@ public class BLangVM {
         sf.refRegs[j] = bStruct;
     }
 
-    private void convertJSONToStruct(int[] operands, StackFrame sf) {
-        int i = operands[0];
-        int cpIndex = operands[1];
-        int j = operands[2];
-        int k = operands[3];
+    private void convertJSONToStruct(int[] codeStream, int op, StackFrame sf) {
+        int i = codeStream[op];
+        int cpIndex = codeStream[op + 1];
+        int j = codeStream[op + 2];
+        int k = codeStream[op + 3];
 
         TypeRefCPEntry typeRefCPEntry = (TypeRefCPEntry) constPool[cpIndex];
         BJSON bjson = (BJSON) sf.refRegs[i];
@@ -3542,6 +3703,9 @@ public class BLangVM {
             }
 
             controlStack.popFrame();
+            if (profiling) {
+                profileReturn(currentFrame, controlStack.getCurrentFrame());
+            }
             context.setError(currentFrame.errorThrown);
             if (controlStack.getCurrentFrame() == null) {
                 break;
@@ -3571,8 +3735,7 @@ public class BLangVM {
         // match should be not null at this point.
         if (match != null) {
             PackageInfo packageInfo = currentFrame.packageInfo;
-            this.constPool = packageInfo.getConstPoolEntries();
-            this.code = packageInfo.getInstructions();
+            loadPackageCode(packageInfo);
             ip = match.getIpTarget();
             return;
         }
@@ -3590,7 +3753,4 @@ public class BLangVM {
         return null;
     }
 
-    private boolean isWaitingOnNonBlockingAction() {
-        return context.actionInfo != null;
-    }
 }
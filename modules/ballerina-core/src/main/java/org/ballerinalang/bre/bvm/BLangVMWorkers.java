@@ -50,13 +50,15 @@ import java.util.concurrent.Semaphore;
  */
 public class BLangVMWorkers {
 
+    private static PrintStream outStream = System.out;
+
     public static void invoke(ProgramFile programFile, CallableUnitInfo callableUnitInfo, Context parent,
                               Map<String, Object> properties) {
         StackFrame callerSF = parent.getControlStackNew().currentFrame;
         WorkerReturnIndex workerReturnIndex = calculateWorkerReturnIndex(callableUnitInfo.getRetParamTypes());
 
         for (WorkerInfo workerInfo : callableUnitInfo.getWorkerInfoMap().values()) {
-            WorkerContext workerContext = new WorkerContext(programFile, parent);
+            WorkerContext workerContext = new WorkerContext(programFile, parent, workerInfo);
             workerContext.setStartIP(workerInfo.getCodeAttributeInfo().getCodeAddrs());
 
             if (properties != null) {
@@ -128,9 +130,21 @@ public class BLangVMWorkers {
         return index;
     }
 
-    static class WorkerExecutor implements Runnable {
+    /**
+     * Print the error of a worker which has run to its end. A worker which was suspended on a native action or parked
+     * on a data channel ends on the thread which resumes it, hence this is called from both places.
+     *
+     * @param context    context of the worker
+     * @param workerName name of the worker
+     */
+    public static void printWorkerError(Context context, String workerName) {
+        if (context.getError() != null) {
+            String stackTraceStr = BLangVMErrors.getPrintableStackTrace(context.getError());
+            outStream.println("error in worker '" + workerName + "': " + stackTraceStr);
+        }
+    }
 
-        private static PrintStream outStream = System.out;
+    static class WorkerExecutor implements Runnable {
 
         private BLangVM bLangVM;
         private Context bContext;
@@ -151,9 +165,8 @@ public class BLangVMWorkers {
         public void run() throws BallerinaException {
             BRefValueArray bRefValueArray = new BRefValueArray(new BArrayType(BTypes.typeAny));
             bLangVM.execWorker(bContext, workerInfo.getCodeAttributeInfo().getCodeAddrs());
-            if (bContext.getError() != null) {
-                String stackTraceStr = BLangVMErrors.getPrintableStackTrace(bContext.getError());
-                outStream.println("error in worker '" + workerInfo.getWorkerName() + "': " + stackTraceStr);
+            if (!bLangVM.isSuspended()) {
+                printWorkerError(bContext, workerInfo.getWorkerName());
             }
 
             if (workerInfo.getWorkerDataChannelInfoForForkJoin() != null) {
@@ -0,0 +1,99 @@
+/*
+*  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.ballerinalang.bre.bvm;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.ballerinalang.model.types.BStructType;
+import org.ballerinalang.model.types.BType;
+import org.ballerinalang.model.util.LazyJSON;
+import org.ballerinalang.model.values.BJSON;
+
+/**
+ * {@code ConstraintJSONValidator} checks whether a JSON value can be cast to a JSON constrained by a struct type, i.e.
+ * whether the JSON has all the fields of the struct, and whether the fields of struct types are JSON objects with all
+ * their fields in turn.
+ * <p>
+ * The field names and the nested struct types are read from the struct type once, and a lazily decoded JSON is
+ * checked without materializing it. The validators of the nested structs are resolved on first use, as a struct may
+ * refer to itself.
+ *
+ * @since 0.95
+ */
+class ConstraintJSONValidator {
+
+    private final String[] fieldNames;
+    private final BStructType[] fieldStructTypes;
+    private final ConstraintJSONValidator[] fieldValidators;
+    private final TypeCastCache typeCastCache;
+
+    ConstraintJSONValidator(BStructType constraint, TypeCastCache typeCastCache) {
+        BStructType.StructField[] fields = constraint.getStructFields();
+        this.fieldNames = new String[fields.length];
+        this.fieldStructTypes = new BStructType[fields.length];
+        this.fieldValidators = new ConstraintJSONValidator[fields.length];
+        this.typeCastCache = typeCastCache;
+        for (int i = 0; i < fields.length; i++) {
+            fieldNames[i] = fields[i].getFieldName();
+            BType fieldType = fields[i].getFieldType();
+            if (fieldType instanceof BStructType) {
+                fieldStructTypes[i] = (BStructType) fieldType;
+            }
+        }
+    }
+
+    boolean validate(BJSON json) {
+        LazyJSON lazyValue = json.getLazyValue();
+        return lazyValue != null ? validate(lazyValue) : validate(json.value());
+    }
+
+    private boolean validate(LazyJSON json) {
+        for (int i = 0; i < fieldNames.length; i++) {
+            LazyJSON field = json.get(fieldNames[i]);
+            if (field == null) {
+                return false;
+            }
+            if (fieldStructTypes[i] != null && (field.isNull() || !getFieldValidator(i).validate(field))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean validate(JsonNode json) {
+        for (int i = 0; i < fieldNames.length; i++) {
+            JsonNode field = json.get(fieldNames[i]);
+            if (field == null) {
+                return false;
+            }
+            if (fieldStructTypes[i] != null && (field.isNull() || !getFieldValidator(i).validate(field))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private ConstraintJSONValidator getFieldValidator(int i) {
+        ConstraintJSONValidator validator = fieldValidators[i];
+        if (validator == null) {
+            // Benign race, all the threads get the same validator from the cache
+            validator = typeCastCache.getValidator(fieldStructTypes[i]);
+            fieldValidators[i] = validator;
+        }
+        return validator;
+    }
+}
@@ -17,6 +17,10 @@
 */
 package org.ballerinalang.bre.bvm;
 
+import org.ballerinalang.util.exceptions.BallerinaException;
+
+import java.util.Arrays;
+
 /**
  * {@code ControlStack} represents function call stack.
  *
@@ -24,6 +28,7 @@ package org.ballerinalang.bre.bvm;
  */
 public class ControlStackNew {
     public static final int DEFAULT_CONTROL_STACK_SIZE = 2000;
+    private static final int INITIAL_CONTROL_STACK_SIZE = 16;
 
     private StackFrame[] stackFrames;
 
@@ -33,10 +38,13 @@ public class ControlStackNew {
     public StackFrame currentFrame;
 
     public ControlStackNew() {
-        stackFrames = new StackFrame[DEFAULT_CONTROL_STACK_SIZE];
+        stackFrames = new StackFrame[INITIAL_CONTROL_STACK_SIZE];
     }
 
     public StackFrame pushFrame(StackFrame frame) {
+        if (fp + 1 == stackFrames.length) {
+            growStack();
+        }
         stackFrames[++fp] = frame;
         currentFrame = frame;
         return currentFrame;
@@ -55,6 +63,14 @@ public class ControlStackNew {
         return poppedFrame;
     }
 
+    private void growStack() {
+        if (stackFrames.length == DEFAULT_CONTROL_STACK_SIZE) {
+            throw new BallerinaException("stack overflow: maximum call depth of " + DEFAULT_CONTROL_STACK_SIZE +
+                    " exceeded");
+        }
+        stackFrames = Arrays.copyOf(stackFrames, Math.min(stackFrames.length << 1, DEFAULT_CONTROL_STACK_SIZE));
+    }
+
     public StackFrame peekFrame(int offset) {
         StackFrame peekFrame = null;
         if (fp - offset >= 0 && fp - offset < stackFrames.length) {
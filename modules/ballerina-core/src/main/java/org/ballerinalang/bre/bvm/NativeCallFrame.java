@@ -0,0 +1,229 @@
+/*
+*  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.ballerinalang.bre.bvm;
+
+import org.ballerinalang.bre.Context;
+import org.ballerinalang.model.types.BType;
+import org.ballerinalang.model.types.TypeTags;
+import org.ballerinalang.model.values.BBlob;
+import org.ballerinalang.model.values.BBoolean;
+import org.ballerinalang.model.values.BFloat;
+import org.ballerinalang.model.values.BInteger;
+import org.ballerinalang.model.values.BRefType;
+import org.ballerinalang.model.values.BString;
+import org.ballerinalang.model.values.BValue;
+import org.ballerinalang.natives.AbstractDirectNativeFunction;
+import org.ballerinalang.util.codegen.CallableUnitInfo;
+import org.ballerinalang.util.exceptions.BallerinaException;
+
+/**
+ * {@code NativeCallFrame} gives a native function direct access to its arguments and return values in the registers
+ * of the calling frame, so that a native function can be invoked without a stack frame of its own and without
+ * boxing the values.
+ * <p>
+ * Arguments and return values are indexed by their position in the parameter list and in the return parameter list
+ * respectively, regardless of their types. A native function must read its arguments before it sets its return
+ * values, and must set all of its return values. A call frame is only valid during the call and is reused by the VM,
+ * hence it must not be kept by the native function.
+ *
+ * @since 0.95
+ */
+public final class NativeCallFrame {
+
+    private StackFrame argSF;
+    private int[] argRegs;
+    private StackFrame retSF;
+    private int[] retRegs;
+
+    void init(StackFrame callerSF, int[] argRegs, int[] retRegs) {
+        init(callerSF, argRegs, callerSF, retRegs);
+    }
+
+    private void init(StackFrame argSF, int[] argRegs, StackFrame retSF, int[] retRegs) {
+        this.argSF = argSF;
+        this.argRegs = argRegs;
+        this.retSF = retSF;
+        this.retRegs = retRegs;
+    }
+
+    void clear() {
+        this.argSF = null;
+        this.argRegs = null;
+        this.retSF = null;
+        this.retRegs = null;
+    }
+
+    /**
+     * Invoke a direct native function the same way as a native function which boxes its values, i.e. with the
+     * arguments in the local variables of the current frame of the context, and get its return values boxed.
+     *
+     * @param nativeFunction native function to invoke
+     * @param context        context of the call
+     * @return return values of the function
+     */
+    public static BValue[] invoke(AbstractDirectNativeFunction nativeFunction, Context context) {
+        StackFrame calleeSF = context.getControlStackNew().getCurrentFrame();
+        CallableUnitInfo callableUnitInfo = calleeSF.callableUnitInfo;
+        if (callableUnitInfo == null) {
+            throw new BallerinaException("native function '" + nativeFunction.getName() +
+                    "' is not invoked with a function frame");
+        }
+        BType[] paramTypes = callableUnitInfo.getParamTypes();
+        BType[] retTypes = callableUnitInfo.getRetParamTypes();
+
+        // The arguments are read from the local variables, where they are copied to for a boxed call
+        StackFrame argSF = new StackFrame();
+        argSF.longRegs = calleeSF.longLocalVars;
+        argSF.doubleRegs = calleeSF.doubleLocalVars;
+        argSF.stringRegs = calleeSF.stringLocalVars;
+        argSF.intRegs = calleeSF.intLocalVars;
+        argSF.byteRegs = calleeSF.byteLocalVars;
+        argSF.refRegs = calleeSF.refLocalVars;
+
+        StackFrame retSF = new StackFrame();
+        retSF.longRegs = new long[retTypes.length];
+        retSF.doubleRegs = new double[retTypes.length];
+        retSF.stringRegs = new String[retTypes.length];
+        retSF.intRegs = new int[retTypes.length];
+        retSF.byteRegs = new byte[retTypes.length][];
+        retSF.refRegs = new BRefType[retTypes.length];
+
+        NativeCallFrame frame = new NativeCallFrame();
+        frame.init(argSF, getRegIndexes(paramTypes), retSF, getRegIndexes(retTypes));
+        nativeFunction.execute(context, frame);
+
+        BValue[] returnValues = new BValue[retTypes.length];
+        for (int i = 0; i < retTypes.length; i++) {
+            int retReg = frame.retRegs[i];
+            switch (retTypes[i].getTag()) {
+                case TypeTags.INT_TAG:
+                    returnValues[i] = new BInteger(retSF.longRegs[retReg]);
+                    break;
+                case TypeTags.FLOAT_TAG:
+                    returnValues[i] = new BFloat(retSF.doubleRegs[retReg]);
+                    break;
+                case TypeTags.STRING_TAG:
+                    returnValues[i] = new BString(retSF.stringRegs[retReg]);
+                    break;
+                case TypeTags.BOOLEAN_TAG:
+                    returnValues[i] = new BBoolean(retSF.intRegs[retReg] == 1);
+                    break;
+                case TypeTags.BLOB_TAG:
+                    returnValues[i] = new BBlob(retSF.byteRegs[retReg]);
+                    break;
+                default:
+                    returnValues[i] = retSF.refRegs[retReg];
+            }
+        }
+        return returnValues;
+    }
+
+    /**
+     * Get the indexes of values of the given types in registers of their types, when the values of each type are
+     * stored one after the other, as the arguments of a function in its local variables.
+     */
+    private static int[] getRegIndexes(BType[] types) {
+        int longRegIndex = -1;
+        int doubleRegIndex = -1;
+        int stringRegIndex = -1;
+        int booleanRegIndex = -1;
+        int blobRegIndex = -1;
+        int refRegIndex = -1;
+
+        int[] regIndexes = new int[types.length];
+        for (int i = 0; i < types.length; i++) {
+            switch (types[i].getTag()) {
+                case TypeTags.INT_TAG:
+                    regIndexes[i] = ++longRegIndex;
+                    break;
+                case TypeTags.FLOAT_TAG:
+                    regIndexes[i] = ++doubleRegIndex;
+                    break;
+                case TypeTags.STRING_TAG:
+                    regIndexes[i] = ++stringRegIndex;
+                    break;
+                case TypeTags.BOOLEAN_TAG:
+                    regIndexes[i] = ++booleanRegIndex;
+                    break;
+                case TypeTags.BLOB_TAG:
+                    regIndexes[i] = ++blobRegIndex;
+                    break;
+                default:
+                    regIndexes[i] = ++refRegIndex;
+            }
+        }
+        return regIndexes;
+    }
+
+    public long getIntArgument(int index) {
+        return argSF.longRegs[argRegs[index]];
+    }
+
+    public double getFloatArgument(int index) {
+        return argSF.doubleRegs[argRegs[index]];
+    }
+
+    public String getStringArgument(int index) {
+        return argSF.stringRegs[argRegs[index]];
+    }
+
+    public boolean getBooleanArgument(int index) {
+        return argSF.intRegs[argRegs[index]] == 1;
+    }
+
+    public byte[] getBlobArgument(int index) {
+        byte[] result = argSF.byteRegs[argRegs[index]];
+        if (result == null) {
+            throw new BallerinaException("argument " + index + " is null");
+        }
+        return result;
+    }
+
+    public BRefType getRefArgument(int index) {
+        BRefType result = argSF.refRegs[argRegs[index]];
+        if (result == null) {
+            throw new BallerinaException("argument " + index + " is null");
+        }
+        return result;
+    }
+
+    public void setIntReturn(int index, long value) {
+        retSF.longRegs[retRegs[index]] = value;
+    }
+
+    public void setFloatReturn(int index, double value) {
+        retSF.doubleRegs[retRegs[index]] = value;
+    }
+
+    public void setStringReturn(int index, String value) {
+        // The same as for the boxed return values, a null string is returned as an empty string
+        retSF.stringRegs[retRegs[index]] = value == null ? "" : value;
+    }
+
+    public void setBooleanReturn(int index, boolean value) {
+        retSF.intRegs[retRegs[index]] = value ? 1 : 0;
+    }
+
+    public void setBlobReturn(int index, byte[] value) {
+        retSF.byteRegs[retRegs[index]] = value == null ? new byte[0] : value;
+    }
+
+    public void setRefReturn(int index, BRefType value) {
+        retSF.refRegs[retRegs[index]] = value;
+    }
+}
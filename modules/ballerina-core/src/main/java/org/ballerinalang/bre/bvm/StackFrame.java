@@ -24,6 +24,7 @@ import org.ballerinalang.util.codegen.CallableUnitInfo;
 import org.ballerinalang.util.codegen.PackageInfo;
 import org.ballerinalang.util.codegen.WorkerInfo;
 import org.ballerinalang.util.codegen.attributes.CodeAttributeInfo;
+import org.ballerinalang.util.profiler.CallNode;
 
 import java.util.Arrays;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -72,6 +73,22 @@ public class StackFrame {
     final AtomicBoolean workerReturned = new AtomicBoolean();
     String returnedWorker = "";
 
+    // Whether this frame was taken from the StackFramePool and can be recycled on return.
+    boolean pooled;
+
+    // Calling context of this frame and the time it was entered, recorded only while the VM profiler is active.
+    CallNode profileNode;
+    long profileStartTime;
+    long profileChildTime;
+
+    private static final byte[] EMPTY_BYTES = new byte[0];
+
+    /**
+     * Creates an empty frame to be initialized by the {@link StackFramePool}.
+     */
+    StackFrame() {
+    }
+
     public StackFrame(PackageInfo packageInfo, int retAddrs, int[] retRegIndexes) {
         this.packageInfo = packageInfo;
         this.retAddrs = retAddrs;
@@ -143,6 +160,123 @@ public class StackFrame {
         this.returnValues = returnValues;
     }
 
+    /**
+     * Re-initialize a recycled frame for the given callable unit. Existing arrays are reused when they are large
+     * enough, and only the slots used by the callable unit are reset to their zero values.
+     */
+    void init(CallableUnitInfo callableUnitInfo, WorkerInfo workerInfo, int retAddrs, int[] retRegIndexes,
+              BValue[] returnValues) {
+        this.callableUnitInfo = callableUnitInfo;
+        this.packageInfo = callableUnitInfo.getPackageInfo();
+        this.workerInfo = workerInfo;
+        this.retAddrs = retAddrs;
+        this.retRegIndexes = retRegIndexes;
+        this.returnValues = returnValues;
+        CodeAttributeInfo codeAttribInfo = workerInfo.getCodeAttributeInfo();
+
+        int count = codeAttribInfo.getMaxLongLocalVars();
+        if (longLocalVars == null || longLocalVars.length < count) {
+            longLocalVars = new long[count];
+        } else {
+            Arrays.fill(longLocalVars, 0, count, 0);
+        }
+
+        count = codeAttribInfo.getMaxDoubleLocalVars();
+        if (doubleLocalVars == null || doubleLocalVars.length < count) {
+            doubleLocalVars = new double[count];
+        } else {
+            Arrays.fill(doubleLocalVars, 0, count, 0);
+        }
+
+        count = codeAttribInfo.getMaxStringLocalVars();
+        if (stringLocalVars == null || stringLocalVars.length < count) {
+            stringLocalVars = new String[count];
+        }
+        // Setting the zero values for strings
+        Arrays.fill(stringLocalVars, 0, count, "");
+
+        count = codeAttribInfo.getMaxIntLocalVars();
+        if (intLocalVars == null || intLocalVars.length < count) {
+            intLocalVars = new int[count];
+        } else {
+            Arrays.fill(intLocalVars, 0, count, 0);
+        }
+
+        count = codeAttribInfo.getMaxByteLocalVars();
+        if (byteLocalVars == null || byteLocalVars.length < count) {
+            byteLocalVars = new byte[count][];
+        }
+        Arrays.fill(byteLocalVars, 0, count, EMPTY_BYTES);
+
+        count = codeAttribInfo.getMaxRefLocalVars();
+        if (refLocalVars == null || refLocalVars.length < count) {
+            refLocalVars = new BRefType[count];
+        }
+
+        count = codeAttribInfo.getMaxLongRegs();
+        if (longRegs == null || longRegs.length < count) {
+            longRegs = new long[count];
+        } else {
+            Arrays.fill(longRegs, 0, count, 0);
+        }
+
+        count = codeAttribInfo.getMaxDoubleRegs();
+        if (doubleRegs == null || doubleRegs.length < count) {
+            doubleRegs = new double[count];
+        } else {
+            Arrays.fill(doubleRegs, 0, count, 0);
+        }
+
+        count = codeAttribInfo.getMaxStringRegs();
+        if (stringRegs == null || stringRegs.length < count) {
+            stringRegs = new String[count];
+        }
+
+        count = codeAttribInfo.getMaxIntRegs();
+        if (intRegs == null || intRegs.length < count) {
+            intRegs = new int[count];
+        } else {
+            Arrays.fill(intRegs, 0, count, 0);
+        }
+
+        count = codeAttribInfo.getMaxByteRegs();
+        if (byteRegs == null || byteRegs.length < count) {
+            byteRegs = new byte[count][];
+        }
+
+        count = codeAttribInfo.getMaxRefRegs();
+        if (refRegs == null || refRegs.length < count) {
+            refRegs = new BRefType[count];
+        }
+    }
+
+    /**
+     * Drop all the references held by this frame, so that a pooled frame doesn't keep values reachable.
+     * Only the slots used by the last callable unit are cleared.
+     */
+    void clear() {
+        if (workerInfo != null) {
+            CodeAttributeInfo codeAttribInfo = workerInfo.getCodeAttributeInfo();
+            Arrays.fill(stringLocalVars, 0, codeAttribInfo.getMaxStringLocalVars(), null);
+            Arrays.fill(byteLocalVars, 0, codeAttribInfo.getMaxByteLocalVars(), null);
+            Arrays.fill(refLocalVars, 0, codeAttribInfo.getMaxRefLocalVars(), null);
+            Arrays.fill(stringRegs, 0, codeAttribInfo.getMaxStringRegs(), null);
+            Arrays.fill(byteRegs, 0, codeAttribInfo.getMaxByteRegs(), null);
+            Arrays.fill(refRegs, 0, codeAttribInfo.getMaxRefRegs(), null);
+        }
+
+        this.callableUnitInfo = null;
+        this.packageInfo = null;
+        this.workerInfo = null;
+        this.retRegIndexes = null;
+        this.errorThrown = null;
+        this.argValues = null;
+        this.returnValues = null;
+        this.workerReturned.set(false);
+        this.returnedWorker = "";
+        this.profileNode = null;
+    }
+
     public long[] getLongLocalVars() {
         return longLocalVars;
     }
@@ -0,0 +1,78 @@
+/*
+*  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.ballerinalang.bre.bvm;
+
+import org.ballerinalang.model.values.BValue;
+import org.ballerinalang.util.codegen.CallableUnitInfo;
+import org.ballerinalang.util.codegen.WorkerInfo;
+
+/**
+ * Per thread arena of recyclable {@link StackFrame}s.
+ * <p>
+ * A frame is taken out of the pool when a callable unit is invoked and is given back only when it is popped on a
+ * normal return. Frames which are still referenced after being popped (e.g. by a suspended context or by workers)
+ * are never released, hence they are simply left to the garbage collector.
+ *
+ * @since 0.94
+ */
+class StackFramePool {
+
+    private static final int MAX_POOLED_FRAMES = 256;
+
+    private static final ThreadLocal<StackFramePool> POOL = ThreadLocal.withInitial(StackFramePool::new);
+
+    private final StackFrame[] frames = new StackFrame[MAX_POOLED_FRAMES];
+
+    // Number of frames available in the pool
+    private int count;
+
+    private StackFramePool() {
+    }
+
+    static StackFramePool getInstance() {
+        return POOL.get();
+    }
+
+    StackFrame acquire(CallableUnitInfo callableUnitInfo, WorkerInfo workerInfo, int retAddrs, int[] retRegIndexes) {
+        return acquire(callableUnitInfo, workerInfo, retAddrs, retRegIndexes, null);
+    }
+
+    StackFrame acquire(CallableUnitInfo callableUnitInfo, WorkerInfo workerInfo, int retAddrs, int[] retRegIndexes,
+                       BValue[] returnValues) {
+        StackFrame frame;
+        if (count > 0) {
+            frame = frames[--count];
+            frames[count] = null;
+        } else {
+            frame = new StackFrame();
+            frame.pooled = true;
+        }
+        frame.init(callableUnitInfo, workerInfo, retAddrs, retRegIndexes, returnValues);
+        return frame;
+    }
+
+    void release(StackFrame frame) {
+        if (!frame.pooled) {
+            return;
+        }
+        frame.clear();
+        if (count < MAX_POOLED_FRAMES) {
+            frames[count++] = frame;
+        }
+    }
+}
@@ -0,0 +1,185 @@
+/*
+*  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.ballerinalang.bre.bvm;
+
+import org.ballerinalang.model.types.BStructType;
+import org.ballerinalang.model.types.BType;
+import org.ballerinalang.model.types.BTypes;
+import org.ballerinalang.util.codegen.ConnectorInfo;
+import org.ballerinalang.util.codegen.PackageInfo;
+import org.ballerinalang.util.codegen.ProgramFile;
+import org.ballerinalang.util.codegen.StructInfo;
+import org.ballerinalang.util.codegen.cpentries.ConstantPoolEntry;
+import org.ballerinalang.util.codegen.cpentries.TypeRefCPEntry;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * {@code TypeCastCache} remembers the result of the type casts of a program which depend only on the source and the
+ * target types, such as the structural equivalency of two structs, so that a cast is checked field by field only the
+ * first time it is executed. It also holds the validators of the constraint JSON casts, compiled once per struct type.
+ * <p>
+ * The types are compared by identity, which is how the types of a program are shared by its values. Lookups do not
+ * lock. Results are added by copying the row of the source type, as a program has only a few casts per source type.
+ * <p>
+ * Only the casts between the types of the program file are cached: the types of its constant pool, its structs and
+ * connectors, and the built-in types. These are finite, so the cache is bounded by the program. Types created at run
+ * time, e.g. the type of the array of the results of a worker, are created again each time, and their casts are
+ * checked each time.
+ *
+ * @since 0.95
+ */
+public class TypeCastCache {
+
+    private final ProgramFile programFile;
+    private volatile Map<BType, Row> rows = new IdentityHashMap<>();
+    private volatile Map<BStructType, ConstraintJSONValidator> validators = new IdentityHashMap<>();
+    private Set<BType> programTypes;
+    private int relationCount;
+
+    /**
+     * Create the cache of the casts of a program. The types of the program are collected when the first result is
+     * added, i.e. once the program file has been loaded.
+     *
+     * @param programFile program whose casts are cached
+     */
+    public TypeCastCache(ProgramFile programFile) {
+        this.programFile = programFile;
+    }
+
+    /**
+     * Get the cached result of a cast.
+     *
+     * @param sourceType type of the value
+     * @param targetType type to cast to
+     * @return true or false if the result is cached, null otherwise
+     */
+    public Boolean get(BType sourceType, BType targetType) {
+        Row row = rows.get(sourceType);
+        if (row == null) {
+            return null;
+        }
+
+        BType[] targetTypes = row.targetTypes;
+        for (int i = 0; i < targetTypes.length; i++) {
+            if (targetTypes[i] == targetType) {
+                return row.results[i];
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Cache the result of a cast. Only casts which do not depend on the value must be cached.
+     *
+     * @param sourceType type of the value
+     * @param targetType type to cast to
+     * @param castable   whether a value of the source type can be cast to the target type
+     */
+    public synchronized void put(BType sourceType, BType targetType, boolean castable) {
+        if (programTypes == null) {
+            programTypes = getProgramTypes(programFile);
+        }
+        if (!programTypes.contains(sourceType) || !programTypes.contains(targetType) ||
+                get(sourceType, targetType) != null) {
+            return;
+        }
+
+        Map<BType, Row> newRows = new IdentityHashMap<>(rows);
+        newRows.put(sourceType, new Row(newRows.get(sourceType), targetType, castable));
+        rows = newRows;
+        relationCount++;
+    }
+
+    /**
+     * Get the validator of the JSON values which can be cast to a JSON constrained by a struct type.
+     *
+     * @param constraint constraint struct type
+     * @return validator of the JSON values
+     */
+    ConstraintJSONValidator getValidator(BStructType constraint) {
+        ConstraintJSONValidator validator = validators.get(constraint);
+        if (validator != null) {
+            return validator;
+        }
+
+        synchronized (this) {
+            validator = validators.get(constraint);
+            if (validator == null) {
+                validator = new ConstraintJSONValidator(constraint, this);
+                Map<BStructType, ConstraintJSONValidator> newValidators = new IdentityHashMap<>(validators);
+                newValidators.put(constraint, validator);
+                validators = newValidators;
+            }
+            return validator;
+        }
+    }
+
+    public synchronized int size() {
+        return relationCount;
+    }
+
+    private static Set<BType> getProgramTypes(ProgramFile programFile) {
+        Set<BType> types = Collections.newSetFromMap(new IdentityHashMap<>());
+        Collections.addAll(types, BTypes.typeInt, BTypes.typeFloat, BTypes.typeString, BTypes.typeBoolean,
+                BTypes.typeBlob, BTypes.typeXML, BTypes.typeJSON, BTypes.typeDatatable, BTypes.typeAny,
+                BTypes.typeType, BTypes.typeMap, BTypes.typeConnector, BTypes.typeNull, BTypes.typeXMLAttributes);
+        addTypeRefs(types, programFile.getConstPoolEntries());
+        for (PackageInfo packageInfo : programFile.getPackageInfoEntries()) {
+            addTypeRefs(types, packageInfo.getConstPoolEntries());
+            for (StructInfo structInfo : packageInfo.getStructInfoEntries()) {
+                types.add(structInfo.getType());
+            }
+            for (ConnectorInfo connectorInfo : packageInfo.getConnectorInfoEntries()) {
+                types.add(connectorInfo.getType());
+            }
+        }
+        return types;
+    }
+
+    private static void addTypeRefs(Set<BType> types, ConstantPoolEntry[] cpEntries) {
+        for (ConstantPoolEntry cpEntry : cpEntries) {
+            if (cpEntry instanceof TypeRefCPEntry) {
+                types.add(((TypeRefCPEntry) cpEntry).getType());
+            }
+        }
+    }
+
+    /**
+     * The cached results of the casts from a source type, which is never changed once it is published.
+     */
+    private static class Row {
+        final BType[] targetTypes;
+        final Boolean[] results;
+
+        Row(Row row, BType targetType, boolean castable) {
+            int length = row == null ? 0 : row.targetTypes.length;
+            targetTypes = new BType[length + 1];
+            results = new Boolean[length + 1];
+            if (row != null) {
+                System.arraycopy(row.targetTypes, 0, targetTypes, 0, length);
+                System.arraycopy(row.results, 0, results, 0, length);
+            }
+            targetTypes[length] = targetType;
+            results[length] = castable;
+        }
+    }
+}
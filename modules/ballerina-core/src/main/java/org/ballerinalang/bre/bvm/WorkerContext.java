@@ -19,6 +19,7 @@ package org.ballerinalang.bre.bvm;
 
 import org.ballerinalang.bre.Context;
 import org.ballerinalang.util.codegen.ProgramFile;
+import org.ballerinalang.util.codegen.WorkerInfo;
 
 /**
  * WorkerContext for store worker related information.
@@ -29,10 +30,12 @@ public class WorkerContext extends Context {
 
     public Context parent;
     StackFrame parentSF;
+    private final WorkerInfo workerInfo;
 
-    WorkerContext(ProgramFile programFile, Context parent) {
+    WorkerContext(ProgramFile programFile, Context parent, WorkerInfo workerInfo) {
         super(programFile);
         this.parent = parent;
+        this.workerInfo = workerInfo;
         parentSF = parent.getControlStackNew().currentFrame;
         this.workerCounter = parent.getWorkerCounter();
         this.populateContextPropsFromParent();
@@ -45,4 +48,8 @@ public class WorkerContext extends Context {
         this.setDebugInfoHolder(this.parent.getDebugInfoHolder());
     }
 
+    public String getWorkerName() {
+        return workerInfo.getWorkerName();
+    }
+
 }
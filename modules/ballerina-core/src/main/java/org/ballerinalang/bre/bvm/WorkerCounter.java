@@ -18,6 +18,7 @@
 package org.ballerinalang.bre.bvm;
 
 import org.ballerinalang.bre.Context;
+import org.ballerinalang.runtime.metrics.RuntimeMetrics;
 
 import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
@@ -47,6 +48,9 @@ public class WorkerCounter {
     public void countDown() {
         if (count.decrementAndGet() == 0) {
             lock.release();
+            if (resourceContext != null) {
+                RuntimeMetrics.resourceContextEnded();
+            }
             if (resourceContext != null && resourceContext.getConnectorFuture() != null) {
                 // Asynchronously notify the resource.
                 resourceContext.getConnectorFuture().notifySuccess();
@@ -28,6 +28,7 @@ import org.ballerinalang.model.WhiteSpaceDescriptor;
 import org.ballerinalang.model.types.BType;
 import org.ballerinalang.model.values.BValue;
 import org.ballerinalang.natives.exceptions.ArgumentOutOfRangeException;
+import org.ballerinalang.runtime.Constants;
 import org.ballerinalang.util.exceptions.BallerinaException;
 import org.ballerinalang.util.exceptions.FlowBuilderException;
 
@@ -55,6 +56,8 @@ public abstract class AbstractNativeAction implements NativeUnit, Action {
 
     private int tempStackFrameSize;
 
+    private volatile Long timeout;
+
     public AbstractNativeAction() {
         parameterDefs = new ArrayList<>();
         returnParams = new ArrayList<>();
@@ -113,14 +116,36 @@ public abstract class AbstractNativeAction implements NativeUnit, Action {
     /**
      * Declare implementation of Native action is support non-blocking behaviour.
      * <p>
-     * Default is false, Override to support non-blocking behaviour.
+     * The VM no longer consults this flag. Every action invocation suspends the VM until the returned
+     * {@link ConnectorFuture} is completed, without holding on to the calling thread.
      *
      * @return true, if current is implementation supports non-blocking.
+     * @deprecated all native actions are invoked in a non-blocking manner.
      */
+    @Deprecated
     public boolean isNonBlockingAction() {
         return false;
     }
 
+    /**
+     * Get the time in milliseconds to wait for this action to complete, before the invocation fails.
+     * <p>
+     * Defaults to the value of the {@code ballerina.action.timeout} system property, which can be set for a single
+     * action with {@code ballerina.action.timeout.<package>:<action>}. A non positive value disables the timeout.
+     *
+     * @return timeout in milliseconds
+     */
+    public long getTimeout() {
+        Long actionTimeout = timeout;
+        if (actionTimeout == null) {
+            long defaultTimeout = Long.getLong(Constants.SYSTEM_PROP_ACTION_TIMEOUT, Constants.DEFAULT_ACTION_TIMEOUT);
+            actionTimeout = Long.getLong(Constants.SYSTEM_PROP_ACTION_TIMEOUT + "." + getPackagePath() + ":" +
+                    getName(), defaultTimeout);
+            timeout = actionTimeout;
+        }
+        return actionTimeout;
+    }
+
     // Methods in CallableUnit interface
 
     /**
@@ -17,17 +17,10 @@
 */
 package org.ballerinalang.connector.impl;
 
-import org.ballerinalang.bre.Context;
-import org.ballerinalang.bre.bvm.BLangVMErrors;
+import org.ballerinalang.bre.bvm.ActionContinuation;
 import org.ballerinalang.connector.api.BallerinaConnectorException;
 import org.ballerinalang.connector.api.ConnectorFutureListener;
-import org.ballerinalang.model.values.BStruct;
 import org.ballerinalang.model.values.BValue;
-import org.ballerinalang.runtime.threadpool.ResponseWorkerThread;
-import org.ballerinalang.runtime.threadpool.ThreadPoolFactory;
-
-import java.util.concurrent.Semaphore;
-import java.util.concurrent.TimeUnit;
 
 /**
  * {@code BClientConnectorFutureListener} Listener to listen to client side events and continue the execution.
@@ -36,53 +29,24 @@ import java.util.concurrent.TimeUnit;
  */
 public class BClientConnectorFutureListener implements ConnectorFutureListener {
 
-    private Context context;
-    private boolean nonBlocking = false;
-    private volatile Semaphore executionWaitSem;
+    private ActionContinuation continuation;
 
-    public BClientConnectorFutureListener(Context context, boolean nonBlocking) {
-        this.context = context;
-        this.nonBlocking = nonBlocking;
-        this.executionWaitSem = new Semaphore(0);
+    public BClientConnectorFutureListener(ActionContinuation continuation) {
+        this.continuation = continuation;
     }
 
     @Override
     public void notifySuccess() {
-        done();
+        continuation.complete(null);
     }
 
     @Override
     public void notifyReply(BValue response) {
-        context.getControlStackNew().currentFrame.returnValues[0] = response;
-        done();
+        continuation.complete(response);
     }
 
     @Override
     public void notifyFailure(BallerinaConnectorException ex) {
-        BStruct err = BLangVMErrors.createError(context, context.getStartIP() - 1,
-                ex.getMessage());
-        context.setError(err);
-        done();
-    }
-
-    private void done() {
-        if (nonBlocking) {
-            ThreadPoolFactory.getInstance().getExecutor()
-                    .execute(new ResponseWorkerThread(context));
-        } else {
-            executionWaitSem.release();
-//            synchronized (context) {
-//                context.notifyAll();
-//            }
-        }
-    }
-
-    public boolean sync(long timeout) {
-        try {
-            return executionWaitSem.tryAcquire(timeout, TimeUnit.MILLISECONDS);
-        } catch (InterruptedException e) {
-            //ignore
-        }
-        return false;
+        continuation.fail(ex.getMessage());
     }
 }
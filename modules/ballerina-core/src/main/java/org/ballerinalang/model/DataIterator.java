@@ -50,4 +50,23 @@ public interface DataIterator {
     BValue get(String columnName, int type);
 
     Map<String, Object> getArray(String columnName);
+
+    /*
+     * Column index based accessors. The first column is 1. These avoid resolving the column by its name for every
+     * value, hence are used when a datatable is projected row by row.
+     */
+
+    String getString(int columnIndex);
+
+    long getInt(int columnIndex);
+
+    double getFloat(int columnIndex);
+
+    boolean getBoolean(int columnIndex);
+
+    String getObjectAsString(int columnIndex);
+
+    BValue get(int columnIndex, int type);
+
+    Map<String, Object> getArray(int columnIndex);
 }
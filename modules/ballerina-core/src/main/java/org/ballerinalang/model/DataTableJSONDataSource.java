@@ -19,15 +19,16 @@ package org.ballerinalang.model;
 
 import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializerProvider;
-import com.fasterxml.jackson.databind.node.JsonNodeFactory;
-import com.fasterxml.jackson.databind.node.ObjectNode;
 import org.ballerinalang.model.values.BDataTable;
 import org.ballerinalang.model.values.BDataTable.ColumnDefinition;
 import org.ballerinalang.model.values.BJSON.JSONDataSource;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 /**
  * {@link org.ballerinalang.model.values.BJSON.JSONDataSource} implementation for DataTable.
@@ -43,7 +44,7 @@ public class DataTableJSONDataSource implements JSONDataSource {
     private boolean isInTransaction;
 
     public DataTableJSONDataSource(BDataTable df, boolean isInTransaction) {
-        this(df, new DefaultJSONObjectGenerator(), isInTransaction);
+        this(df, null, isInTransaction);
     }
 
     public DataTableJSONDataSource(BDataTable df, JSONObjectGenerator objGen, boolean isInTransaction) {
@@ -54,61 +55,97 @@ public class DataTableJSONDataSource implements JSONDataSource {
 
     @Override
     public void serialize(JsonGenerator gen, SerializerProvider serializerProvider) throws IOException {
+        List<ColumnDefinition> columnDefs = this.df.getColumnDefs();
+        int[] columnIndexes = this.objGen == null ? getFieldColumnIndexes(columnDefs) : null;
         gen.writeStartArray();
         while (this.df.hasNext(this.isInTransaction)) {
-            this.objGen.transform(this.df).serialize(gen, serializerProvider);
+            if (this.objGen != null) {
+                this.objGen.transform(this.df).serialize(gen, serializerProvider);
+            } else {
+                writeRow(gen, columnDefs, columnIndexes);
+            }
         }
         gen.writeEndArray();
         this.df.close(this.isInTransaction);
     }
 
     /**
-     * Default {@link DataTableJSONDataSource.JSONObjectGenerator} implementation based
-     * on the datatable's in-built column definition.
+     * Write the current row of the datatable straight to the generator, without building an intermediate JSON object.
+     * Columns are read by their index, hence the row is written as it is fetched from the underlying result set.
      */
-    private static class DefaultJSONObjectGenerator implements JSONObjectGenerator {
-
-        @Override
-        public JsonNode transform(BDataTable df) throws IOException {
-            JsonNodeFactory fac = JsonNodeFactory.instance;
-            ObjectNode objNode = fac.objectNode();
-            String name;
-            for (ColumnDefinition col : df.getColumnDefs()) {
-                name = col.getName();
-                switch (col.getType()) {
-                case STRING:
-                    objNode.put(name, df.getString(name));
-                    break;
-                case INT:
-                    objNode.put(name, df.getInt(name));
-                    break;
-                case FLOAT:
-                    objNode.put(name, df.getFloat(name));
-                    break;
-                case BOOLEAN:
-                    objNode.put(name, df.getBoolean(name));
-                    break;
-                case ARRAY:
-                    //TODO: ARRAY
-                    break;
-                case JSON:
-                    objNode.set(name, new ObjectMapper().readTree(""));
-                    break;
-                case MAP:
-                    //TODO: MAP
-                    break;
-                case XML:
-                    objNode.put(name, "");
-                    //TODO: get XML
-                    break;
-                default:
-                    objNode.put(name, df.getString(name));
-                    break;
+    private void writeRow(JsonGenerator gen, List<ColumnDefinition> columnDefs, int[] columnIndexes)
+            throws IOException {
+        gen.writeStartObject();
+        for (int columnIndex : columnIndexes) {
+            writeColumn(gen, columnDefs.get(columnIndex - 1), columnIndex);
+        }
+        gen.writeEndObject();
+    }
+
+    private void writeColumn(JsonGenerator gen, ColumnDefinition col, int columnIndex) throws IOException {
+        String name = col.getName();
+        switch (col.getType()) {
+        case STRING:
+            gen.writeStringField(name, df.getString(columnIndex));
+            break;
+        case INT:
+            gen.writeNumberField(name, df.getInt(columnIndex));
+            break;
+        case FLOAT:
+            gen.writeNumberField(name, df.getFloat(columnIndex));
+            break;
+        case BOOLEAN:
+            gen.writeBooleanField(name, df.getBoolean(columnIndex));
+            break;
+        case ARRAY:
+            writeArray(gen, name, df.getArray(columnIndex));
+            break;
+        default:
+            // e.g. date, time, blob and clob columns, written as the string value of the column
+            gen.writeStringField(name, df.getString(columnIndex));
+            break;
+        }
+    }
+
+    private static void writeArray(JsonGenerator gen, String name, Map<String, Object> array) throws IOException {
+        gen.writeArrayFieldStart(name);
+        if (array != null) {
+            // The elements of an array column are keyed by their index
+            for (int i = 0; i < array.size(); i++) {
+                Object value = array.get(String.valueOf(i));
+                if (value == null) {
+                    gen.writeNull();
+                } else if (value instanceof Boolean) {
+                    gen.writeBoolean((Boolean) value);
+                } else if (value instanceof Integer || value instanceof Long) {
+                    gen.writeNumber(((Number) value).longValue());
+                } else if (value instanceof Float || value instanceof Double) {
+                    gen.writeNumber(((Number) value).doubleValue());
+                } else {
+                    gen.writeString(String.valueOf(value));
                 }
             }
-            return objNode;
         }
+        gen.writeEndArray();
+    }
 
+    /**
+     * Get the indexes of the columns written as the fields of a row, in the order of the fields. A column label which
+     * is repeated, e.g. by a join, is written once, at its first position, with the value of its last column, as the
+     * last value of a key wins in a JSON object.
+     */
+    private static int[] getFieldColumnIndexes(List<ColumnDefinition> columnDefs) {
+        Map<String, Integer> fieldPositions = new HashMap<>();
+        List<Integer> columnIndexes = new ArrayList<>(columnDefs.size());
+        for (int i = 0; i < columnDefs.size(); i++) {
+            Integer position = fieldPositions.putIfAbsent(columnDefs.get(i).getName(), columnIndexes.size());
+            if (position == null) {
+                columnIndexes.add(i + 1);
+            } else {
+                columnIndexes.set(position, i + 1);
+            }
+        }
+        return columnIndexes.stream().mapToInt(Integer::intValue).toArray();
     }
 
     /**
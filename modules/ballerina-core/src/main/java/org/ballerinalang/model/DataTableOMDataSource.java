@@ -20,6 +20,7 @@ package org.ballerinalang.model;
 import org.apache.axiom.om.ds.AbstractPushOMDataSource;
 import org.ballerinalang.model.values.BDataTable;
 
+import java.util.List;
 import java.util.Map;
 import javax.xml.stream.XMLStreamException;
 import javax.xml.stream.XMLStreamWriter;
@@ -52,32 +53,35 @@ public class DataTableOMDataSource extends AbstractPushOMDataSource {
 
     @Override
     public void serialize(XMLStreamWriter xmlStreamWriter) throws XMLStreamException {
+        List<BDataTable.ColumnDefinition> columnDefs = dataTable.getColumnDefs();
         xmlStreamWriter.writeStartElement(this.rootWrapper);
         while (dataTable.hasNext(this.isInTransaction)) {
             xmlStreamWriter.writeStartElement(this.rowWrapper);
-            for (BDataTable.ColumnDefinition col : dataTable.getColumnDefs()) {
+            for (int i = 0; i < columnDefs.size(); i++) {
+                BDataTable.ColumnDefinition col = columnDefs.get(i);
+                int columnIndex = i + 1;
                 boolean isArray = false;
                 xmlStreamWriter.writeStartElement(col.getName());
                 String value = null;
                 switch (col.getType()) {
                 case BOOLEAN:
-                    value = String.valueOf(dataTable.getBoolean(col.getName()));
+                    value = String.valueOf(dataTable.getBoolean(columnIndex));
                     break;
                 case STRING:
-                    value = dataTable.getString(col.getName());
+                    value = dataTable.getString(columnIndex);
                     break;
                 case INT:
-                    value = String.valueOf(dataTable.getInt(col.getName()));
+                    value = String.valueOf(dataTable.getInt(columnIndex));
                     break;
                 case FLOAT:
-                    value = String.valueOf(dataTable.getFloat(col.getName()));
+                    value = String.valueOf(dataTable.getFloat(columnIndex));
                     break;
                 case ARRAY:
                     isArray = true;
-                    processArray(xmlStreamWriter, col);
+                    processArray(xmlStreamWriter, columnIndex);
                     break;
                 default:
-                    value = dataTable.getObjectAsString(col.getName());
+                    value = dataTable.getObjectAsString(columnIndex);
                     break;
                 }
                 if (!isArray) {
@@ -97,9 +101,8 @@ public class DataTableOMDataSource extends AbstractPushOMDataSource {
         xmlStreamWriter.flush();
     }
 
-    private void processArray(XMLStreamWriter xmlStreamWriter, BDataTable.ColumnDefinition col)
-            throws XMLStreamException {
-        Map<String, Object> array = dataTable.getArray(col.getName());
+    private void processArray(XMLStreamWriter xmlStreamWriter, int columnIndex) throws XMLStreamException {
+        Map<String, Object> array = dataTable.getArray(columnIndex);
         if (array != null && !array.isEmpty()) {
             for (Map.Entry<String, Object> values : array.entrySet()) {
                 xmlStreamWriter.writeStartElement(ARRAY_ELEMENT_NAME);
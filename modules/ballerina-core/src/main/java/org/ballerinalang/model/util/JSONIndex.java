@@ -0,0 +1,553 @@
+/*
+*  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.ballerinalang.model.util;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * {@code JSONIndex} is the structural index of a UTF-8 encoded JSON document.
+ * <p>
+ * The document is scanned once, and each value, and each field name, becomes a token. Tokens are numbered in document
+ * order, so the tokens of a value are the value itself followed by the tokens of its members. For each token the
+ * index records the kind and the byte range, and for arrays and objects also the number of members and the token
+ * after the last member. Values are decoded only when they are accessed.
+ * <p>
+ * Arrays and objects materialized as {@link JsonNode}s are kept in the index, so that a value is materialized only
+ * once, and so that later accesses see the changes made to the materialized nodes.
+ *
+ * @since 0.95
+ */
+final class JSONIndex {
+
+    static final byte OBJECT = 0;
+    static final byte ARRAY = 1;
+    static final byte STRING = 2;
+    static final byte ESCAPED_STRING = 3;
+    static final byte INTEGER = 4;
+    static final byte FLOAT = 5;
+    static final byte TRUE = 6;
+    static final byte FALSE = 7;
+    static final byte NULL = 8;
+
+    private static final int MIN_CAPACITY = 16;
+
+    private static final byte[] TRUE_LITERAL = "true".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] FALSE_LITERAL = "false".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] NULL_LITERAL = "null".getBytes(StandardCharsets.US_ASCII);
+
+    final byte[] data;
+
+    private final int length;
+
+    // Token attributes, indexed by the token. These are not modified once the document is scanned, and are shared
+    // with the copies of the index.
+    private byte[] kinds;
+    private int[] starts;
+    private int[] ends;
+    private int[] nexts;
+    private int[] sizes;
+    private int tokenCount;
+
+    // Materialized arrays and objects, indexed by the token
+    private JsonNode[] nodes;
+    private BitSet materializedTokens;
+
+    // Last array element looked up, so that iterating an array does not walk the array for each element
+    private int lastArrayToken = -1;
+    private int lastArrayIndex;
+    private int lastElementToken;
+
+    private JSONIndex(byte[] data, int length) {
+        this.data = data;
+        this.length = length;
+        int capacity = Math.max(MIN_CAPACITY, length / 8);
+        this.kinds = new byte[capacity];
+        this.starts = new int[capacity];
+        this.ends = new int[capacity];
+        this.nexts = new int[capacity];
+        this.sizes = new int[capacity];
+    }
+
+    private JSONIndex(JSONIndex index) {
+        this.data = index.data;
+        this.length = index.length;
+        this.kinds = index.kinds;
+        this.starts = index.starts;
+        this.ends = index.ends;
+        this.nexts = index.nexts;
+        this.sizes = index.sizes;
+        this.tokenCount = index.tokenCount;
+    }
+
+    /**
+     * Scan a UTF-8 encoded JSON document. The encoding of the strings is validated, the same as the Jackson parser
+     * does when it decodes them.
+     *
+     * @param data   buffer containing the document
+     * @param length length of the document
+     * @return index of the document, or null if the buffer does not contain exactly one well-formed JSON value, or if
+     * the document is not valid UTF-8
+     */
+    static JSONIndex scan(byte[] data, int length) {
+        JSONIndex index = new JSONIndex(data, length);
+        return index.scan() ? index : null;
+    }
+
+    /**
+     * Create an index of the same document, without the materialized nodes of this index.
+     *
+     * @return copy of the index
+     */
+    JSONIndex copy() {
+        return new JSONIndex(this);
+    }
+
+    byte getKind(int token) {
+        return kinds[token];
+    }
+
+    int getStart(int token) {
+        return starts[token];
+    }
+
+    int getEnd(int token) {
+        return ends[token];
+    }
+
+    /**
+     * Get the token following the given value, i.e. the token after the last member of an array or an object.
+     *
+     * @param token token of the value
+     * @return next token
+     */
+    int getNext(int token) {
+        return nexts[token];
+    }
+
+    int getSize(int token) {
+        return sizes[token];
+    }
+
+    int getElement(int arrayToken, int arrayIndex) {
+        int elementToken = arrayToken + 1;
+        int i = 0;
+        if (lastArrayToken == arrayToken && lastArrayIndex <= arrayIndex) {
+            elementToken = lastElementToken;
+            i = lastArrayIndex;
+        }
+        for (; i < arrayIndex; i++) {
+            elementToken = nexts[elementToken];
+        }
+
+        lastArrayToken = arrayToken;
+        lastArrayIndex = arrayIndex;
+        lastElementToken = elementToken;
+        return elementToken;
+    }
+
+    boolean keyEquals(int keyToken, byte[] name) {
+        if (kinds[keyToken] == ESCAPED_STRING) {
+            return decodeString(keyToken).equals(new String(name, StandardCharsets.UTF_8));
+        }
+
+        int start = starts[keyToken] + 1;
+        int keyLength = ends[keyToken] - 1 - start;
+        if (keyLength != name.length) {
+            return false;
+        }
+        for (int i = 0; i < keyLength; i++) {
+            if (data[start + i] != name[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    JsonNode getNode(int token) {
+        return nodes == null ? null : nodes[token];
+    }
+
+    void setNode(int token, JsonNode node) {
+        if (nodes == null) {
+            nodes = new JsonNode[tokenCount];
+            materializedTokens = new BitSet(tokenCount);
+        }
+        nodes[token] = node;
+        materializedTokens.set(token);
+    }
+
+    /**
+     * Check whether the given value, or any of its members, is materialized.
+     *
+     * @param token token of the value
+     * @return true if any part of the value is materialized
+     */
+    boolean hasMaterializedNodes(int token) {
+        if (materializedTokens == null) {
+            return false;
+        }
+        int materializedToken = materializedTokens.nextSetBit(token);
+        return materializedToken >= 0 && materializedToken < nexts[token];
+    }
+
+    String decodeString(int token) {
+        int start = starts[token] + 1;
+        int end = ends[token] - 1;
+        if (kinds[token] == STRING) {
+            return new String(data, start, end - start, StandardCharsets.UTF_8);
+        }
+
+        StringBuilder builder = new StringBuilder(end - start);
+        int segmentStart = start;
+        int i = start;
+        while (i < end) {
+            if (data[i] != '\\') {
+                i++;
+                continue;
+            }
+
+            builder.append(new String(data, segmentStart, i - segmentStart, StandardCharsets.UTF_8));
+            byte escaped = data[i + 1];
+            switch (escaped) {
+                case 'b':
+                    builder.append('\b');
+                    break;
+                case 'f':
+                    builder.append('\f');
+                    break;
+                case 'n':
+                    builder.append('\n');
+                    break;
+                case 'r':
+                    builder.append('\r');
+                    break;
+                case 't':
+                    builder.append('\t');
+                    break;
+                case 'u':
+                    builder.append((char) Integer.parseInt(new String(data, i + 2, 4, StandardCharsets.US_ASCII), 16));
+                    i += 4;
+                    break;
+                default:
+                    // '"', '\\' and '/'
+                    builder.append((char) escaped);
+                    break;
+            }
+            i += 2;
+            segmentStart = i;
+        }
+        builder.append(new String(data, segmentStart, end - segmentStart, StandardCharsets.UTF_8));
+        return builder.toString();
+    }
+
+    private boolean scan() {
+        int[] containerStack = new int[MIN_CAPACITY];
+        int depth = 0;
+        int pos = skipWhitespace(0);
+
+        while (true) {
+            // Scan a value
+            if (pos >= length) {
+                return false;
+            }
+            byte b = data[pos];
+            if (b == '{' || b == '[') {
+                int token = addToken(b == '{' ? OBJECT : ARRAY, pos);
+                if (depth == containerStack.length) {
+                    containerStack = Arrays.copyOf(containerStack, depth * 2);
+                }
+                containerStack[depth++] = token;
+                pos = skipWhitespace(pos + 1);
+                // An empty array or object is closed below, otherwise scan the first member
+                if (pos >= length || data[pos] != (b == '{' ? '}' : ']')) {
+                    sizes[token] = 1;
+                    if (b == '{') {
+                        pos = scanFieldName(pos);
+                        if (pos < 0) {
+                            return false;
+                        }
+                    }
+                    continue;
+                }
+            } else {
+                pos = scanScalar(pos);
+                if (pos < 0) {
+                    return false;
+                }
+            }
+
+            // Close the arrays and objects which end here, and move to the next value
+            while (true) {
+                if (depth == 0) {
+                    return skipWhitespace(pos) == length;
+                }
+                pos = skipWhitespace(pos);
+                if (pos >= length) {
+                    return false;
+                }
+
+                int container = containerStack[depth - 1];
+                byte closing = kinds[container] == OBJECT ? (byte) '}' : (byte) ']';
+                if (data[pos] == closing) {
+                    ends[container] = pos + 1;
+                    nexts[container] = tokenCount;
+                    depth--;
+                    pos++;
+                } else if (data[pos] == ',') {
+                    sizes[container]++;
+                    pos = skipWhitespace(pos + 1);
+                    if (kinds[container] == OBJECT) {
+                        pos = scanFieldName(pos);
+                        if (pos < 0) {
+                            return false;
+                        }
+                    }
+                    break;
+                } else {
+                    return false;
+                }
+            }
+        }
+    }
+
+    private int scanFieldName(int pos) {
+        if (pos >= length || data[pos] != '"') {
+            return -1;
+        }
+        pos = skipWhitespace(scanString(pos));
+        if (pos < 0 || pos >= length || data[pos] != ':') {
+            return -1;
+        }
+        return skipWhitespace(pos + 1);
+    }
+
+    private int scanScalar(int pos) {
+        switch (data[pos]) {
+            case '"':
+                return scanString(pos);
+            case 't':
+                return scanLiteral(pos, TRUE_LITERAL, TRUE);
+            case 'f':
+                return scanLiteral(pos, FALSE_LITERAL, FALSE);
+            case 'n':
+                return scanLiteral(pos, NULL_LITERAL, NULL);
+            default:
+                return scanNumber(pos);
+        }
+    }
+
+    private int scanString(int pos) {
+        int start = pos;
+        boolean escaped = false;
+        pos++;
+        while (pos < length) {
+            byte b = data[pos];
+            if (b == '"') {
+                int token = addToken(escaped ? ESCAPED_STRING : STRING, start);
+                ends[token] = pos + 1;
+                return pos + 1;
+            }
+
+            if (b == '\\') {
+                escaped = true;
+                pos = scanEscapeSequence(pos);
+                if (pos < 0) {
+                    return -1;
+                }
+            } else if (b >= 0 && b < 0x20) {
+                // Control characters must be escaped
+                return -1;
+            } else if (b < 0) {
+                pos = scanMultiByteCharacter(pos);
+                if (pos < 0) {
+                    return -1;
+                }
+            } else {
+                pos++;
+            }
+        }
+        return -1;
+    }
+
+    private int scanEscapeSequence(int pos) {
+        if (pos + 1 >= length) {
+            return -1;
+        }
+        switch (data[pos + 1]) {
+            case '"':
+            case '\\':
+            case '/':
+            case 'b':
+            case 'f':
+            case 'n':
+            case 'r':
+            case 't':
+                return pos + 2;
+            case 'u':
+                if (pos + 6 > length) {
+                    return -1;
+                }
+                for (int i = pos + 2; i < pos + 6; i++) {
+                    if (Character.digit(data[i], 16) < 0) {
+                        return -1;
+                    }
+                }
+                return pos + 6;
+            default:
+                return -1;
+        }
+    }
+
+    private int scanMultiByteCharacter(int pos) {
+        // Well-formed UTF-8 sequences as given by RFC 3629, i.e. no overlong forms, surrogates or code points above
+        // U+10FFFF. The range of the second byte depends on the first byte.
+        int lead = data[pos] & 0xFF;
+        int continuationCount;
+        int min = 0x80;
+        int max = 0xBF;
+        if (lead >= 0xC2 && lead <= 0xDF) {
+            continuationCount = 1;
+        } else if (lead >= 0xE0 && lead <= 0xEF) {
+            continuationCount = 2;
+            if (lead == 0xE0) {
+                min = 0xA0;
+            } else if (lead == 0xED) {
+                max = 0x9F;
+            }
+        } else if (lead >= 0xF0 && lead <= 0xF4) {
+            continuationCount = 3;
+            if (lead == 0xF0) {
+                min = 0x90;
+            } else if (lead == 0xF4) {
+                max = 0x8F;
+            }
+        } else {
+            return -1;
+        }
+
+        if (pos + continuationCount >= length) {
+            return -1;
+        }
+        for (int i = 1; i <= continuationCount; i++) {
+            int b = data[pos + i] & 0xFF;
+            if (b < min || b > max) {
+                return -1;
+            }
+            min = 0x80;
+            max = 0xBF;
+        }
+        return pos + continuationCount + 1;
+    }
+
+    private int scanLiteral(int pos, byte[] literal, byte kind) {
+        if (pos + literal.length > length) {
+            return -1;
+        }
+        for (int i = 0; i < literal.length; i++) {
+            if (data[pos + i] != literal[i]) {
+                return -1;
+            }
+        }
+        int token = addToken(kind, pos);
+        ends[token] = pos + literal.length;
+        return pos + literal.length;
+    }
+
+    private int scanNumber(int pos) {
+        int start = pos;
+        boolean floatingPoint = false;
+        if (data[pos] == '-') {
+            pos++;
+        }
+
+        if (pos < length && data[pos] == '0') {
+            pos++;
+        } else {
+            int digitsStart = pos;
+            pos = skipDigits(pos);
+            if (pos == digitsStart) {
+                return -1;
+            }
+        }
+
+        if (pos < length && data[pos] == '.') {
+            floatingPoint = true;
+            int digitsStart = pos + 1;
+            pos = skipDigits(digitsStart);
+            if (pos == digitsStart) {
+                return -1;
+            }
+        }
+
+        if (pos < length && (data[pos] == 'e' || data[pos] == 'E')) {
+            floatingPoint = true;
+            pos++;
+            if (pos < length && (data[pos] == '+' || data[pos] == '-')) {
+                pos++;
+            }
+            int digitsStart = pos;
+            pos = skipDigits(digitsStart);
+            if (pos == digitsStart) {
+                return -1;
+            }
+        }
+
+        int token = addToken(floatingPoint ? FLOAT : INTEGER, start);
+        ends[token] = pos;
+        return pos;
+    }
+
+    private int skipDigits(int pos) {
+        while (pos < length && data[pos] >= '0' && data[pos] <= '9') {
+            pos++;
+        }
+        return pos;
+    }
+
+    private int skipWhitespace(int pos) {
+        while (pos < length) {
+            byte b = data[pos];
+            if (b != ' ' && b != '\n' && b != '\r' && b != '\t') {
+                break;
+            }
+            pos++;
+        }
+        return pos;
+    }
+
+    private int addToken(byte kind, int start) {
+        if (tokenCount == kinds.length) {
+            int capacity = tokenCount + (tokenCount >> 1);
+            kinds = Arrays.copyOf(kinds, capacity);
+            starts = Arrays.copyOf(starts, capacity);
+            ends = Arrays.copyOf(ends, capacity);
+            nexts = Arrays.copyOf(nexts, capacity);
+            sizes = Arrays.copyOf(sizes, capacity);
+        }
+
+        int token = tokenCount++;
+        kinds[token] = kind;
+        starts[token] = start;
+        nexts[token] = token + 1;
+        return token;
+    }
+}
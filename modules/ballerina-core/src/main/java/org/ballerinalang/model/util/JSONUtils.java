@@ -95,6 +95,11 @@ public class JSONUtils {
      * @return Boolean 'true' if JSON has given field.
      */
     public static boolean hasElement(BJSON json, String elementName) {
+        LazyJSON lazyValue = json.getLazyValue();
+        if (lazyValue != null) {
+            return lazyValue.get(elementName) != null;
+        }
+
         JsonNode jsonNode = json.value();
         return jsonNode.has(elementName);
     }
@@ -337,6 +342,15 @@ public class JSONUtils {
      * @return Element of JSON having the provided name
      */
     public static BJSON getElement(BJSON json, String elementName) {
+        LazyJSON lazyValue = json.getLazyValue();
+        if (lazyValue != null && lazyValue.isObject()) {
+            LazyJSON element = lazyValue.get(elementName);
+            if (element == null || element.isNull()) {
+                return null;
+            }
+            return new BJSON(element);
+        }
+
         JsonNode jsonNode = json.value();
         
         if (!jsonNode.isObject()) {
@@ -394,6 +408,10 @@ public class JSONUtils {
         if (json == null) {
             return false;
         }
+        LazyJSON lazyValue = json.getLazyValue();
+        if (lazyValue != null) {
+            return lazyValue.isArray();
+        }
         JsonNode jsonNode = json.value();
         return jsonNode.isArray();
     }
@@ -408,6 +426,10 @@ public class JSONUtils {
         if (json == null) {
             return -1;
         }
+        LazyJSON lazyValue = json.getLazyValue();
+        if (lazyValue != null) {
+            return lazyValue.size();
+        }
         JsonNode jsonNode = json.value();
         return jsonNode.size();
     }
@@ -420,6 +442,15 @@ public class JSONUtils {
      * @return Element at the given index, if the provided JSON is an array. Error, otherwise. 
      */
     public static BJSON getArrayElement(BJSON json, long index) {
+        LazyJSON lazyValue = json.getLazyValue();
+        if (lazyValue != null && lazyValue.isArray() && index < lazyValue.size()) {
+            LazyJSON element = lazyValue.get((int) index);
+            if (element == null || element.isNull()) {
+                return null;
+            }
+            return new BJSON(element);
+        }
+
         JsonNode jsonNode = json.value();
 
         if (!jsonNode.isArray()) {
@@ -832,6 +863,11 @@ public class JSONUtils {
             return new BStringArray();
         }
 
+        LazyJSON lazyValue = json.getLazyValue();
+        if (lazyValue != null) {
+            return new BStringArray(lazyValue.getFieldNames());
+        }
+
         JsonNode node = json.value();
 
         if (node.getNodeType() != JsonNodeType.OBJECT) {
@@ -0,0 +1,353 @@
+/*
+*  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.ballerinalang.model.util;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.JsonNodeType;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.ballerinalang.util.exceptions.BallerinaException;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.StringWriter;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * {@code LazyJSON} is a JSON value in a document which is decoded only when it is accessed.
+ * <p>
+ * The document is kept as the raw UTF-8 bytes together with a {@link JSONIndex}, so reading a field of a large
+ * document does not build the whole document as a tree. A value is materialized as a {@link JsonNode} only when the
+ * node itself is needed, e.g. to modify it. Materialized nodes are shared by all the values of the document, so that
+ * changes to a node are visible through its enclosing values, the same as with a tree.
+ * <p>
+ * When written out, the parts of the document which were not materialized are copied from the raw bytes.
+ *
+ * @since 0.95
+ */
+public final class LazyJSON {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static final JsonFactory JSON_FACTORY = OBJECT_MAPPER.getFactory();
+    private static final JsonNodeFactory NODE_FACTORY = JsonNodeFactory.instance;
+
+    private final JSONIndex index;
+
+    private final int token;
+
+    private LazyJSON(JSONIndex index, int token) {
+        this.index = index;
+        this.token = token;
+    }
+
+    /**
+     * Index a UTF-8 encoded JSON document.
+     *
+     * @param data   buffer containing the document
+     * @param length length of the document
+     * @return root value of the document, or null if the buffer does not contain exactly one well-formed JSON value,
+     * or if the document is not valid UTF-8
+     */
+    public static LazyJSON parse(byte[] data, int length) {
+        JSONIndex index = JSONIndex.scan(data, length);
+        return index == null ? null : new LazyJSON(index, 0);
+    }
+
+    public JsonNodeType getNodeType() {
+        switch (index.getKind(token)) {
+            case JSONIndex.OBJECT:
+                return JsonNodeType.OBJECT;
+            case JSONIndex.ARRAY:
+                return JsonNodeType.ARRAY;
+            case JSONIndex.STRING:
+            case JSONIndex.ESCAPED_STRING:
+                return JsonNodeType.STRING;
+            case JSONIndex.INTEGER:
+            case JSONIndex.FLOAT:
+                return JsonNodeType.NUMBER;
+            case JSONIndex.TRUE:
+            case JSONIndex.FALSE:
+                return JsonNodeType.BOOLEAN;
+            default:
+                return JsonNodeType.NULL;
+        }
+    }
+
+    public boolean isObject() {
+        return index.getKind(token) == JSONIndex.OBJECT;
+    }
+
+    public boolean isArray() {
+        return index.getKind(token) == JSONIndex.ARRAY;
+    }
+
+    public boolean isTextual() {
+        byte kind = index.getKind(token);
+        return kind == JSONIndex.STRING || kind == JSONIndex.ESCAPED_STRING;
+    }
+
+    public boolean isNull() {
+        return index.getKind(token) == JSONIndex.NULL;
+    }
+
+    /**
+     * Get the number of elements of an array, or the number of distinct fields of an object.
+     *
+     * @return number of members, or 0 if this is neither an array nor an object
+     */
+    public int size() {
+        int size = index.getSize(token);
+        if (size > 1 && isObject()) {
+            // A repeated field name counts once, the same as when the object is materialized
+            return getFieldNames().length;
+        }
+        return size;
+    }
+
+    /**
+     * Get a field of an object.
+     *
+     * @param fieldName name of the field
+     * @return value of the field, or null if this is not an object or if it does not have the field
+     */
+    public LazyJSON get(String fieldName) {
+        if (!isObject()) {
+            return null;
+        }
+
+        byte[] name = fieldName.getBytes(StandardCharsets.UTF_8);
+        int valueToken = -1;
+        int end = index.getNext(token);
+        for (int keyToken = token + 1; keyToken < end; keyToken = index.getNext(keyToken + 1)) {
+            // The last field wins if the name is duplicated, the same as when the object is materialized
+            if (index.keyEquals(keyToken, name)) {
+                valueToken = keyToken + 1;
+            }
+        }
+        return valueToken < 0 ? null : new LazyJSON(index, valueToken);
+    }
+
+    /**
+     * Get an element of an array.
+     *
+     * @param arrayIndex index of the element
+     * @return element, or null if this is not an array or if the index is out of range
+     */
+    public LazyJSON get(int arrayIndex) {
+        if (!isArray() || arrayIndex < 0 || arrayIndex >= size()) {
+            return null;
+        }
+        return new LazyJSON(index, index.getElement(token, arrayIndex));
+    }
+
+    /**
+     * Get the field names of an object.
+     *
+     * @return distinct field names in the order of the document, or an empty array if this is not an object
+     */
+    public String[] getFieldNames() {
+        Set<String> fieldNames = new LinkedHashSet<>();
+        if (isObject()) {
+            int end = index.getNext(token);
+            for (int keyToken = token + 1; keyToken < end; keyToken = index.getNext(keyToken + 1)) {
+                fieldNames.add(index.decodeString(keyToken));
+            }
+        }
+        return fieldNames.toArray(new String[fieldNames.size()]);
+    }
+
+    /**
+     * Get the value of a string.
+     *
+     * @return value of the string, or null if this is not a string
+     */
+    public String textValue() {
+        return isTextual() ? index.decodeString(token) : null;
+    }
+
+    /**
+     * Check whether this value has been materialized as a {@link JsonNode}, in which case any changes are only
+     * reflected in the node.
+     *
+     * @return true if this value has been materialized
+     */
+    public boolean isMaterialized() {
+        return index.getNode(token) != null;
+    }
+
+    /**
+     * Get this value as a {@link JsonNode}. Arrays and objects are materialized once, and the same node is returned
+     * on subsequent calls.
+     *
+     * @return value as a node
+     */
+    public JsonNode materialize() {
+        return materialize(token);
+    }
+
+    /**
+     * Create a copy of this value, which does not share the materialized nodes with this value. The raw bytes of
+     * the document are shared.
+     *
+     * @return copy of the value, or null if a part of this value has been materialized
+     */
+    public LazyJSON copy() {
+        if (index.hasMaterializedNodes(token)) {
+            return null;
+        }
+        return new LazyJSON(index.copy(), token);
+    }
+
+    /**
+     * Write this value to a stream. Parts of the value which were not materialized are copied from the raw bytes of
+     * the document as they are.
+     *
+     * @param outputStream stream to write to
+     * @throws IOException if an I/O error occurs
+     */
+    public void writeTo(OutputStream outputStream) throws IOException {
+        writeTo(token, outputStream);
+    }
+
+    /**
+     * Serialize this value to a {@link JsonGenerator}. The value is written the same as when it is materialized,
+     * i.e. without the whitespace of the document.
+     *
+     * @param generator generator to write to
+     * @throws IOException if an I/O error occurs
+     */
+    public void serialize(JsonGenerator generator) throws IOException {
+        if (index.hasMaterializedNodes(token)) {
+            OBJECT_MAPPER.writeTree(generator, materialize());
+            return;
+        }
+
+        int start = index.getStart(token);
+        try (JsonParser parser = JSON_FACTORY.createParser(index.data, start, index.getEnd(token) - start)) {
+            parser.nextToken();
+            generator.copyCurrentStructure(parser);
+        }
+    }
+
+    @Override
+    public String toString() {
+        StringWriter writer = new StringWriter();
+        try (JsonGenerator generator = JSON_FACTORY.createGenerator(writer)) {
+            serialize(generator);
+        } catch (IOException e) {
+            throw new BallerinaException("failed to get json as string: " + e.getMessage(), e);
+        }
+        return writer.toString();
+    }
+
+    private JsonNode materialize(int token) {
+        JsonNode node = index.getNode(token);
+        if (node != null) {
+            return node;
+        }
+
+        int end = index.getNext(token);
+        switch (index.getKind(token)) {
+            case JSONIndex.OBJECT:
+                ObjectNode objectNode = NODE_FACTORY.objectNode();
+                for (int keyToken = token + 1; keyToken < end; keyToken = index.getNext(keyToken + 1)) {
+                    objectNode.set(index.decodeString(keyToken), materialize(keyToken + 1));
+                }
+                index.setNode(token, objectNode);
+                return objectNode;
+            case JSONIndex.ARRAY:
+                ArrayNode arrayNode = NODE_FACTORY.arrayNode();
+                for (int elementToken = token + 1; elementToken < end; elementToken = index.getNext(elementToken)) {
+                    arrayNode.add(materialize(elementToken));
+                }
+                index.setNode(token, arrayNode);
+                return arrayNode;
+            case JSONIndex.STRING:
+            case JSONIndex.ESCAPED_STRING:
+                return NODE_FACTORY.textNode(index.decodeString(token));
+            case JSONIndex.INTEGER:
+                return materializeInteger(getRawText(token));
+            case JSONIndex.FLOAT:
+                return NODE_FACTORY.numberNode(Double.parseDouble(getRawText(token)));
+            case JSONIndex.TRUE:
+                return NODE_FACTORY.booleanNode(true);
+            case JSONIndex.FALSE:
+                return NODE_FACTORY.booleanNode(false);
+            default:
+                return NODE_FACTORY.nullNode();
+        }
+    }
+
+    private static JsonNode materializeInteger(String text) {
+        // Use the narrowest type that can hold the value, the same as the Jackson parser
+        try {
+            long value = Long.parseLong(text);
+            if (value == (int) value) {
+                return NODE_FACTORY.numberNode((int) value);
+            }
+            return NODE_FACTORY.numberNode(value);
+        } catch (NumberFormatException e) {
+            return NODE_FACTORY.numberNode(new BigInteger(text));
+        }
+    }
+
+    private String getRawText(int token) {
+        int start = index.getStart(token);
+        return new String(index.data, start, index.getEnd(token) - start, StandardCharsets.US_ASCII);
+    }
+
+    private void writeTo(int token, OutputStream outputStream) throws IOException {
+        JsonNode node = index.getNode(token);
+        if (node != null) {
+            outputStream.write(OBJECT_MAPPER.writeValueAsBytes(node));
+            return;
+        }
+
+        int start = index.getStart(token);
+        if (!index.hasMaterializedNodes(token)) {
+            outputStream.write(index.data, start, index.getEnd(token) - start);
+            return;
+        }
+
+        // Only some of the members have been materialized
+        boolean object = index.getKind(token) == JSONIndex.OBJECT;
+        outputStream.write(object ? '{' : '[');
+        int end = index.getNext(token);
+        for (int memberToken = token + 1; memberToken < end; memberToken = index.getNext(memberToken)) {
+            if (memberToken != token + 1) {
+                outputStream.write(',');
+            }
+            if (object) {
+                int keyStart = index.getStart(memberToken);
+                outputStream.write(index.data, keyStart, index.getEnd(memberToken) - keyStart);
+                outputStream.write(':');
+                memberToken++;
+            }
+            writeTo(memberToken, outputStream);
+        }
+        outputStream.write(object ? '}' : ']');
+    }
+}
@@ -0,0 +1,387 @@
+/*
+ *  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.ballerinalang.model.util;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import org.apache.axiom.om.OMAbstractFactory;
+import org.apache.axiom.om.OMAttribute;
+import org.apache.axiom.om.OMElement;
+import org.apache.axiom.om.OMFactory;
+import org.apache.axiom.om.OMNamespace;
+import org.apache.axiom.om.OMNode;
+import org.apache.axiom.om.OMText;
+import org.ballerinalang.model.values.BJSON;
+import org.ballerinalang.model.values.BRefValueArray;
+import org.ballerinalang.model.values.BXML;
+import org.ballerinalang.model.values.BXMLItem;
+import org.ballerinalang.model.values.BXMLSequence;
+import org.ballerinalang.util.exceptions.BallerinaException;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * {@code XMLJSONConverter} converts between XML and JSON without serializing and re-parsing the payload.
+ * <p>
+ * XML is converted to JSON by walking the AXIOM tree and writing the JSON tokens to a Jackson generator, and JSON is
+ * converted to XML by building the AXIOM tree from the JSON nodes. The mapping is the one the conversions used
+ * before, i.e. the StAXON mapped convention with automatic arrays and primitives:
+ * <ul>
+ * <li>An element is a field named after the qualified name of the element.</li>
+ * <li>Attributes and namespace declarations are fields prefixed with {@value #ATTRIBUTE_PREFIX}.</li>
+ * <li>The text of an element with only text is the value of the element, as a number or a boolean if the text is
+ * one, and the text of an element with attributes or children is the {@value #TEXT_FIELD} field.</li>
+ * <li>An empty element is null, and elements with the same name under the same parent are an array.</li>
+ * <li>When converting JSON to XML, the JSON value is the content of a {@value #XML_ROOT} element.</li>
+ * </ul>
+ *
+ * @since 0.95
+ */
+public class XMLJSONConverter {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static final OMFactory OM_FACTORY = OMAbstractFactory.getOMFactory();
+
+    private static final String XML_ROOT = "root";
+    private static final String ATTRIBUTE_PREFIX = "@";
+    private static final String TEXT_FIELD = "$";
+    private static final String XMLNS = "xmlns";
+    private static final Pattern NUMBER = Pattern.compile("-?(?:0|[1-9][0-9]*)(\\.[0-9]+)?([eE][+-]?[0-9]+)?");
+
+    private XMLJSONConverter() {
+    }
+
+    /**
+     * Convert an XML to JSON. The converted tokens are buffered, so changing the XML afterwards does not change the
+     * JSON. The JSON is built as a tree only if it is accessed, and is otherwise written straight from the tokens,
+     * e.g. when it is sent as a message payload.
+     *
+     * @param xml XML to convert
+     * @return converted JSON
+     * @throws BallerinaException if the XML cannot be converted
+     */
+    public static BJSON toJSON(BXML<?> xml) throws BallerinaException {
+        TokenBuffer tokens = new TokenBuffer(OBJECT_MAPPER, false);
+        try {
+            writeJSON(xml, tokens);
+            tokens.close();
+        } catch (IOException e) {
+            throw new BallerinaException("error in converting xml to json: " + e.getMessage(), e);
+        }
+        return new BJSON((gen, serializerProvider) -> tokens.serialize(gen));
+    }
+
+    /**
+     * Convert an XML to JSON, writing the JSON tokens to a generator.
+     *
+     * @param xml       XML to convert
+     * @param generator generator to write to
+     * @throws IOException        if an I/O error occurs
+     * @throws BallerinaException if the XML cannot be converted
+     */
+    public static void writeJSON(BXML<?> xml, JsonGenerator generator) throws IOException {
+        if (xml.getNodeType() != XMLNodeType.SEQUENCE) {
+            writeItem(((BXMLItem) xml).value(), generator);
+            return;
+        }
+
+        List<OMNode> items = getItems((BXMLSequence) xml);
+        if (items.size() == 1) {
+            writeItem(items.get(0), generator);
+            return;
+        }
+        generator.writeStartArray();
+        for (OMNode item : items) {
+            writeItem(item, generator);
+        }
+        generator.writeEndArray();
+    }
+
+    /**
+     * Convert a JSON to XML. An array is converted to a sequence of {@value #XML_ROOT} elements, and any other value
+     * to a single {@value #XML_ROOT} element.
+     *
+     * @param json JSON to convert
+     * @return converted XML
+     * @throws BallerinaException if the JSON cannot be converted
+     */
+    public static BXML<?> toXML(BJSON json) throws BallerinaException {
+        JsonNode node = json.value();
+        if (!node.isArray()) {
+            return new BXMLItem(createElement(XML_ROOT, node, null));
+        }
+
+        BRefValueArray elements = new BRefValueArray();
+        int i = 0;
+        for (JsonNode element : node) {
+            elements.add(i++, new BXMLItem(createElement(XML_ROOT, element, null)));
+        }
+        return new BXMLSequence(elements);
+    }
+
+    private static List<OMNode> getItems(BXMLSequence sequence) {
+        BRefValueArray array = sequence.value();
+        List<OMNode> items = new ArrayList<>((int) array.size());
+        for (int i = 0; i < array.size(); i++) {
+            OMNode node = ((BXMLItem) array.get(i)).value();
+            if (node.getType() == OMNode.ELEMENT_NODE || (isText(node) && !isWhitespace((OMText) node))) {
+                items.add(node);
+            }
+        }
+        return items;
+    }
+
+    private static void writeItem(OMNode node, JsonGenerator generator) throws IOException {
+        if (node.getType() == OMNode.ELEMENT_NODE) {
+            OMElement element = (OMElement) node;
+            generator.writeStartObject();
+            generator.writeFieldName(getName(element.getPrefix(), element.getLocalName()));
+            writeElementValue(element, generator);
+            generator.writeEndObject();
+        } else if (isText(node)) {
+            generator.writeString(((OMText) node).getText());
+        } else {
+            throw new BallerinaException("cannot convert xml comments and processing instructions to json");
+        }
+    }
+
+    private static void writeElementValue(OMElement element, JsonGenerator generator) throws IOException {
+        Map<String, List<OMElement>> children = null;
+        StringBuilder text = null;
+        for (Iterator<?> it = element.getChildren(); it.hasNext();) {
+            OMNode child = (OMNode) it.next();
+            if (child.getType() == OMNode.ELEMENT_NODE) {
+                OMElement childElement = (OMElement) child;
+                if (children == null) {
+                    children = new LinkedHashMap<>();
+                }
+                children.computeIfAbsent(getName(childElement.getPrefix(), childElement.getLocalName()),
+                        key -> new ArrayList<>(1)).add(childElement);
+            } else if (isText(child)) {
+                if (text == null) {
+                    text = new StringBuilder();
+                }
+                text.append(((OMText) child).getText());
+            }
+            // Comments and processing instructions are not part of the JSON
+        }
+
+        Iterator<?> namespaces = element.getAllDeclaredNamespaces();
+        Iterator<?> attributes = element.getAllAttributes();
+        boolean hasAttributes = namespaces.hasNext() || attributes.hasNext();
+        if (!hasAttributes && children == null) {
+            if (text == null || text.length() == 0) {
+                generator.writeNull();
+            } else {
+                writePrimitive(text.toString(), generator);
+            }
+            return;
+        }
+
+        generator.writeStartObject();
+        while (namespaces.hasNext()) {
+            OMNamespace namespace = (OMNamespace) namespaces.next();
+            String prefix = namespace.getPrefix();
+            generator.writeStringField(ATTRIBUTE_PREFIX + (prefix == null || prefix.isEmpty() ? XMLNS :
+                    XMLNS + ":" + prefix), namespace.getNamespaceURI());
+        }
+        while (attributes.hasNext()) {
+            OMAttribute attribute = (OMAttribute) attributes.next();
+            generator.writeFieldName(ATTRIBUTE_PREFIX + getName(attribute.getPrefix(), attribute.getLocalName()));
+            writePrimitive(attribute.getAttributeValue(), generator);
+        }
+        // Whitespace between the child elements is only formatting
+        if (text != null && (children == null || !isWhitespace(text))) {
+            generator.writeFieldName(TEXT_FIELD);
+            writePrimitive(text.toString(), generator);
+        }
+        if (children != null) {
+            for (Map.Entry<String, List<OMElement>> entry : children.entrySet()) {
+                generator.writeFieldName(entry.getKey());
+                List<OMElement> elements = entry.getValue();
+                if (elements.size() == 1) {
+                    writeElementValue(elements.get(0), generator);
+                    continue;
+                }
+                generator.writeStartArray();
+                for (OMElement childElement : elements) {
+                    writeElementValue(childElement, generator);
+                }
+                generator.writeEndArray();
+            }
+        }
+        generator.writeEndObject();
+    }
+
+    private static void writePrimitive(String text, JsonGenerator generator) throws IOException {
+        if ("true".equals(text)) {
+            generator.writeBoolean(true);
+        } else if ("false".equals(text)) {
+            generator.writeBoolean(false);
+        } else if (!text.isEmpty() && text.length() < 64 && NUMBER.matcher(text).matches()) {
+            writeNumber(text, generator);
+        } else {
+            generator.writeString(text);
+        }
+    }
+
+    private static void writeNumber(String text, JsonGenerator generator) throws IOException {
+        if (text.indexOf('.') >= 0 || text.indexOf('e') >= 0 || text.indexOf('E') >= 0) {
+            generator.writeNumber(Double.parseDouble(text));
+            return;
+        }
+
+        // Use the narrowest type that can hold the value, the same as the Jackson parser
+        try {
+            long value = Long.parseLong(text);
+            if (value == (int) value) {
+                generator.writeNumber((int) value);
+            } else {
+                generator.writeNumber(value);
+            }
+        } catch (NumberFormatException e) {
+            generator.writeNumber(new BigInteger(text));
+        }
+    }
+
+    private static OMElement createElement(String name, JsonNode node, OMElement parent) {
+        int separator = name.indexOf(':');
+        String localName = separator < 0 ? name : name.substring(separator + 1);
+        validateName(name, localName);
+        OMElement element = OM_FACTORY.createOMElement(localName, null, parent);
+        if (node.isObject()) {
+            // Declare the namespaces first, so that the prefixes used by the element and attributes can be resolved
+            Iterator<Map.Entry<String, JsonNode>> fields = node.fields();
+            while (fields.hasNext()) {
+                Map.Entry<String, JsonNode> field = fields.next();
+                String fieldName = field.getKey();
+                if (fieldName.equals(ATTRIBUTE_PREFIX + XMLNS)) {
+                    element.declareDefaultNamespace(field.getValue().asText());
+                } else if (fieldName.startsWith(ATTRIBUTE_PREFIX + XMLNS + ":")) {
+                    element.declareNamespace(field.getValue().asText(),
+                            fieldName.substring(ATTRIBUTE_PREFIX.length() + XMLNS.length() + 1));
+                }
+            }
+        }
+        OMNamespace namespace = separator < 0 ? element.getDefaultNamespace() :
+                resolveNamespace(element, name.substring(0, separator), name);
+        if (namespace != null) {
+            element.setNamespace(namespace);
+        }
+
+        if (node.isObject()) {
+            Iterator<Map.Entry<String, JsonNode>> fields = node.fields();
+            while (fields.hasNext()) {
+                Map.Entry<String, JsonNode> field = fields.next();
+                addField(element, field.getKey(), field.getValue());
+            }
+        } else if (node.isArray()) {
+            throw new BallerinaException("cannot convert a json array which is an element of an array to xml");
+        } else if (!node.isNull()) {
+            OM_FACTORY.createOMText(element, node.asText());
+        }
+        return element;
+    }
+
+    private static void addField(OMElement element, String fieldName, JsonNode value) {
+        if (fieldName.startsWith(ATTRIBUTE_PREFIX)) {
+            String name = fieldName.substring(ATTRIBUTE_PREFIX.length());
+            if (name.equals(XMLNS) || name.startsWith(XMLNS + ":")) {
+                return;
+            }
+            int separator = name.indexOf(':');
+            String localName = separator < 0 ? name : name.substring(separator + 1);
+            validateName(name, localName);
+            OMNamespace namespace = separator < 0 ? null :
+                    resolveNamespace(element, name.substring(0, separator), name);
+            element.addAttribute(localName, value.isNull() ? "" : value.asText(), namespace);
+        } else if (fieldName.equals(TEXT_FIELD)) {
+            if (!value.isNull()) {
+                OM_FACTORY.createOMText(element, value.asText());
+            }
+        } else if (value.isArray()) {
+            for (JsonNode item : value) {
+                createElement(fieldName, item, element);
+            }
+        } else {
+            createElement(fieldName, value, element);
+        }
+    }
+
+    private static OMNamespace resolveNamespace(OMElement element, String prefix, String name) {
+        OMNamespace namespace = element.findNamespaceURI(prefix);
+        if (namespace == null) {
+            throw new BallerinaException("cannot convert json to xml: undeclared namespace prefix in '" + name + "'");
+        }
+        return namespace;
+    }
+
+    private static void validateName(String name, String localName) {
+        if (!isNCName(localName) || (name.length() != localName.length() &&
+                !isNCName(name.substring(0, name.length() - localName.length() - 1)))) {
+            throw new BallerinaException("cannot convert json to xml: invalid xml name '" + name + "'");
+        }
+    }
+
+    private static boolean isNCName(String name) {
+        if (name.isEmpty()) {
+            return false;
+        }
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            boolean valid = Character.isLetter(c) || c == '_' ||
+                    (i > 0 && (Character.isDigit(c) || c == '-' || c == '.'));
+            if (!valid && c < 0x80) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String getName(String prefix, String localName) {
+        return prefix == null || prefix.isEmpty() ? localName : prefix + ":" + localName;
+    }
+
+    private static boolean isText(OMNode node) {
+        int type = node.getType();
+        return type == OMNode.TEXT_NODE || type == OMNode.CDATA_SECTION_NODE || type == OMNode.SPACE_NODE;
+    }
+
+    private static boolean isWhitespace(OMText text) {
+        return isWhitespace(text.getText());
+    }
+
+    private static boolean isWhitespace(CharSequence text) {
+        for (int i = 0; i < text.length(); i++) {
+            if (!Character.isWhitespace(text.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
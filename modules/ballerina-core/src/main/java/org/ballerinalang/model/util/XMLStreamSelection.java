@@ -0,0 +1,497 @@
+/*
+*  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.ballerinalang.model.util;
+
+import org.apache.axiom.om.OMAbstractFactory;
+import org.apache.axiom.om.OMContainer;
+import org.apache.axiom.om.OMDocument;
+import org.apache.axiom.om.OMElement;
+import org.apache.axiom.om.OMFactory;
+import org.apache.axiom.om.OMNamespace;
+import org.apache.axiom.om.OMNode;
+import org.ballerinalang.model.types.BTypes;
+import org.ballerinalang.model.values.BRefValueArray;
+import org.ballerinalang.model.values.BXMLItem;
+import org.ballerinalang.util.exceptions.BallerinaException;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+
+import javax.xml.namespace.QName;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.stream.XMLStreamWriter;
+
+/**
+ * {@code XMLStreamSelection} is a selection of items from an XML document, which is read as a stream.
+ * <p>
+ * The items are selected with a series of steps, each of which filters the items selected by the previous step by
+ * name, or selects their children or descendants, the same as the corresponding operations of
+ * {@link org.ballerinalang.model.values.BXML}. Adding a step does not read the document. The document is read only
+ * once, when the selected items are written out or materialized, and only the selected items are kept in memory.
+ * Written items are copied event by event, so nothing is materialized.
+ * <p>
+ * The document can be read only once, so once any selection of a document has been read, no other selection of the
+ * same document can be read.
+ *
+ * @since 0.95
+ */
+public final class XMLStreamSelection {
+
+    private static final XMLInputFactory XML_INPUT_FACTORY = XMLInputFactory.newInstance();
+    private static final XMLOutputFactory XML_OUTPUT_FACTORY = XMLOutputFactory.newInstance();
+    private static final OMFactory OM_FACTORY = OMAbstractFactory.getOMFactory();
+
+    static {
+        XML_INPUT_FACTORY.setProperty(XMLInputFactory.IS_COALESCING, true);
+        XML_INPUT_FACTORY.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        // Namespaces declared by the ancestors of a selected item are redeclared when it is written
+        XML_OUTPUT_FACTORY.setProperty(XMLOutputFactory.IS_REPAIRING_NAMESPACES, true);
+    }
+
+    private final Document document;
+
+    private final Step[] steps;
+
+    private XMLStreamSelection(Document document, Step[] steps) {
+        this.document = document;
+        this.steps = steps;
+    }
+
+    /**
+     * Create a selection of the top level items of a document.
+     *
+     * @param inputStream stream to read the document from
+     * @return selection of the top level items
+     */
+    public static XMLStreamSelection of(InputStream inputStream) {
+        return new XMLStreamSelection(new Document(inputStream), new Step[0]);
+    }
+
+    /**
+     * Select the element items of this selection.
+     *
+     * @param name name of the elements, or null to select all the elements
+     * @return selection of the elements
+     */
+    public XMLStreamSelection elements(QName name) {
+        return addStep(new Step(StepKind.ELEMENTS, name));
+    }
+
+    /**
+     * Select the children of the element items of this selection.
+     *
+     * @param name name of the child elements, or null to select all the children
+     * @return selection of the children
+     */
+    public XMLStreamSelection children(QName name) {
+        return addStep(new Step(StepKind.CHILDREN, name));
+    }
+
+    /**
+     * Select the descendant elements of the element items of this selection, which match the given name. Does not
+     * select within a selected element.
+     *
+     * @param name name of the descendant elements
+     * @return selection of the descendants
+     */
+    public XMLStreamSelection descendants(QName name) {
+        return addStep(new Step(StepKind.DESCENDANTS, name));
+    }
+
+    /**
+     * Check whether the document has been read.
+     *
+     * @return true if the document has been read
+     */
+    public boolean isConsumed() {
+        return document.consumed;
+    }
+
+    /**
+     * Read the document and write the selected items to a stream.
+     *
+     * @param outputStream stream to write the items to
+     */
+    public void writeTo(OutputStream outputStream) {
+        XMLStreamReader reader = document.open();
+        try {
+            XMLStreamWriter writer = XML_OUTPUT_FACTORY.createXMLStreamWriter(outputStream, "UTF-8");
+            select(reader, () -> copyItem(reader, writer));
+            writer.flush();
+            writer.close();
+        } catch (XMLStreamException e) {
+            throw new BallerinaException("error occurred during writing the message to the output stream: " +
+                    e.getMessage());
+        } finally {
+            closeReader(reader);
+        }
+    }
+
+    /**
+     * Read the document and build the selected items.
+     *
+     * @return selected items
+     */
+    public BRefValueArray materialize() {
+        BRefValueArray items = new BRefValueArray(BTypes.typeXML);
+        XMLStreamReader reader = document.open();
+        try {
+            select(reader, () -> {
+                OMNode node = buildItem(reader);
+                // Add the item to a document, the same as a parsed item, to get the xpath working correctly
+                OMDocument doc = OM_FACTORY.createOMDocument();
+                doc.addChild(node);
+                items.add(items.size(), new BXMLItem(node));
+            });
+        } catch (XMLStreamException e) {
+            throw new BallerinaException("failed to create xml: " + e.getMessage());
+        } finally {
+            closeReader(reader);
+        }
+        return items;
+    }
+
+    private XMLStreamSelection addStep(Step step) {
+        Step[] newSteps = Arrays.copyOf(steps, steps.length + 1);
+        newSteps[steps.length] = step;
+        return new XMLStreamSelection(document, newSteps);
+    }
+
+    /**
+     * Read the document, and invoke the handler for each selected item. When the handler is invoked the reader is
+     * positioned at the first event of the item, and the handler must read the item up to its last event.
+     */
+    private void select(XMLStreamReader reader, ItemHandler handler) throws XMLStreamException {
+        Deque<Scope> scopes = new ArrayDeque<>();
+        scopes.push(Scope.TOP_LEVEL);
+        while (reader.hasNext()) {
+            int event = reader.next();
+            switch (event) {
+                case XMLStreamConstants.START_ELEMENT:
+                    Scope scope = selectNode(scopes.peek(), reader.getName());
+                    if (scope == Scope.SELECTED) {
+                        handler.handle();
+                    } else if (scope == Scope.SKIPPED) {
+                        skipElement(reader);
+                    } else {
+                        scopes.push(scope);
+                    }
+                    break;
+                case XMLStreamConstants.END_ELEMENT:
+                    scopes.pop();
+                    break;
+                case XMLStreamConstants.CHARACTERS:
+                case XMLStreamConstants.CDATA:
+                case XMLStreamConstants.SPACE:
+                    if (scopes.peek() == Scope.TOP_LEVEL && reader.isWhiteSpace()) {
+                        // Whitespace outside the root element is not an item of the document
+                        break;
+                    }
+                    // Fall through
+                case XMLStreamConstants.COMMENT:
+                case XMLStreamConstants.PROCESSING_INSTRUCTION:
+                    if (selectNode(scopes.peek(), null) == Scope.SELECTED) {
+                        handler.handle();
+                    }
+                    break;
+                default:
+                    break;
+            }
+        }
+    }
+
+    /**
+     * Select a node found in a scope.
+     *
+     * @param scope       scope the node is found in
+     * @param elementName name of the node if it is an element, or null if it is not an element
+     * @return {@link Scope#SELECTED} if the node is selected, {@link Scope#SKIPPED} if the node and its children
+     * are not selected, or the scope in which the children of the node are selected
+     */
+    private Scope selectNode(Scope scope, QName elementName) {
+        if (scope == Scope.TOP_LEVEL) {
+            return selectItem(0, elementName);
+        }
+
+        Step step = steps[scope.stepIndex];
+        if (step.kind == StepKind.CHILDREN) {
+            if (step.name == null || (elementName != null && matchesChildName(step.name, elementName))) {
+                return selectItem(scope.stepIndex + 1, elementName);
+            }
+            return Scope.SKIPPED;
+        }
+
+        // Search the descendants of an element, but not within a matching element
+        if (elementName == null) {
+            return Scope.SKIPPED;
+        }
+        return step.name.equals(elementName) ? selectItem(scope.stepIndex + 1, elementName) : scope;
+    }
+
+    /**
+     * Select a node which is an item of the selection of the given step.
+     */
+    private Scope selectItem(int stepIndex, QName elementName) {
+        for (; stepIndex < steps.length; stepIndex++) {
+            Step step = steps[stepIndex];
+            if (elementName == null) {
+                return Scope.SKIPPED;
+            }
+            if (step.kind != StepKind.ELEMENTS) {
+                return new Scope(stepIndex);
+            }
+            if (step.name != null && !step.name.equals(elementName)) {
+                return Scope.SKIPPED;
+            }
+        }
+        return Scope.SELECTED;
+    }
+
+    /**
+     * Match the name of a child element the same as {@link OMElement#getChildrenWithName(QName)}, where an empty
+     * namespace matches any namespace.
+     */
+    private static boolean matchesChildName(QName name, QName elementName) {
+        return name.getLocalPart().equals(elementName.getLocalPart()) &&
+                (name.getNamespaceURI().isEmpty() || name.getNamespaceURI().equals(elementName.getNamespaceURI()));
+    }
+
+    private static void skipElement(XMLStreamReader reader) throws XMLStreamException {
+        int depth = 1;
+        while (depth > 0) {
+            int event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                depth++;
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                depth--;
+            }
+        }
+    }
+
+    private static void copyItem(XMLStreamReader reader, XMLStreamWriter writer) throws XMLStreamException {
+        int depth = 0;
+        while (true) {
+            switch (reader.getEventType()) {
+                case XMLStreamConstants.START_ELEMENT:
+                    writer.writeStartElement(getPrefix(reader.getPrefix()), reader.getLocalName(),
+                            getNamespaceURI(reader.getNamespaceURI()));
+                    for (int i = 0; i < reader.getNamespaceCount(); i++) {
+                        String prefix = reader.getNamespacePrefix(i);
+                        if (prefix == null || prefix.isEmpty()) {
+                            writer.writeDefaultNamespace(getNamespaceURI(reader.getNamespaceURI(i)));
+                        } else {
+                            writer.writeNamespace(prefix, getNamespaceURI(reader.getNamespaceURI(i)));
+                        }
+                    }
+                    for (int i = 0; i < reader.getAttributeCount(); i++) {
+                        String namespaceURI = getNamespaceURI(reader.getAttributeNamespace(i));
+                        if (namespaceURI.isEmpty()) {
+                            writer.writeAttribute(reader.getAttributeLocalName(i), reader.getAttributeValue(i));
+                        } else {
+                            writer.writeAttribute(getPrefix(reader.getAttributePrefix(i)), namespaceURI,
+                                    reader.getAttributeLocalName(i), reader.getAttributeValue(i));
+                        }
+                    }
+                    depth++;
+                    break;
+                case XMLStreamConstants.END_ELEMENT:
+                    writer.writeEndElement();
+                    depth--;
+                    break;
+                case XMLStreamConstants.CHARACTERS:
+                case XMLStreamConstants.SPACE:
+                    writer.writeCharacters(reader.getTextCharacters(), reader.getTextStart(),
+                            reader.getTextLength());
+                    break;
+                case XMLStreamConstants.CDATA:
+                    writer.writeCData(reader.getText());
+                    break;
+                case XMLStreamConstants.COMMENT:
+                    writer.writeComment(reader.getText());
+                    break;
+                case XMLStreamConstants.PROCESSING_INSTRUCTION:
+                    writer.writeProcessingInstruction(reader.getPITarget(), reader.getPIData());
+                    break;
+                default:
+                    break;
+            }
+
+            if (depth == 0) {
+                return;
+            }
+            reader.next();
+        }
+    }
+
+    private static OMNode buildItem(XMLStreamReader reader) throws XMLStreamException {
+        OMNode item = null;
+        Deque<OMElement> elements = new ArrayDeque<>();
+        while (true) {
+            OMContainer parent = elements.peek();
+            OMNode node = null;
+            switch (reader.getEventType()) {
+                case XMLStreamConstants.START_ELEMENT:
+                    OMElement element = buildElement(reader, parent);
+                    elements.push(element);
+                    node = element;
+                    break;
+                case XMLStreamConstants.END_ELEMENT:
+                    elements.pop();
+                    break;
+                case XMLStreamConstants.CHARACTERS:
+                case XMLStreamConstants.SPACE:
+                    node = OM_FACTORY.createOMText(parent, reader.getText());
+                    break;
+                case XMLStreamConstants.CDATA:
+                    node = OM_FACTORY.createOMText(parent, reader.getText(), XMLStreamConstants.CDATA);
+                    break;
+                case XMLStreamConstants.COMMENT:
+                    node = OM_FACTORY.createOMComment(parent, reader.getText());
+                    break;
+                case XMLStreamConstants.PROCESSING_INSTRUCTION:
+                    node = OM_FACTORY.createOMProcessingInstruction(parent, reader.getPITarget(),
+                            reader.getPIData());
+                    break;
+                default:
+                    break;
+            }
+
+            if (item == null) {
+                item = node;
+            }
+            if (elements.isEmpty()) {
+                return item;
+            }
+            reader.next();
+        }
+    }
+
+    private static OMElement buildElement(XMLStreamReader reader, OMContainer parent) {
+        String namespaceURI = getNamespaceURI(reader.getNamespaceURI());
+        OMNamespace namespace = namespaceURI.isEmpty() ? null :
+                OM_FACTORY.createOMNamespace(namespaceURI, getPrefix(reader.getPrefix()));
+        OMElement element = OM_FACTORY.createOMElement(reader.getLocalName(), namespace, parent);
+
+        for (int i = 0; i < reader.getNamespaceCount(); i++) {
+            String prefix = reader.getNamespacePrefix(i);
+            if (prefix == null || prefix.isEmpty()) {
+                element.declareDefaultNamespace(getNamespaceURI(reader.getNamespaceURI(i)));
+            } else {
+                element.declareNamespace(getNamespaceURI(reader.getNamespaceURI(i)), prefix);
+            }
+        }
+
+        for (int i = 0; i < reader.getAttributeCount(); i++) {
+            String attributeNamespaceURI = getNamespaceURI(reader.getAttributeNamespace(i));
+            OMNamespace attributeNamespace = attributeNamespaceURI.isEmpty() ? null :
+                    OM_FACTORY.createOMNamespace(attributeNamespaceURI, getPrefix(reader.getAttributePrefix(i)));
+            element.addAttribute(reader.getAttributeLocalName(i), reader.getAttributeValue(i), attributeNamespace);
+        }
+        return element;
+    }
+
+    private static String getPrefix(String prefix) {
+        return prefix == null ? "" : prefix;
+    }
+
+    private static String getNamespaceURI(String namespaceURI) {
+        return namespaceURI == null ? "" : namespaceURI;
+    }
+
+    private static void closeReader(XMLStreamReader reader) {
+        try {
+            reader.close();
+        } catch (XMLStreamException e) {
+            // Ignore, as the document has been read or has already failed
+        }
+    }
+
+    /**
+     * Handler of the selected items.
+     */
+    private interface ItemHandler {
+
+        void handle() throws XMLStreamException;
+    }
+
+    private enum StepKind {
+        ELEMENTS,
+        CHILDREN,
+        DESCENDANTS
+    }
+
+    /**
+     * A step of a selection.
+     */
+    private static class Step {
+        final StepKind kind;
+        final QName name;
+
+        Step(StepKind kind, QName name) {
+            this.kind = kind;
+            this.name = name;
+        }
+    }
+
+    /**
+     * Scope in which the children of an element are selected, i.e. the {@link StepKind#CHILDREN} or the
+     * {@link StepKind#DESCENDANTS} step which is applied to the children.
+     */
+    private static class Scope {
+        static final Scope TOP_LEVEL = new Scope(-1);
+        static final Scope SELECTED = new Scope(-1);
+        static final Scope SKIPPED = new Scope(-1);
+
+        final int stepIndex;
+
+        Scope(int stepIndex) {
+            this.stepIndex = stepIndex;
+        }
+    }
+
+    /**
+     * The document of a selection, which can be read only once.
+     */
+    private static class Document {
+        final InputStream inputStream;
+        boolean consumed;
+
+        Document(InputStream inputStream) {
+            this.inputStream = inputStream;
+        }
+
+        XMLStreamReader open() {
+            if (consumed) {
+                throw new BallerinaException("xml stream has already been read");
+            }
+            consumed = true;
+            try {
+                return XML_INPUT_FACTORY.createXMLStreamReader(inputStream);
+            } catch (XMLStreamException e) {
+                throw new BallerinaException("failed to create xml: " + e.getMessage());
+            }
+        }
+    }
+}
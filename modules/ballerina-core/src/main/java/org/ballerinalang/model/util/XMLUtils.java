@@ -22,11 +22,6 @@ import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
-import de.odysseus.staxon.json.JsonXMLConfig;
-import de.odysseus.staxon.json.JsonXMLConfigBuilder;
-import de.odysseus.staxon.json.JsonXMLInputFactory;
-import de.odysseus.staxon.json.JsonXMLOutputFactory;
-import de.odysseus.staxon.xml.util.PrettyXMLEventWriter;
 
 import org.apache.axiom.om.DeferredParsingException;
 import org.apache.axiom.om.OMAbstractFactory;
@@ -47,17 +42,15 @@ import org.ballerinalang.model.DataTableOMDataSource;
 import org.ballerinalang.model.values.BDataTable;
 import org.ballerinalang.model.values.BJSON;
 import org.ballerinalang.model.values.BRefValueArray;
+import org.ballerinalang.model.values.BString;
 import org.ballerinalang.model.values.BXML;
 import org.ballerinalang.model.values.BXMLItem;
 import org.ballerinalang.model.values.BXMLQName;
 import org.ballerinalang.model.values.BXMLSequence;
 import org.ballerinalang.util.exceptions.BallerinaException;
 
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
@@ -65,20 +58,6 @@ import java.util.Map;
 
 import javax.xml.XMLConstants;
 import javax.xml.namespace.QName;
-import javax.xml.stream.XMLEventReader;
-import javax.xml.stream.XMLEventWriter;
-import javax.xml.stream.XMLInputFactory;
-import javax.xml.stream.XMLOutputFactory;
-import javax.xml.stream.XMLStreamException;
-import javax.xml.stream.XMLStreamReader;
-import javax.xml.stream.XMLStreamWriter;
-import javax.xml.transform.Result;
-import javax.xml.transform.Source;
-import javax.xml.transform.TransformerConfigurationException;
-import javax.xml.transform.TransformerException;
-import javax.xml.transform.TransformerFactory;
-import javax.xml.transform.stax.StAXResult;
-import javax.xml.transform.stax.StAXSource;
 
 /**
  * Common utility methods used for XML manipulation.
@@ -88,9 +67,9 @@ import javax.xml.transform.stax.StAXSource;
 public class XMLUtils {
     
     private static final OMFactory OM_FACTORY = OMAbstractFactory.getOMFactory();
-    private static final String XML_ROOT = "root";
     private static final String XML_NAMESPACE_PREFIX = "xmlns:";
     private static final String XML_VALUE_TAG = "#text";
+    private static final String ANY_ELEMENT_NAME = "*";
     private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
     /**
      * Create a XML item from string literal.
@@ -156,6 +135,75 @@ public class XMLUtils {
         return new BXMLSequence(elementsSeq);
     }
 
+    /**
+     * Create a XML sequence from string inputstream, which is read as the sequence is used. Only the parts of the XML
+     * which are selected are built, so the whole XML is never held in memory.
+     * <p>
+     * Unlike {@link #parse(InputStream)}, the stream can be read only once, i.e. once any selection of the sequence
+     * has been used, using the sequence or another selection of it fails. A malformed XML is reported when the
+     * sequence is used, rather than by this method.
+     *
+     * @param xmlStream XML imput stream
+     * @return  XML Sequence
+     */
+    public static BXML<?> parseStreaming(InputStream xmlStream) {
+        return new BXMLSequence(XMLStreamSelection.of(xmlStream));
+    }
+
+    /**
+     * Select items from a XML with a path. A path is a sequence of qualified names separated by '/', where the first
+     * name selects the matching elements of the given XML, and each name after a '/' selects the matching child
+     * elements of the elements selected so far. A name after a '//' selects the matching descendants instead, and
+     * a '//' at the start of the path selects the matching descendants of the given XML. A '*' matches any element,
+     * except as a descendant.
+     * <p>
+     * E.g. {@code {http://schemas.xmlsoap.org/soap/envelope/}Envelope/Body/*} selects the elements in the body of
+     * a SOAP envelope. Unlike XPath, a path can be evaluated on a streamed XML without reading all of it.
+     *
+     * @param xml  XML to select from
+     * @param path path of the items to select
+     * @return selected items
+     */
+    public static BXML<?> selectPath(BXML<?> xml, String path) {
+        BXML<?> result = xml;
+        int pos = 0;
+        boolean firstStep = true;
+        while (true) {
+            boolean descendants = false;
+            if (path.startsWith("//", pos)) {
+                descendants = true;
+                pos += 2;
+            } else if (!firstStep) {
+                pos++;
+            }
+
+            int end = pos;
+            while (end < path.length() && path.charAt(end) != '/') {
+                // Skip the namespace URI, which may contain '/'
+                end = path.charAt(end) == '{' ? Math.max(path.indexOf('}', end), end) + 1 : end + 1;
+            }
+            String name = path.substring(pos, end);
+            if (name.isEmpty() || (descendants && name.equals(ANY_ELEMENT_NAME))) {
+                throw new BallerinaException("invalid xml path: '" + path + "'");
+            }
+
+            if (descendants) {
+                result = result.descendants(new BString(name));
+            } else if (firstStep) {
+                result = name.equals(ANY_ELEMENT_NAME) ? result.elements() : result.elements(new BString(name));
+            } else {
+                result = name.equals(ANY_ELEMENT_NAME) ? result.children().elements() :
+                        result.children(new BString(name));
+            }
+
+            if (end >= path.length()) {
+                return result;
+            }
+            pos = end;
+            firstStep = false;
+        }
+    }
+
     /**
      * Concatenate two XML sequences and produce a single sequence.
      *
@@ -198,44 +246,7 @@ public class XMLUtils {
      * @throws BallerinaException for conversion errors
      */
     public static BJSON toJSON(BXML<?> xml) throws BallerinaException {
-        InputStream input = new ByteArrayInputStream(xml.stringValue().getBytes(StandardCharsets.UTF_8));
-        InputStream results = null;
-        ByteArrayOutputStream output = new ByteArrayOutputStream();
-        BJSON json = null;
-
-        JsonXMLConfig config = new JsonXMLConfigBuilder().autoArray(true).autoPrimitive(true).prettyPrint(true).build();
-        try {
-            //Create source (XML).
-            XMLStreamReader reader = XMLInputFactory.newInstance().createXMLStreamReader(input);
-            Source source = new StAXSource(reader);
-
-            //Create result (JSON).
-            XMLStreamWriter writer = new JsonXMLOutputFactory(config).createXMLStreamWriter(output);
-            Result result = new StAXResult(writer);
-
-            //Copy source to result via "identity transform".
-            TransformerFactory.newInstance().newTransformer().transform(source, result);
-
-            byte[] outputByteArray = output.toByteArray();
-            results = new ByteArrayInputStream(outputByteArray);
-
-        } catch (TransformerConfigurationException e) {
-            throw new BallerinaException("error in parsing the JSON Stream. transformer configuration issue", e);
-        } catch (TransformerException e) {
-            throw new BallerinaException("error in parsing the JSON Stream", e);
-        } catch (XMLStreamException e) {
-            throw new BallerinaException("error in parsing the XML Stream", e);
-        } finally {
-            //As per StAX specification, XMLStreamReader/Writer.close() doesn't close the underlying stream.
-            try {
-                output.close();
-                input.close();
-            } catch (IOException ignore) {
-
-            }
-        }
-        json = new BJSON(results);
-        return json;
+        return XMLJSONConverter.toJSON(xml);
     }
 
     /**
@@ -245,41 +256,7 @@ public class XMLUtils {
      * @return converted {@link BXML}
      */
     public static BXML<?> jsonToXML(BJSON msg) {
-        InputStream input = new ByteArrayInputStream(msg.stringValue().getBytes(StandardCharsets.UTF_8));
-        ByteArrayOutputStream output = new ByteArrayOutputStream();
-        JsonXMLConfig config = new JsonXMLConfigBuilder().multiplePI(false).virtualRoot(XML_ROOT).build();
-        BXML<?> result = null;
-
-        XMLEventReader reader = null;
-        XMLEventWriter writer = null;
-        try {
-            reader = new JsonXMLInputFactory(config).createXMLEventReader(input);
-            writer = XMLOutputFactory.newInstance().createXMLEventWriter(output);
-            writer = new PrettyXMLEventWriter(writer);
-            writer.add(reader);
-        } catch (XMLStreamException e) {
-            throw new BallerinaException("Error in parsing the XML Stream", e);
-        } finally {
-            try {
-                if (reader != null) {
-                    reader.close();
-                }
-
-                if (writer != null) {
-                    writer.close();
-                }
-            } catch (XMLStreamException ignore) {
-            }
-            try {
-                output.close();
-                input.close();
-            } catch (IOException ignore) {
-            }
-        }
-
-        byte[] xml = output.toByteArray();
-        result = new BXMLItem(new ByteArrayInputStream(xml));
-        return result;
+        return XMLJSONConverter.toXML(msg);
     }
 
     /**
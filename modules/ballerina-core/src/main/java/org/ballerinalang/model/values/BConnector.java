@@ -21,8 +21,8 @@ import org.ballerinalang.model.types.BType;
 import org.ballerinalang.model.types.BTypes;
 
 import java.util.Arrays;
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * The {@code BConnector} represents a Connector in Ballerina.
@@ -42,7 +42,8 @@ public final class BConnector implements BRefType, StructureType {
     private boolean isFilterConnector;
     //private BType connectorType;
 
-    private final Map<String, Object> nativeData = new HashMap<>();
+    // Connectors are shared by concurrent invocations, hence native data has to be thread safe
+    private final Map<String, Object> nativeData = new ConcurrentHashMap<>();
 
 
     public BConnector(BConnectorType connectorType) {
@@ -70,6 +71,10 @@ public final class BConnector implements BRefType, StructureType {
     }
 
     public void setNativeData(String key, Object value) {
+        if (value == null) {
+            nativeData.remove(key);
+            return;
+        }
         nativeData.put(key, value);
     }
 
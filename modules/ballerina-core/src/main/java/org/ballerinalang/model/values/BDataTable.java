@@ -36,10 +36,24 @@ import java.util.Map;
  */
 public class BDataTable implements BRefType<Object> {
 
+    private static final int COLUMN_UNSUPPORTED = 0;
+    private static final int COLUMN_ARRAY = 1;
+    private static final int COLUMN_STRING = 2;
+    private static final int COLUMN_STRING_VALUE = 3;
+    private static final int COLUMN_BLOB = 4;
+    private static final int COLUMN_INT = 5;
+    private static final int COLUMN_FLOAT = 6;
+    private static final int COLUMN_BOOLEAN = 7;
+
     private DataIterator iterator;
     private List<ColumnDefinition> columnDefs;
     private BStruct bStruct;
 
+    // Row projection, indexed by the position of the column
+    private int[] columnKinds;
+    private int[] sqlTypes;
+    private int[] fieldIndexes;
+
     public BDataTable(DataIterator dataIterator, List<ColumnDefinition> columnDefs) {
         this.iterator = dataIterator;
         this.columnDefs = columnDefs;
@@ -74,76 +88,43 @@ public class BDataTable implements BRefType<Object> {
     }
 
     public BStruct getNext() {
-        int longRegIndex = -1;
-        int doubleRegIndex = -1;
-        int stringRegIndex = -1;
-        int booleanRegIndex = -1;
-        int blobRegIndex = -1;
-        int refRegIndex = -1;
-        for (ColumnDefinition columnDef : columnDefs) {
-            String columnName = columnDef.getName();
-            int sqlType = columnDef.getSQLType();
-            switch (sqlType) {
-            case Types.ARRAY:
-                BMap<BString, BValue> bMapvalue = getDataArray(columnName);
-                bStruct.setRefField(++refRegIndex, bMapvalue);
+        for (int i = 0; i < columnKinds.length; i++) {
+            int columnIndex = i + 1;
+            int fieldIndex = fieldIndexes[i];
+            switch (columnKinds[i]) {
+            case COLUMN_ARRAY:
+                bStruct.setRefField(fieldIndex, getDataArray(columnIndex));
                 break;
-            case Types.CHAR:
-            case Types.VARCHAR:
-            case Types.LONGVARCHAR:
-            case Types.NCHAR:
-            case Types.NVARCHAR:
-            case Types.LONGNVARCHAR:
-                String sValue = iterator.getString(columnName);
-                bStruct.setStringField(++stringRegIndex, sValue);
+            case COLUMN_STRING:
+                bStruct.setStringField(fieldIndex, iterator.getString(columnIndex));
                 break;
-            case Types.BLOB:
-            case Types.BINARY:
-            case Types.VARBINARY:
-            case Types.LONGVARBINARY:
-                BValue bValue = iterator.get(columnName, sqlType);
-                bStruct.setBlobField(++blobRegIndex, ((BBlob) bValue).blobValue());
+            case COLUMN_BLOB:
+                BValue bValue = iterator.get(columnIndex, sqlTypes[i]);
+                bStruct.setBlobField(fieldIndex, ((BBlob) bValue).blobValue());
                 break;
-            case Types.CLOB:
-            case Types.NCLOB:
-            case Types.DATE:
-            case Types.TIME:
-            case Types.TIMESTAMP:
-            case Types.TIMESTAMP_WITH_TIMEZONE:
-            case Types.TIME_WITH_TIMEZONE:
-            case Types.ROWID:
-                BValue strValue = iterator.get(columnName, sqlType);
-                bStruct.setStringField(++stringRegIndex, strValue.stringValue());
+            case COLUMN_STRING_VALUE:
+                BValue strValue = iterator.get(columnIndex, sqlTypes[i]);
+                bStruct.setStringField(fieldIndex, strValue.stringValue());
                 break;
-            case Types.TINYINT:
-            case Types.SMALLINT:
-            case Types.INTEGER:
-            case Types.BIGINT:
-                long lValue = iterator.getInt(columnName);
-                bStruct.setIntField(++longRegIndex, lValue);
+            case COLUMN_INT:
+                bStruct.setIntField(fieldIndex, iterator.getInt(columnIndex));
                 break;
-            case Types.REAL:
-            case Types.NUMERIC:
-            case Types.DECIMAL:
-            case Types.FLOAT:
-            case Types.DOUBLE:
-                double fValue = iterator.getFloat(columnName);
-                bStruct.setFloatField(++doubleRegIndex, fValue);
+            case COLUMN_FLOAT:
+                bStruct.setFloatField(fieldIndex, iterator.getFloat(columnIndex));
                 break;
-            case Types.BIT:
-            case Types.BOOLEAN:
-                boolean boolValue = iterator.getBoolean(columnName);
-                bStruct.setBooleanField(++booleanRegIndex, boolValue ? 1 : 0);
+            case COLUMN_BOOLEAN:
+                bStruct.setBooleanField(fieldIndex, iterator.getBoolean(columnIndex) ? 1 : 0);
                 break;
             default:
-                throw new BallerinaException("unsupported sql type " + sqlType + " found for the column " + columnName);
+                throw new BallerinaException("unsupported sql type " + sqlTypes[i] + " found for the column "
+                        + columnDefs.get(i).getName());
             }
         }
         return bStruct;
     }
 
-    private BMap<BString, BValue> getDataArray(String columnName) {
-        Map<String, Object> arrayMap = iterator.getArray(columnName);
+    private BMap<BString, BValue> getDataArray(int columnIndex) {
+        Map<String, Object> arrayMap = iterator.getArray(columnIndex);
         BMap<BString, BValue> returnMap = new BMap<>();
         if (arrayMap != null && !arrayMap.isEmpty()) {
             for (Map.Entry<String, Object> entry : arrayMap.entrySet()) {
@@ -167,15 +148,26 @@ public class BDataTable implements BRefType<Object> {
         return returnMap;
     }
 
+    /**
+     * Generate the struct a row is read into, along with the projection of the columns on to the fields of the
+     * struct. The projection is computed once, so reading a row neither resolves columns by name nor maps SQL types.
+     */
     private void generateStruct() {
-        BType[] structTypes = new BType[columnDefs.size()];
-        BStructType.StructField[] structFields = new BStructType.StructField[columnDefs.size()];
-        int typeIndex  = 0;
-        for (ColumnDefinition columnDef : columnDefs) {
+        int columnCount = columnDefs.size();
+        BStructType.StructField[] structFields = new BStructType.StructField[columnCount];
+        columnKinds = new int[columnCount];
+        sqlTypes = new int[columnCount];
+        fieldIndexes = new int[columnCount];
+        int[] fieldCount = new int[6];
+        for (int i = 0; i < columnCount; i++) {
+            ColumnDefinition columnDef = columnDefs.get(i);
+            int sqlType = columnDef.getSQLType();
             BType type;
-            switch (columnDef.getSQLType()) {
+            int kind;
+            switch (sqlType) {
             case Types.ARRAY:
                 type = BTypes.typeMap;
+                kind = COLUMN_ARRAY;
                 break;
             case Types.CHAR:
             case Types.VARCHAR:
@@ -183,6 +175,9 @@ public class BDataTable implements BRefType<Object> {
             case Types.NCHAR:
             case Types.NVARCHAR:
             case Types.LONGNVARCHAR:
+                type = BTypes.typeString;
+                kind = COLUMN_STRING;
+                break;
             case Types.CLOB:
             case Types.NCLOB:
             case Types.DATE:
@@ -192,18 +187,21 @@ public class BDataTable implements BRefType<Object> {
             case Types.TIME_WITH_TIMEZONE:
             case Types.ROWID:
                 type = BTypes.typeString;
+                kind = COLUMN_STRING_VALUE;
                 break;
             case Types.BLOB:
             case Types.LONGVARBINARY:
             case Types.BINARY:
             case Types.VARBINARY:
                 type = BTypes.typeBlob;
+                kind = COLUMN_BLOB;
                 break;
             case Types.TINYINT:
             case Types.SMALLINT:
             case Types.INTEGER:
             case Types.BIGINT:
                 type = BTypes.typeInt;
+                kind = COLUMN_INT;
                 break;
             case Types.REAL:
             case Types.NUMERIC:
@@ -211,20 +209,23 @@ public class BDataTable implements BRefType<Object> {
             case Types.FLOAT:
             case Types.DOUBLE:
                 type = BTypes.typeFloat;
+                kind = COLUMN_FLOAT;
                 break;
             case Types.BIT:
             case Types.BOOLEAN:
                 type = BTypes.typeBoolean;
+                kind = COLUMN_BOOLEAN;
                 break;
             default:
                 type = BTypes.typeNull;
+                kind = COLUMN_UNSUPPORTED;
             }
-            structTypes[typeIndex] = type;
-            structFields[typeIndex] = new BStructType.StructField(type, columnDef.getName());
-            ++typeIndex;
+            structFields[i] = new BStructType.StructField(type, columnDef.getName());
+            columnKinds[i] = kind;
+            sqlTypes[i] = sqlType;
+            fieldIndexes[i] = fieldCount[getFieldCategory(type)]++;
         }
 
-        int[] fieldCount = populateMaxSizes(structTypes);
         BStructType structType = new BStructType("RS", null);
         structType.setStructFields(structFields);
         structType.setFieldTypeCount(fieldCount);
@@ -232,34 +233,23 @@ public class BDataTable implements BRefType<Object> {
         this.bStruct = new BStruct(structType);
     }
 
-    private static int[] populateMaxSizes(BType[] paramTypes) {
-        int[] maxSizes = new int[6];
-        for (int i = 0; i < paramTypes.length; i++) {
-            BType paramType = paramTypes[i];
-            switch (paramType.getTag()) {
-            case TypeTags.INT_TAG:
-                ++maxSizes[0];
-                break;
-            case TypeTags.FLOAT_TAG:
-                ++maxSizes[1];
-                break;
-            case TypeTags.STRING_TAG:
-                ++maxSizes[2];
-                break;
-            case TypeTags.BOOLEAN_TAG:
-                ++maxSizes[3];
-                break;
-            case TypeTags.BLOB_TAG:
-                ++maxSizes[4];
-                break;
-            default:
-                ++maxSizes[5];
-            }
+    private static int getFieldCategory(BType type) {
+        switch (type.getTag()) {
+        case TypeTags.INT_TAG:
+            return 0;
+        case TypeTags.FLOAT_TAG:
+            return 1;
+        case TypeTags.STRING_TAG:
+            return 2;
+        case TypeTags.BOOLEAN_TAG:
+            return 3;
+        case TypeTags.BLOB_TAG:
+            return 4;
+        default:
+            return 5;
         }
-        return maxSizes;
     }
 
-
     public String getString(String columnName) {
         return iterator.getString(columnName);
     }
@@ -284,6 +274,30 @@ public class BDataTable implements BRefType<Object> {
         return iterator.getArray(columnName);
     }
 
+    public String getString(int columnIndex) {
+        return iterator.getString(columnIndex);
+    }
+
+    public long getInt(int columnIndex) {
+        return iterator.getInt(columnIndex);
+    }
+
+    public double getFloat(int columnIndex) {
+        return iterator.getFloat(columnIndex);
+    }
+
+    public boolean getBoolean(int columnIndex) {
+        return iterator.getBoolean(columnIndex);
+    }
+
+    public String getObjectAsString(int columnIndex) {
+        return iterator.getObjectAsString(columnIndex);
+    }
+
+    public Map<String, Object> getArray(int columnIndex) {
+        return iterator.getArray(columnIndex);
+    }
+
     public List<ColumnDefinition> getColumnDefs() {
         return columnDefs;
     }
@@ -68,6 +68,11 @@ public final class BInteger extends BValueType implements BRefType<Long> {
         return ((BInteger) obj).intValue() == value;
     }
 
+    @Override
+    public int hashCode() {
+        return Long.hashCode(value);
+    }
+
     @Override
     public Long value() {
         return value;
@@ -25,15 +25,18 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 
 import com.fasterxml.jackson.databind.SerializerProvider;
 import com.fasterxml.jackson.databind.ser.DefaultSerializerProvider;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
 import org.ballerinalang.model.types.BType;
 import org.ballerinalang.model.types.BTypes;
+import org.ballerinalang.model.util.LazyJSON;
 import org.ballerinalang.runtime.message.BallerinaMessageDataSource;
 import org.ballerinalang.util.exceptions.BallerinaException;
 
-import java.io.ByteArrayOutputStream;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.util.Arrays;
 
 /**
  * {@code BJSON} represents a JSON value in Ballerina.
@@ -51,6 +54,8 @@ public final class BJSON extends BallerinaMessageDataSource implements BRefType<
 
     private static final JsonFactory JSON_FAC = new JsonFactory();
 
+    private static final int INITIAL_BUFFER_SIZE = 8192;
+
     private static final SerializerProvider SERIALIZER_PROVIDER = new DefaultSerializerProvider.Impl()
             .createInstance(OBJECT_MAPPER.getSerializationConfig(), OBJECT_MAPPER.getSerializerFactory());
 
@@ -60,6 +65,9 @@ public final class BJSON extends BallerinaMessageDataSource implements BRefType<
     // GSON json object model associated with this JSONType object
     private JsonNode value;
 
+    // Lazily decoded value, until the value is materialized
+    private LazyJSON lazyValue;
+
     // Schema of this JSONType object model
     private JsonNode schema;
 
@@ -75,6 +83,15 @@ public final class BJSON extends BallerinaMessageDataSource implements BRefType<
         this.value = json;
     }
 
+    /**
+     * Initialize a {@link BJSON} from a lazily decoded JSON value.
+     *
+     * @param lazyValue lazily decoded value
+     */
+    public BJSON(LazyJSON lazyValue) {
+        this.lazyValue = lazyValue;
+    }
+
     /**
      * Initialize a {@link BJSON} from a JSON string.
      *
@@ -125,14 +142,29 @@ public final class BJSON extends BallerinaMessageDataSource implements BRefType<
     }
 
     /**
-     * Create a {@link BJSON} from a {@link InputStream}.
+     * Create a {@link BJSON} from a {@link InputStream}. The content is indexed without building a tree, and values
+     * are decoded only when they are accessed.
      *
      * @param in InputStream of the json content
      * @param schema Schema of the json
      */
     public BJSON(InputStream in, String schema) {
         try {
-            this.value = OBJECT_MAPPER.readTree(in);
+            byte[] buffer = new byte[INITIAL_BUFFER_SIZE];
+            int length = 0;
+            int bytesRead;
+            while ((bytesRead = in.read(buffer, length, buffer.length - length)) != -1) {
+                length += bytesRead;
+                if (length == buffer.length) {
+                    buffer = Arrays.copyOf(buffer, buffer.length * 2);
+                }
+            }
+
+            this.lazyValue = LazyJSON.parse(buffer, length);
+            if (this.lazyValue == null) {
+                // Not a well-formed UTF-8 JSON document. Let the parser handle it, e.g. to report the error.
+                this.value = OBJECT_MAPPER.readTree(new ByteArrayInputStream(buffer, 0, length));
+            }
             if (schema != null) {
                 this.schema = OBJECT_MAPPER.readTree(schema);
             }
@@ -155,6 +187,21 @@ public final class BJSON extends BallerinaMessageDataSource implements BRefType<
      */
     public void setValue(JsonNode value) {
         this.value = value;
+        this.lazyValue = null;
+    }
+
+    /**
+     * Get the lazily decoded value of this {@link BJSON} object. Values can be read from the lazily decoded value
+     * without materializing the value as a tree.
+     *
+     * @return lazily decoded value, or null if the value has been materialized
+     */
+    public LazyJSON getLazyValue() {
+        if (this.lazyValue != null && this.lazyValue.isMaterialized()) {
+            // Materialized through an enclosing value, which may have changed it since
+            materialize();
+        }
+        return this.lazyValue;
     }
 
     /**
@@ -183,6 +230,9 @@ public final class BJSON extends BallerinaMessageDataSource implements BRefType<
             if (this.value != null) {
                 this.outputStream.write(OBJECT_MAPPER.writeValueAsBytes(this.value));  
                 this.outputStream.flush();
+            } else if (this.lazyValue != null) {
+                this.lazyValue.writeTo(this.outputStream);
+                this.outputStream.flush();
             } else {
                 JsonGenerator gen = JSON_FAC.createGenerator(this.outputStream);
                 this.datasource.serialize(gen, SERIALIZER_PROVIDER);
@@ -205,13 +255,16 @@ public final class BJSON extends BallerinaMessageDataSource implements BRefType<
      */
     @Override
     public JsonNode value() {
-        if (this.value == null) {
-            ByteArrayOutputStream byteOut = new ByteArrayOutputStream();
+        if (this.lazyValue != null) {
+            // The node may be modified once it is handed out, so the lazy value is no longer used
+            materialize();
+        } else if (this.value == null) {
+            // Build the tree from the tokens of the data source, without writing them out as text
+            TokenBuffer tokens = new TokenBuffer(OBJECT_MAPPER, false);
             try {
-                JsonGenerator gen = JSON_FAC.createGenerator(byteOut);
-                this.datasource.serialize(gen, SERIALIZER_PROVIDER);
-                gen.close();
-                this.value = OBJECT_MAPPER.readTree(byteOut.toByteArray());
+                this.datasource.serialize(tokens, SERIALIZER_PROVIDER);
+                tokens.close();
+                this.value = OBJECT_MAPPER.readTree(tokens.asParser());
             } catch (Throwable t) {
                 handleJsonException("Error in building JSON node: ", t);
             }
@@ -219,8 +272,18 @@ public final class BJSON extends BallerinaMessageDataSource implements BRefType<
         return this.value;
     }
 
+    private void materialize() {
+        this.value = this.lazyValue.materialize();
+        this.lazyValue = null;
+    }
+
     @Override
     public String stringValue() {
+        LazyJSON lazyValue = getLazyValue();
+        if (lazyValue != null) {
+            return lazyValue.isTextual() ? lazyValue.textValue() : lazyValue.toString();
+        }
+
         if (this.value().isTextual()) {
             return this.value().textValue();
         }
@@ -244,8 +307,13 @@ public final class BJSON extends BallerinaMessageDataSource implements BRefType<
 
     @Override
     public String getMessageAsString() {
+        LazyJSON lazyValue = getLazyValue();
+        if (lazyValue != null) {
+            return lazyValue.toString();
+        }
+
         try {
-            return this.value.toString();
+            return this.value().toString();
         } catch (Throwable t) {
             handleJsonException("failed to get json as string: ", t);
         }
@@ -272,6 +340,12 @@ public final class BJSON extends BallerinaMessageDataSource implements BRefType<
 
     @Override
     public BallerinaMessageDataSource clone() {
+        LazyJSON lazyValue = getLazyValue();
+        LazyJSON lazyCopy = lazyValue == null ? null : lazyValue.copy();
+        if (lazyCopy != null) {
+            return new BJSON(lazyCopy);
+        }
+
         BJSON clonedMessage = new BJSON("{}");
         try {
             String elementString = this.getMessageAsString();
@@ -302,6 +376,11 @@ public final class BJSON extends BallerinaMessageDataSource implements BRefType<
     
     @Override
     public BValue copy() {
+        LazyJSON lazyValue = getLazyValue();
+        LazyJSON lazyCopy = lazyValue == null ? null : lazyValue.copy();
+        if (lazyCopy != null) {
+            return new BJSON(lazyCopy);
+        }
         return new BJSON(this.stringValue());
     }
 }
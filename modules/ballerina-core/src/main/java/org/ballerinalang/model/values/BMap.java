@@ -26,7 +26,7 @@ import java.io.IOException;
 import java.io.OutputStream;
 import java.nio.charset.Charset;
 import java.util.Arrays;
-import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.Set;
 import java.util.StringJoiner;
 
@@ -38,11 +38,43 @@ import java.util.StringJoiner;
  */
 public class BMap<K, V extends BValue> extends BallerinaMessageDataSource implements BRefType {
 
-    private int size;
     private static final int INITIAL_CAPACITY = 16;
-    private static final int MAX_CAPACITY = 1 << 16;
-    @SuppressWarnings("unchecked")
-    private MapEntry<K, V>[] values = new MapEntry[INITIAL_CAPACITY];
+    private static final int MAX_CAPACITY = 1 << 29;
+
+    /**
+     * Marker stored in the key array for entries that have been removed.
+     */
+    private static final Object DELETED = new Object();
+
+    /**
+     * Marker stored in the index table for slots whose entry has been removed.
+     */
+    private static final int TOMBSTONE = -1;
+
+    private int size;
+
+    /**
+     * Number of entry slots in use, including removed entries which are yet to be compacted.
+     */
+    private int entryCount;
+
+    /**
+     * Number of non empty slots in the index table, including tombstones.
+     */
+    private int usedSlots;
+
+    /**
+     * Keys, values and key hashes are kept in insertion order in parallel arrays.
+     */
+    private Object[] keys = new Object[INITIAL_CAPACITY];
+    private BValue[] values = new BValue[INITIAL_CAPACITY];
+    private int[] hashes = new int[INITIAL_CAPACITY];
+
+    /**
+     * Open addressing (linear probing) index table. Each slot holds the entry position + 1,
+     * {@code 0} for an empty slot or {@link #TOMBSTONE} for a removed entry.
+     */
+    private int[] index = new int[INITIAL_CAPACITY * 2];
 
     /**
      * Output stream to write message out to the socket.
@@ -54,15 +86,10 @@ public class BMap<K, V extends BValue> extends BallerinaMessageDataSource implem
      * @param key key used to get the value
      * @return value
      */
+    @SuppressWarnings("unchecked")
     public V get(K key) {
-        for (int i = 0; i < size; i++) {
-            if (values[i] != null) {
-                if (values[i].getKey().equals(key)) {
-                    return values[i].getValue();
-                }
-            }
-        }
-        return null;
+        int entry = findEntry(key, hash(key));
+        return entry < 0 ? null : (V) values[entry];
     }
 
     /**
@@ -71,28 +98,161 @@ public class BMap<K, V extends BValue> extends BallerinaMessageDataSource implem
      * @param value value related to the key
      */
     public void put(K key, V value) {
-        boolean insert = true;
-        for (int i = 0; i < size; i++) {
-            if (values[i].getKey().equals(key)) {
-                values[i].setValue(value);
-                insert = false;
+        int hash = hash(key);
+        int mask = index.length - 1;
+        int slot = hash & mask;
+        int firstTombstone = -1;
+        int current;
+        while ((current = index[slot]) != 0) {
+            if (current == TOMBSTONE) {
+                if (firstTombstone < 0) {
+                    firstTombstone = slot;
+                }
+            } else if (hashes[current - 1] == hash && isEqual(keys[current - 1], key)) {
+                values[current - 1] = value;
+                return;
             }
+            slot = (slot + 1) & mask;
         }
-        if (insert) {
+
+        if (entryCount == keys.length) {
             ensureCapacity();
-            values[size++] = new MapEntry<>(key, value);
+            insert(key, value, hash);
+            return;
+        }
+
+        keys[entryCount] = key;
+        values[entryCount] = value;
+        hashes[entryCount] = hash;
+        entryCount++;
+        size++;
+        if (firstTombstone >= 0) {
+            index[firstTombstone] = entryCount;
+        } else {
+            index[slot] = entryCount;
+            if (++usedSlots > (index.length >> 1)) {
+                rebuildIndex(index.length);
+            }
+        }
+    }
+
+    private void insert(K key, V value, int hash) {
+        keys[entryCount] = key;
+        values[entryCount] = value;
+        hashes[entryCount] = hash;
+        entryCount++;
+        size++;
+        int mask = index.length - 1;
+        int slot = hash & mask;
+        while (index[slot] > 0) {
+            slot = (slot + 1) & mask;
+        }
+        if (index[slot] == 0) {
+            usedSlots++;
         }
+        index[slot] = entryCount;
     }
 
+    /**
+     * Makes room for one more entry. If at least half of the entry slots are occupied by removed entries
+     * the arrays are compacted in place, otherwise they are doubled. The index table is rebuilt in both cases.
+     */
     private void ensureCapacity() {
-        if (size == values.length) {
-            int newSize = values.length * 2;
-            if (newSize <= MAX_CAPACITY) {
-                values = Arrays.copyOf(values, newSize);
-            } else {
-                throw new RuntimeException(" Map cannot exceed the maximum size");
+        if (size <= (entryCount >> 1)) {
+            compact();
+            rebuildIndex(index.length);
+            return;
+        }
+
+        if (keys.length == MAX_CAPACITY) {
+            throw new BallerinaException("map cannot exceed the maximum size");
+        }
+        int newSize = Math.min(keys.length << 1, MAX_CAPACITY);
+        compact();
+        keys = Arrays.copyOf(keys, newSize);
+        values = Arrays.copyOf(values, newSize);
+        hashes = Arrays.copyOf(hashes, newSize);
+        rebuildIndex(tableSizeFor(newSize));
+    }
+
+    private void compact() {
+        if (size == entryCount) {
+            return;
+        }
+        int j = 0;
+        for (int i = 0; i < entryCount; i++) {
+            if (keys[i] != DELETED) {
+                keys[j] = keys[i];
+                values[j] = values[i];
+                hashes[j] = hashes[i];
+                j++;
+            }
+        }
+        Arrays.fill(keys, j, entryCount, null);
+        Arrays.fill(values, j, entryCount, null);
+        entryCount = j;
+    }
+
+    private void rebuildIndex(int tableSize) {
+        while (entryCount >= (tableSize >> 1) && tableSize < (MAX_CAPACITY << 1)) {
+            tableSize <<= 1;
+        }
+        if (tableSize == index.length) {
+            Arrays.fill(index, 0);
+        } else {
+            index = new int[tableSize];
+        }
+        int mask = tableSize - 1;
+        for (int i = 0; i < entryCount; i++) {
+            if (keys[i] == DELETED) {
+                continue;
+            }
+            int slot = hashes[i] & mask;
+            while (index[slot] != 0) {
+                slot = (slot + 1) & mask;
             }
+            index[slot] = i + 1;
         }
+        usedSlots = size;
+    }
+
+    private int findEntry(Object key, int hash) {
+        int slot = findSlot(key, hash);
+        return slot < 0 ? -1 : index[slot] - 1;
+    }
+
+    private int findSlot(Object key, int hash) {
+        int mask = index.length - 1;
+        int slot = hash & mask;
+        int current;
+        while ((current = index[slot]) != 0) {
+            if (current != TOMBSTONE && hashes[current - 1] == hash && isEqual(keys[current - 1], key)) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    private static int hash(Object key) {
+        if (key == null) {
+            return 0;
+        }
+        int h = key.hashCode();
+        // Spread the higher bits to the lower ones, since the table size is a power of two
+        return h ^ (h >>> 16);
+    }
+
+    private static boolean isEqual(Object storedKey, Object key) {
+        return storedKey == key || (storedKey != null && key != null && storedKey != DELETED && storedKey.equals(key));
+    }
+
+    private static int tableSizeFor(int capacity) {
+        int tableSize = INITIAL_CAPACITY * 2;
+        while (tableSize < (capacity << 1) && tableSize < (MAX_CAPACITY << 1)) {
+            tableSize <<= 1;
+        }
+        return tableSize;
     }
 
     /**
@@ -108,27 +268,38 @@ public class BMap<K, V extends BValue> extends BallerinaMessageDataSource implem
      * @param key key of the item to be removed
      */
     public void remove(K key) {
-        for (int i = 0; i < size; i++) {
-            if (values[i].getKey().equals(key)) {
-                values[i] = null;
-                size--;
-                condenseArray(i);
-            }
+        int slot = findSlot(key, hash(key));
+        if (slot < 0) {
+            return;
+        }
+        int entry = index[slot] - 1;
+        index[slot] = TOMBSTONE;
+        keys[entry] = DELETED;
+        values[entry] = null;
+        size--;
+        if (size == 0) {
+            clear();
         }
     }
 
-    private void condenseArray(int start) {
-        System.arraycopy(values, start + 1, values, start, (values.length - start - 1));
+    private void clear() {
+        Arrays.fill(keys, 0, entryCount, null);
+        Arrays.fill(index, 0);
+        entryCount = 0;
+        usedSlots = 0;
     }
 
     /**
-     * Retrieve the set of keys related to this map.
+     * Retrieve the set of keys related to this map, in insertion order.
      * @return returns the set of keys
      */
+    @SuppressWarnings("unchecked")
     public Set<K> keySet() {
-        Set<K> set = new HashSet<>();
-        for (int i = 0; i < size; i++) {
-            set.add(values[i].getKey());
+        Set<K> set = new LinkedHashSet<>(size * 2);
+        for (int i = 0; i < entryCount; i++) {
+            if (keys[i] != DELETED) {
+                set.add((K) keys[i]);
+            }
         }
         return set;
     }
@@ -152,9 +323,12 @@ public class BMap<K, V extends BValue> extends BallerinaMessageDataSource implem
         String key;
         BValue value;
         String stringValue;
-        for (int i = 0; i < size; i++) {
-            key = "\"" + (String) values[i].getKey() + "\"";
-            value = values[i].getValue();
+        for (int i = 0; i < entryCount; i++) {
+            if (keys[i] == DELETED) {
+                continue;
+            }
+            key = "\"" + (String) keys[i] + "\"";
+            value = values[i];
             if (value == null) {
                 stringValue = null;
             } else if (value instanceof BString) {
@@ -173,36 +347,18 @@ public class BMap<K, V extends BValue> extends BallerinaMessageDataSource implem
     }
 
     @Override
+    @SuppressWarnings("unchecked")
     public BValue copy() {
         BMap map = BTypes.typeMap.getEmptyValue();
-        for (int i = 0; i < size; i++) {
-            BValue value = values[i].getValue();
-            map.put(values[i].getKey(), value == null ? null : value.copy());
+        for (int i = 0; i < entryCount; i++) {
+            if (keys[i] == DELETED) {
+                continue;
+            }
+            BValue value = values[i];
+            map.put(keys[i], value == null ? null : value.copy());
         }
         return map;
     }
-    
-    private class MapEntry<K, V> {
-        private final K key;
-        private V value;
-
-        MapEntry(K key, V value) {
-            this.key = key;
-            this.value = value;
-        }
-
-        K getKey() {
-            return key;
-        }
-
-        V getValue() {
-            return value;
-        }
-
-        void setValue(V value) {
-            this.value = value;
-        }
-    }
 
     @Override
     public String getMessageAsString() {
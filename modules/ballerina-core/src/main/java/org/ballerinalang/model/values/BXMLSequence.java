@@ -21,6 +21,7 @@ import org.apache.axiom.om.OMNode;
 import org.apache.axiom.om.OMText;
 import org.ballerinalang.model.types.BTypes;
 import org.ballerinalang.model.util.XMLNodeType;
+import org.ballerinalang.model.util.XMLStreamSelection;
 import org.ballerinalang.util.exceptions.BallerinaException;
 
 import java.io.OutputStream;
@@ -38,6 +39,9 @@ import javax.xml.namespace.QName;
 public final class BXMLSequence extends BXML<BRefValueArray> {
 
     private BRefValueArray sequence;
+
+    // Selection of items from a streamed document, until the items are materialized
+    private XMLStreamSelection streamSelection;
     
     /**
      * Create an empty xml sequence.
@@ -54,6 +58,18 @@ public final class BXMLSequence extends BXML<BRefValueArray> {
     public BXMLSequence(BRefValueArray sequence) {
         this.sequence = sequence;
     }
+
+    /**
+     * Initialize a {@link BXMLSequence} from a selection of items from a streamed document. Selecting elements,
+     * children and descendants from the sequence does not read the document, and serializing the sequence copies the
+     * selected items from the document without building them. The items are built if any other operation is
+     * performed on the sequence.
+     *
+     * @param streamSelection selection of items from a streamed document
+     */
+    public BXMLSequence(XMLStreamSelection streamSelection) {
+        this.streamSelection = streamSelection;
+    }
     
     /**
      * {@inheritDoc}
@@ -68,7 +84,7 @@ public final class BXMLSequence extends BXML<BRefValueArray> {
      */
     @Override
     public BBoolean isEmpty() {
-        return new BBoolean(sequence.size() == 0);
+        return new BBoolean(value().size() == 0);
     }
     
     /**
@@ -76,7 +92,7 @@ public final class BXMLSequence extends BXML<BRefValueArray> {
      */
     @Override
     public BBoolean isSingleton() {
-        return new BBoolean(sequence.size() == 1);
+        return new BBoolean(value().size() == 1);
     }
     
     /**
@@ -84,8 +100,8 @@ public final class BXMLSequence extends BXML<BRefValueArray> {
      */
     @Override
     public BString getItemType() {
-        if (sequence.size() == 1) {
-            return ((BXMLItem) sequence.get(0)).getItemType();
+        if (value().size() == 1) {
+            return ((BXMLItem) value().get(0)).getItemType();
         }
         
         return BTypes.typeString.getZeroValue();
@@ -96,8 +112,8 @@ public final class BXMLSequence extends BXML<BRefValueArray> {
      */
     @Override
     public BString getElementName() {
-        if (sequence.size() == 1) {
-            return ((BXMLItem) sequence.get(0)).getElementName();
+        if (value().size() == 1) {
+            return ((BXMLItem) value().get(0)).getElementName();
         }
         return BTypes.typeString.getZeroValue();
     }
@@ -108,8 +124,8 @@ public final class BXMLSequence extends BXML<BRefValueArray> {
     @Override
     public BString getTextValue() {
         StringBuilder seqTextBuilder = new StringBuilder();
-        for (int i = 0; i < sequence.size(); i++) {
-            BXMLItem item = (BXMLItem) sequence.get(i);
+        for (int i = 0; i < value().size(); i++) {
+            BXMLItem item = (BXMLItem) value().get(i);
             seqTextBuilder.append(item.getTextValue().stringValue());
         }
         return new BString(seqTextBuilder.toString());
@@ -120,8 +136,8 @@ public final class BXMLSequence extends BXML<BRefValueArray> {
      */
     @Override
     public String getAttribute(String localName, String namespace) {
-        if (sequence.size() == 1) {
-            return ((BXMLItem) sequence.get(0)).getAttribute(localName, namespace);
+        if (value().size() == 1) {
+            return ((BXMLItem) value().get(0)).getAttribute(localName, namespace);
         }
         
         return ZERO_STRING_VALUE;
@@ -132,8 +148,8 @@ public final class BXMLSequence extends BXML<BRefValueArray> {
      */
     @Override
     public String getAttribute(String localName, String namespace, String prefix) {
-        if (sequence.size() == 1) {
-            return ((BXMLItem) sequence.get(0)).getAttribute(localName, namespace, prefix);
+        if (value().size() == 1) {
+            return ((BXMLItem) value().get(0)).getAttribute(localName, namespace, prefix);
         }
         
         return ZERO_STRING_VALUE;
@@ -144,8 +160,8 @@ public final class BXMLSequence extends BXML<BRefValueArray> {
      */
     @Override
     public void setAttribute(String localName, String namespace, String prefix, String value) {
-        if (sequence.size() == 1) {
-            ((BXMLItem) sequence.get(0)).setAttribute(localName, namespace, prefix, value);
+        if (value().size() == 1) {
+            ((BXMLItem) value().get(0)).setAttribute(localName, namespace, prefix, value);
         }
     }
 
@@ -154,8 +170,8 @@ public final class BXMLSequence extends BXML<BRefValueArray> {
      */
     @Override
     public BMap<?, ?> getAttributesMap() {
-        if (sequence.size() == 1) {
-            return ((BXMLItem) sequence.get(0)).getAttributesMap();
+        if (value().size() == 1) {
+            return ((BXMLItem) value().get(0)).getAttributesMap();
         }
         
         return BTypes.typeMap.getEmptyValue();
@@ -163,8 +179,8 @@ public final class BXMLSequence extends BXML<BRefValueArray> {
 
     @Override
     public void setAttributes(BMap<String, ?> attributes) {
-        if (sequence.size() == 1) {
-            ((BXMLItem) sequence.get(0)).setAttributes(attributes);
+        if (value().size() == 1) {
+            ((BXMLItem) value().get(0)).setAttributes(attributes);
         }
     }
     
@@ -173,10 +189,14 @@ public final class BXMLSequence extends BXML<BRefValueArray> {
      */
     @Override
     public BXML<?> elements() {
+        if (streamSelection != null) {
+            return new BXMLSequence(streamSelection.elements(null));
+        }
+
         BRefValueArray elementsSeq = new BRefValueArray(BTypes.typeXML);
         int j = 0;
-        for (int i = 0; i < sequence.size(); i++) {
-            BXMLItem item = (BXMLItem) sequence.get(i);
+        for (int i = 0; i < value().size(); i++) {
+            BXMLItem item = (BXMLItem) value().get(i);
             if (item.getNodeType() == XMLNodeType.ELEMENT) {
                 elementsSeq.add(j++, item);
             }
@@ -189,11 +209,15 @@ public final class BXMLSequence extends BXML<BRefValueArray> {
      */
     @Override
     public BXML<?> elements(BString qname) {
+        if (streamSelection != null) {
+            return new BXMLSequence(streamSelection.elements(getQname(qname)));
+        }
+
         BRefValueArray elementsSeq = new BRefValueArray(BTypes.typeXML);
         String qnameStr = getQname(qname).toString();
         int j = 0;
-        for (int i = 0; i < sequence.size(); i++) {
-            BXMLItem item = (BXMLItem) sequence.get(i);
+        for (int i = 0; i < value().size(); i++) {
+            BXMLItem item = (BXMLItem) value().get(i);
             if (item.getNodeType() == XMLNodeType.ELEMENT
                     && item.getElementName().stringValue().equals(qnameStr)) {
                 elementsSeq.add(j++, item);
@@ -207,9 +231,13 @@ public final class BXMLSequence extends BXML<BRefValueArray> {
      */
     @Override
     public BXML<?> children() {
+        if (streamSelection != null) {
+            return new BXMLSequence(streamSelection.children(null));
+        }
+
         BRefValueArray elementsSeq = new BRefValueArray(BTypes.typeXML);
-        for (int i = 0; i < sequence.size(); i++) {
-            BXMLItem element = (BXMLItem) sequence.get(i);
+        for (int i = 0; i < value().size(); i++) {
+            BXMLItem element = (BXMLItem) value().get(i);
             if (element.getNodeType() != XMLNodeType.ELEMENT) {
                 continue;
             }
@@ -229,10 +257,14 @@ public final class BXMLSequence extends BXML<BRefValueArray> {
      */
     @Override
     public BXML<?> children(BString qname) {
+        if (streamSelection != null) {
+            return new BXMLSequence(streamSelection.children(getQname(qname)));
+        }
+
         BRefValueArray elementsSeq = new BRefValueArray();
         QName name = getQname(qname);
-        for (int i = 0; i < sequence.size(); i++) {
-            BXMLItem element = (BXMLItem) sequence.get(i);
+        for (int i = 0; i < value().size(); i++) {
+            BXMLItem element = (BXMLItem) value().get(i);
             if (element.getNodeType() != XMLNodeType.ELEMENT) {
                 continue;
             }
@@ -252,11 +284,11 @@ public final class BXMLSequence extends BXML<BRefValueArray> {
      */
     @Override
     public void setChildren(BXML<?> seq) {
-        if (sequence.size() != 1) {
+        if (value().size() != 1) {
             throw new BallerinaException("not an " + XMLNodeType.ELEMENT);
         }
         
-        ((BXMLItem) sequence.get(0)).setChildren(seq);
+        ((BXMLItem) value().get(0)).setChildren(seq);
     }
 
     /**
@@ -264,11 +296,11 @@ public final class BXMLSequence extends BXML<BRefValueArray> {
      */
     @Override
     public void addChildren(BXML<?> seq) {
-        if (sequence.size() != 1) {
+        if (value().size() != 1) {
             throw new BallerinaException("not an " + XMLNodeType.ELEMENT);
         }
         
-        ((BXMLItem) sequence.get(0)).addChildren(seq);
+        ((BXMLItem) value().get(0)).addChildren(seq);
     }
 
     /**
@@ -278,8 +310,8 @@ public final class BXMLSequence extends BXML<BRefValueArray> {
     public BXML<?> strip() {
         BRefValueArray elementsSeq = new BRefValueArray();
         int j = 0;
-        for (int i = 0; i < sequence.size(); i++) {
-            BXMLItem element = (BXMLItem) sequence.get(i);
+        for (int i = 0; i < value().size(); i++) {
+            BXMLItem element = (BXMLItem) value().get(i);
             if (element.value() == null || (element.getNodeType() == XMLNodeType.TEXT && 
                     ((OMText) element.value()).getText().trim().isEmpty())) {
                 continue;
@@ -295,7 +327,7 @@ public final class BXMLSequence extends BXML<BRefValueArray> {
      */
     @Override
     public BXML<?> slice(long startIndex, long endIndex) {
-        if (startIndex > this.sequence.size() || endIndex > this.sequence.size()) {
+        if (startIndex > value().size() || endIndex > value().size()) {
             throw new BallerinaException("index out of range: [" + startIndex + "," + endIndex + "]");
         }
         
@@ -304,7 +336,7 @@ public final class BXMLSequence extends BXML<BRefValueArray> {
         }
         
         if (endIndex == -1) {
-            endIndex = sequence.size();
+            endIndex = value().size();
         }
         
         if (startIndex == endIndex) {
@@ -318,7 +350,7 @@ public final class BXMLSequence extends BXML<BRefValueArray> {
         int j = 0;
         BRefValueArray elementsSeq = new BRefValueArray();
         for (long i = startIndex; i < endIndex; i++) {
-            elementsSeq.add(j++, sequence.get(i));
+            elementsSeq.add(j++, value().get(i));
         }
         
         return new BXMLSequence(elementsSeq);
@@ -329,9 +361,13 @@ public final class BXMLSequence extends BXML<BRefValueArray> {
      */
     @Override
     public BXML<?> descendants(BString qname) {
+        if (streamSelection != null) {
+            return new BXMLSequence(streamSelection.descendants(getQname(qname)));
+        }
+
         List<BXML<?>> descendants = new ArrayList<BXML<?>>();
-        for (int i = 0; i < sequence.size(); i++) {
-            BXMLItem element = (BXMLItem) sequence.get(i);
+        for (int i = 0; i < value().size(); i++) {
+            BXMLItem element = (BXMLItem) value().get(i);
             switch (element.getNodeType()) {
                 case ELEMENT:
                     addDescendants(descendants, (OMElement) element.value(), getQname(qname).toString());
@@ -351,8 +387,13 @@ public final class BXMLSequence extends BXML<BRefValueArray> {
      */
     @Override
     public void setOutputStream(OutputStream outputStream) {
-        for (int i = 0; i < sequence.size(); i++) {
-            ((BXML<?>) sequence.get(i)).setOutputStream(outputStream);
+        this.outputStream = outputStream;
+        if (streamSelection != null) {
+            return;
+        }
+
+        for (int i = 0; i < value().size(); i++) {
+            ((BXML<?>) value().get(i)).setOutputStream(outputStream);
         }
     }
     
@@ -361,8 +402,14 @@ public final class BXMLSequence extends BXML<BRefValueArray> {
      */
     @Override
     public void serializeData() {
-        for (int i = 0; i < sequence.size(); i++) {
-            ((BXML<?>) sequence.get(i)).serializeData();
+        if (streamSelection != null) {
+            // The document can be read only once, so the sequence cannot be used after this
+            streamSelection.writeTo(this.outputStream);
+            return;
+        }
+
+        for (int i = 0; i < value().size(); i++) {
+            ((BXML<?>) value().get(i)).serializeData();
         }
     }
 
@@ -371,6 +418,13 @@ public final class BXMLSequence extends BXML<BRefValueArray> {
      */
     @Override
     public BRefValueArray value() {
+        if (streamSelection != null) {
+            sequence = streamSelection.materialize();
+            streamSelection = null;
+            if (outputStream != null) {
+                setOutputStream(outputStream);
+            }
+        }
         return sequence;
     }
 
@@ -381,8 +435,8 @@ public final class BXMLSequence extends BXML<BRefValueArray> {
     public String stringValue() {
         try {
             StringBuilder sb = new StringBuilder();
-            for (int i = 0; i < sequence.size(); i++) {
-                sb.append(sequence.get(i).stringValue());
+            for (int i = 0; i < value().size(); i++) {
+                sb.append(value().get(i).stringValue());
             }
             return sb.toString();
         } catch (Throwable t) {
@@ -396,9 +450,9 @@ public final class BXMLSequence extends BXML<BRefValueArray> {
      */
     @Override
     public BXMLSequence copy() {
-        BRefType[] copiedVals = new BRefType[(int) sequence.size()];
-        for (int i = 0; i < sequence.size(); i++) {
-            copiedVals[i] = ((BXML<?>) sequence.get(i)).copy();
+        BRefType[] copiedVals = new BRefType[(int) value().size()];
+        for (int i = 0; i < value().size(); i++) {
+            copiedVals[i] = ((BXML<?>) value().get(i)).copy();
         }
         return new BXMLSequence(new BRefValueArray(copiedVals));
     }
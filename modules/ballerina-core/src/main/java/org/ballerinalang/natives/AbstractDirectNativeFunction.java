@@ -0,0 +1,57 @@
+/*
+*  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.ballerinalang.natives;
+
+import org.ballerinalang.bre.Context;
+import org.ballerinalang.bre.bvm.NativeCallFrame;
+import org.ballerinalang.model.values.BValue;
+
+/**
+ * {@code AbstractDirectNativeFunction} is a native function which reads its arguments from and writes its return
+ * values to the registers of the caller, through a {@link NativeCallFrame}.
+ * <p>
+ * The VM invokes such a function without allocating a stack frame for it, and without boxing the arguments and the
+ * return values in to {@link BValue}s, which is the bulk of the cost of calling a small native function such as
+ * the math functions. The function is still described by the {@code BallerinaFunction} annotation as usual, and
+ * the callers which invoke it through {@link #execute(Context)} get the same results, boxed.
+ *
+ * @since 0.95
+ */
+public abstract class AbstractDirectNativeFunction extends AbstractNativeFunction {
+
+    /**
+     * Where Native Function logic is implemented.
+     *
+     * @param context Current Context instance
+     * @param frame   call frame to read the arguments from and to write the return values to
+     */
+    public abstract void execute(Context context, NativeCallFrame frame);
+
+    /**
+     * Invoke the function with boxed values, for the callers which invoke native functions through the
+     * {@link AbstractNativeFunction} contract. The arguments are read from the current frame of the context, the
+     * same as by the other native functions.
+     *
+     * @param context Current Context instance
+     * @return Native function return BValue arrays
+     */
+    @Override
+    public BValue[] execute(Context context) {
+        return NativeCallFrame.invoke(this, context);
+    }
+}
@@ -34,4 +34,28 @@ public class Constants {
 
     // Name of the system property to hold the debug port
     public static final String SYSTEM_PROP_BAL_DEBUG = "ballerina.debug";
+
+    // Name of the system property to hold the path of the VM profiler reports
+    public static final String SYSTEM_PROP_BAL_PROFILE = "ballerina.profile";
+
+    // Name of the system property to hold the number of threads used to execute requests
+    public static final String SYSTEM_PROP_EXECUTOR_THREADS = "ballerina.executor.threads";
+
+    // Name of the system property to hold the number of threads used to execute workers
+    public static final String SYSTEM_PROP_WORKER_THREADS = "ballerina.worker.threads";
+
+    // Name of the system property to select the worker scheduler mode
+    public static final String SYSTEM_PROP_WORKER_SCHEDULER = "ballerina.worker.scheduler";
+
+    // Worker scheduler mode in which a worker waiting on a channel holds on to its thread
+    public static final String WORKER_SCHEDULER_BLOCKING = "blocking";
+
+    // Name of the system property to hold the time in milliseconds to wait for a native action to complete
+    public static final String SYSTEM_PROP_ACTION_TIMEOUT = "ballerina.action.timeout";
+
+    // Default time in milliseconds to wait for a native action to complete
+    public static final long DEFAULT_ACTION_TIMEOUT = 300000;
+
+    // Name of the system property to hold the port of the metrics endpoint
+    public static final String SYSTEM_PROP_METRICS_PORT = "ballerina.metrics.port";
 }
@@ -0,0 +1,54 @@
+/*
+*  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.ballerinalang.runtime.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * {@code Counter} is a monotonically increasing count, such as the number of requests served.
+ * <p>
+ * Increments are striped across cells, so that threads recording concurrently don't contend.
+ *
+ * @since 0.95
+ */
+public class Counter implements Metric {
+
+    private final MetricId id;
+    private final LongAdder count = new LongAdder();
+
+    public Counter(MetricId id) {
+        this.id = id;
+    }
+
+    @Override
+    public MetricId getId() {
+        return id;
+    }
+
+    public void increment() {
+        count.increment();
+    }
+
+    public void increment(long amount) {
+        count.add(amount);
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+}
@@ -0,0 +1,75 @@
+/*
+*  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.ballerinalang.runtime.metrics;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * {@code DefaultMetricRegistry} holds the metrics in memory, to be read by the exporters.
+ *
+ * @since 0.95
+ */
+public class DefaultMetricRegistry implements MetricRegistry {
+
+    private final ConcurrentMap<MetricId, Metric> metrics = new ConcurrentHashMap<>();
+
+    @Override
+    public Counter counter(MetricId id) {
+        return getOrCreate(id, Counter.class, Counter::new);
+    }
+
+    @Override
+    public Timer timer(MetricId id) {
+        return getOrCreate(id, Timer.class, Timer::new);
+    }
+
+    @Override
+    public Gauge gauge(MetricId id, LongSupplier value) {
+        Gauge gauge = new Gauge(id, value);
+        metrics.put(id, gauge);
+        return gauge;
+    }
+
+    @Override
+    public void remove(MetricId id) {
+        metrics.remove(id);
+    }
+
+    @Override
+    public Collection<Metric> getMetrics() {
+        return Collections.unmodifiableCollection(metrics.values());
+    }
+
+    private <T extends Metric> T getOrCreate(MetricId id, Class<T> type, Function<MetricId, T> factory) {
+        Metric metric = metrics.get(id);
+        if (metric == null) {
+            metric = metrics.computeIfAbsent(id, factory);
+        }
+
+        if (!type.isInstance(metric)) {
+            throw new IllegalArgumentException("metric " + id + " is already registered as a " +
+                    metric.getClass().getSimpleName());
+        }
+        return type.cast(metric);
+    }
+}
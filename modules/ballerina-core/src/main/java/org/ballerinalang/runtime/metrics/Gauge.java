@@ -0,0 +1,45 @@
+/*
+*  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.ballerinalang.runtime.metrics;
+
+import java.util.function.LongSupplier;
+
+/**
+ * {@code Gauge} is a value sampled when the metrics are read, such as the depth of a queue.
+ *
+ * @since 0.95
+ */
+public class Gauge implements Metric {
+
+    private final MetricId id;
+    private final LongSupplier value;
+
+    public Gauge(MetricId id, LongSupplier value) {
+        this.id = id;
+        this.value = value;
+    }
+
+    @Override
+    public MetricId getId() {
+        return id;
+    }
+
+    public long getValue() {
+        return value.getAsLong();
+    }
+}
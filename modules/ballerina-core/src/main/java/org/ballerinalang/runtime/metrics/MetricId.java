@@ -0,0 +1,95 @@
+/*
+*  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.ballerinalang.runtime.metrics;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+
+/**
+ * {@code MetricId} identifies a metric by its name and its tags.
+ *
+ * @since 0.95
+ */
+public class MetricId {
+
+    private final String name;
+    private final String description;
+    private final Map<String, String> tags;
+
+    /**
+     * Create a metric ID.
+     *
+     * @param name        metric name
+     * @param description description of the metric, which is not part of the identity
+     * @param tags        alternating tag names and values
+     */
+    public MetricId(String name, String description, String... tags) {
+        if (tags.length % 2 != 0) {
+            throw new IllegalArgumentException("tag without a value for metric " + name);
+        }
+
+        this.name = name;
+        this.description = description;
+        Map<String, String> tagMap = new TreeMap<>();
+        for (int i = 0; i < tags.length; i += 2) {
+            tagMap.put(tags[i], tags[i + 1]);
+        }
+        this.tags = Collections.unmodifiableMap(tagMap);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    /**
+     * Get the tags of the metric, sorted by the tag names.
+     *
+     * @return tags
+     */
+    public Map<String, String> getTags() {
+        return tags;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof MetricId)) {
+            return false;
+        }
+        MetricId other = (MetricId) obj;
+        return name.equals(other.name) && tags.equals(other.tags);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(name, tags);
+    }
+
+    @Override
+    public String toString() {
+        return tags.isEmpty() ? name : name + tags;
+    }
+}
@@ -0,0 +1,71 @@
+/*
+*  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.ballerinalang.runtime.metrics;
+
+import java.util.Collection;
+import java.util.function.LongSupplier;
+
+/**
+ * {@code MetricRegistry} creates and holds the metrics of the runtime.
+ * <p>
+ * A registry other than the {@link DefaultMetricRegistry} can be plugged in by providing an implementation as a
+ * {@link java.util.ServiceLoader} service, e.g. to forward the metrics to a monitoring system.
+ *
+ * @since 0.95
+ */
+public interface MetricRegistry {
+
+    /**
+     * Get the counter with the given ID, creating it if it doesn't exist.
+     *
+     * @param id metric ID
+     * @return counter
+     */
+    Counter counter(MetricId id);
+
+    /**
+     * Get the timer with the given ID, creating it if it doesn't exist.
+     *
+     * @param id metric ID
+     * @return timer
+     */
+    Timer timer(MetricId id);
+
+    /**
+     * Register a gauge with the given ID. An existing gauge with the same ID is replaced.
+     *
+     * @param id    metric ID
+     * @param value supplier of the value of the gauge
+     * @return gauge
+     */
+    Gauge gauge(MetricId id, LongSupplier value);
+
+    /**
+     * Remove the metric with the given ID.
+     *
+     * @param id metric ID
+     */
+    void remove(MetricId id);
+
+    /**
+     * Get all the metrics in the registry.
+     *
+     * @return metrics
+     */
+    Collection<Metric> getMetrics();
+}
@@ -0,0 +1,87 @@
+/*
+*  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.ballerinalang.runtime.metrics;
+
+import org.ballerinalang.runtime.Constants;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.Iterator;
+import java.util.ServiceLoader;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * {@code Metrics} gives access to the metric registry of the runtime and starts the metric exporters.
+ *
+ * @since 0.95
+ */
+public class Metrics {
+
+    private static final Logger log = LoggerFactory.getLogger(Metrics.class);
+
+    public static final String JMX_OBJECT_NAME = "org.ballerinalang:type=Metrics";
+
+    private static final MetricRegistry registry = loadRegistry();
+
+    private static MetricsServer metricsServer;
+
+    private Metrics() {
+    }
+
+    public static MetricRegistry getRegistry() {
+        return registry;
+    }
+
+    /**
+     * Expose the metrics through JMX, and through HTTP in the Prometheus text format if a port is given with the
+     * {@value Constants#SYSTEM_PROP_METRICS_PORT} system property.
+     */
+    public static synchronized void startExporters() {
+        MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+        try {
+            ObjectName objectName = new ObjectName(JMX_OBJECT_NAME);
+            if (!mBeanServer.isRegistered(objectName)) {
+                mBeanServer.registerMBean(new MetricsMBean(registry), objectName);
+            }
+        } catch (JMException e) {
+            log.error("cannot register the metrics MBean: " + e.getMessage(), e);
+        }
+
+        Integer port = Integer.getInteger(Constants.SYSTEM_PROP_METRICS_PORT);
+        if (port != null && metricsServer == null) {
+            try {
+                metricsServer = MetricsServer.start(registry, port);
+            } catch (IOException e) {
+                log.error("cannot start the metrics endpoint on port " + port + ": " + e.getMessage(), e);
+            }
+        }
+    }
+
+    private static MetricRegistry loadRegistry() {
+        Iterator<MetricRegistry> registries = ServiceLoader.load(MetricRegistry.class).iterator();
+        if (registries.hasNext()) {
+            return registries.next();
+        }
+        return new DefaultMetricRegistry();
+    }
+}
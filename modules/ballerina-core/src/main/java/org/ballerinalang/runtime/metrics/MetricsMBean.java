@@ -0,0 +1,131 @@
+/*
+*  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.ballerinalang.runtime.metrics;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import javax.management.Attribute;
+import javax.management.AttributeList;
+import javax.management.AttributeNotFoundException;
+import javax.management.DynamicMBean;
+import javax.management.MBeanAttributeInfo;
+import javax.management.MBeanInfo;
+import javax.management.MBeanOperationInfo;
+
+/**
+ * {@code MetricsMBean} exposes the metrics of a registry as read-only JMX attributes.
+ * <p>
+ * Counters and gauges are exposed as an attribute each. A timer is exposed as its count, and its mean, median and
+ * 99th percentile durations in seconds, with the attribute names suffixed by {@code .count}, {@code .mean},
+ * {@code .p50} and {@code .p99}.
+ *
+ * @since 0.95
+ */
+public class MetricsMBean implements DynamicMBean {
+
+    private static final double NANOS_PER_SECOND = 1_000_000_000d;
+
+    private final MetricRegistry registry;
+
+    public MetricsMBean(MetricRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public Object getAttribute(String attribute) throws AttributeNotFoundException {
+        Supplier<Object> value = getAttributes().get(attribute);
+        if (value == null) {
+            throw new AttributeNotFoundException(attribute);
+        }
+        return value.get();
+    }
+
+    @Override
+    public AttributeList getAttributes(String[] attributes) {
+        Map<String, Supplier<Object>> values = getAttributes();
+        AttributeList attributeList = new AttributeList();
+        for (String attribute : attributes) {
+            Supplier<Object> value = values.get(attribute);
+            if (value != null) {
+                attributeList.add(new Attribute(attribute, value.get()));
+            }
+        }
+        return attributeList;
+    }
+
+    @Override
+    public void setAttribute(Attribute attribute) throws AttributeNotFoundException {
+        throw new AttributeNotFoundException("metric " + attribute.getName() + " is read-only");
+    }
+
+    @Override
+    public AttributeList setAttributes(AttributeList attributes) {
+        return new AttributeList();
+    }
+
+    @Override
+    public Object invoke(String actionName, Object[] params, String[] signature) {
+        throw new UnsupportedOperationException("metrics MBean has no operations");
+    }
+
+    @Override
+    public MBeanInfo getMBeanInfo() {
+        List<MBeanAttributeInfo> attributeInfos = new ArrayList<>();
+        for (Metric metric : registry.getMetrics()) {
+            String name = metric.getId().toString();
+            String description = metric.getId().getDescription();
+            if (metric instanceof Timer) {
+                attributeInfos.add(createAttributeInfo(name + ".count", Long.class, description));
+                attributeInfos.add(createAttributeInfo(name + ".mean", Double.class, description));
+                attributeInfos.add(createAttributeInfo(name + ".p50", Double.class, description));
+                attributeInfos.add(createAttributeInfo(name + ".p99", Double.class, description));
+            } else {
+                attributeInfos.add(createAttributeInfo(name, Long.class, description));
+            }
+        }
+        return new MBeanInfo(getClass().getName(), "Ballerina runtime metrics",
+                attributeInfos.toArray(new MBeanAttributeInfo[0]), null, new MBeanOperationInfo[0], null);
+    }
+
+    private Map<String, Supplier<Object>> getAttributes() {
+        Map<String, Supplier<Object>> attributes = new LinkedHashMap<>();
+        for (Metric metric : registry.getMetrics()) {
+            String name = metric.getId().toString();
+            if (metric instanceof Counter) {
+                attributes.put(name, ((Counter) metric)::getCount);
+            } else if (metric instanceof Gauge) {
+                attributes.put(name, ((Gauge) metric)::getValue);
+            } else if (metric instanceof Timer) {
+                Timer timer = (Timer) metric;
+                attributes.put(name + ".count", timer::getCount);
+                attributes.put(name + ".mean", () -> timer.getSnapshot().getMean() / NANOS_PER_SECOND);
+                attributes.put(name + ".p50", () -> timer.getSnapshot().getValueAtQuantile(0.5) / NANOS_PER_SECOND);
+                attributes.put(name + ".p99", () -> timer.getSnapshot().getValueAtQuantile(0.99) / NANOS_PER_SECOND);
+            }
+        }
+        return attributes;
+    }
+
+    private static MBeanAttributeInfo createAttributeInfo(String name, Class<?> type, String description) {
+        return new MBeanAttributeInfo(name, type.getName(), description, true, false, false);
+    }
+}
@@ -0,0 +1,128 @@
+/*
+*  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.ballerinalang.runtime.metrics;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@code PrometheusTextFormatter} writes metrics in the Prometheus text exposition format.
+ * <p>
+ * Counters and gauges are written as they are. Timers are written as summaries, with the quantiles, the sum and the
+ * count, in seconds.
+ *
+ * @since 0.95
+ */
+public class PrometheusTextFormatter {
+
+    public static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+    private static final double[] QUANTILES = {0.5, 0.75, 0.9, 0.99, 0.999};
+    private static final double NANOS_PER_SECOND = 1_000_000_000d;
+
+    private PrometheusTextFormatter() {
+    }
+
+    /**
+     * Write all the metrics in a registry.
+     *
+     * @param registry registry to read the metrics from
+     * @param writer   writer to write the metrics to
+     * @throws IOException if an I/O error occurs
+     */
+    public static void write(MetricRegistry registry, Writer writer) throws IOException {
+        List<Metric> metrics = new ArrayList<>(registry.getMetrics());
+        metrics.sort(Comparator.comparing((Metric metric) -> metric.getId().getName())
+                .thenComparing(metric -> metric.getId().getTags().toString()));
+
+        String lastName = null;
+        for (Metric metric : metrics) {
+            MetricId id = metric.getId();
+            if (!id.getName().equals(lastName)) {
+                lastName = id.getName();
+                writer.write("# HELP " + lastName + " " + escapeHelp(id.getDescription()) + "\n");
+                writer.write("# TYPE " + lastName + " " + getType(metric) + "\n");
+            }
+
+            if (metric instanceof Counter) {
+                writeSample(writer, id.getName(), id.getTags(), null, ((Counter) metric).getCount());
+            } else if (metric instanceof Gauge) {
+                writeSample(writer, id.getName(), id.getTags(), null, ((Gauge) metric).getValue());
+            } else if (metric instanceof Timer) {
+                Timer.Snapshot snapshot = ((Timer) metric).getSnapshot();
+                for (double quantile : QUANTILES) {
+                    writeSample(writer, id.getName(), id.getTags(), Double.toString(quantile),
+                            snapshot.getValueAtQuantile(quantile) / NANOS_PER_SECOND);
+                }
+                writeSample(writer, id.getName() + "_sum", id.getTags(), null,
+                        snapshot.getTotalTime() / NANOS_PER_SECOND);
+                writeSample(writer, id.getName() + "_count", id.getTags(), null, snapshot.getCount());
+            }
+        }
+        writer.flush();
+    }
+
+    private static String getType(Metric metric) {
+        if (metric instanceof Counter) {
+            return "counter";
+        } else if (metric instanceof Gauge) {
+            return "gauge";
+        } else if (metric instanceof Timer) {
+            return "summary";
+        }
+        return "untyped";
+    }
+
+    private static void writeSample(Writer writer, String name, Map<String, String> tags, String quantile,
+                                    Object value) throws IOException {
+        writer.write(name);
+        if (!tags.isEmpty() || quantile != null) {
+            writer.write('{');
+            boolean first = true;
+            for (Map.Entry<String, String> tag : tags.entrySet()) {
+                if (!first) {
+                    writer.write(',');
+                }
+                first = false;
+                writer.write(tag.getKey() + "=\"" + escapeLabelValue(tag.getValue()) + "\"");
+            }
+            if (quantile != null) {
+                if (!first) {
+                    writer.write(',');
+                }
+                writer.write("quantile=\"" + quantile + "\"");
+            }
+            writer.write('}');
+        }
+        writer.write(' ');
+        writer.write(value.toString());
+        writer.write('\n');
+    }
+
+    private static String escapeHelp(String help) {
+        return help.replace("\\", "\\\\").replace("\n", "\\n");
+    }
+
+    private static String escapeLabelValue(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+}
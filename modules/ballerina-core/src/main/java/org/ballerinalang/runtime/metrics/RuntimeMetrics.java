@@ -0,0 +1,76 @@
+/*
+*  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.ballerinalang.runtime.metrics;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * {@code RuntimeMetrics} records the metrics of the Ballerina runtime, which are not specific to a protocol.
+ *
+ * @since 0.95
+ */
+public class RuntimeMetrics {
+
+    private static final LongAdder resourceContextsInFlight = new LongAdder();
+
+    private static final Timer workerChannelWaitTimer = Metrics.getRegistry().timer(new MetricId(
+            "ballerina_worker_channel_wait_seconds", "Time workers waited to receive from a worker data channel"));
+
+    static {
+        Metrics.getRegistry().gauge(new MetricId("ballerina_resource_contexts_in_flight",
+                "Number of resource invocations being executed"), resourceContextsInFlight::sum);
+    }
+
+    private RuntimeMetrics() {
+    }
+
+    public static void resourceContextStarted() {
+        resourceContextsInFlight.increment();
+    }
+
+    public static void resourceContextEnded() {
+        resourceContextsInFlight.decrement();
+    }
+
+    public static Timer getWorkerChannelWaitTimer() {
+        return workerChannelWaitTimer;
+    }
+
+    /**
+     * Register the queue depth and the active thread count of a thread pool.
+     *
+     * @param poolName name of the pool, used as the value of the pool tag
+     * @param executor executor of the pool
+     */
+    public static void registerThreadPool(String poolName, ExecutorService executor) {
+        if (!(executor instanceof ThreadPoolExecutor)) {
+            return;
+        }
+
+        ThreadPoolExecutor threadPool = (ThreadPoolExecutor) executor;
+        MetricRegistry registry = Metrics.getRegistry();
+        registry.gauge(new MetricId("ballerina_thread_pool_queue_depth",
+                "Number of tasks waiting for a thread", "pool", poolName), () -> threadPool.getQueue().size());
+        registry.gauge(new MetricId("ballerina_thread_pool_active_threads",
+                "Number of threads executing tasks", "pool", poolName), threadPool::getActiveCount);
+        registry.gauge(new MetricId("ballerina_thread_pool_threads",
+                "Number of threads in the pool", "pool", poolName), threadPool::getPoolSize);
+    }
+}
@@ -0,0 +1,195 @@
+/*
+*  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.ballerinalang.runtime.metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * {@code Timer} records durations in a histogram, from which the count, the mean and the quantiles are read.
+ * <p>
+ * Like an HDR histogram, the buckets are log-linear: each power of two range is split in to
+ * {@value #SUB_BUCKET_COUNT} linear sub buckets, so a quantile is accurate to within 12.5% for durations from a
+ * nanosecond up to about 18 minutes, with a fixed amount of memory. Recording is lock-free. The bucket counts are
+ * striped by thread, so that threads recording concurrently rarely update the same cache line.
+ *
+ * @since 0.95
+ */
+public class Timer implements Metric {
+
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    private static final int SUB_BUCKET_MASK = SUB_BUCKET_COUNT - 1;
+
+    // Durations from 2^MAX_EXPONENT nanoseconds upwards are counted in the last bucket
+    private static final int MAX_EXPONENT = 40;
+    private static final int BUCKET_COUNT = (MAX_EXPONENT - SUB_BUCKET_BITS + 2) * SUB_BUCKET_COUNT;
+
+    private static final int STRIPE_COUNT = getStripeCount();
+    private static final int STRIPE_MASK = STRIPE_COUNT - 1;
+
+    private final MetricId id;
+    private final AtomicLongArray bucketCounts = new AtomicLongArray(STRIPE_COUNT * BUCKET_COUNT);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder totalTime = new LongAdder();
+
+    public Timer(MetricId id) {
+        this.id = id;
+    }
+
+    @Override
+    public MetricId getId() {
+        return id;
+    }
+
+    /**
+     * Record a duration.
+     *
+     * @param duration duration in nanoseconds
+     */
+    public void record(long duration) {
+        if (duration < 0) {
+            duration = 0;
+        }
+
+        int stripe = (int) Thread.currentThread().getId() & STRIPE_MASK;
+        bucketCounts.incrementAndGet(stripe * BUCKET_COUNT + getBucketIndex(duration));
+        count.increment();
+        totalTime.add(duration);
+    }
+
+    public void record(long duration, TimeUnit unit) {
+        record(unit.toNanos(duration));
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    /**
+     * Get the sum of the recorded durations.
+     *
+     * @return total time in nanoseconds
+     */
+    public long getTotalTime() {
+        return totalTime.sum();
+    }
+
+    /**
+     * Take a snapshot of the histogram, to read the quantiles from.
+     *
+     * @return snapshot of the bucket counts
+     */
+    public Snapshot getSnapshot() {
+        long[] counts = new long[BUCKET_COUNT];
+        for (int stripe = 0; stripe < STRIPE_COUNT; stripe++) {
+            int offset = stripe * BUCKET_COUNT;
+            for (int i = 0; i < BUCKET_COUNT; i++) {
+                counts[i] += bucketCounts.get(offset + i);
+            }
+        }
+        return new Snapshot(counts, totalTime.sum());
+    }
+
+    static int getBucketIndex(long value) {
+        if (value < SUB_BUCKET_COUNT) {
+            return (int) value;
+        }
+
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        if (exponent > MAX_EXPONENT) {
+            return BUCKET_COUNT - 1;
+        }
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKET_COUNT +
+                (int) ((value >>> (exponent - SUB_BUCKET_BITS)) & SUB_BUCKET_MASK);
+    }
+
+    static long getBucketUpperBound(int index) {
+        if (index < SUB_BUCKET_COUNT) {
+            return index;
+        }
+
+        int shift = index / SUB_BUCKET_COUNT - 1;
+        long lowerBound = (long) (SUB_BUCKET_COUNT + (index & SUB_BUCKET_MASK)) << shift;
+        return lowerBound + (1L << shift) - 1;
+    }
+
+    private static int getStripeCount() {
+        int processors = Runtime.getRuntime().availableProcessors();
+        int stripes = 1;
+        while (stripes < processors && stripes < 16) {
+            stripes <<= 1;
+        }
+        return stripes;
+    }
+
+    /**
+     * Bucket counts of a {@link Timer} at a point in time.
+     */
+    public static class Snapshot {
+
+        private final long[] counts;
+        private final long count;
+        private final long totalTime;
+
+        Snapshot(long[] counts, long totalTime) {
+            this.counts = counts;
+            this.totalTime = totalTime;
+            long count = 0;
+            for (long bucketCount : counts) {
+                count += bucketCount;
+            }
+            this.count = count;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public long getTotalTime() {
+            return totalTime;
+        }
+
+        public double getMean() {
+            return count == 0 ? 0 : (double) totalTime / count;
+        }
+
+        /**
+         * Get the duration at the given quantile, i.e. the largest duration in the bucket the quantile falls in.
+         *
+         * @param quantile quantile between 0 and 1
+         * @return duration in nanoseconds
+         */
+        public long getValueAtQuantile(double quantile) {
+            if (count == 0) {
+                return 0;
+            }
+
+            long rank = Math.max(1, (long) Math.ceil(quantile * count));
+            long seen = 0;
+            for (int i = 0; i < counts.length; i++) {
+                seen += counts[i];
+                if (seen >= rank) {
+                    return getBucketUpperBound(i);
+                }
+            }
+            return getBucketUpperBound(counts.length - 1);
+        }
+    }
+}
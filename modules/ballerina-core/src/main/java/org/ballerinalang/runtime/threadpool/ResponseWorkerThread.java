@@ -20,6 +20,8 @@ package org.ballerinalang.runtime.threadpool;
 
 import org.ballerinalang.bre.Context;
 import org.ballerinalang.bre.bvm.BLangVM;
+import org.ballerinalang.bre.bvm.BLangVMWorkers;
+import org.ballerinalang.bre.bvm.WorkerContext;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -39,6 +41,10 @@ public class ResponseWorkerThread implements Runnable {
         BLangVM bLangVM = new BLangVM(context.getProgramFile());
         try {
             bLangVM.run(context);
+            if (context instanceof WorkerContext && !bLangVM.isSuspended()) {
+                // A worker which was resumed has run to its end here
+                BLangVMWorkers.printWorkerError(context, ((WorkerContext) context).getWorkerName());
+            }
         } catch (Exception e) {
             logger.error("unhandled exception ", e);
         }
@@ -18,8 +18,13 @@
 
 package org.ballerinalang.runtime.threadpool;
 
+import org.ballerinalang.runtime.Constants;
+import org.ballerinalang.runtime.metrics.RuntimeMetrics;
+
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
 
 /**
  * {@code ThreadPoolFactory} holds the thread pools in Ballerina engine.
@@ -28,20 +33,54 @@ import java.util.concurrent.Executors;
  */
 public class ThreadPoolFactory {
 
+    private static final int DEFAULT_EXECUTOR_THREADS = 500;
+    private static final int DEFAULT_WORKER_THREADS = 100;
+
     private static ThreadPoolFactory instance = new ThreadPoolFactory();
 
-    //TODO: Make the thread count configurable.
     // Ideally number of threads need to be calculated and spawned intelligently
     // based on the environment and runtime status (CPU Usage, memory, etc).
-    // A configuration parameter which is user configurable is also required.
     // Issue#1929
-    private ExecutorService executorService =  Executors.newFixedThreadPool(500, new BLangThreadFactory("BLangWorker"));
+    private ExecutorService executorService = Executors.newFixedThreadPool(
+            getThreadCount(Constants.SYSTEM_PROP_EXECUTOR_THREADS, DEFAULT_EXECUTOR_THREADS),
+            new BLangThreadFactory("BLangWorker"));
 
-    //TODO: Make the number of threads configurable
-    private ExecutorService workerExecutor = Executors.newFixedThreadPool(100,
+    private ExecutorService workerExecutor = Executors.newFixedThreadPool(
+            getThreadCount(Constants.SYSTEM_PROP_WORKER_THREADS, DEFAULT_WORKER_THREADS),
             new BLangThreadFactory(new ThreadGroup("worker"), "worker-thread-pool"));
 
-    private ThreadPoolFactory(){};
+    // Fires native action timeouts. Cancelled timeouts are removed eagerly as most actions complete in time.
+    private ScheduledExecutorService timeoutScheduler = createTimeoutScheduler();
+
+    /**
+     * Workers waiting on a data channel are parked, releasing their thread, unless the blocking scheduler is
+     * selected explicitly.
+     */
+    private final boolean nonBlockingWorkers = !Constants.WORKER_SCHEDULER_BLOCKING.equalsIgnoreCase(
+            System.getProperty(Constants.SYSTEM_PROP_WORKER_SCHEDULER));
+
+    private ThreadPoolFactory() {
+        RuntimeMetrics.registerThreadPool("executor", executorService);
+        RuntimeMetrics.registerThreadPool("worker", workerExecutor);
+    }
+
+    private static int getThreadCount(String propertyName, int defaultCount) {
+        Integer threadCount = Integer.getInteger(propertyName, defaultCount);
+        if (threadCount <= 0) {
+            throw new IllegalArgumentException("invalid thread count " + threadCount + " for " + propertyName);
+        }
+        return threadCount;
+    }
+
+    private static ScheduledExecutorService createTimeoutScheduler() {
+        ScheduledThreadPoolExecutor scheduler = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "ballerina-action-timeout");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.setRemoveOnCancelPolicy(true);
+        return scheduler;
+    }
 
     public static ThreadPoolFactory getInstance() {
         return instance;
@@ -55,4 +94,12 @@ public class ThreadPoolFactory {
         return workerExecutor;
     }
 
+    public ScheduledExecutorService getTimeoutScheduler() {
+        return timeoutScheduler;
+    }
+
+    public boolean isNonBlockingWorkers() {
+        return nonBlockingWorkers;
+    }
+
 }
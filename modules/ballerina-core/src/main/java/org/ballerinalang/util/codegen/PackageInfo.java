@@ -22,7 +22,12 @@ import org.ballerinalang.util.codegen.attributes.AttributeInfoPool;
 import org.ballerinalang.util.codegen.attributes.LineNumberTableAttributeInfo;
 import org.ballerinalang.util.codegen.cpentries.ConstantPool;
 import org.ballerinalang.util.codegen.cpentries.ConstantPoolEntry;
+import org.ballerinalang.util.codegen.cpentries.FloatCPEntry;
+import org.ballerinalang.util.codegen.cpentries.IntegerCPEntry;
+import org.ballerinalang.util.codegen.cpentries.StringCPEntry;
+import org.ballerinalang.util.exceptions.ProgramFileFormatException;
 
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
@@ -36,6 +41,13 @@ import java.util.Map;
  */
 public class PackageInfo implements ConstantPool, AttributeInfoPool {
 
+    /**
+     * Number of ints occupied by an instruction in the pre-decoded code stream; the opcode followed by at most
+     * four operands. Instruction {@code ip} starts at {@code code[ip * INSTRUCTION_WIDTH]}.
+     */
+    public static final int INSTRUCTION_WIDTH = 5;
+    public static final int MAX_OPERANDS = INSTRUCTION_WIDTH - 1;
+
     private int pkgNameCPIndex;
     private String pkgPath;
     private FunctionInfo initFunctionInfo;
@@ -46,6 +58,16 @@ public class PackageInfo implements ConstantPool, AttributeInfoPool {
     private Instruction[] instructions;
     private List<Instruction> instructionList = new ArrayList<>();
 
+    // Encoded instructions of a lazily loaded package, decoded when the instructions are first used
+    private ByteBuffer encodedCode;
+    private volatile boolean instructionsLoaded;
+
+    // Pre-decoded instructions and constant values used by the VM
+    private int[] code;
+    private long[] intConstants;
+    private double[] floatConstants;
+    private String[] stringConstants;
+
     private Map<String, PackageVarInfo> constantInfoMap = new LinkedHashMap<>();
 
     private Map<String, PackageVarInfo> globalVarInfoMap = new LinkedHashMap<>();
@@ -89,6 +111,11 @@ public class PackageInfo implements ConstantPool, AttributeInfoPool {
         return constantPoolEntries.size() - 1;
     }
 
+    public int appendCPEntry(ConstantPoolEntry cpEntry) {
+        constantPoolEntries.add(cpEntry);
+        return constantPoolEntries.size() - 1;
+    }
+
     public ConstantPoolEntry getCPEntry(int index) {
         return constantPoolEntries.get(index);
     }
@@ -188,10 +215,59 @@ public class PackageInfo implements ConstantPool, AttributeInfoPool {
     }
 
     public Instruction[] getInstructions() {
+        loadInstructions();
         return instructions;
     }
 
+    /**
+     * Set the encoded instructions of this package, to be decoded when they are first used.
+     *
+     * @param encodedCode encoded instructions
+     */
+    public void setEncodedCode(ByteBuffer encodedCode) {
+        this.encodedCode = encodedCode;
+    }
+
+    /**
+     * Returns the instructions of this package flattened into a single stream with inline operands.
+     *
+     * @return the pre-decoded code stream
+     * @see #INSTRUCTION_WIDTH
+     */
+    public int[] getCode() {
+        loadInstructions();
+        return code;
+    }
+
+    /**
+     * Returns the values of the integer constants, indexed by their constant pool index.
+     *
+     * @return integer constant values
+     */
+    public long[] getIntConstants() {
+        return intConstants;
+    }
+
+    /**
+     * Returns the values of the float constants, indexed by their constant pool index.
+     *
+     * @return float constant values
+     */
+    public double[] getFloatConstants() {
+        return floatConstants;
+    }
+
+    /**
+     * Returns the values of the string constants, indexed by their constant pool index.
+     *
+     * @return string constant values
+     */
+    public String[] getStringConstants() {
+        return stringConstants;
+    }
+
     public int getInstructionCount() {
+        loadInstructions();
         return instructionList.size();
     }
 
@@ -243,7 +319,72 @@ public class PackageInfo implements ConstantPool, AttributeInfoPool {
 
     public void complete() {
         this.constPool = constantPoolEntries.toArray(new ConstantPoolEntry[0]);
+        resolveConstants();
+        if (encodedCode == null) {
+            completeInstructions();
+        }
+    }
+
+    private void loadInstructions() {
+        if (instructionsLoaded) {
+            return;
+        }
+
+        synchronized (this) {
+            if (!instructionsLoaded && encodedCode != null) {
+                ProgramFileReader.readInstructions(encodedCode, this);
+                encodedCode = null;
+                completeInstructions();
+            }
+        }
+    }
+
+    private void completeInstructions() {
         this.instructions = instructionList.toArray(new Instruction[0]);
+        decodeInstructions();
+        instructionsLoaded = true;
+    }
+
+    private void resolveConstants() {
+        intConstants = new long[constPool.length];
+        floatConstants = new double[constPool.length];
+        stringConstants = new String[constPool.length];
+        for (int i = 0; i < constPool.length; i++) {
+            ConstantPoolEntry cpEntry = constPool[i];
+            if (cpEntry == null) {
+                continue;
+            }
+
+            switch (cpEntry.getEntryType()) {
+                case CP_ENTRY_INTEGER:
+                    intConstants[i] = ((IntegerCPEntry) cpEntry).getValue();
+                    break;
+                case CP_ENTRY_FLOAT:
+                    floatConstants[i] = ((FloatCPEntry) cpEntry).getValue();
+                    break;
+                case CP_ENTRY_STRING:
+                    stringConstants[i] = ((StringCPEntry) cpEntry).getValue();
+                    break;
+                default:
+                    break;
+            }
+        }
+    }
+
+    private void decodeInstructions() {
+        code = new int[instructions.length * INSTRUCTION_WIDTH];
+        for (int ip = 0; ip < instructions.length; ip++) {
+            Instruction instruction = instructions[ip];
+            int[] operands = instruction.getOperands();
+            if (operands.length > MAX_OPERANDS) {
+                throw new ProgramFileFormatException("too many operands in instruction " +
+                        Mnemonics.getMnem(instruction.getOpcode()) + " in package " + pkgPath);
+            }
+
+            int pc = ip * INSTRUCTION_WIDTH;
+            code[pc] = instruction.getOpcode();
+            System.arraycopy(operands, 0, code, pc + 1, operands.length);
+        }
     }
 
     @Override
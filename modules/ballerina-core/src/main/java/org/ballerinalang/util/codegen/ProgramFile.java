@@ -17,6 +17,7 @@
 */
 package org.ballerinalang.util.codegen;
 
+import org.ballerinalang.bre.bvm.TypeCastCache;
 import org.ballerinalang.model.types.BStructType;
 import org.ballerinalang.model.values.BStruct;
 import org.ballerinalang.model.values.StructureType;
@@ -69,6 +70,9 @@ public class ProgramFile implements ConstantPool, AttributeInfoPool {
 
     private List<AnnAttributeValue> unresolvedAnnAttrValues = new ArrayList<>();
 
+    // Results of the type casts, filled lazily as the program runs
+    private final TypeCastCache typeCastCache = new TypeCastCache(this);
+
     public int getMagicValue() {
         return magicValue;
     }
@@ -132,6 +136,12 @@ public class ProgramFile implements ConstantPool, AttributeInfoPool {
         return constPool.size() - 1;
     }
 
+    @Override
+    public int appendCPEntry(ConstantPoolEntry cpEntry) {
+        constPool.add(cpEntry);
+        return constPool.size() - 1;
+    }
+
     @Override
     public ConstantPoolEntry getCPEntry(int index) {
         return constPool.get(index);
@@ -165,6 +175,10 @@ public class ProgramFile implements ConstantPool, AttributeInfoPool {
         return globalMemoryBlock;
     }
 
+    public TypeCastCache getTypeCastCache() {
+        return typeCastCache;
+    }
+
     // Information about ProgramFile, which are set from outside.
 
     public Path getProgramFilePath() {
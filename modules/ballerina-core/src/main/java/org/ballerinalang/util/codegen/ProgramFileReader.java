@@ -56,12 +56,13 @@ import org.ballerinalang.util.codegen.cpentries.WrkrInteractionArgsCPEntry;
 import org.ballerinalang.util.exceptions.BLangRuntimeException;
 import org.ballerinalang.util.exceptions.ProgramFileFormatException;
 
-import java.io.BufferedInputStream;
-import java.io.ByteArrayInputStream;
 import java.io.DataInputStream;
+import java.io.EOFException;
 import java.io.IOException;
 import java.io.InputStream;
-import java.nio.file.Files;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.file.LinkOption;
 import java.nio.file.Path;
 import java.nio.file.StandardOpenOption;
@@ -83,23 +84,38 @@ import static org.ballerinalang.util.BLangConstants.VERSION_NUMBER;
  */
 public class ProgramFileReader {
 
+    // Size of an encoded line number info entry; line number, file name CP index and the IP
+    private static final int LINE_NUMBER_INFO_SIZE = 12;
+
     private ProgramFile programFile;
 
     private List<ConstantPoolEntry> unresolvedCPEntries = new ArrayList<>();
 
+    // Set when reading a memory mapped program file. Code and line number tables are then decoded on first use.
+    private MappedInputStream mappedInStream;
+
+    /**
+     * Read the program file in the given path. The file is memory mapped and the instructions and line number
+     * tables of packages are decoded only when they are first used.
+     *
+     * @param programFilePath path of the program file
+     * @return the program file
+     * @throws IOException if the program file cannot be read
+     */
     public ProgramFile readProgram(Path programFilePath) throws IOException {
-        InputStream fileIS = null;
+        programFile = new ProgramFile();
+        programFile.setProgramFilePath(programFilePath);
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(programFilePath, StandardOpenOption.READ,
+                LinkOption.NOFOLLOW_LINKS)) {
+            // The mapping stays valid after the channel is closed
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        mappedInStream = new MappedInputStream(buffer);
         try {
-            programFile = new ProgramFile();
-            programFile.setProgramFilePath(programFilePath);
-            fileIS = Files.newInputStream(programFilePath, StandardOpenOption.READ, LinkOption.NOFOLLOW_LINKS);
-            BufferedInputStream bufferedIS = new BufferedInputStream(fileIS);
-            DataInputStream dataInStream = new DataInputStream(bufferedIS);
-            return readProgramInternal(dataInStream);
+            return readProgramInternal(new DataInputStream(mappedInStream));
         } finally {
-            if (fileIS != null) {
-                fileIS.close();
-            }
+            mappedInStream = null;
         }
     }
 
@@ -153,7 +169,7 @@ public class ProgramFileReader {
             byte cpTag = dataInStream.readByte();
             ConstantPoolEntry.EntryType cpEntryType = ConstantPoolEntry.EntryType.values()[cpTag - 1];
             ConstantPoolEntry cpEntry = readCPEntry(dataInStream, constantPool, cpEntryType);
-            constantPool.addCPEntry(cpEntry);
+            constantPool.appendCPEntry(cpEntry);
         }
     }
 
@@ -1066,6 +1082,12 @@ public class ProgramFileReader {
             case LINE_NUMBER_TABLE_ATTRIBUTE:
                 LineNumberTableAttributeInfo lnNoTblAttrInfo = new LineNumberTableAttributeInfo(attribNameCPIndex);
                 int lineNoInfoCount = dataInStream.readShort();
+                if (mappedInStream != null) {
+                    // Entries are of fixed size, hence they are left encoded until the table is used
+                    lnNoTblAttrInfo.setEncodedEntries(mappedInStream.slice(lineNoInfoCount * LINE_NUMBER_INFO_SIZE),
+                            lineNoInfoCount, (PackageInfo) constantPool);
+                    return lnNoTblAttrInfo;
+                }
                 for (int i = 0; i < lineNoInfoCount; i++) {
                     LineNumberInfo lineNumberInfo = getLineNumberInfo(dataInStream, constantPool);
                     lnNoTblAttrInfo.addLineNumberInfo(lineNumberInfo);
@@ -1226,13 +1248,27 @@ public class ProgramFileReader {
     private void readInstructions(DataInputStream dataInStream,
                                   PackageInfo packageInfo) throws IOException {
         int codeLength = dataInStream.readInt();
+        if (mappedInStream != null) {
+            // Instructions are decoded when the package is first executed
+            packageInfo.setEncodedCode(mappedInStream.slice(codeLength));
+            return;
+        }
+
         byte[] code = new byte[codeLength];
-        // Ignore bytes read should be same as the code length.
-        dataInStream.read(code);
-        DataInputStream codeStream = new DataInputStream(new ByteArrayInputStream(code));
-        while (codeStream.available() > 0) {
+        dataInStream.readFully(code);
+        readInstructions(ByteBuffer.wrap(code), packageInfo);
+    }
+
+    /**
+     * Decode the given instructions and add them to the package.
+     *
+     * @param codeStream  encoded instructions
+     * @param packageInfo package the instructions belong to
+     */
+    static void readInstructions(ByteBuffer codeStream, PackageInfo packageInfo) {
+        while (codeStream.hasRemaining()) {
             int i, j, k, h;
-            int opcode = codeStream.readUnsignedByte();
+            int opcode = codeStream.get() & 0xFF;
             switch (opcode) {
                 case InstructionCodes.HALT:
                 case InstructionCodes.RET:
@@ -1264,7 +1300,7 @@ public class ProgramFileReader {
                 case InstructionCodes.NEWJSON:
                 case InstructionCodes.NEWMAP:
                 case InstructionCodes.NEWDATATABLE:
-                    i = codeStream.readInt();
+                    i = codeStream.getInt();
                     packageInfo.addInstruction(InstructionFactory.get(opcode, i));
                     break;
 
@@ -1336,8 +1372,8 @@ public class ProgramFileReader {
                 case InstructionCodes.LENGTHOFJSON:
                 case InstructionCodes.TYPEOF:
                 case InstructionCodes.TYPELOAD:
-                    i = codeStream.readInt();
-                    j = codeStream.readInt();
+                    i = codeStream.getInt();
+                    j = codeStream.getInt();
                     packageInfo.addInstruction(InstructionFactory.get(opcode, i, j));
                     break;
 
@@ -1450,9 +1486,9 @@ public class ProgramFileReader {
                 case InstructionCodes.NEWXMLPI:
                 case InstructionCodes.TEQ:
                 case InstructionCodes.TNE:
-                    i = codeStream.readInt();
-                    j = codeStream.readInt();
-                    k = codeStream.readInt();
+                    i = codeStream.getInt();
+                    j = codeStream.getInt();
+                    k = codeStream.getInt();
                     packageInfo.addInstruction(InstructionFactory.get(opcode, i, j, k));
                     break;
 
@@ -1463,10 +1499,10 @@ public class ProgramFileReader {
                 case InstructionCodes.JSON2T:
                 case InstructionCodes.NEWQNAME:
                 case InstructionCodes.NEWXMLELEMENT:
-                    i = codeStream.readInt();
-                    j = codeStream.readInt();
-                    k = codeStream.readInt();
-                    h = codeStream.readInt();
+                    i = codeStream.getInt();
+                    j = codeStream.getInt();
+                    k = codeStream.getInt();
+                    h = codeStream.getInt();
                     packageInfo.addInstruction(InstructionFactory.get(opcode, i, j, k, h));
                     break;
                 default:
@@ -1604,4 +1640,59 @@ public class ProgramFileReader {
         }
         return defaultValue;
     }
+
+    /**
+     * An {@code InputStream} over a memory mapped program file, which can hand out views of sections of the file.
+     */
+    private static class MappedInputStream extends InputStream {
+
+        private final ByteBuffer buffer;
+
+        MappedInputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        /**
+         * Returns a view of the next {@code length} bytes and skips them.
+         */
+        ByteBuffer slice(int length) throws IOException {
+            if (length < 0 || length > buffer.remaining()) {
+                throw new EOFException();
+            }
+            ByteBuffer section = buffer.slice();
+            section.limit(length);
+            buffer.position(buffer.position() + length);
+            return section;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) {
+            if (length == 0) {
+                return 0;
+            }
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+            int count = Math.min(length, buffer.remaining());
+            buffer.get(bytes, offset, count);
+            return count;
+        }
+
+        @Override
+        public long skip(long n) {
+            int count = (int) Math.max(0, Math.min(n, buffer.remaining()));
+            buffer.position(buffer.position() + count);
+            return count;
+        }
+
+        @Override
+        public int available() {
+            return buffer.remaining();
+        }
+    }
 }
@@ -18,9 +18,13 @@
 package org.ballerinalang.util.codegen;
 
 import org.ballerinalang.model.types.BType;
+import org.ballerinalang.runtime.metrics.RuntimeMetrics;
+import org.ballerinalang.runtime.metrics.Timer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayDeque;
+import java.util.Queue;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.TimeUnit;
@@ -44,6 +48,11 @@ public class WorkerDataChannelInfo {
     private int dataChannelRefIndex;
 
     private BlockingQueue<Object[]> channel;
+
+    // Receivers parked on this channel, waiting to be resumed when data arrives. Guarded by this.
+    private final Queue<Runnable> parkedReceivers = new ArrayDeque<>();
+    // Receivers resumed by data put in to this channel, which have yet to retry the receive. Guarded by this.
+    private int resumedReceives;
     private BType[] types;
     private static final Logger log = LoggerFactory.getLogger(WorkerDataChannelInfo.class);
 
@@ -56,24 +65,63 @@ public class WorkerDataChannelInfo {
     }
 
     public void putData(Object[] data) {
-        try {
-            if (data != null) {
-                channel.put(data);
+        if (data == null) {
+            return;
+        }
+
+        Runnable receiver;
+        synchronized (this) {
+            // Unbounded queue, hence never waits
+            channel.offer(data);
+            receiver = parkedReceivers.poll();
+            if (receiver != null) {
+                resumedReceives++;
             }
-        } catch (InterruptedException e) {
-            // Handle the error properly
-            log.error("Error occurred when inserting data to the channel");
+        }
+        if (receiver != null) {
+            receiver.run();
+        }
+    }
+
+    /**
+     * Take data from the channel without waiting. If the channel is empty the given receiver is parked on the
+     * channel and it is run once data is put in to the channel. The receiver is expected to retry the receive.
+     *
+     * @param receiver receiver to be resumed when data is available
+     * @return data from the channel or {@code null} if the receiver was parked
+     */
+    public Object[] takeDataOrPark(Runnable receiver) {
+        Timer waitTimer = RuntimeMetrics.getWorkerChannelWaitTimer();
+        synchronized (this) {
+            // The wait of a resumed receive has been recorded when it was resumed
+            boolean resumed = resumedReceives > 0;
+            if (resumed) {
+                resumedReceives--;
+            }
+            Object[] data = channel.poll();
+            if (data == null) {
+                long parkTime = System.nanoTime();
+                parkedReceivers.add(() -> {
+                    waitTimer.record(System.nanoTime() - parkTime);
+                    receiver.run();
+                });
+            } else if (!resumed) {
+                waitTimer.record(0);
+            }
+            return data;
         }
     }
 
     public Object[] takeData() {
         Object[] data = null;
+        long startTime = System.nanoTime();
         try {
             data = channel.poll(60, TimeUnit.SECONDS);
         } catch (InterruptedException e) {
             // Handle the error properly
             log.error("Error occurred when taking data from the channel");
         }
+        RuntimeMetrics.getWorkerChannelWaitTimer().record(System.nanoTime() - startTime);
         return data;
     }
 
@@ -18,7 +18,10 @@
 package org.ballerinalang.util.codegen.attributes;
 
 import org.ballerinalang.util.codegen.LineNumberInfo;
+import org.ballerinalang.util.codegen.PackageInfo;
+import org.ballerinalang.util.codegen.cpentries.UTF8CPEntry;
 
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -34,6 +37,11 @@ public class LineNumberTableAttributeInfo implements AttributeInfo {
 
     private List<LineNumberInfo> lineNumberInfos = new ArrayList<>();
 
+    // Encoded entries of a lazily loaded program, decoded when the table is first used
+    private ByteBuffer encodedEntries;
+    private int encodedEntryCount;
+    private PackageInfo packageInfo;
+
     public LineNumberTableAttributeInfo(int attributeNameIndex) {
         this.attributeNameIndex = attributeNameIndex;
     }
@@ -42,14 +50,46 @@ public class LineNumberTableAttributeInfo implements AttributeInfo {
         lineNumberInfos.add(lineNumberInfo);
     }
 
+    /**
+     * Set the encoded entries of this table, to be decoded when the table is first used.
+     *
+     * @param encodedEntries encoded line number info entries
+     * @param entryCount     number of entries
+     * @param packageInfo    package which holds the file names of the entries in its constant pool
+     */
+    public void setEncodedEntries(ByteBuffer encodedEntries, int entryCount, PackageInfo packageInfo) {
+        this.encodedEntries = encodedEntries;
+        this.encodedEntryCount = entryCount;
+        this.packageInfo = packageInfo;
+    }
+
     public LineNumberInfo[] getLineNumberInfoEntries() {
-        return lineNumberInfos.toArray(new LineNumberInfo[0]);
+        return getLineNumberInfoList().toArray(new LineNumberInfo[0]);
     }
 
-    public List<LineNumberInfo> getLineNumberInfoList() {
+    public synchronized List<LineNumberInfo> getLineNumberInfoList() {
+        if (encodedEntries != null) {
+            decodeEntries();
+        }
         return lineNumberInfos;
     }
 
+    private void decodeEntries() {
+        for (int i = 0; i < encodedEntryCount; i++) {
+            int lineNumber = encodedEntries.getInt();
+            int fileNameCPIndex = encodedEntries.getInt();
+            int ip = encodedEntries.getInt();
+
+            UTF8CPEntry fileNameCPEntry = (UTF8CPEntry) packageInfo.getCPEntry(fileNameCPIndex);
+            LineNumberInfo lineNumberInfo = new LineNumberInfo(lineNumber, fileNameCPIndex,
+                    fileNameCPEntry.getValue(), ip);
+            lineNumberInfo.setPackageInfo(packageInfo);
+            lineNumberInfos.add(lineNumberInfo);
+        }
+        encodedEntries = null;
+        packageInfo = null;
+    }
+
     @Override
     public Kind getKind() {
         return Kind.LINE_NUMBER_TABLE_ATTRIBUTE;
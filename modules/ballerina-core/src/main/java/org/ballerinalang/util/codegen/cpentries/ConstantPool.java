@@ -27,6 +27,15 @@ public interface ConstantPool {
 
     int addCPEntry(ConstantPoolEntry cpEntry);
 
+    /**
+     * Append an entry read from a program file. Entries of a program file are already unique, hence unlike
+     * {@link #addCPEntry(ConstantPoolEntry)} the pool is not searched for an equal entry.
+     *
+     * @param cpEntry constant pool entry
+     * @return index of the entry
+     */
+    int appendCPEntry(ConstantPoolEntry cpEntry);
+
     ConstantPoolEntry getCPEntry(int index);
 
     int getCPEntryIndex(ConstantPoolEntry cpEntry);
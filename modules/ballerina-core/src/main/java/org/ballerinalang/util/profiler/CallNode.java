@@ -0,0 +1,116 @@
+/*
+*  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.ballerinalang.util.profiler;
+
+import org.ballerinalang.util.codegen.ActionInfo;
+import org.ballerinalang.util.codegen.CallableUnitInfo;
+import org.ballerinalang.util.codegen.ResourceInfo;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * {@code CallNode} represents a callable unit in the calling context tree recorded by the {@link VMProfiler}.
+ * <p>
+ * A callable unit has a separate node for each distinct call path it is invoked through, which is what the collapsed
+ * stacks of a flame graph are made of.
+ *
+ * @since 0.95
+ */
+public class CallNode {
+
+    private final CallableUnitInfo callableUnitInfo;
+    private final String name;
+    private final Map<CallableUnitInfo, CallNode> children = Collections.synchronizedMap(new IdentityHashMap<>());
+
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder totalTime = new LongAdder();
+    private final LongAdder selfTime = new LongAdder();
+
+    CallNode(CallableUnitInfo callableUnitInfo) {
+        this.callableUnitInfo = callableUnitInfo;
+        this.name = callableUnitInfo == null ? "" : getName(callableUnitInfo);
+    }
+
+    /**
+     * Get the node of a callable unit invoked by the callable unit of this node.
+     *
+     * @param callableUnitInfo callee
+     * @return node of the callee
+     */
+    public CallNode getChild(CallableUnitInfo callableUnitInfo) {
+        return children.computeIfAbsent(callableUnitInfo, CallNode::new);
+    }
+
+    /**
+     * Record a completed invocation.
+     *
+     * @param time wall clock time of the invocation in nanoseconds
+     * @param ownTime part of the time not spent in the callees, in nanoseconds
+     */
+    public void record(long time, long ownTime) {
+        calls.increment();
+        totalTime.add(time);
+        selfTime.add(ownTime);
+    }
+
+    public CallableUnitInfo getCallableUnitInfo() {
+        return callableUnitInfo;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public List<CallNode> getChildren() {
+        synchronized (children) {
+            return new ArrayList<>(children.values());
+        }
+    }
+
+    public long getCalls() {
+        return calls.sum();
+    }
+
+    public long getTotalTime() {
+        return totalTime.sum();
+    }
+
+    public long getSelfTime() {
+        return selfTime.sum();
+    }
+
+    private static String getName(CallableUnitInfo callableUnitInfo) {
+        String name = callableUnitInfo.getName();
+        if (callableUnitInfo instanceof ResourceInfo) {
+            name = ((ResourceInfo) callableUnitInfo).getServiceInfo().getName() + "." + name;
+        } else if (callableUnitInfo instanceof ActionInfo) {
+            name = ((ActionInfo) callableUnitInfo).getConnectorInfo().getName() + "." + name;
+        }
+
+        String pkgPath = callableUnitInfo.getPkgPath();
+        if (pkgPath == null || ".".equals(pkgPath)) {
+            return name;
+        }
+        return pkgPath + ":" + name;
+    }
+}
@@ -0,0 +1,288 @@
+/*
+*  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.ballerinalang.util.profiler;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import org.ballerinalang.util.codegen.ActionInfo;
+import org.ballerinalang.util.codegen.CallableUnitInfo;
+import org.ballerinalang.util.codegen.InstructionCodes;
+import org.ballerinalang.util.codegen.Mnemonics;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * {@code VMProfiler} collects execution statistics of the Ballerina VM while profiling is active.
+ * <p>
+ * The VM checks whether profiling is active once per run, and while it is not, nothing is recorded. While it is
+ * active the VM records,
+ * <ul>
+ *     <li>the number of times each opcode is executed,</li>
+ *     <li>the calls and the wall clock time of each callable unit, including native functions and native actions,
+ *     per call path,</li>
+ *     <li>the number of structs, maps and JSON values allocated by the VM instructions.</li>
+ * </ul>
+ * Times include the time a worker spends waiting on a native action or on a worker data channel.
+ * The results can be written as collapsed stacks, which can be rendered with flame graph tools, and as a JSON report.
+ *
+ * @since 0.95
+ */
+public class VMProfiler {
+
+    public static final String JSON_REPORT_SUFFIX = ".json";
+    public static final String COLLAPSED_STACKS_SUFFIX = ".collapsed";
+
+    private static final VMProfiler profilerInstance = new VMProfiler();
+
+    private volatile boolean profilingActive;
+
+    private volatile CallNode rootNode = new CallNode(null);
+
+    private volatile AtomicLongArray opcodeCounts = new AtomicLongArray(InstructionCodes.INSTRUCTION_CODE_COUNT);
+
+    private VMProfiler() {
+    }
+
+    public static VMProfiler getInstance() {
+        return profilerInstance;
+    }
+
+    public boolean isProfilingActive() {
+        return profilingActive;
+    }
+
+    /**
+     * Start profiling. Runs of the VM which start after this are profiled.
+     */
+    public void start() {
+        profilingActive = true;
+    }
+
+    public void stop() {
+        profilingActive = false;
+    }
+
+    /**
+     * Discard the statistics recorded so far.
+     */
+    public void reset() {
+        rootNode = new CallNode(null);
+        opcodeCounts = new AtomicLongArray(InstructionCodes.INSTRUCTION_CODE_COUNT);
+    }
+
+    /**
+     * Get the root of the calling context tree. Callable units invoked from outside the VM are children of the root.
+     *
+     * @return root node
+     */
+    public CallNode getRootNode() {
+        return rootNode;
+    }
+
+    /**
+     * Add the opcode counts of a VM run.
+     *
+     * @param counts number of times each opcode was executed, indexed by the opcode
+     */
+    public void addOpcodeCounts(long[] counts) {
+        AtomicLongArray opcodeCounts = this.opcodeCounts;
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] != 0) {
+                opcodeCounts.addAndGet(i, counts[i]);
+            }
+        }
+    }
+
+    public long getOpcodeCount(int opcode) {
+        return opcodeCounts.get(opcode);
+    }
+
+    /**
+     * Write the JSON report and the collapsed stacks, to files named by appending {@value #JSON_REPORT_SUFFIX} and
+     * {@value #COLLAPSED_STACKS_SUFFIX} to the given path.
+     *
+     * @param reportPath path of the reports without the file extension
+     * @throws IOException if the reports cannot be written
+     */
+    public void writeReports(Path reportPath) throws IOException {
+        String fileName = reportPath.getFileName().toString();
+        try (Writer writer = Files.newBufferedWriter(reportPath.resolveSibling(fileName + JSON_REPORT_SUFFIX),
+                StandardCharsets.UTF_8)) {
+            writeJSONReport(writer);
+        }
+        try (Writer writer = Files.newBufferedWriter(reportPath.resolveSibling(fileName + COLLAPSED_STACKS_SUFFIX),
+                StandardCharsets.UTF_8)) {
+            writeCollapsedStacks(writer);
+        }
+    }
+
+    /**
+     * Write the self time of each call path in the collapsed stack format, i.e. one line per call path with the
+     * semicolon separated callable unit names followed by the time in nanoseconds.
+     *
+     * @param writer writer to write the stacks to
+     * @throws IOException if an I/O error occurs
+     */
+    public void writeCollapsedStacks(Writer writer) throws IOException {
+        for (CallNode child : rootNode.getChildren()) {
+            writeCollapsedStacks(writer, child, child.getName());
+        }
+        writer.flush();
+    }
+
+    private void writeCollapsedStacks(Writer writer, CallNode node, String stack) throws IOException {
+        long selfTime = node.getSelfTime();
+        if (selfTime > 0) {
+            writer.write(stack);
+            writer.write(' ');
+            writer.write(Long.toString(selfTime));
+            writer.write('\n');
+        }
+
+        for (CallNode child : node.getChildren()) {
+            writeCollapsedStacks(writer, child, stack + ";" + child.getName());
+        }
+    }
+
+    /**
+     * Write the opcode counts, the allocation counts and the statistics of each callable unit as a JSON object. Times
+     * are in nanoseconds.
+     *
+     * @param writer writer to write the report to
+     * @throws IOException if an I/O error occurs
+     */
+    public void writeJSONReport(Writer writer) throws IOException {
+        Map<String, CallableUnitStats> callableUnitStats = new LinkedHashMap<>();
+        for (CallNode child : rootNode.getChildren()) {
+            aggregate(child, callableUnitStats, new HashSet<>());
+        }
+        List<CallableUnitStats> statsList = new ArrayList<>(callableUnitStats.values());
+        statsList.sort(Comparator.comparingLong((CallableUnitStats stats) -> stats.selfTime).reversed());
+
+        try (JsonGenerator generator = new JsonFactory().createGenerator(writer)) {
+            generator.useDefaultPrettyPrinter();
+            generator.writeStartObject();
+
+            generator.writeObjectFieldStart("opcodes");
+            AtomicLongArray opcodeCounts = this.opcodeCounts;
+            for (int opcode = 0; opcode < opcodeCounts.length(); opcode++) {
+                long count = opcodeCounts.get(opcode);
+                if (count > 0) {
+                    generator.writeNumberField(Mnemonics.getMnem(opcode), count);
+                }
+            }
+            generator.writeEndObject();
+
+            generator.writeObjectFieldStart("allocations");
+            generator.writeNumberField("struct", opcodeCounts.get(InstructionCodes.NEWSTRUCT));
+            generator.writeNumberField("map", opcodeCounts.get(InstructionCodes.NEWMAP));
+            generator.writeNumberField("json", opcodeCounts.get(InstructionCodes.NEWJSON) +
+                    opcodeCounts.get(InstructionCodes.JSONNEWARRAY));
+            generator.writeEndObject();
+
+            writeCallableUnitStats(generator, "callableUnits", statsList, CallableUnitKind.CALLABLE_UNIT);
+            writeCallableUnitStats(generator, "nativeFunctions", statsList, CallableUnitKind.NATIVE_FUNCTION);
+            writeCallableUnitStats(generator, "nativeActions", statsList, CallableUnitKind.NATIVE_ACTION);
+
+            generator.writeEndObject();
+        }
+    }
+
+    private void aggregate(CallNode node, Map<String, CallableUnitStats> callableUnitStats, Set<String> callPath) {
+        String name = node.getName();
+        CallableUnitStats stats = callableUnitStats.computeIfAbsent(name,
+                key -> new CallableUnitStats(key, getKind(node.getCallableUnitInfo())));
+        stats.calls += node.getCalls();
+        stats.selfTime += node.getSelfTime();
+
+        // The time of a recursive call is already included in the total time of the outermost call.
+        boolean recursive = !callPath.add(name);
+        if (!recursive) {
+            stats.totalTime += node.getTotalTime();
+        }
+
+        for (CallNode child : node.getChildren()) {
+            aggregate(child, callableUnitStats, callPath);
+        }
+
+        if (!recursive) {
+            callPath.remove(name);
+        }
+    }
+
+    private void writeCallableUnitStats(JsonGenerator generator, String fieldName, List<CallableUnitStats> statsList,
+                                        CallableUnitKind kind) throws IOException {
+        generator.writeArrayFieldStart(fieldName);
+        for (CallableUnitStats stats : statsList) {
+            if (stats.kind != kind) {
+                continue;
+            }
+
+            generator.writeStartObject();
+            generator.writeStringField("name", stats.name);
+            generator.writeNumberField("calls", stats.calls);
+            generator.writeNumberField("totalTime", stats.totalTime);
+            generator.writeNumberField("selfTime", stats.selfTime);
+            generator.writeNumberField("averageTime", stats.calls == 0 ? 0 : stats.totalTime / stats.calls);
+            generator.writeEndObject();
+        }
+        generator.writeEndArray();
+    }
+
+    private static CallableUnitKind getKind(CallableUnitInfo callableUnitInfo) {
+        if (!callableUnitInfo.isNative()) {
+            return CallableUnitKind.CALLABLE_UNIT;
+        }
+        return callableUnitInfo instanceof ActionInfo ? CallableUnitKind.NATIVE_ACTION :
+                CallableUnitKind.NATIVE_FUNCTION;
+    }
+
+    private enum CallableUnitKind {
+        CALLABLE_UNIT,
+        NATIVE_FUNCTION,
+        NATIVE_ACTION
+    }
+
+    /**
+     * Statistics of a callable unit aggregated over all of its call paths.
+     */
+    private static class CallableUnitStats {
+        final String name;
+        final CallableUnitKind kind;
+        long calls;
+        long totalTime;
+        long selfTime;
+
+        CallableUnitStats(String name, CallableUnitKind kind) {
+            this.name = name;
+            this.kind = kind;
+        }
+    }
+}
@@ -45,6 +45,11 @@ public native function <Request req> getJsonPayload () (json);
 @doc:Return { value:"xml: The XML representation of the message payload" }
 public native function <Request req> getXmlPayload () (xml);
 
+@doc:Description { value:"Gets the message payload in XML format, streamed as it is used. The payload can be used only once"}
+@doc:Param { value:"req: The request message" }
+@doc:Return { value:"xml: The XML representation of the message payload" }
+public native function <Request req> getXmlPayloadStream () (xml);
+
 @doc:Description { value:"Gets the message payload in BLOB format"}
 @doc:Param { value:"req: A request message" }
 @doc:Return { value:"json: The BLOB reresentation of the message payload" }
@@ -160,6 +165,11 @@ public native function <Response res> getJsonPayload () (json);
 @doc:Return { value:"xml: The XML representation of the message payload" }
 public native function <Response res> getXmlPayload () (xml);
 
+@doc:Description { value:"Gets the message payload in XML format, streamed as it is used. The payload can be used only once"}
+@doc:Param { value:"res: The response message" }
+@doc:Return { value:"xml: The XML representation of the message payload" }
+public native function <Response res> getXmlPayloadStream () (xml);
+
 @doc:Description { value:"Gets the message payload in BLOB format"}
 @doc:Param { value:"res: The response message" }
 @doc:Return { value:"json: The BLOB reresentation of the message payload" }
@@ -82,11 +82,44 @@ public native function <Connection conn> pushText(string text);
 @doc:Param {value:"data: Binary data which should be sent"}
 public native function <Connection conn> pushBinary(blob data);
 
+@doc:Description {value:"Push text to the connection without waiting for it to be sent"}
+@doc:Param {value:"text: Text which should be sent"}
+@doc:Return {value:"boolean: true if more data can be pushed, false if the connection has too much data waiting to be sent"}
+public native function <Connection conn> pushTextAsync(string text) (boolean);
+
+@doc:Description {value:"Push binary data to the connection without waiting for it to be sent"}
+@doc:Param {value:"data: Binary data which should be sent"}
+@doc:Return {value:"boolean: true if more data can be pushed, false if the connection has too much data waiting to be sent"}
+public native function <Connection conn> pushBinaryAsync(blob data) (boolean);
+
+@doc:Description {value:"Get the amount of data pushed asynchronously to the connection which is not sent yet"}
+@doc:Return {value:"int: Number of bytes waiting to be sent"}
+public native function <Connection conn> getBufferedAmount() (int);
+
+@doc:Description {value:"Add the connection to a group, so that it receives the messages broadcast to the group"}
+@doc:Param {value:"groupName: Name of the group"}
+public native function <Connection conn> joinGroup(string groupName);
+
+@doc:Description {value:"Remove the connection from a group"}
+@doc:Param {value:"groupName: Name of the group"}
+public native function <Connection conn> leaveGroup(string groupName);
+
 @doc:Description {value:"Close the connection"}
 @doc:Param {value:"statusCode: Status code for closing the connection"}
 @doc:Param {value:"reason: Reason for closing the connection"}
 public native function <Connection conn> closeConnection(int statusCode, string reason);
 
+@doc:Description {value:"Push text to all the connections of a group without waiting for it to be sent. Connections with too much data waiting to be sent are skipped"}
+@doc:Param {value:"groupName: Name of the group"}
+@doc:Param {value:"text: Text which should be sent"}
+@doc:Return {value:"int: Number of connections the text was pushed to"}
+public native function broadcastText(string groupName, string text) (int);
+
+@doc:Description {value:"Push binary data to all the connections of a group without waiting for it to be sent. Connections with too much data waiting to be sent are skipped"}
+@doc:Param {value:"groupName: Name of the group"}
+@doc:Param {value:"data: Binary data which should be sent"}
+@doc:Return {value:"int: Number of connections the data was pushed to"}
+public native function broadcastBinary(string groupName, blob data) (int);
 
 @doc:Description {value:"Configuration struct for WebSocket client connection"}
 public struct ClientConnectorConfig {
@@ -39,7 +39,10 @@ public class BallerinaHTTPConnectorListener implements HttpConnectorListener {
 
     @Override
     public void onMessage(HTTPCarbonMessage httpCarbonMessage) {
+        long startTime = System.nanoTime();
         Resource resource = HttpDispatcher.findResource(httpCarbonMessage);
+        HttpMetrics.ResourceMetrics resourceMetrics = HttpMetrics.getResourceMetrics(resource);
+        resourceMetrics.requestReceived();
         //TODO below should be fixed properly
         //basically need to find a way to pass information from server connector side to client connector side
         Map<String, Object> properties = null;
@@ -49,7 +52,8 @@ public class BallerinaHTTPConnectorListener implements HttpConnectorListener {
         }
         BValue[] signatureParams = HttpDispatcher.getSignatureParameters(resource, httpCarbonMessage);
         ConnectorFuture future = Executor.submit(resource, properties, signatureParams);
-        ConnectorFutureListener futureListener = new HttpConnectorFutureListener(httpCarbonMessage, signatureParams[0]);
+        ConnectorFutureListener futureListener = new HttpConnectorFutureListener(httpCarbonMessage, signatureParams[0],
+                resourceMetrics, startTime);
         future.setConnectorFutureListener(futureListener);
     }
 
@@ -135,6 +135,15 @@ public class Constants {
     public static final String HTTP_SESSION = "http_session";
 
     public static final String HTTP_TRANSPORT_CONF = "transports.netty.conf";
+
+    /* Client connector pool */
+    public static final String HTTP_CLIENT_ENDPOINT = "HTTP_CLIENT_ENDPOINT";
+    public static final String HTTP_CLIENT_MAX_CONNECTIONS_PER_ROUTE = "ballerina.http.client.maxConnectionsPerRoute";
+    public static final String HTTP_CLIENT_IDLE_TIMEOUT = "ballerina.http.client.idleTimeout";
+    public static final long DEFAULT_HTTP_CLIENT_IDLE_TIMEOUT = 300000;
+    // Transport properties of the client connection pool, which is shared by all client connectors
+    public static final String TRP_MAX_ACTIVE_CONNECTIONS_PER_POOL = "client.max.active.connections.per.pool";
+    public static final String TRP_MIN_EVICTION_IDLE_TIME = "client.min.eviction.idle.time";
     public static final String CIPHERS = "ciphers";
     public static final String SSL_ENABLED_PROTOCOLS = "sslEnabledProtocols";
     public static final int OPTIONS_STRUCT_INDEX = 0;
@@ -0,0 +1,186 @@
+/*
+*  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.ballerinalang.net.http;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.wso2.carbon.transport.http.netty.contract.HttpClientConnector;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * {@code HttpClientConnectorPool} caches the client connectors created for outbound HTTP endpoints.
+ * <p>
+ * Connectors are keyed by scheme, host, port and connector options, so requests to the same endpoint reuse the
+ * connector and its keep-alive connections instead of building a new sender configuration per request. A connector
+ * is in use from {@link #getClientConnector(String, Supplier)} until the matching {@link #release(String)}. Connectors
+ * which have not been in use for the idle timeout are closed and evicted, by a timer which runs every idle timeout
+ * and on release.
+ *
+ * @since 0.94
+ */
+public class HttpClientConnectorPool {
+
+    private static final Logger log = LoggerFactory.getLogger(HttpClientConnectorPool.class);
+
+    private final Map<String, PooledConnector> connectors = new ConcurrentHashMap<>();
+    private final long idleTimeout;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private volatile long lastEvictionRun = System.currentTimeMillis();
+
+    public HttpClientConnectorPool(long idleTimeout) {
+        this.idleTimeout = idleTimeout;
+        if (idleTimeout > 0) {
+            createEvictor().scheduleWithFixedDelay(() -> evictIdleConnectors(System.currentTimeMillis()),
+                    idleTimeout, idleTimeout, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Get the client connector of the given endpoint, creating one if there is none. The connector is in use until
+     * it is released.
+     *
+     * @param key     endpoint key
+     * @param factory creates the client connector on a miss
+     * @return client connector of the endpoint
+     */
+    public HttpClientConnector getClientConnector(String key, Supplier<HttpClientConnector> factory) {
+        PooledConnector pooledConnector = connectors.get(key);
+        if (pooledConnector != null && pooledConnector.acquire()) {
+            hits.incrementAndGet();
+            return pooledConnector.connector;
+        }
+
+        misses.incrementAndGet();
+        while (true) {
+            if (pooledConnector != null) {
+                // Evicted after it was looked up, it is replaced by a new connector
+                connectors.remove(key, pooledConnector);
+            }
+            pooledConnector = connectors.computeIfAbsent(key, k -> new PooledConnector(factory.get()));
+            if (pooledConnector.acquire()) {
+                return pooledConnector.connector;
+            }
+        }
+    }
+
+    /**
+     * Release the client connector of the given endpoint, once the request it was got for has completed.
+     *
+     * @param key endpoint key
+     */
+    public void release(String key) {
+        long now = System.currentTimeMillis();
+        PooledConnector pooledConnector = connectors.get(key);
+        if (pooledConnector != null) {
+            pooledConnector.release(now);
+        }
+        evictIdleConnectors(now);
+    }
+
+    private void evictIdleConnectors(long now) {
+        if (idleTimeout <= 0 || now - lastEvictionRun < idleTimeout) {
+            return;
+        }
+        lastEvictionRun = now;
+        Iterator<PooledConnector> iterator = connectors.values().iterator();
+        while (iterator.hasNext()) {
+            PooledConnector pooledConnector = iterator.next();
+            if (pooledConnector.evictIfIdle(now, idleTimeout)) {
+                iterator.remove();
+                evictions.incrementAndGet();
+                close(pooledConnector.connector);
+            }
+        }
+    }
+
+    private static void close(HttpClientConnector connector) {
+        try {
+            connector.close();
+        } catch (RuntimeException e) {
+            log.warn("failed to close an evicted HTTP client connector: " + e.getMessage(), e);
+        }
+    }
+
+    private static ScheduledThreadPoolExecutor createEvictor() {
+        return new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "ballerina-http-client-evictor");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    public long getEvictions() {
+        return evictions.get();
+    }
+
+    public int size() {
+        return connectors.size();
+    }
+
+    private static class PooledConnector {
+        private static final int EVICTED = -1;
+
+        private final HttpClientConnector connector;
+        // Number of requests using the connector, or EVICTED once it is evicted
+        private final AtomicInteger users = new AtomicInteger();
+        private volatile long lastUsed = System.currentTimeMillis();
+
+        private PooledConnector(HttpClientConnector connector) {
+            this.connector = connector;
+        }
+
+        private boolean acquire() {
+            int count;
+            do {
+                count = users.get();
+                if (count == EVICTED) {
+                    return false;
+                }
+            } while (!users.compareAndSet(count, count + 1));
+            return true;
+        }
+
+        private void release(long now) {
+            lastUsed = now;
+            users.decrementAndGet();
+        }
+
+        private boolean evictIfIdle(long now, long idleTimeout) {
+            return now - lastUsed > idleTimeout && users.compareAndSet(0, EVICTED);
+        }
+    }
+}
@@ -0,0 +1,119 @@
+/*
+*  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.ballerinalang.net.http;
+
+import java.net.MalformedURLException;
+import java.net.URL;
+
+/**
+ * {@code HttpClientEndpoint} is the parsed base URL of a HTTP client connector.
+ * <p>
+ * It is cached as native data of the connector, so the base URL is parsed once rather than on every request.
+ *
+ * @since 0.94
+ */
+public class HttpClientEndpoint {
+
+    private final String baseUrl;
+    private final String protocol;
+    private final String host;
+    private final int port;
+    private final String hostHeader;
+    // Path, query and fragment of the base URL
+    private final String baseFile;
+    private final String poolKey;
+
+    private HttpClientEndpoint(String baseUrl, URL url, String optionsKey) {
+        this.baseUrl = baseUrl;
+        this.protocol = url.getProtocol();
+        this.host = url.getHost();
+        if (url.getPort() != -1) {
+            this.port = url.getPort();
+        } else if (protocol.equalsIgnoreCase(Constants.PROTOCOL_HTTPS)) {
+            this.port = 443;
+        } else {
+            this.port = 80;
+        }
+        this.hostHeader = port != 80 ? host + ":" + port : host;
+        this.baseFile = url.getRef() == null ? url.getFile() : url.getFile() + "#" + url.getRef();
+        this.poolKey = protocol + "://" + host + ":" + port + optionsKey;
+    }
+
+    /**
+     * Parse the base URL of a client connector.
+     *
+     * @param baseUrl    base URL of the connector
+     * @param optionsKey key of the options the connector is created with
+     * @return parsed endpoint
+     * @throws MalformedURLException if the base URL is invalid
+     */
+    public static HttpClientEndpoint parse(String baseUrl, String optionsKey) throws MalformedURLException {
+        return new HttpClientEndpoint(baseUrl, new URL(baseUrl), optionsKey);
+    }
+
+    /**
+     * Check whether the given path can be resolved against the parsed base URL, without parsing the whole URL.
+     *
+     * @param path path appended to the base URL
+     * @return true if {@link #getRequestPath(String)} can be used for the path
+     */
+    public boolean canResolve(String path) {
+        if (!baseFile.isEmpty() || path.isEmpty()) {
+            return true;
+        }
+        // Anything else would be appended to the authority of the URL
+        char first = path.charAt(0);
+        return first == '/' || first == '?' || first == '#';
+    }
+
+    /**
+     * Get the request path, including the query, for the given path appended to the base URL.
+     *
+     * @param path path appended to the base URL
+     * @return request path
+     */
+    public String getRequestPath(String path) {
+        String file = baseFile + path;
+        int fragmentIndex = file.indexOf('#');
+        return fragmentIndex < 0 ? file : file.substring(0, fragmentIndex);
+    }
+
+    public String getBaseUrl() {
+        return baseUrl;
+    }
+
+    public String getProtocol() {
+        return protocol;
+    }
+
+    public String getHost() {
+        return host;
+    }
+
+    public int getPort() {
+        return port;
+    }
+
+    public String getHostHeader() {
+        return hostHeader;
+    }
+
+    public String getPoolKey() {
+        return poolKey;
+    }
+}
@@ -24,6 +24,7 @@ import org.ballerinalang.model.values.BConnector;
 import org.ballerinalang.model.values.BStruct;
 import org.ballerinalang.net.http.util.ConnectorStartupSynchronizer;
 import org.ballerinalang.net.ws.BallerinaWsServerConnectorListener;
+import org.ballerinalang.runtime.metrics.Metrics;
 import org.wso2.carbon.messaging.exceptions.ServerConnectorException;
 import org.wso2.carbon.transport.http.netty.config.ConfigurationBuilder;
 import org.wso2.carbon.transport.http.netty.config.ListenerConfiguration;
@@ -43,6 +44,7 @@ import org.wso2.carbon.transport.http.netty.message.HTTPConnectorUtil;
 import java.io.File;
 import java.io.IOException;
 import java.io.PrintStream;
+import java.net.MalformedURLException;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -69,6 +71,9 @@ public class HttpConnectionManager {
     private ServerBootstrapConfiguration serverBootstrapConfiguration;
     private TransportsConfiguration trpConfig;
     private HttpWsConnectorFactory httpConnectorFactory = new HttpWsConnectorFactoryImpl();
+    private Map<String, Object> clientTransportProperties;
+    private HttpClientConnectorPool clientConnectorPool = new HttpClientConnectorPool(
+            Long.getLong(Constants.HTTP_CLIENT_IDLE_TIMEOUT, Constants.DEFAULT_HTTP_CLIENT_IDLE_TIMEOUT));
 
     private HttpConnectionManager() {
         String nettyConfigFile = System.getProperty(Constants.HTTP_TRANSPORT_CONF,
@@ -77,6 +82,8 @@ public class HttpConnectionManager {
         trpConfig = ConfigurationBuilder.getInstance().getConfiguration(nettyConfigFile);
         serverBootstrapConfiguration = HTTPConnectorUtil
                 .getServerBootstrapConfiguration(trpConfig.getTransportProperties());
+        clientTransportProperties = getClientTransportProperties();
+        HttpMetrics.registerClientConnectorPool(Metrics.getRegistry(), clientConnectorPool);
 
         if (isHTTPTraceLoggerEnabled()) {
             try {
@@ -167,8 +174,52 @@ public class HttpConnectionManager {
         startupDelayedHTTPServerConnectors.clear();
     }
 
-    public HttpClientConnector getHTTPHttpClientConnector(String scheme, BConnector bConnector) {
-        Map<String, Object> properties = HTTPConnectorUtil.getTransportProperties(trpConfig);
+    /**
+     * Get the parsed base URL of a client connector. The endpoint is parsed on first use and cached in the connector.
+     *
+     * @param bConnector client connector
+     * @return endpoint of the client connector
+     * @throws MalformedURLException if the base URL of the connector is invalid
+     */
+    public HttpClientEndpoint getHttpClientEndpoint(BConnector bConnector) throws MalformedURLException {
+        String baseUrl = bConnector.getStringField(0);
+        HttpClientEndpoint endpoint = (HttpClientEndpoint) bConnector.getnativeData(Constants.HTTP_CLIENT_ENDPOINT);
+        if (endpoint == null || !endpoint.getBaseUrl().equals(baseUrl)) {
+            BStruct options = (BStruct) bConnector.getRefField(Constants.OPTIONS_STRUCT_INDEX);
+            endpoint = HttpClientEndpoint.parse(baseUrl, getOptionsKey(options));
+            bConnector.setNativeData(Constants.HTTP_CLIENT_ENDPOINT, endpoint);
+        }
+        return endpoint;
+    }
+
+    /**
+     * Get the client connector of an endpoint. Connectors are pooled, hence requests to the same endpoint with the
+     * same options share a connector. The connector has to be released once the request has completed.
+     *
+     * @param endpoint   endpoint the request is sent to
+     * @param bConnector client connector
+     * @return transport client connector
+     */
+    public HttpClientConnector getHTTPHttpClientConnector(HttpClientEndpoint endpoint, BConnector bConnector) {
+        return clientConnectorPool.getClientConnector(endpoint.getPoolKey(),
+                () -> createHttpClientConnector(endpoint.getProtocol(), bConnector));
+    }
+
+    /**
+     * Release the client connector of an endpoint, got by {@link #getHTTPHttpClientConnector}, once the request
+     * sent through it has completed.
+     *
+     * @param endpoint endpoint the request was sent to
+     */
+    public void releaseHttpClientConnector(HttpClientEndpoint endpoint) {
+        clientConnectorPool.release(endpoint.getPoolKey());
+    }
+
+    public HttpClientConnectorPool getClientConnectorPool() {
+        return clientConnectorPool;
+    }
+
+    private HttpClientConnector createHttpClientConnector(String scheme, BConnector bConnector) {
         SenderConfiguration senderConfiguration =
                 HTTPConnectorUtil.getSenderConfiguration(trpConfig, scheme);
 
@@ -180,7 +231,43 @@ public class HttpConnectionManager {
         if (options != null) {
             populateSenderConfigurationOptions(senderConfiguration, options);
         }
-        return httpConnectorFactory.createHttpClientConnector(properties, senderConfiguration);
+        return httpConnectorFactory.createHttpClientConnector(clientTransportProperties, senderConfiguration);
+    }
+
+    private Map<String, Object> getClientTransportProperties() {
+        Map<String, Object> properties = HTTPConnectorUtil.getTransportProperties(trpConfig);
+        Integer maxConnectionsPerRoute = Integer.getInteger(Constants.HTTP_CLIENT_MAX_CONNECTIONS_PER_ROUTE);
+        if (maxConnectionsPerRoute != null) {
+            properties.put(Constants.TRP_MAX_ACTIVE_CONNECTIONS_PER_POOL, maxConnectionsPerRoute);
+        }
+        Long idleTimeout = Long.getLong(Constants.HTTP_CLIENT_IDLE_TIMEOUT);
+        if (idleTimeout != null) {
+            properties.put(Constants.TRP_MIN_EVICTION_IDLE_TIME, idleTimeout);
+        }
+        return properties;
+    }
+
+    private static String getOptionsKey(BStruct options) {
+        if (options == null) {
+            return "";
+        }
+        StringBuilder key = new StringBuilder();
+        BStruct followRedirects = (BStruct) options.getRefField(Constants.FOLLOW_REDIRECT_STRUCT_INDEX);
+        if (followRedirects != null) {
+            key.append('|').append(followRedirects.getBooleanField(Constants.FOLLOW_REDIRECT_INDEX))
+                    .append('|').append(followRedirects.getIntField(Constants.MAX_REDIRECT_COUNT));
+        }
+        BStruct ssl = (BStruct) options.getRefField(Constants.SSL_STRUCT_INDEX);
+        if (ssl != null) {
+            int[] sslFields = {Constants.TRUST_STORE_FILE_INDEX, Constants.TRUST_STORE_PASSWORD_INDEX,
+                    Constants.KEY_STORE_FILE_INDEX, Constants.KEY_STORE_PASSWORD_INDEX,
+                    Constants.SSL_ENABLED_PROTOCOLS_INDEX, Constants.CIPHERS_INDEX, Constants.SSL_PROTOCOL_INDEX};
+            for (int index : sslFields) {
+                key.append('|').append(ssl.getStringField(index));
+            }
+        }
+        key.append('|').append(options.getIntField(Constants.ENDPOINT_TIMEOUT_STRUCT_INDEX));
+        return key.toString();
     }
 
     private static class HttpServerConnectorContext {
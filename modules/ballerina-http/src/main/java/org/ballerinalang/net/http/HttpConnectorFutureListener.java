@@ -18,10 +18,15 @@ public class HttpConnectorFutureListener implements ConnectorFutureListener {
     private static final Logger log = LoggerFactory.getLogger(HttpConnectorFutureListener.class);
     private HTTPCarbonMessage requestMessage;
     private BValue request;
+    private HttpMetrics.ResourceMetrics resourceMetrics;
+    private long startTime;
 
-    public HttpConnectorFutureListener(HTTPCarbonMessage requestMessage, BValue request) {
+    public HttpConnectorFutureListener(HTTPCarbonMessage requestMessage, BValue request,
+                                       HttpMetrics.ResourceMetrics resourceMetrics, long startTime) {
         this.requestMessage = requestMessage;
         this.request = request;
+        this.resourceMetrics = resourceMetrics;
+        this.startTime = startTime;
     }
 
     @Override
@@ -42,10 +47,12 @@ public class HttpConnectorFutureListener implements ConnectorFutureListener {
             CorsHeaderGenerator.process(requestMessage, responseMessage, true);
         }
         HttpUtil.handleResponse(requestMessage, responseMessage);
+        resourceMetrics.requestCompleted(startTime);
     }
 
     @Override
     public void notifyFailure(BallerinaConnectorException ex) {
         HttpUtil.handleFailure(requestMessage, ex);
+        resourceMetrics.requestFailed(startTime);
     }
 }
@@ -0,0 +1,164 @@
+/*
+*  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.ballerinalang.net.http;
+
+import org.ballerinalang.connector.api.Resource;
+import org.ballerinalang.connector.api.Service;
+import org.ballerinalang.runtime.metrics.Counter;
+import org.ballerinalang.runtime.metrics.MetricId;
+import org.ballerinalang.runtime.metrics.MetricRegistry;
+import org.ballerinalang.runtime.metrics.Metrics;
+import org.ballerinalang.runtime.metrics.Timer;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * {@code HttpMetrics} holds the metrics of the HTTP services and the HTTP client connectors.
+ * <p>
+ * Metrics are looked up once per resource and per client endpoint, so recording a request doesn't allocate.
+ *
+ * @since 0.95
+ */
+public class HttpMetrics {
+
+    private static final String REQUESTS = "ballerina_http_requests_total";
+    private static final String REQUEST_ERRORS = "ballerina_http_request_errors_total";
+    private static final String REQUEST_DURATION = "ballerina_http_request_duration_seconds";
+    private static final String CLIENT_REQUEST_DURATION = "ballerina_http_client_request_duration_seconds";
+    private static final String CLIENT_POOL_HITS = "ballerina_http_client_pool_hits";
+    private static final String CLIENT_POOL_MISSES = "ballerina_http_client_pool_misses";
+    private static final String CLIENT_POOL_EVICTIONS = "ballerina_http_client_pool_evictions";
+    private static final String CLIENT_POOL_SIZE = "ballerina_http_client_pool_connectors";
+
+    private static final ConcurrentMap<Resource, ResourceMetrics> resourceMetrics = new ConcurrentHashMap<>();
+    private static final ConcurrentMap<String, Timer> clientTimers = new ConcurrentHashMap<>();
+
+    private HttpMetrics() {
+    }
+
+    public static ResourceMetrics getResourceMetrics(Resource resource) {
+        ResourceMetrics metrics = resourceMetrics.get(resource);
+        if (metrics == null) {
+            metrics = resourceMetrics.computeIfAbsent(resource, ResourceMetrics::new);
+        }
+        return metrics;
+    }
+
+    /**
+     * Remove the metrics of the resources of an unregistered service.
+     *
+     * @param service unregistered service
+     */
+    public static void removeResourceMetrics(Service service) {
+        for (Resource resource : service.getResources()) {
+            ResourceMetrics metrics = resourceMetrics.remove(resource);
+            if (metrics != null) {
+                metrics.remove();
+            }
+        }
+    }
+
+    /**
+     * Get the timer of the requests sent to a backend.
+     *
+     * @param endpoint protocol, host and port of the backend
+     * @return timer of the endpoint
+     */
+    public static Timer getClientTimer(String endpoint) {
+        Timer timer = clientTimers.get(endpoint);
+        if (timer == null) {
+            timer = clientTimers.computeIfAbsent(endpoint, key -> Metrics.getRegistry().timer(new MetricId(
+                    CLIENT_REQUEST_DURATION, "Time taken by backends to respond to HTTP client connectors",
+                    "endpoint", key)));
+        }
+        return timer;
+    }
+
+    /**
+     * Register the metrics of a client connector pool.
+     *
+     * @param registry registry the metrics are registered in
+     * @param pool     client connector pool
+     */
+    public static void registerClientConnectorPool(MetricRegistry registry, HttpClientConnectorPool pool) {
+        registry.gauge(new MetricId(CLIENT_POOL_HITS, "Number of requests which reused a pooled client connector"),
+                pool::getHits);
+        registry.gauge(new MetricId(CLIENT_POOL_MISSES, "Number of requests which created a client connector"),
+                pool::getMisses);
+        registry.gauge(new MetricId(CLIENT_POOL_EVICTIONS, "Number of idle client connectors closed by the pool"),
+                pool::getEvictions);
+        registry.gauge(new MetricId(CLIENT_POOL_SIZE, "Number of pooled client connectors"), pool::size);
+    }
+
+    /**
+     * Metrics of the requests dispatched to a resource.
+     */
+    public static class ResourceMetrics {
+
+        private final MetricId requestsId;
+        private final MetricId errorsId;
+        private final MetricId durationId;
+        private final Counter requests;
+        private final Counter errors;
+        private final Timer duration;
+
+        private ResourceMetrics(Resource resource) {
+            String[] tags = {"service", resource.getServiceName(), "resource", resource.getName()};
+            requestsId = new MetricId(REQUESTS, "Number of HTTP requests dispatched to a resource", tags);
+            errorsId = new MetricId(REQUEST_ERRORS, "Number of HTTP requests failed in a resource", tags);
+            durationId = new MetricId(REQUEST_DURATION, "Time taken by a resource to respond to HTTP requests",
+                    tags);
+
+            MetricRegistry registry = Metrics.getRegistry();
+            requests = registry.counter(requestsId);
+            errors = registry.counter(errorsId);
+            duration = registry.timer(durationId);
+        }
+
+        public void requestReceived() {
+            requests.increment();
+        }
+
+        /**
+         * Record a request which is responded to.
+         *
+         * @param startTime {@link System#nanoTime()} at which the request was received
+         */
+        public void requestCompleted(long startTime) {
+            duration.record(System.nanoTime() - startTime);
+        }
+
+        /**
+         * Record a request which failed.
+         *
+         * @param startTime {@link System#nanoTime()} at which the request was received
+         */
+        public void requestFailed(long startTime) {
+            errors.increment();
+            duration.record(System.nanoTime() - startTime);
+        }
+
+        private void remove() {
+            MetricRegistry registry = Metrics.getRegistry();
+            registry.remove(requestsId);
+            registry.remove(errorsId);
+            registry.remove(durationId);
+        }
+    }
+}
@@ -102,6 +102,7 @@ public class HttpServerConnector implements BallerinaServerConnector {
     @Override
     public void serviceUnregistered(Service service) throws BallerinaConnectorException {
         HTTPServicesRegistry.getInstance().unregisterService(service);
+        HttpMetrics.removeResourceMetrics(service);
 
         String basePath = DispatcherUtil.getServiceBasePath(service);
         sortedServiceURIs.remove(basePath);
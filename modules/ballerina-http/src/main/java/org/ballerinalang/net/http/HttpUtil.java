@@ -222,6 +222,21 @@ public class HttpUtil {
 
     public static BValue[] getXMLPayload(Context context,
             AbstractNativeFunction abstractNativeFunction, boolean isRequest) {
+        return getXMLPayload(context, abstractNativeFunction, isRequest, false);
+    }
+
+    /**
+     * Get the payload of a message as a XML.
+     *
+     * @param context                context of the native
+     * @param abstractNativeFunction native function
+     * @param isRequest              whether the message is a request
+     * @param streaming              whether a payload not read yet is streamed, rather than built up front. A
+     *                               streamed payload can be read only once
+     * @return XML payload
+     */
+    public static BValue[] getXMLPayload(Context context,
+            AbstractNativeFunction abstractNativeFunction, boolean isRequest, boolean streaming) {
         BXML result = null;
         try {
             BStruct struct = (BStruct) abstractNativeFunction.getRefArgument(context, 0);
@@ -238,7 +253,8 @@ public class HttpUtil {
                     result = XMLUtils.parse(httpCarbonMessage.getMessageDataSource().getMessageAsString());
                 }
             } else {
-                result = XMLUtils.parse(new HttpMessageDataStreamer(httpCarbonMessage).getInputStream());
+                InputStream inputStream = new HttpMessageDataStreamer(httpCarbonMessage).getInputStream();
+                result = streaming ? XMLUtils.parseStreaming(inputStream) : XMLUtils.parse(inputStream);
                 httpCarbonMessage.setMessageDataSource(result);
                 result.setOutputStream(new HttpMessageDataStreamer(httpCarbonMessage).getOutputStream());
                 httpCarbonMessage.setAlreadyRead(true);
@@ -27,9 +27,12 @@ import org.ballerinalang.model.values.BConnector;
 import org.ballerinalang.model.values.BStruct;
 import org.ballerinalang.nativeimpl.actions.ClientConnectorFuture;
 import org.ballerinalang.net.http.Constants;
+import org.ballerinalang.net.http.HttpClientEndpoint;
 import org.ballerinalang.net.http.HttpConnectionManager;
+import org.ballerinalang.net.http.HttpMetrics;
 import org.ballerinalang.net.http.HttpUtil;
 import org.ballerinalang.util.codegen.PackageInfo;
+import org.ballerinalang.runtime.metrics.Timer;
 import org.ballerinalang.util.codegen.StructInfo;
 import org.ballerinalang.util.exceptions.BallerinaException;
 import org.slf4j.Logger;
@@ -43,6 +46,7 @@ import org.wso2.carbon.transport.http.netty.message.HTTPCarbonMessage;
 
 import java.net.MalformedURLException;
 import java.net.URL;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import static org.ballerinalang.runtime.Constants.BALLERINA_VERSION;
 
@@ -71,34 +75,43 @@ public abstract class AbstractHTTPAction extends AbstractNativeAction {
 
         validateParams(connector);
 
-        String uri = null;
         try {
-            uri = connector.getStringField(0) + path;
-
-            URL url = new URL(uri);
-            String host = url.getHost();
-            int port = 80;
-            if (url.getPort() != -1) {
-                port = url.getPort();
-            } else if (url.getProtocol().equalsIgnoreCase(Constants.PROTOCOL_HTTPS)) {
-                port = 443;
+            HttpClientEndpoint endpoint = HttpConnectionManager.getInstance().getHttpClientEndpoint(connector);
+            String host;
+            int port;
+            String toPath;
+            String protocol;
+            String hostHeader;
+            if (endpoint.canResolve(path)) {
+                host = endpoint.getHost();
+                port = endpoint.getPort();
+                toPath = endpoint.getRequestPath(path);
+                protocol = endpoint.getProtocol();
+                hostHeader = endpoint.getHostHeader();
+            } else {
+                URL url = new URL(connector.getStringField(0) + path);
+                host = url.getHost();
+                port = 80;
+                if (url.getPort() != -1) {
+                    port = url.getPort();
+                } else if (url.getProtocol().equalsIgnoreCase(Constants.PROTOCOL_HTTPS)) {
+                    port = 443;
+                }
+                toPath = url.getPath();
+                String query = url.getQuery();
+                if (query != null) {
+                    toPath = toPath + "?" + query;
+                }
+                protocol = url.getProtocol();
+                hostHeader = port != 80 ? host + ":" + port : host;
             }
 
             cMsg.setProperty(Constants.HOST, host);
             cMsg.setProperty(Constants.PORT, port);
-            String toPath = url.getPath();
-            String query = url.getQuery();
-            if (query != null) {
-                toPath = toPath + "?" + query;
-            }
             cMsg.setProperty(Constants.TO, toPath);
 
-            cMsg.setProperty(Constants.PROTOCOL, url.getProtocol());
-            if (port != 80) {
-                cMsg.getHeaders().set(Constants.HOST, host + ":" + port);
-            } else {
-                cMsg.getHeaders().set(Constants.HOST, host);
-            }
+            cMsg.setProperty(Constants.PROTOCOL, protocol);
+            cMsg.getHeaders().set(Constants.HOST, hostHeader);
 
             //Set User-Agent Header
             Object headerObj = cMsg.getProperty(org.ballerinalang.runtime.Constants.INTERMEDIATE_HEADERS);
@@ -134,8 +147,8 @@ public abstract class AbstractHTTPAction extends AbstractNativeAction {
     protected ClientConnectorFuture executeNonBlockingAction(Context context, HTTPCarbonMessage httpRequestMsg)
             throws ClientConnectorException {
         ClientConnectorFuture ballerinaFuture = new ClientConnectorFuture();
-        HTTPClientConnectorLister httpClientConnectorLister =
-                new HTTPClientConnectorLister(context, ballerinaFuture);
+        Timer clientTimer = HttpMetrics.getClientTimer(httpRequestMsg.getProperty(Constants.PROTOCOL) + "://" +
+                httpRequestMsg.getProperty(Constants.HOST) + ":" + httpRequestMsg.getProperty(Constants.PORT));
 
         try {
             Object sourceHandler = httpRequestMsg.getProperty(Constants.SRC_HANDLER);
@@ -144,10 +157,18 @@ public abstract class AbstractHTTPAction extends AbstractNativeAction {
                         context.getProperty(Constants.SRC_HANDLER));
             }
             BConnector bConnector = (BConnector) getRefArgument(context, 0);
-            String scheme = (String) httpRequestMsg.getProperty(Constants.PROTOCOL);
-            HttpClientConnector clientConnector =
-                    HttpConnectionManager.getInstance().getHTTPHttpClientConnector(scheme, bConnector);
-            HttpResponseFuture future = clientConnector.send(httpRequestMsg);
+            HttpConnectionManager connectionManager = HttpConnectionManager.getInstance();
+            HttpClientEndpoint endpoint = connectionManager.getHttpClientEndpoint(bConnector);
+            HttpClientConnector clientConnector = connectionManager.getHTTPHttpClientConnector(endpoint, bConnector);
+            HTTPClientConnectorLister httpClientConnectorLister = new HTTPClientConnectorLister(context,
+                    ballerinaFuture, clientTimer, () -> connectionManager.releaseHttpClientConnector(endpoint));
+            HttpResponseFuture future;
+            try {
+                future = clientConnector.send(httpRequestMsg);
+            } catch (RuntimeException e) {
+                httpClientConnectorLister.releaseConnector();
+                throw e;
+            }
             future.setHttpConnectorListener(httpClientConnectorLister);
         } catch (BallerinaConnectorException e) {
             throw new BallerinaException(e.getMessage(), e, context);
@@ -157,24 +178,35 @@ public abstract class AbstractHTTPAction extends AbstractNativeAction {
         return ballerinaFuture;
     }
 
-    @Override
-    public boolean isNonBlockingAction() {
-        return true;
-    }
-
     private static class HTTPClientConnectorLister implements HttpConnectorListener {
 
         private Context context;
         private ClientConnectorFuture ballerinaFuture;
+        private Timer clientTimer;
+        private Runnable connectorRelease;
+        private AtomicBoolean connectorReleased = new AtomicBoolean();
+        private long startTime = System.nanoTime();
         // Reference for post validation.
 
-        private HTTPClientConnectorLister(Context context, ClientConnectorFuture ballerinaFuture) {
+        private HTTPClientConnectorLister(Context context, ClientConnectorFuture ballerinaFuture, Timer clientTimer,
+                                          Runnable connectorRelease) {
             this.context = context;
             this.ballerinaFuture = ballerinaFuture;
+            this.clientTimer = clientTimer;
+            this.connectorRelease = connectorRelease;
+        }
+
+        private void releaseConnector() {
+            // The transport may report an error after the response, the connector is released once
+            if (connectorReleased.compareAndSet(false, true)) {
+                connectorRelease.run();
+            }
         }
 
         @Override
         public void onMessage(HTTPCarbonMessage httpCarbonMessage) {
+            clientTimer.record(System.nanoTime() - startTime);
+            releaseConnector();
             if (httpCarbonMessage.getMessagingException() == null) {
                 BStruct response = createResponseStruct(this.context);
                 response.addNativeData("transport_message", httpCarbonMessage);
@@ -189,6 +221,8 @@ public abstract class AbstractHTTPAction extends AbstractNativeAction {
 
         @Override
         public void onError(Throwable throwable) {
+            clientTimer.record(System.nanoTime() - startTime);
+            releaseConnector();
             BallerinaConnectorException ex = new BallerinaConnectorException(throwable);
             ballerinaFuture.notifyFailure(ex);
         }
@@ -0,0 +1,284 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.net.http.session;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.NotSerializableException;
+import java.nio.file.Files;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * {@code DefaultSessionStore} keeps the sessions in the heap, and expires them using a timing wheel so that an
+ * expiry run only visits the sessions which are due.
+ * <p>
+ * Optionally, sessions which have been idle for a while are spilled: they are encoded and moved out of the heap in to
+ * a {@link SessionLogFile}, so that a large number of idle sessions does not add to the work of the garbage
+ * collector. A spilled session is read back in to the heap when it is used again, including through the instance
+ * of the session which a request may still hold. Sessions with attribute values which cannot be encoded stay in the
+ * heap.
+ * <p>
+ * The spill file of this store is a temporary file which is deleted when the store is closed. See
+ * {@link FileSessionStore} for a store whose sessions survive a restart.
+ *
+ * @since 0.95
+ */
+public class DefaultSessionStore implements SessionStore {
+
+    private static final Logger log = LoggerFactory.getLogger(DefaultSessionStore.class);
+
+    private static final long TICK_MILLIS = 1000;
+    private static final int WHEEL_SLOTS = 1024;
+
+    private final Map<String, HTTPSession> sessions = new ConcurrentHashMap<>();
+    private final AtomicInteger spilledCount = new AtomicInteger();
+    private final SessionExpiryWheel expiryWheel;
+    private final long spillAfter;
+    private final SessionLogFile spillFile;
+
+    /**
+     * Create a store which keeps all the sessions in the heap.
+     */
+    public DefaultSessionStore() {
+        this(-1, null);
+    }
+
+    /**
+     * Create a store which spills the sessions which have been idle for the given time to a temporary file.
+     *
+     * @param spillAfterSeconds idle time in seconds after which a session is spilled
+     * @throws IOException if the temporary file cannot be created
+     */
+    public DefaultSessionStore(int spillAfterSeconds) throws IOException {
+        this(spillAfterSeconds, SessionLogFile.open(Files.createTempFile("ballerina-sessions", ".log"), false));
+    }
+
+    DefaultSessionStore(int spillAfterSeconds, SessionLogFile spillFile) {
+        this.spillAfter = spillAfterSeconds < 0 ? -1 : spillAfterSeconds * 1000L;
+        this.spillFile = spillFile;
+        this.expiryWheel = new SessionExpiryWheel(TICK_MILLIS, WHEEL_SLOTS, System.currentTimeMillis());
+        if (spillFile != null) {
+            // Sessions read back from a persistent file are due according to the time they were last accessed
+            for (String sessionId : spillFile.getSessionIds()) {
+                SessionLogFile.Record record = spillFile.getRecord(sessionId);
+                schedule(sessionId, expiryTime(record.lastAccessedTime, record.maxInactiveInterval));
+            }
+            spilledCount.set(spillFile.size());
+        }
+    }
+
+    @Override
+    public HTTPSession get(String sessionId) {
+        HTTPSession session = sessions.get(sessionId);
+        if (session != null || spillFile == null || spillFile.getRecord(sessionId) == null) {
+            return session;
+        }
+        // Read the session back in to the heap. Concurrent lookups of the same session get the same instance.
+        return sessions.computeIfAbsent(sessionId, this::unspill);
+    }
+
+    @Override
+    public void add(HTTPSession session) {
+        sessions.put(session.getId(), session);
+        schedule(session.getId(), nextDeadline(session));
+    }
+
+    @Override
+    public void remove(String sessionId) {
+        sessions.remove(sessionId);
+        if (spillFile != null) {
+            try {
+                if (spillFile.remove(sessionId)) {
+                    spilledCount.decrementAndGet();
+                }
+            } catch (IOException e) {
+                log.error("Failed to remove session " + sessionId + ": " + e.getMessage(), e);
+            }
+        }
+    }
+
+    @Override
+    public void expiryChanged(HTTPSession session) {
+        schedule(session.getId(), nextDeadline(session));
+    }
+
+    @Override
+    public int expire(long now) {
+        AtomicInteger expiredCount = new AtomicInteger();
+        expiryWheel.advance(now, sessionId -> checkDeadline(sessionId, now, expiredCount));
+        return expiredCount.get();
+    }
+
+    @Override
+    public int size() {
+        return sessions.size() + spilledCount.get();
+    }
+
+    /**
+     * Get the number of sessions which are held outside of the heap.
+     *
+     * @return number of spilled sessions
+     */
+    public int getSpilledCount() {
+        return spilledCount.get();
+    }
+
+    @Override
+    public void close() {
+        if (spillFile == null) {
+            return;
+        }
+        try {
+            spillFile.close();
+        } catch (IOException e) {
+            log.error("Failed to close session file: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Spill all the sessions in the heap.
+     *
+     * @return number of sessions which could not be spilled
+     */
+    int spillAll() {
+        int failedCount = 0;
+        for (HTTPSession session : sessions.values()) {
+            if (!spill(session)) {
+                failedCount++;
+            }
+        }
+        return failedCount;
+    }
+
+    private boolean spill(HTTPSession session) {
+        // The lock of the session keeps the requests which hold it from changing it until it is marked as spilled.
+        // From then on, they are forwarded to the session read back from the file.
+        synchronized (session) {
+            try {
+                spillFile.write(session.getId(), session.getLastAccessedTime(), session.getMaxInactiveInterval(),
+                        SessionCodec.encode(session));
+            } catch (NotSerializableException e) {
+                log.debug("Session " + session.getId() + " is kept in the heap: " + e.getMessage());
+                return false;
+            } catch (IOException e) {
+                log.error("Failed to spill session " + session.getId() + ": " + e.getMessage(), e);
+                return false;
+            }
+
+            // Drop the record if the session was removed in the meantime
+            if (!sessions.remove(session.getId(), session)) {
+                try {
+                    spillFile.remove(session.getId());
+                } catch (IOException e) {
+                    log.error("Failed to remove session " + session.getId() + ": " + e.getMessage(), e);
+                }
+                return false;
+            }
+            session.spilled(this);
+        }
+        spilledCount.incrementAndGet();
+        return true;
+    }
+
+    private HTTPSession unspill(String sessionId) {
+        try {
+            // A session read back after a restart may have expired before the wheel has caught up with it
+            SessionLogFile.Record record = spillFile.getRecord(sessionId);
+            long expiryTime = record == null ? -1 : expiryTime(record.lastAccessedTime, record.maxInactiveInterval);
+            if (expiryTime >= 0 && expiryTime <= System.currentTimeMillis()) {
+                if (spillFile.remove(sessionId)) {
+                    spilledCount.decrementAndGet();
+                }
+                return null;
+            }
+
+            byte[] data = spillFile.read(sessionId);
+            if (data == null) {
+                return null;
+            }
+            HTTPSession session = SessionCodec.decode(data, 0, data.length);
+            spillFile.remove(sessionId);
+            spilledCount.decrementAndGet();
+            schedule(sessionId, nextDeadline(session));
+            return session;
+        } catch (IOException e) {
+            log.error("Failed to read session " + sessionId + ": " + e.getMessage(), e);
+            return null;
+        }
+    }
+
+    private long checkDeadline(String sessionId, long now, AtomicInteger expiredCount) {
+        HTTPSession session = sessions.get(sessionId);
+        if (session != null) {
+            long expiryTime = expiryTime(session.getLastAccessedTime(), session.getMaxInactiveInterval());
+            if (expiryTime >= 0 && expiryTime <= now) {
+                if (sessions.remove(sessionId, session)) {
+                    session.destroy();
+                    expiredCount.incrementAndGet();
+                }
+                return -1;
+            }
+            if (spillAfter >= 0 && session.getLastAccessedTime() + spillAfter <= now) {
+                if (spill(session)) {
+                    return expiryTime;
+                }
+                // Try again after another idle period, unless the session expires before that
+                long retryTime = now + spillAfter;
+                return expiryTime < 0 ? retryTime : Math.min(expiryTime, retryTime);
+            }
+            return nextDeadline(session);
+        }
+
+        SessionLogFile.Record record = spillFile == null ? null : spillFile.getRecord(sessionId);
+        if (record == null) {
+            return -1;
+        }
+        long expiryTime = expiryTime(record.lastAccessedTime, record.maxInactiveInterval);
+        if (expiryTime >= 0 && expiryTime <= now) {
+            remove(sessionId);
+            expiredCount.incrementAndGet();
+            return -1;
+        }
+        return expiryTime;
+    }
+
+    private long nextDeadline(HTTPSession session) {
+        long expiryTime = expiryTime(session.getLastAccessedTime(), session.getMaxInactiveInterval());
+        if (spillAfter < 0) {
+            return expiryTime;
+        }
+        long spillTime = session.getLastAccessedTime() + spillAfter;
+        return expiryTime < 0 ? spillTime : Math.min(expiryTime, spillTime);
+    }
+
+    private void schedule(String sessionId, long deadline) {
+        if (deadline >= 0) {
+            expiryWheel.schedule(sessionId, deadline);
+        }
+    }
+
+    private static long expiryTime(long lastAccessedTime, int maxInactiveInterval) {
+        // A negative interval means the session never expires
+        return maxInactiveInterval < 0 ? -1 : lastAccessedTime + maxInactiveInterval * 1000L;
+    }
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.net.http.session;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * {@code FileSessionStore} is a {@link DefaultSessionStore} whose spill file is kept in a given location, so that the
+ * sessions survive a restart.
+ * <p>
+ * Idle sessions are spilled to the file as they are with the default store, and the sessions still in the heap are
+ * written to it when the store is closed. When the store is created, the sessions in the file are read back, and the
+ * ones which expired in the meantime are dropped. Sessions with attribute values which cannot be encoded are not
+ * saved.
+ *
+ * @since 0.95
+ */
+public class FileSessionStore extends DefaultSessionStore {
+
+    private static final Logger log = LoggerFactory.getLogger(FileSessionStore.class);
+
+    /**
+     * Create a store backed by a file, reading back the sessions in it if it exists.
+     *
+     * @param path              path of the session file
+     * @param spillAfterSeconds idle time in seconds after which a session is moved from the heap to the file, or a
+     *                          negative value to keep the sessions in the heap until the store is closed
+     * @throws IOException if the file cannot be opened, or if it is not a session file
+     */
+    public FileSessionStore(Path path, int spillAfterSeconds) throws IOException {
+        super(spillAfterSeconds, SessionLogFile.open(path, true));
+    }
+
+    @Override
+    public void close() {
+        int unsavedCount = spillAll();
+        if (unsavedCount > 0) {
+            log.warn(unsavedCount + " sessions with attributes which cannot be serialized were not saved to " +
+                    "the session file");
+        }
+        super.close();
+    }
+}
@@ -28,6 +28,9 @@ import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * HTTPSession represents a session.
+ * <p>
+ * A session which has been spilled out of the heap by its {@link DefaultSessionStore} is only a handle: a request
+ * which still holds it is forwarded to the session read back from the store, so that its changes are not lost.
  *
  * @since 0.89
  */
@@ -42,6 +45,7 @@ public class HTTPSession implements Session, Serializable {
     private SessionManager sessionManager;
     private boolean isValid = true;
     private boolean isNew = true;
+    private transient volatile SessionStore spillStore;
 
     public HTTPSession(String id, int maxInactiveInterval, String path) {
         this.id = id;
@@ -51,32 +55,67 @@ public class HTTPSession implements Session, Serializable {
         this.sessionPath = path;
     }
 
+    /**
+     * Restore a session which was written out by a {@link SessionStore}.
+     *
+     * @param id                  session id
+     * @param maxInactiveInterval max inactive time in seconds
+     * @param path                session path
+     * @param createTime          creation time in milliseconds
+     * @param lastAccessedTime    last accessed time in milliseconds
+     * @param isNew               whether the session has not been used by a request yet
+     * @param attributes          session attributes
+     */
+    HTTPSession(String id, int maxInactiveInterval, String path, long createTime, long lastAccessedTime,
+                boolean isNew, Map<String, BValue> attributes) {
+        this.id = id;
+        this.maxInactiveInterval = maxInactiveInterval;
+        this.sessionPath = path;
+        this.createTime = createTime;
+        this.lastAccessedTime = lastAccessedTime;
+        this.isNew = isNew;
+        this.attributeMap.putAll(attributes);
+    }
+
     @Override
     public String getId() {
         return id;
     }
 
     @Override
-    public void setAttribute(String attributeKey, BValue attributeValue) {
+    public synchronized void setAttribute(String attributeKey, BValue attributeValue) {
+        if (spillStore != null) {
+            reload().setAttribute(attributeKey, attributeValue);
+            return;
+        }
         checkValidity();
         attributeMap.put(attributeKey, attributeValue);
     }
 
     @Override
     public BValue getAttributeValue(String attributeKey) {
+        if (spillStore != null) {
+            return reload().getAttributeValue(attributeKey);
+        }
         checkValidity();
         return attributeMap.get(attributeKey);
     }
 
     @Override
     public String[] getAttributeNames() {
+        if (spillStore != null) {
+            return reload().getAttributeNames();
+        }
         checkValidity();
         return attributeMap.keySet().toArray(new String[attributeMap.size()]);
     }
 
 
     @Override
-    public Session setNew(boolean isNew) {
+    public synchronized Session setNew(boolean isNew) {
+        if (spillStore != null) {
+            return reload().setNew(isNew);
+        }
         this.isNew = isNew;
         return this;
     }
@@ -87,13 +126,20 @@ public class HTTPSession implements Session, Serializable {
     }
 
     @Override
-    public void removeAttribute(String name) {
+    public synchronized void removeAttribute(String name) {
+        if (spillStore != null) {
+            reload().removeAttribute(name);
+            return;
+        }
         checkValidity();
         attributeMap.remove(name);
     }
 
     @Override
     public Long getLastAccessedTime() {
+        if (spillStore != null) {
+            return reload().getLastAccessedTime();
+        }
         return lastAccessedTime;
     }
 
@@ -104,23 +150,43 @@ public class HTTPSession implements Session, Serializable {
 
     @Override
     public int getMaxInactiveInterval() {
+        if (spillStore != null) {
+            return reload().getMaxInactiveInterval();
+        }
         return maxInactiveInterval;
     }
 
     @Override
-    public void setMaxInactiveInterval(int maxInactiveInterval) {
+    public synchronized void setMaxInactiveInterval(int maxInactiveInterval) {
+        if (spillStore != null) {
+            reload().setMaxInactiveInterval(maxInactiveInterval);
+            return;
+        }
         this.maxInactiveInterval = maxInactiveInterval;
+        if (sessionManager != null) {
+            sessionManager.expiryChanged(this);
+        }
     }
 
     @Override
     public void invalidate() {
+        if (spillStore != null) {
+            HTTPSession session = reload();
+            if (session != this) {
+                session.invalidate();
+            }
+            destroy();
+            return;
+        }
         sessionManager.invalidateSession(this);
-        attributeMap.clear();
-        isValid = false;
+        destroy();
     }
 
     @Override
-    public Session setAccessed() {
+    public synchronized Session setAccessed() {
+        if (spillStore != null) {
+            return reload().setAccessed();
+        }
         checkValidity();
         lastAccessedTime = System.currentTimeMillis();
         return this;
@@ -128,6 +194,9 @@ public class HTTPSession implements Session, Serializable {
 
     @Override
     public boolean isValid() {
+        if (spillStore != null) {
+            return reload().isValid();
+        }
         return isValid;
     }
 
@@ -144,6 +213,55 @@ public class HTTPSession implements Session, Serializable {
         this.sessionManager = sessionManager;
     }
 
+    /**
+     * Get the attributes of the session, without checking its validity.
+     *
+     * @return attribute map
+     */
+    Map<String, BValue> getAttributes() {
+        return attributeMap;
+    }
+
+    /**
+     * Mark the session as invalid, without removing it from its manager. This is used when the session is removed
+     * by the {@link SessionStore} which holds it, e.g. when it expires.
+     */
+    synchronized void destroy() {
+        attributeMap.clear();
+        isValid = false;
+    }
+
+    /**
+     * Mark the session as spilled by the given store. The store must hold the lock of the session while it encodes
+     * the session and marks it, so that the changes made to the session by a request are not lost in between.
+     *
+     * @param store store which holds the session from now on
+     */
+    void spilled(SessionStore store) {
+        spillStore = store;
+    }
+
+    /**
+     * Get the session which has replaced this spilled session in the heap. The session is read back from the store
+     * if no request has done it yet, and this session is destroyed if the store does not hold it anymore.
+     *
+     * @return the session read back from the store, or this session once it has been destroyed
+     */
+    private HTTPSession reload() {
+        SessionStore store = spillStore;
+        HTTPSession session = store == null ? null : store.get(id);
+        if (session == null) {
+            // The session has expired or has been invalidated while it was spilled
+            spillStore = null;
+            destroy();
+            return this;
+        }
+        if (sessionManager != null) {
+            session.setManager(sessionManager);
+        }
+        return session;
+    }
+
     private void checkValidity() {
         if (!isValid) {
             throw new IllegalStateException("Failed to execute action: Invalid session");
@@ -151,6 +269,9 @@ public class HTTPSession implements Session, Serializable {
     }
 
     public boolean isNew() {
+        if (spillStore != null) {
+            return reload().isNew();
+        }
         return this.isNew;
     }
 
@@ -0,0 +1,208 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.net.http.session;
+
+import org.ballerinalang.model.util.XMLNodeType;
+import org.ballerinalang.model.util.XMLUtils;
+import org.ballerinalang.model.values.BBlob;
+import org.ballerinalang.model.values.BBoolean;
+import org.ballerinalang.model.values.BFloat;
+import org.ballerinalang.model.values.BInteger;
+import org.ballerinalang.model.values.BJSON;
+import org.ballerinalang.model.values.BString;
+import org.ballerinalang.model.values.BValue;
+import org.ballerinalang.model.values.BXML;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.NotSerializableException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Encodes the state of HTTP sessions, so that they can be kept outside of the heap.
+ * <p>
+ * Attribute values are encoded by their type. Strings, numbers, booleans, blobs, JSON and XML elements are supported.
+ * A session with an attribute value of any other type, e.g. a struct, cannot be encoded.
+ *
+ * @since 0.95
+ */
+final class SessionCodec {
+
+    private static final byte TYPE_NULL = 0;
+    private static final byte TYPE_STRING = 1;
+    private static final byte TYPE_INT = 2;
+    private static final byte TYPE_FLOAT = 3;
+    private static final byte TYPE_BOOLEAN = 4;
+    private static final byte TYPE_BLOB = 5;
+    private static final byte TYPE_JSON = 6;
+    private static final byte TYPE_XML = 7;
+
+    private SessionCodec() {
+    }
+
+    /**
+     * Encode a session.
+     *
+     * @param session session to be encoded
+     * @return encoded session
+     * @throws NotSerializableException if an attribute value of the session cannot be encoded
+     */
+    static byte[] encode(HTTPSession session) throws NotSerializableException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        try (DataOutputStream output = new DataOutputStream(bytes)) {
+            output.writeUTF(session.getId());
+            output.writeUTF(session.getPath());
+            output.writeLong(session.getCreationTime());
+            output.writeLong(session.getLastAccessedTime());
+            output.writeInt(session.getMaxInactiveInterval());
+            output.writeBoolean(session.isNew());
+
+            // Copy the attributes, as they may change while they are written
+            Map<String, BValue> snapshot = new HashMap<>(session.getAttributes());
+            output.writeInt(snapshot.size());
+            for (Map.Entry<String, BValue> attribute : snapshot.entrySet()) {
+                output.writeUTF(attribute.getKey());
+                writeValue(output, attribute.getKey(), attribute.getValue());
+            }
+        } catch (NotSerializableException e) {
+            throw e;
+        } catch (IOException e) {
+            // Not thrown when writing to a byte array
+            throw new IllegalStateException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Decode a session.
+     *
+     * @param data   buffer containing the encoded session
+     * @param offset offset of the session in the buffer
+     * @param length length of the encoded session
+     * @return decoded session
+     * @throws IOException if the data is not a valid encoded session
+     */
+    static HTTPSession decode(byte[] data, int offset, int length) throws IOException {
+        DataInput input = new DataInputStream(new ByteArrayInputStream(data, offset, length));
+        String id = input.readUTF();
+        String path = input.readUTF();
+        long createTime = input.readLong();
+        long lastAccessedTime = input.readLong();
+        int maxInactiveInterval = input.readInt();
+        boolean isNew = input.readBoolean();
+
+        int attributeCount = input.readInt();
+        Map<String, BValue> attributes = new HashMap<>();
+        for (int i = 0; i < attributeCount; i++) {
+            String name = input.readUTF();
+            BValue value = readValue(input);
+            if (value != null) {
+                attributes.put(name, value);
+            }
+        }
+        return new HTTPSession(id, maxInactiveInterval, path, createTime, lastAccessedTime, isNew, attributes);
+    }
+
+    private static void writeValue(DataOutputStream output, String name, BValue value) throws IOException {
+        if (value == null) {
+            output.writeByte(TYPE_NULL);
+        } else if (value instanceof BString) {
+            output.writeByte(TYPE_STRING);
+            writeLongString(output, value.stringValue());
+        } else if (value instanceof BInteger) {
+            output.writeByte(TYPE_INT);
+            output.writeLong(((BInteger) value).intValue());
+        } else if (value instanceof BFloat) {
+            output.writeByte(TYPE_FLOAT);
+            output.writeDouble(((BFloat) value).floatValue());
+        } else if (value instanceof BBoolean) {
+            output.writeByte(TYPE_BOOLEAN);
+            output.writeBoolean(((BBoolean) value).booleanValue());
+        } else if (value instanceof BBlob) {
+            byte[] blob = ((BBlob) value).blobValue();
+            output.writeByte(TYPE_BLOB);
+            output.writeInt(blob.length);
+            output.write(blob);
+        } else if (value instanceof BJSON) {
+            // The JSON text, as the string value of a JSON string is not quoted
+            output.writeByte(TYPE_JSON);
+            writeLongString(output, ((BJSON) value).getMessageAsString());
+        } else if (value instanceof BXML && ((BXML<?>) value).getNodeType() == XMLNodeType.ELEMENT) {
+            output.writeByte(TYPE_XML);
+            writeLongString(output, value.stringValue());
+        } else {
+            throw new NotSerializableException("session attribute '" + name + "' of type '" + value.getType() +
+                    "' cannot be serialized");
+        }
+    }
+
+    private static BValue readValue(DataInput input) throws IOException {
+        byte type = input.readByte();
+        switch (type) {
+            case TYPE_NULL:
+                return null;
+            case TYPE_STRING:
+                return new BString(readLongString(input));
+            case TYPE_INT:
+                return new BInteger(input.readLong());
+            case TYPE_FLOAT:
+                return new BFloat(input.readDouble());
+            case TYPE_BOOLEAN:
+                return new BBoolean(input.readBoolean());
+            case TYPE_BLOB:
+                byte[] blob = new byte[input.readInt()];
+                input.readFully(blob);
+                return new BBlob(blob);
+            case TYPE_JSON:
+                return parse(readLongString(input), BJSON::new);
+            case TYPE_XML:
+                return parse(readLongString(input), XMLUtils::parse);
+            default:
+                throw new IOException("invalid session attribute type: " + type);
+        }
+    }
+
+    private static BValue parse(String text, Function<String, BValue> parser) throws IOException {
+        try {
+            return parser.apply(text);
+        } catch (RuntimeException e) {
+            throw new IOException("invalid session attribute value: " + e.getMessage(), e);
+        }
+    }
+
+    // writeUTF is limited to 64K bytes, which is not enough for attribute values
+    private static void writeLongString(DataOutputStream output, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        output.writeInt(bytes.length);
+        output.write(bytes);
+    }
+
+    private static String readLongString(DataInput input) throws IOException {
+        byte[] bytes = new byte[input.readInt()];
+        input.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.net.http.session;
+
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.ToLongFunction;
+
+/**
+ * A hashed timing wheel of session ids, keyed by the time each session is due to be checked.
+ * <p>
+ * The wheel is divided in to slots of one tick each, and a session is placed in the slot of the tick it is due in.
+ * Advancing the wheel only visits the slots of the ticks which have passed, so the cost of an expiry run depends on
+ * the number of sessions due rather than on the total number of sessions. Deadlines further away than a full turn
+ * of the wheel share a slot with nearer ones, and are left in place until their turn comes.
+ * <p>
+ * Sessions are not moved when they are accessed. When a slot is visited, the owner of the wheel works out whether
+ * each session in it is actually due, and the session is moved to the slot of its next deadline if it is not.
+ *
+ * @since 0.95
+ */
+class SessionExpiryWheel {
+
+    private final long tickMillis;
+    private final Set<String>[] slots;
+    private volatile long currentTick;
+
+    @SuppressWarnings("unchecked")
+    SessionExpiryWheel(long tickMillis, int slotCount, long startTime) {
+        this.tickMillis = tickMillis;
+        this.slots = new Set[slotCount];
+        for (int i = 0; i < slotCount; i++) {
+            slots[i] = ConcurrentHashMap.newKeySet();
+        }
+        this.currentTick = startTime / tickMillis;
+    }
+
+    /**
+     * Place a session in the slot of its deadline. A deadline which has already passed is placed in the next slot.
+     *
+     * @param sessionId id of the session
+     * @param deadline  time in milliseconds the session is due to be checked
+     */
+    void schedule(String sessionId, long deadline) {
+        long tick = Math.max(deadline / tickMillis, currentTick + 1);
+        slots[slotIndex(tick)].add(sessionId);
+    }
+
+    /**
+     * Advance the wheel up to the given time, passing each session in the slots which are due to the handler. The
+     * handler returns the next deadline of the session, or a negative value if the session no longer needs to be
+     * checked.
+     *
+     * @param now     current time in milliseconds
+     * @param handler handler of the sessions which are due
+     */
+    synchronized void advance(long now, ToLongFunction<String> handler) {
+        long targetTick = now / tickMillis;
+        // Each slot is visited at most once, even if more than a full turn has passed since the last advance
+        long fromTick = Math.max(currentTick + 1, targetTick - slots.length + 1);
+        for (long tick = fromTick; tick <= targetTick; tick++) {
+            int index = slotIndex(tick);
+            Iterator<String> iterator = slots[index].iterator();
+            while (iterator.hasNext()) {
+                String sessionId = iterator.next();
+                long deadline = handler.applyAsLong(sessionId);
+                if (deadline < 0) {
+                    iterator.remove();
+                    continue;
+                }
+                long nextTick = Math.max(deadline / tickMillis, targetTick + 1);
+                if (slotIndex(nextTick) != index) {
+                    iterator.remove();
+                    slots[slotIndex(nextTick)].add(sessionId);
+                }
+            }
+        }
+        currentTick = Math.max(currentTick, targetTick);
+    }
+
+    private int slotIndex(long tick) {
+        return (int) Math.floorMod(tick, (long) slots.length);
+    }
+}
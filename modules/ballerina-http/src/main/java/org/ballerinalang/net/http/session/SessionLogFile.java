@@ -0,0 +1,360 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.net.http.session;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An append-only file of encoded sessions, which holds sessions outside of the heap.
+ * <p>
+ * Each record either holds a session, or marks a session as removed. Only the latest record of a session counts, and
+ * an index of the records is kept in memory. Once most of the file is taken by records which no longer count, the
+ * records which do are copied to a new file which replaces it.
+ * <p>
+ * A persistent file is read back when it is opened, so that the sessions in it survive a restart. Records at the end
+ * of the file which were not written completely are dropped. A file which is not persistent is deleted when it is
+ * closed.
+ *
+ * @since 0.95
+ */
+final class SessionLogFile {
+
+    private static final int MAGIC = 0x42534c46;
+    private static final int VERSION = 1;
+    private static final int FILE_HEADER_SIZE = 8;
+
+    private static final byte RECORD_SESSION = 1;
+    private static final byte RECORD_REMOVED = 2;
+
+    private static final long MIN_COMPACTION_SIZE = 1024 * 1024;
+
+    private final Path path;
+    private final boolean persistent;
+    private final Map<String, Record> records = new HashMap<>();
+    private FileChannel channel;
+    private long fileSize;
+    private long liveSize;
+
+    private SessionLogFile(Path path, boolean persistent) {
+        this.path = path;
+        this.persistent = persistent;
+    }
+
+    /**
+     * Open a session file, reading back the sessions in it if it is persistent and already exists.
+     *
+     * @param path       path of the file
+     * @param persistent whether the file should be kept when it is closed
+     * @return opened file
+     * @throws IOException if the file cannot be opened, or if it is not a session file
+     */
+    static SessionLogFile open(Path path, boolean persistent) throws IOException {
+        SessionLogFile logFile = new SessionLogFile(path, persistent);
+        logFile.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        try {
+            if (persistent && logFile.channel.size() > 0) {
+                logFile.load();
+            } else {
+                logFile.channel.truncate(0);
+                logFile.writeFileHeader();
+            }
+        } catch (IOException e) {
+            logFile.channel.close();
+            throw e;
+        }
+        return logFile;
+    }
+
+    /**
+     * Write a session, replacing the earlier record of the session if there is one.
+     *
+     * @param sessionId           id of the session
+     * @param lastAccessedTime    last accessed time of the session
+     * @param maxInactiveInterval max inactive interval of the session
+     * @param session             encoded session
+     * @throws IOException if an I/O error occurs
+     */
+    synchronized void write(String sessionId, long lastAccessedTime, int maxInactiveInterval, byte[] session)
+            throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(session.length + 64);
+        DataOutputStream output = new DataOutputStream(bytes);
+        output.writeInt(0);
+        output.writeByte(RECORD_SESSION);
+        output.writeUTF(sessionId);
+        output.writeLong(lastAccessedTime);
+        output.writeInt(maxInactiveInterval);
+        output.write(session);
+        output.flush();
+
+        long recordOffset = append(bytes.toByteArray());
+        int recordSize = bytes.size();
+        unlink(records.put(sessionId, new Record(recordOffset, recordSize, recordSize - session.length,
+                lastAccessedTime, maxInactiveInterval)));
+        liveSize += recordSize;
+        compactIfNeeded();
+    }
+
+    /**
+     * Read a session.
+     *
+     * @param sessionId id of the session
+     * @return encoded session, or null if there is no such session
+     * @throws IOException if an I/O error occurs
+     */
+    synchronized byte[] read(String sessionId) throws IOException {
+        Record record = records.get(sessionId);
+        if (record == null) {
+            return null;
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(record.size - record.sessionOffset);
+        readFully(buffer, record.offset + record.sessionOffset);
+        return buffer.array();
+    }
+
+    /**
+     * Remove a session.
+     *
+     * @param sessionId id of the session
+     * @return true if the session was in the file
+     * @throws IOException if an I/O error occurs
+     */
+    synchronized boolean remove(String sessionId) throws IOException {
+        Record record = records.remove(sessionId);
+        if (record == null) {
+            return false;
+        }
+        unlink(record);
+        if (persistent) {
+            // Mark the session as removed, so that it is not read back after a restart
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+            DataOutputStream output = new DataOutputStream(bytes);
+            output.writeInt(0);
+            output.writeByte(RECORD_REMOVED);
+            output.writeUTF(sessionId);
+            output.flush();
+            append(bytes.toByteArray());
+        }
+        compactIfNeeded();
+        return true;
+    }
+
+    synchronized Record getRecord(String sessionId) {
+        return records.get(sessionId);
+    }
+
+    synchronized List<String> getSessionIds() {
+        return new ArrayList<>(records.keySet());
+    }
+
+    synchronized int size() {
+        return records.size();
+    }
+
+    synchronized long getFileSize() {
+        return fileSize;
+    }
+
+    /**
+     * Close the file, deleting it if it is not persistent.
+     *
+     * @throws IOException if an I/O error occurs
+     */
+    synchronized void close() throws IOException {
+        if (!channel.isOpen()) {
+            return;
+        }
+        if (persistent) {
+            channel.force(true);
+        }
+        channel.close();
+        if (!persistent) {
+            Files.deleteIfExists(path);
+        }
+    }
+
+    private long append(byte[] record) throws IOException {
+        // The length of a record does not include the length field itself
+        ByteBuffer buffer = ByteBuffer.wrap(record);
+        buffer.putInt(0, record.length - 4);
+        long offset = fileSize;
+        while (buffer.hasRemaining()) {
+            channel.write(buffer, fileSize + buffer.position());
+        }
+        fileSize += record.length;
+        return offset;
+    }
+
+    private void unlink(Record record) {
+        if (record != null) {
+            liveSize -= record.size;
+        }
+    }
+
+    private void compactIfNeeded() throws IOException {
+        long deadSize = fileSize - FILE_HEADER_SIZE - liveSize;
+        if (deadSize < MIN_COMPACTION_SIZE || deadSize < liveSize) {
+            return;
+        }
+
+        // Copy the records which count to a new file, and replace the file with it
+        Path compactedPath = path.resolveSibling(path.getFileName() + ".compact");
+        Map<String, Record> compactedRecords = new HashMap<>();
+        try (FileChannel compacted = FileChannel.open(compactedPath, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBuffer header = fileHeader();
+            while (header.hasRemaining()) {
+                compacted.write(header);
+            }
+            long offset = FILE_HEADER_SIZE;
+            for (Map.Entry<String, Record> entry : records.entrySet()) {
+                Record record = entry.getValue();
+                ByteBuffer buffer = ByteBuffer.allocate(record.size);
+                readFully(buffer, record.offset);
+                buffer.flip();
+                while (buffer.hasRemaining()) {
+                    compacted.write(buffer);
+                }
+                compactedRecords.put(entry.getKey(), record.moveTo(offset));
+                offset += record.size;
+            }
+            if (persistent) {
+                compacted.force(true);
+            }
+        }
+
+        channel.close();
+        Files.move(compactedPath, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        records.clear();
+        records.putAll(compactedRecords);
+        fileSize = channel.size();
+        liveSize = fileSize - FILE_HEADER_SIZE;
+    }
+
+    private void load() throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(FILE_HEADER_SIZE);
+        readFully(header, 0);
+        header.flip();
+        if (header.getInt() != MAGIC || header.getInt() != VERSION) {
+            throw new IOException("not a session file: " + path);
+        }
+
+        long size = channel.size();
+        long offset = FILE_HEADER_SIZE;
+        ByteBuffer lengthBuffer = ByteBuffer.allocate(4);
+        while (offset + 4 <= size) {
+            lengthBuffer.clear();
+            readFully(lengthBuffer, offset);
+            int length = lengthBuffer.getInt(0);
+            if (length <= 0 || offset + 4 + length > size) {
+                break;
+            }
+            ByteBuffer body = ByteBuffer.allocate(length);
+            readFully(body, offset + 4);
+            readRecord(body.array(), offset);
+            offset += 4 + length;
+        }
+
+        // Drop a record which was not written completely
+        if (offset < size) {
+            channel.truncate(offset);
+        }
+        fileSize = offset;
+    }
+
+    private void readRecord(byte[] body, long offset) throws IOException {
+        ByteArrayInputStream bytes = new ByteArrayInputStream(body);
+        DataInputStream input = new DataInputStream(bytes);
+        byte kind = input.readByte();
+        String sessionId = input.readUTF();
+        if (kind == RECORD_REMOVED) {
+            unlink(records.remove(sessionId));
+            return;
+        }
+
+        long lastAccessedTime = input.readLong();
+        int maxInactiveInterval = input.readInt();
+        int recordSize = 4 + body.length;
+        int sessionOffset = recordSize - bytes.available();
+        unlink(records.put(sessionId, new Record(offset, recordSize, sessionOffset, lastAccessedTime,
+                maxInactiveInterval)));
+        liveSize += recordSize;
+    }
+
+    private void writeFileHeader() throws IOException {
+        ByteBuffer header = fileHeader();
+        while (header.hasRemaining()) {
+            channel.write(header, header.position());
+        }
+        fileSize = FILE_HEADER_SIZE;
+        liveSize = 0;
+    }
+
+    private static ByteBuffer fileHeader() {
+        ByteBuffer header = ByteBuffer.allocate(FILE_HEADER_SIZE);
+        header.putInt(MAGIC).putInt(VERSION).flip();
+        return header;
+    }
+
+    private void readFully(ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("unexpected end of session file: " + path);
+            }
+        }
+    }
+
+    /**
+     * Location of the latest record of a session in the file, with the details needed to know when it expires.
+     */
+    static final class Record {
+        final long offset;
+        final int size;
+        final int sessionOffset;
+        final long lastAccessedTime;
+        final int maxInactiveInterval;
+
+        Record(long offset, int size, int sessionOffset, long lastAccessedTime, int maxInactiveInterval) {
+            this.offset = offset;
+            this.size = size;
+            this.sessionOffset = sessionOffset;
+            this.lastAccessedTime = lastAccessedTime;
+            this.maxInactiveInterval = maxInactiveInterval;
+        }
+
+        Record moveTo(long newOffset) {
+            return new Record(newOffset, size, sessionOffset, lastAccessedTime, maxInactiveInterval);
+        }
+    }
+}
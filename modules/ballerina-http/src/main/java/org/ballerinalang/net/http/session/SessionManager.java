@@ -18,21 +18,43 @@
 
 package org.ballerinalang.net.http.session;
 
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import org.ballerinalang.runtime.metrics.MetricId;
+import org.ballerinalang.runtime.metrics.Metrics;
+import org.ballerinalang.util.exceptions.BallerinaException;
+
+import java.io.IOException;
+import java.nio.file.Paths;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 
 /**
  * SessionManager to manage all transport sessions.
+ * <p>
+ * The sessions are held by a {@link SessionStore}, which is chosen with the {@value #STORE_PROPERTY} system property:
+ * <ul>
+ * <li>{@code memory} (default) keeps the sessions in the heap, and spills the sessions which have been idle for
+ * {@value #SPILL_AFTER_PROPERTY} seconds to a temporary file if that property is set</li>
+ * <li>{@code file} keeps the sessions in the file given by {@value #FILE_PROPERTY}, so that they survive a
+ * restart</li>
+ * </ul>
+ * The max number of sessions can be set with the {@value #MAX_ACTIVE_SESSIONS_PROPERTY} system property.
  *
  * @since 0.89
  */
 public class SessionManager {
 
+    public static final String STORE_PROPERTY = "ballerina.http.session.store";
+    public static final String FILE_PROPERTY = "ballerina.http.session.file";
+    public static final String SPILL_AFTER_PROPERTY = "ballerina.http.session.spillAfter";
+    public static final String MAX_ACTIVE_SESSIONS_PROPERTY = "ballerina.http.session.maxActiveSessions";
+
+    private static final String STORE_MEMORY = "memory";
+    private static final String STORE_FILE = "file";
+    private static final String DEFAULT_SESSION_FILE = "ballerina-sessions.log";
+
     private static SessionManager instance = new SessionManager();
-    private Map<String, Session> sessionMap = new ConcurrentHashMap<>();
+    private SessionStore sessionStore;
     private SessionIdGenerator sessionIdGenerator = new SessionIdGenerator();
     private ScheduledExecutorService sessionExpiryChecker;
 
@@ -48,18 +70,19 @@ public class SessionManager {
      */
     private static final int SESSION_ID_LENGTH = 16;
 
+    private final int maxActiveSessions = Integer.getInteger(MAX_ACTIVE_SESSIONS_PROPERTY,
+            DEFAULT_MAX_ACTIVE_SESSIONS);
+
     private SessionManager() {
         sessionIdGenerator.setSessionIdLength(SESSION_ID_LENGTH);
-        // Session expiry scheduled task
+        sessionStore = createSessionStore();
+        Metrics.getRegistry().gauge(new MetricId("ballerina_http_sessions", "Number of active HTTP sessions"),
+                sessionStore::size);
+        // Session expiry scheduled task. The store only visits the sessions which are due, so it runs every second.
         sessionExpiryChecker = Executors.newScheduledThreadPool(1);
-        sessionExpiryChecker.scheduleAtFixedRate(() ->
-                        sessionMap.values().parallelStream()
-                                .filter(session ->
-                                        (session.getMaxInactiveInterval() >= 0 &&
-                                                System.currentTimeMillis() - session.getLastAccessedTime() >=
-                                                        session.getMaxInactiveInterval() * 1000))
-                                .forEach(Session::invalidate),
-                30, 30, TimeUnit.SECONDS);
+        sessionExpiryChecker.scheduleAtFixedRate(() -> sessionStore.expire(System.currentTimeMillis()),
+                1, 1, TimeUnit.SECONDS);
+        Runtime.getRuntime().addShutdownHook(new Thread(this::stop));
     }
 
     public static SessionManager getInstance() {
@@ -67,21 +90,23 @@ public class SessionManager {
     }
 
     public Session getHTTPSession(String sessionId) {
-        HTTPSession session = (HTTPSession) sessionMap.get(sessionId);
+        HTTPSession session = sessionStore.get(sessionId);
         if (session != null) {
+            // Sessions read back by the store are not attached to the manager yet
+            session.setManager(this);
             return session;
         }
         return null;
     }
 
     public Session createHTTPSession(String path) {
-        if (sessionMap.size() >= DEFAULT_MAX_ACTIVE_SESSIONS) {
+        if (sessionStore.size() >= maxActiveSessions) {
             throw new IllegalStateException("Failed to create session: Too many active sessions");
         }
         HTTPSession session = new HTTPSession(sessionIdGenerator.generateSessionId(),
                 DEFAULT_MAX_INACTIVE_INTERVAL, path);
         session.setManager(this);
-        sessionMap.put(session.getId(), session);
+        sessionStore.add(session);
         return session;
     }
 
@@ -91,15 +116,44 @@ public class SessionManager {
      * @param session The session to be invalidated.
      */
     public void invalidateSession(Session session) {
-        sessionMap.remove(session.getId());
+        sessionStore.remove(session.getId());
+    }
+
+    /**
+     * Reschedule the expiry of a session whose max inactive interval has changed.
+     *
+     * @param session The session whose max inactive interval has changed.
+     */
+    public void expiryChanged(HTTPSession session) {
+        sessionStore.expiryChanged(session);
     }
 
     /**
      * Stop ScheduledExecutorService.
      *
      */
-    public void stop() {
+    public synchronized void stop() {
+        if (sessionExpiryChecker.isShutdown()) {
+            return;
+        }
         sessionExpiryChecker.shutdown();
+        sessionStore.close();
     }
 
+    private static SessionStore createSessionStore() {
+        String storeType = System.getProperty(STORE_PROPERTY, STORE_MEMORY);
+        int spillAfter = Integer.getInteger(SPILL_AFTER_PROPERTY, -1);
+        try {
+            if (STORE_FILE.equals(storeType)) {
+                return new FileSessionStore(Paths.get(System.getProperty(FILE_PROPERTY, DEFAULT_SESSION_FILE)),
+                        spillAfter);
+            } else if (STORE_MEMORY.equals(storeType)) {
+                return spillAfter < 0 ? new DefaultSessionStore() : new DefaultSessionStore(spillAfter);
+            }
+        } catch (IOException e) {
+            throw new BallerinaException("failed to create the HTTP session store: " + e.getMessage(), e);
+        }
+        throw new BallerinaException("invalid HTTP session store '" + storeType + "', expected '" + STORE_MEMORY +
+                "' or '" + STORE_FILE + "'");
+    }
 }
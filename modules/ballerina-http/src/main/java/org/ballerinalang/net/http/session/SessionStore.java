@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.net.http.session;
+
+/**
+ * {@code SessionStore} holds the HTTP sessions of a {@link SessionManager}, and expires the sessions which have been
+ * inactive for longer than their max inactive interval.
+ * <p>
+ * A store keeps an index of the sessions ordered by the time they are due, so that expiring the sessions does not
+ * need to go through all of them.
+ *
+ * @since 0.95
+ */
+public interface SessionStore {
+
+    /**
+     * Get a session.
+     *
+     * @param sessionId id of the session
+     * @return session, or null if there is no such session
+     */
+    HTTPSession get(String sessionId);
+
+    /**
+     * Add a new session.
+     *
+     * @param session session to be added
+     */
+    void add(HTTPSession session);
+
+    /**
+     * Remove a session.
+     *
+     * @param sessionId id of the session
+     */
+    void remove(String sessionId);
+
+    /**
+     * Notify the store that the max inactive interval of a session has changed, so that it is expired on time.
+     *
+     * @param session session whose max inactive interval has changed
+     */
+    void expiryChanged(HTTPSession session);
+
+    /**
+     * Expire the sessions which have been inactive for longer than their max inactive interval. Expired sessions
+     * are removed from the store and are no longer valid.
+     *
+     * @param now current time in milliseconds
+     * @return number of sessions expired
+     */
+    int expire(long now);
+
+    /**
+     * Get the number of sessions in the store.
+     *
+     * @return number of sessions
+     */
+    int size();
+
+    /**
+     * Close the store, releasing the resources it holds.
+     */
+    void close();
+}
@@ -27,9 +27,11 @@ import org.wso2.carbon.transport.http.netty.message.HTTPCarbonMessage;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 /**
@@ -37,11 +39,26 @@ import java.util.stream.Collectors;
  */
 public abstract class Node {
 
+    // Pattern the path segment is matched against for a '*' literal
+    private static final Pattern WILDCARD = Pattern.compile(".*");
+    private static final Node[] NO_NODES = new Node[0];
+
     protected String token;
     protected List<Resource> resource;
     protected boolean isFirstTraverse = true;
     protected List<Node> childNodesList = new LinkedList<>();
 
+    // Routing table of the child nodes, rebuilt whenever a child is added. Candidates are tried in the same order
+    // as childNodesList, skipping literals which cannot match the first character of the remaining path.
+    private Map<String, Node> literalChildren = Collections.emptyMap();
+    private Map<Character, Node[]> literalChildrenByFirstChar = Collections.emptyMap();
+    private Node[] expressionChildren = NO_NODES;
+    private Node[] wildcardChildren = NO_NODES;
+
+    // Resources of this node indexed by HTTP method, and the resource accepting any method if there is one
+    private Map<String, ResourceEntry> resourcesByMethod = Collections.emptyMap();
+    private ResourceEntry defaultResource;
+
     protected Node(String token) {
         this.token = token;
     }
@@ -56,10 +73,38 @@ public abstract class Node {
         }
 
         Collections.sort(childNodesList, (o1, o2) -> getIntValue(o2) - getIntValue(o1));
+        buildRoutingTable();
 
         return node;
     }
 
+    private void buildRoutingTable() {
+        Map<String, Node> literals = new HashMap<>();
+        Map<Character, List<Node>> literalsByFirstChar = new HashMap<>();
+        List<Node> expressions = new ArrayList<>();
+        List<Node> wildcards = new ArrayList<>();
+        for (Node childNode : childNodesList) {
+            if (!(childNode instanceof Literal)) {
+                expressions.add(childNode);
+                continue;
+            }
+            String literal = childNode.getToken();
+            if (literal.equals("*")) {
+                wildcards.add(childNode);
+                continue;
+            }
+            literals.putIfAbsent(literal, childNode);
+            literalsByFirstChar.computeIfAbsent(literal.charAt(0), k -> new ArrayList<>()).add(childNode);
+        }
+
+        Map<Character, Node[]> indexedLiterals = new HashMap<>();
+        literalsByFirstChar.forEach((firstChar, nodes) -> indexedLiterals.put(firstChar, nodes.toArray(NO_NODES)));
+        this.literalChildren = literals;
+        this.literalChildrenByFirstChar = indexedLiterals;
+        this.expressionChildren = expressions.toArray(NO_NODES);
+        this.wildcardChildren = wildcards.toArray(NO_NODES);
+    }
+
     public Resource matchAll(String uriFragment, Map<String, String> variables, HTTPCarbonMessage carbonMessage,
                                  int start) {
         int matchLength = match(uriFragment, variables);
@@ -70,31 +115,38 @@ public abstract class Node {
             String subPath = nextSubPath(subUriFragment);
 
             Resource resource;
-            for (Node childNode : childNodesList) {
-                if (childNode instanceof Literal) {
-                    String regex = childNode.getToken();
-                    if (regex.equals("*")) {
-                        regex = "." + regex;
-                        if (subPath.matches(regex)) {
-                            resource = childNode.matchAll(subUriFragment, variables,
-                                    carbonMessage, start + matchLength);
-                            if (resource != null) {
-                                return resource;
-                            }
-                        }
-                    } else {
-                        if (subPath.contains(regex)) {
-                            resource = childNode.matchAll(subUriFragment, variables, carbonMessage,
-                                    start + matchLength);
+            int childStart = start + matchLength;
+            // Longer literals are tried first, hence an exact match of the whole segment goes first
+            Node exactLiteral = literalChildren.get(subPath);
+            if (exactLiteral != null) {
+                resource = exactLiteral.matchAll(subUriFragment, variables, carbonMessage, childStart);
+                if (resource != null) {
+                    return resource;
+                }
+            }
+            if (!subUriFragment.isEmpty()) {
+                Node[] literals = literalChildrenByFirstChar.get(subUriFragment.charAt(0));
+                if (literals != null) {
+                    for (Node childNode : literals) {
+                        if (childNode != exactLiteral && subPath.contains(childNode.getToken())) {
+                            resource = childNode.matchAll(subUriFragment, variables, carbonMessage, childStart);
                             if (resource != null) {
                                 return resource;
                             }
                         }
                     }
-                } else {
-                    resource = childNode.matchAll(subUriFragment, variables, carbonMessage,
-                            start + matchLength);
-                    if (resource !=  null) {
+                }
+            }
+            for (Node childNode : expressionChildren) {
+                resource = childNode.matchAll(subUriFragment, variables, carbonMessage, childStart);
+                if (resource != null) {
+                    return resource;
+                }
+            }
+            if (wildcardChildren.length > 0 && WILDCARD.matcher(subPath).matches()) {
+                for (Node childNode : wildcardChildren) {
+                    resource = childNode.matchAll(subUriFragment, variables, carbonMessage, childStart);
+                    if (resource != null) {
                         return resource;
                     }
                 }
@@ -112,32 +164,26 @@ public abstract class Node {
         if (this.resource == null) {
             return null;
         }
-        Resource resource = validateHTTPMethod(this.resource, carbonMessage);
-        if (resource == null) {
+        ResourceEntry resourceEntry = validateHTTPMethod(carbonMessage);
+        if (resourceEntry == null) {
             return null;
         }
-        validateConsumes(resource, carbonMessage);
-        validateProduces(resource, carbonMessage);
-        return resource;
+        validateConsumes(resourceEntry.consumes, carbonMessage);
+        validateProduces(resourceEntry.produces, carbonMessage);
+        return resourceEntry.resource;
     }
 
-    private Resource validateHTTPMethod(List<Resource> resources, HTTPCarbonMessage carbonMessage) {
-        Resource resource = null;
+    private ResourceEntry validateHTTPMethod(HTTPCarbonMessage carbonMessage) {
         boolean isOptionsRequest = false;
         String httpMethod = (String) carbonMessage.getProperty(Constants.HTTP_METHOD);
-        for (Resource resourceInfo : resources) {
-            if (DispatcherUtil.isMatchingMethodExist(resourceInfo, httpMethod)) {
-                resource = resourceInfo;
-                break;
-            }
+        ResourceEntry resourceEntry = resourcesByMethod.get(httpMethod);
+        if (resourceEntry == null) {
+            resourceEntry = defaultResource;
         }
-        if (resource == null) {
-            resource = tryMatchingToDefaultVerb(httpMethod);
-        }
-        if (resource == null) {
+        if (resourceEntry == null) {
             isOptionsRequest = setAllowHeadersIfOPTIONS(httpMethod, carbonMessage);
         }
-        if (resource == null) {
+        if (resourceEntry == null) {
             if (!isOptionsRequest) {
                 carbonMessage.setProperty(Constants.HTTP_STATUS_CODE, 405);
                 throw new BallerinaException("Method not allowed");
@@ -145,7 +191,7 @@ public abstract class Node {
                 return null;
             }
         }
-        return resource;
+        return resourceEntry;
     }
 
     public void setResource(Resource newResource) {
@@ -153,6 +199,7 @@ public abstract class Node {
             this.resource = new ArrayList<>();
             this.resource.add(newResource);
             isFirstTraverse = false;
+            indexResource(newResource);
             return;
         }
         String[] newMethods = DispatcherUtil.getHttpMethods(newResource);
@@ -165,6 +212,7 @@ public abstract class Node {
                 }
             }
             this.resource.add(newResource);
+            indexResource(newResource);
             return;
         }
         this.resource.forEach(r -> {
@@ -176,6 +224,23 @@ public abstract class Node {
             }
         });
         this.resource.add(newResource);
+        indexResource(newResource);
+    }
+
+    private void indexResource(Resource newResource) {
+        ResourceEntry resourceEntry = new ResourceEntry(newResource);
+        String[] methods = DispatcherUtil.getHttpMethods(newResource);
+        if (methods == null) {
+            if (defaultResource == null) {
+                defaultResource = resourceEntry;
+            }
+            return;
+        }
+        Map<String, ResourceEntry> methodIndex = new HashMap<>(resourcesByMethod);
+        for (String method : methods) {
+            methodIndex.putIfAbsent(method, resourceEntry);
+        }
+        resourcesByMethod = methodIndex;
     }
 
     abstract String expand(Map<String, String> variables);
@@ -239,15 +304,6 @@ public abstract class Node {
         return subPath;
     }
 
-    private Resource tryMatchingToDefaultVerb(String method) {
-        for (Resource resourceInfo : this.resource) {
-            if (DispatcherUtil.getHttpMethods(resourceInfo) == null) {
-                return resourceInfo;
-            }
-        }
-        return null;
-    }
-
     private boolean setAllowHeadersIfOPTIONS(String httpMethod, HTTPCarbonMessage cMsg) {
         if (httpMethod.equals(Constants.HTTP_METHOD_OPTIONS)) {
             cMsg.setHeader(Constants.ALLOW, getAllowHeaderValues(cMsg));
@@ -271,11 +327,14 @@ public abstract class Node {
     }
 
     public Resource validateConsumes(Resource resource, HTTPCarbonMessage cMsg) {
-        boolean isConsumeMatched = false;
-        String contentMediaType = extractContentMediaType(cMsg.getHeader(Constants.CONTENT_TYPE_HEADER));
-        String[] consumesList  = DispatcherUtil.getConsumerList(resource);
+        validateConsumes(DispatcherUtil.getConsumerList(resource), cMsg);
+        return resource;
+    }
 
+    private void validateConsumes(String[] consumesList, HTTPCarbonMessage cMsg) {
         if (consumesList != null) {
+            boolean isConsumeMatched = false;
+            String contentMediaType = extractContentMediaType(cMsg.getHeader(Constants.CONTENT_TYPE_HEADER));
             //when Content-Type header is not set, treat it as "application/octet-stream"
             contentMediaType = (contentMediaType != null ? contentMediaType : Constants.VALUE_ATTRIBUTE);
             for (String consumeType : consumesList) {
@@ -289,7 +348,6 @@ public abstract class Node {
                 throw new BallerinaException();
             }
         }
-        return resource;
     }
 
     private String extractContentMediaType(String header) {
@@ -304,12 +362,19 @@ public abstract class Node {
     }
 
     public Resource validateProduces(Resource resource, HTTPCarbonMessage cMsg) {
+        validateProduces(DispatcherUtil.getProducesList(resource), cMsg);
+        return resource;
+    }
+
+    private void validateProduces(String[] producesList, HTTPCarbonMessage cMsg) {
+        if (producesList == null) {
+            return;
+        }
         boolean isProduceMatched = false;
         List<String> acceptMediaTypes = extractAcceptMediaTypes(cMsg.getHeader(Constants.ACCEPT_HEADER));
-        String[] producesList = DispatcherUtil.getProducesList(resource);
 
         //If Accept header field is not present, then it is assumed that the client accepts all media types.
-        if (producesList != null && acceptMediaTypes != null) {
+        if (acceptMediaTypes != null) {
             if (acceptMediaTypes.contains("*/*")) {
                 isProduceMatched = true;
             } else {
@@ -349,7 +414,6 @@ public abstract class Node {
                 throw new BallerinaException();
             }
         }
-        return resource;
     }
 
     private List<String> extractAcceptMediaTypes(String header) {
@@ -372,4 +436,19 @@ public abstract class Node {
         }
         return acceptMediaTypes;
     }
+
+    /**
+     * Resource of a node along with its media type constraints, which are read from the annotations once.
+     */
+    private static class ResourceEntry {
+        private final Resource resource;
+        private final String[] consumes;
+        private final String[] produces;
+
+        private ResourceEntry(Resource resource) {
+            this.resource = resource;
+            this.consumes = DispatcherUtil.getConsumerList(resource);
+            this.produces = DispatcherUtil.getProducesList(resource);
+        }
+    }
 }
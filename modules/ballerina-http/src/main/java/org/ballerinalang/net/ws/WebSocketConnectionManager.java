@@ -19,12 +19,19 @@
 package org.ballerinalang.net.ws;
 
 import org.ballerinalang.model.values.BStruct;
+import org.ballerinalang.util.exceptions.BallerinaException;
 
+import java.nio.ByteBuffer;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
 
 /**
- * This contains all the sessions which are received via a {@link org.wso2.carbon.messaging.CarbonMessage}.
+ * This contains all the sessions which are received via a {@link org.wso2.carbon.messaging.CarbonMessage}, and the
+ * named groups of connections which messages can be broadcast to.
  */
 public class WebSocketConnectionManager {
 
@@ -33,6 +40,13 @@ public class WebSocketConnectionManager {
     // Map <sessionId, WebSocketConnectionStruct>
     private final Map<String, BStruct> wsConnecionsMap = new ConcurrentHashMap<>();
 
+    // Map <groupName, Set<sessionId>>
+    private final Map<String, Set<String>> connectionGroups = new ConcurrentHashMap<>();
+
+    // Map <sessionId, Set<groupName>>, so that a closed connection leaves only the groups it is a member of. The
+    // groups of a connection are changed only while its entry is locked, by computing the entry.
+    private final Map<String, Set<String>> connectionMemberships = new ConcurrentHashMap<>();
+
     private WebSocketConnectionManager() {
     }
 
@@ -49,6 +63,98 @@ public class WebSocketConnectionManager {
     }
 
     public BStruct removeConnection(String connectionID) {
+        connectionMemberships.computeIfPresent(connectionID, (id, groupNames) -> {
+            for (String groupName : groupNames) {
+                leaveGroup(groupName, id);
+            }
+            return null;
+        });
         return wsConnecionsMap.remove(connectionID);
     }
+
+    public void addToGroup(String groupName, String connectionID) {
+        connectionMemberships.compute(connectionID, (id, groupNames) -> {
+            if (groupNames == null) {
+                groupNames = new HashSet<>();
+            }
+            groupNames.add(groupName);
+            connectionGroups.compute(groupName, (name, members) -> {
+                if (members == null) {
+                    members = ConcurrentHashMap.newKeySet();
+                }
+                members.add(id);
+                return members;
+            });
+            return groupNames;
+        });
+    }
+
+    public void removeFromGroup(String groupName, String connectionID) {
+        connectionMemberships.computeIfPresent(connectionID, (id, groupNames) -> {
+            groupNames.remove(groupName);
+            leaveGroup(groupName, id);
+            return groupNames.isEmpty() ? null : groupNames;
+        });
+    }
+
+    public Set<String> getGroupMembers(String groupName) {
+        Set<String> members = connectionGroups.get(groupName);
+        return members == null ? Collections.emptySet() : Collections.unmodifiableSet(members);
+    }
+
+    /**
+     * Queue a text frame to be written to all the open connections of a group, without waiting for it to be written.
+     * Connections which are not writable, i.e. which have not kept up with the earlier messages, are skipped.
+     *
+     * @param groupName name of the group
+     * @param text      text to be sent
+     * @return number of connections the frame was queued to
+     */
+    public int broadcastText(String groupName, String text) {
+        return broadcast(groupName, queue -> queue.pushText(text));
+    }
+
+    /**
+     * Queue a binary frame to be written to all the open connections of a group, without waiting for it to be
+     * written. The data is shared by all the connections, so it must not be changed afterwards. Connections which are
+     * not writable, i.e. which have not kept up with the earlier messages, are skipped.
+     *
+     * @param groupName name of the group
+     * @param data      data to be sent
+     * @return number of connections the frame was queued to
+     */
+    public int broadcastBinary(String groupName, byte[] data) {
+        ByteBuffer payload = ByteBuffer.wrap(data).asReadOnlyBuffer();
+        // Each connection gets its own position over the same bytes
+        return broadcast(groupName, queue -> queue.pushBinary(payload.duplicate()));
+    }
+
+    private void leaveGroup(String groupName, String connectionID) {
+        // Groups are removed when the last member leaves
+        connectionGroups.computeIfPresent(groupName, (name, members) -> {
+            members.remove(connectionID);
+            return members.isEmpty() ? null : members;
+        });
+    }
+
+    private int broadcast(String groupName, Consumer<WebSocketOutboundQueue> push) {
+        int count = 0;
+        for (String connectionID : getGroupMembers(groupName)) {
+            BStruct wsConnection = wsConnecionsMap.get(connectionID);
+            if (wsConnection == null) {
+                continue;
+            }
+            WebSocketOutboundQueue queue = WebSocketOutboundQueue.getQueue(wsConnection);
+            if (!queue.isOpen() || !queue.isWritable()) {
+                continue;
+            }
+            try {
+                push.accept(queue);
+                count++;
+            } catch (BallerinaException e) {
+                // The connection was closed in the meantime
+            }
+        }
+        return count;
+    }
 }
@@ -111,11 +111,12 @@ public class WebSocketDispatcher {
     }
 
     public static void dispatchCloseMessage(WebSocketService wsService, WebSocketCloseMessage closeMessage) {
+        // The connection is removed even without a resource, so that it is no longer a member of its groups
+        BStruct wsConnection = removeConnection(closeMessage);
         Resource onCloseResource = wsService.getResourceByName(Constants.RESOURCE_NAME_ON_CLOSE);
         if (onCloseResource == null) {
             return;
         }
-        BStruct wsConnection = removeConnection(closeMessage);
         BStruct wsCloseFrame = wsService.createCloseFrameStruct();
         wsCloseFrame.setIntField(0, closeMessage.getCloseCode());
         wsCloseFrame.setStringField(0, closeMessage.getCloseReason());
@@ -0,0 +1,241 @@
+/*
+ *  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.ballerinalang.net.ws;
+
+import org.ballerinalang.model.values.BStruct;
+import org.ballerinalang.util.exceptions.BallerinaException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.websocket.RemoteEndpoint;
+import javax.websocket.SendHandler;
+import javax.websocket.SendResult;
+import javax.websocket.Session;
+
+/**
+ * {@code WebSocketOutboundQueue} queues the frames pushed to a WebSocket connection, and writes them using the
+ * asynchronous remote endpoint of the session, so that pushing a frame does not block until it is written.
+ * <p>
+ * The frames of a connection are written one at a time, in the order they were pushed. When frames are pushed
+ * faster than they are written, the backlog is written with batching allowed so that the transport can coalesce the
+ * frames in to fewer writes, and the batch is flushed once the queue is empty.
+ * <p>
+ * The amount of data waiting to be written is tracked, counting a character of text as a byte. Once it reaches the
+ * high water mark the connection is no longer writable, and the pusher is expected to back off until it is. The
+ * high water mark can be set with the {@value #HIGH_WATER_MARK_PROPERTY} system property.
+ *
+ * @since 0.95
+ */
+public class WebSocketOutboundQueue {
+
+    public static final String HIGH_WATER_MARK_PROPERTY = "ballerina.ws.outboundHighWaterMark";
+    private static final int DEFAULT_HIGH_WATER_MARK = 1024 * 1024;
+    private static final long HIGH_WATER_MARK = Long.getLong(HIGH_WATER_MARK_PROPERTY, DEFAULT_HIGH_WATER_MARK);
+
+    private static final Logger log = LoggerFactory.getLogger(WebSocketOutboundQueue.class);
+
+    // States of the frame being sent, to tell whether the send completed before the call to send it returned
+    private static final int SEND_IDLE = 0;
+    private static final int SEND_PENDING = 1;
+    private static final int SEND_COMPLETED = 2;
+
+    private final Session session;
+    private final long highWaterMark;
+
+    private final Queue<Object> frames = new ConcurrentLinkedQueue<>();
+    private final AtomicLong bufferedAmount = new AtomicLong();
+
+    // Set while a frame is being written, so that only one thread writes to the session at a time
+    private final AtomicBoolean writing = new AtomicBoolean();
+    private final SendHandler sendHandler = this::onSent;
+    private final AtomicInteger sendState = new AtomicInteger(SEND_IDLE);
+
+    // Only accessed by the thread which holds the writing flag
+    private int writingFrameSize;
+    private boolean batching;
+
+    private volatile Throwable error;
+
+    public WebSocketOutboundQueue(Session session, long highWaterMark) {
+        this.session = session;
+        this.highWaterMark = highWaterMark;
+    }
+
+    /**
+     * Get the outbound queue of a connection, creating it on first use.
+     *
+     * @param wsConnection connection struct
+     * @return outbound queue of the connection
+     */
+    public static WebSocketOutboundQueue getQueue(BStruct wsConnection) {
+        synchronized (wsConnection) {
+            WebSocketOutboundQueue queue =
+                    (WebSocketOutboundQueue) wsConnection.getNativeData(Constants.NATIVE_DATA_OUTBOUND_QUEUE);
+            if (queue == null) {
+                Session session = (Session) wsConnection.getNativeData(Constants.NATIVE_DATA_WEBSOCKET_SESSION);
+                queue = new WebSocketOutboundQueue(session, HIGH_WATER_MARK);
+                wsConnection.addNativeData(Constants.NATIVE_DATA_OUTBOUND_QUEUE, queue);
+            }
+            return queue;
+        }
+    }
+
+    /**
+     * Queue a text frame to be written.
+     *
+     * @param text text to be sent
+     * @return true if the connection is still writable, false if the pusher should back off
+     */
+    public boolean pushText(String text) {
+        return push(text, text.length());
+    }
+
+    /**
+     * Queue a binary frame to be written. The buffer is written as it is, so it must not be changed afterwards.
+     *
+     * @param data data to be sent
+     * @return true if the connection is still writable, false if the pusher should back off
+     */
+    public boolean pushBinary(ByteBuffer data) {
+        return push(data, data.remaining());
+    }
+
+    public long getBufferedAmount() {
+        return bufferedAmount.get();
+    }
+
+    public boolean isWritable() {
+        return bufferedAmount.get() < highWaterMark;
+    }
+
+    public boolean isOpen() {
+        return error == null && session.isOpen();
+    }
+
+    private boolean push(Object frame, int size) {
+        if (error != null) {
+            throw new BallerinaException("Cannot send the message. Error occurred: " + error.getMessage());
+        }
+        if (!session.isOpen()) {
+            throw new BallerinaException("Cannot send the message. Connection is closed.");
+        }
+
+        long amount = bufferedAmount.addAndGet(size);
+        frames.add(frame);
+        if (writing.compareAndSet(false, true)) {
+            writeNext();
+        }
+        return amount < highWaterMark;
+    }
+
+    private void writeNext() {
+        RemoteEndpoint.Async remote = session.getAsyncRemote();
+        while (true) {
+            Object frame = frames.poll();
+            if (frame != null) {
+                if (!batching && !frames.isEmpty()) {
+                    setBatchingAllowed(remote, true);
+                }
+                sendState.set(SEND_PENDING);
+                if (!write(remote, frame)) {
+                    return;
+                }
+                // Unless the send has already completed, the send handler writes the next frame once it does
+                if (sendState.compareAndSet(SEND_PENDING, SEND_IDLE) || error != null) {
+                    return;
+                }
+                // The send completed while it was being written, e.g. on this thread, so the next frame is written
+                // by this loop rather than by the send handler, which would recurse once per frame
+                continue;
+            }
+
+            if (batching) {
+                // Disallowing batching flushes the frames in the batch
+                setBatchingAllowed(remote, false);
+            }
+            writing.set(false);
+            // A frame pushed after the queue was found empty, but before the flag was cleared, is written here
+            if (frames.isEmpty() || !writing.compareAndSet(false, true)) {
+                return;
+            }
+        }
+    }
+
+    private boolean write(RemoteEndpoint.Async remote, Object frame) {
+        try {
+            if (frame instanceof String) {
+                String text = (String) frame;
+                writingFrameSize = text.length();
+                remote.sendText(text, sendHandler);
+            } else {
+                ByteBuffer data = (ByteBuffer) frame;
+                writingFrameSize = data.remaining();
+                remote.sendBinary(data, sendHandler);
+            }
+            return true;
+        } catch (RuntimeException e) {
+            bufferedAmount.addAndGet(-writingFrameSize);
+            fail(e);
+            return false;
+        }
+    }
+
+    private void onSent(SendResult result) {
+        bufferedAmount.addAndGet(-writingFrameSize);
+        if (!result.isOK()) {
+            fail(result.getException());
+        }
+        // A send completed before the call to send it returned is followed up by the loop in writeNext
+        if (!sendState.compareAndSet(SEND_PENDING, SEND_COMPLETED) && result.isOK()) {
+            writeNext();
+        }
+    }
+
+    private void setBatchingAllowed(RemoteEndpoint.Async remote, boolean allowed) {
+        try {
+            remote.setBatchingAllowed(allowed);
+            batching = allowed;
+        } catch (IOException e) {
+            // Batching is an optimization, the frames are still written one by one without it
+            log.debug("Could not change batching of WebSocket connection " + session.getId(), e);
+            batching = false;
+        }
+    }
+
+    private void fail(Throwable throwable) {
+        error = throwable;
+        log.error("Could not send the message to WebSocket connection " + session.getId(), throwable);
+
+        // The connection is broken, so the frames still in the queue are dropped
+        Object frame;
+        while ((frame = frames.poll()) != null) {
+            int size = frame instanceof String ? ((String) frame).length() : ((ByteBuffer) frame).remaining();
+            bufferedAmount.addAndGet(-size);
+        }
+        batching = false;
+        writing.set(false);
+    }
+}
@@ -0,0 +1,54 @@
+/*
+ *  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.ballerinalang.net.ws.nativeimpl;
+
+import org.ballerinalang.bre.Context;
+import org.ballerinalang.model.types.TypeKind;
+import org.ballerinalang.model.values.BInteger;
+import org.ballerinalang.model.values.BValue;
+import org.ballerinalang.natives.AbstractNativeFunction;
+import org.ballerinalang.natives.annotations.Argument;
+import org.ballerinalang.natives.annotations.BallerinaFunction;
+import org.ballerinalang.natives.annotations.ReturnType;
+import org.ballerinalang.net.ws.WebSocketConnectionManager;
+
+/**
+ * Push binary data to all the connections of a group without waiting for it to be sent.
+ *
+ * @since 0.95
+ */
+
+@BallerinaFunction(
+        packageName = "ballerina.net.ws",
+        functionName = "broadcastBinary",
+        args = {@Argument(name = "groupName", type = TypeKind.STRING),
+                @Argument(name = "binaryData", type = TypeKind.BLOB)},
+        returnType = {@ReturnType(type = TypeKind.INT)},
+        isPublic = true
+)
+public class BroadcastBinary extends AbstractNativeFunction {
+
+    @Override
+    public BValue[] execute(Context context) {
+        String groupName = getStringArgument(context, 0);
+        byte[] binaryData = getBlobArgument(context, 0);
+        int count = WebSocketConnectionManager.getInstance().broadcastBinary(groupName, binaryData);
+        return getBValues(new BInteger(count));
+    }
+}
@@ -0,0 +1,54 @@
+/*
+ *  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.ballerinalang.net.ws.nativeimpl;
+
+import org.ballerinalang.bre.Context;
+import org.ballerinalang.model.types.TypeKind;
+import org.ballerinalang.model.values.BInteger;
+import org.ballerinalang.model.values.BStruct;
+import org.ballerinalang.model.values.BValue;
+import org.ballerinalang.natives.AbstractNativeFunction;
+import org.ballerinalang.natives.annotations.BallerinaFunction;
+import org.ballerinalang.natives.annotations.Receiver;
+import org.ballerinalang.natives.annotations.ReturnType;
+import org.ballerinalang.net.ws.WebSocketOutboundQueue;
+
+/**
+ * Get the amount of data pushed asynchronously to the connection, which is not sent yet.
+ *
+ * @since 0.95
+ */
+
+@BallerinaFunction(
+        packageName = "ballerina.net.ws",
+        functionName = "getBufferedAmount",
+        receiver = @Receiver(type = TypeKind.STRUCT, structType = "Connection",
+                             structPackage = "ballerina.net.ws"),
+        returnType = {@ReturnType(type = TypeKind.INT)},
+        isPublic = true
+)
+public class GetBufferedAmount extends AbstractNativeFunction {
+
+    @Override
+    public BValue[] execute(Context context) {
+        BStruct wsConnection = (BStruct) getRefArgument(context, 0);
+        long bufferedAmount = WebSocketOutboundQueue.getQueue(wsConnection).getBufferedAmount();
+        return getBValues(new BInteger(bufferedAmount));
+    }
+}
@@ -0,0 +1,58 @@
+/*
+ *  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.ballerinalang.net.ws.nativeimpl;
+
+import org.ballerinalang.bre.Context;
+import org.ballerinalang.model.types.TypeKind;
+import org.ballerinalang.model.values.BStruct;
+import org.ballerinalang.model.values.BValue;
+import org.ballerinalang.natives.AbstractNativeFunction;
+import org.ballerinalang.natives.annotations.Argument;
+import org.ballerinalang.natives.annotations.BallerinaFunction;
+import org.ballerinalang.natives.annotations.Receiver;
+import org.ballerinalang.net.ws.Constants;
+import org.ballerinalang.net.ws.WebSocketConnectionManager;
+
+import javax.websocket.Session;
+
+/**
+ * Remove the connection from a named group of connections.
+ *
+ * @since 0.95
+ */
+
+@BallerinaFunction(
+        packageName = "ballerina.net.ws",
+        functionName = "leaveGroup",
+        receiver = @Receiver(type = TypeKind.STRUCT, structType = "Connection",
+                             structPackage = "ballerina.net.ws"),
+        args = {@Argument(name = "groupName", type = TypeKind.STRING)},
+        isPublic = true
+)
+public class LeaveGroup extends AbstractNativeFunction {
+
+    @Override
+    public BValue[] execute(Context context) {
+        BStruct wsConnection = (BStruct) getRefArgument(context, 0);
+        String groupName = getStringArgument(context, 0);
+        Session session = (Session) wsConnection.getNativeData(Constants.NATIVE_DATA_WEBSOCKET_SESSION);
+        WebSocketConnectionManager.getInstance().removeFromGroup(groupName, session.getId());
+        return VOID_RETURN;
+    }
+}
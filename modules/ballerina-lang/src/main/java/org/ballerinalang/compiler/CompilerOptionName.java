@@ -28,7 +28,11 @@ public enum CompilerOptionName {
 
     PRESERVE_WHITESPACE("preserveWhitespace"),
 
-    COMPILER_PHASE("compilerPhase");
+    COMPILER_PHASE("compilerPhase"),
+
+    OPTIMIZATION_LEVEL("optimizationLevel"),
+
+    PARSER_PARALLELISM("parserParallelism");
 
     public final String name;
 
@@ -17,12 +17,14 @@
 */
 package org.wso2.ballerinalang.compiler;
 
+import org.ballerinalang.compiler.BLangCompilerException;
 import org.ballerinalang.model.elements.PackageID;
 import org.ballerinalang.repository.AggregatedPackageRepository;
 import org.ballerinalang.repository.CompositePackageRepository;
 import org.ballerinalang.repository.PackageEntity;
 import org.ballerinalang.repository.PackageRepository;
 import org.ballerinalang.repository.PackageSource;
+import org.ballerinalang.repository.PackageSourceEntry;
 import org.ballerinalang.repository.fs.LocalFSPackageRepository;
 import org.ballerinalang.spi.ExtensionPackageRepositoryProvider;
 import org.ballerinalang.spi.SystemPackageRepositoryProvider;
@@ -33,10 +35,17 @@ import org.wso2.ballerinalang.compiler.tree.BLangIdentifier;
 import org.wso2.ballerinalang.compiler.tree.BLangPackage;
 import org.wso2.ballerinalang.compiler.util.CompilerContext;
 import org.wso2.ballerinalang.compiler.util.CompilerOptions;
+import org.wso2.ballerinalang.compiler.util.FingerprintUtils;
 import org.wso2.ballerinalang.compiler.util.Name;
 import org.wso2.ballerinalang.compiler.util.Names;
 
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -44,6 +53,7 @@ import java.util.ServiceLoader;
 import java.util.Set;
 import java.util.stream.Collectors;
 
+import static org.ballerinalang.compiler.CompilerOptionName.PARSER_PARALLELISM;
 import static org.ballerinalang.compiler.CompilerOptionName.SOURCE_ROOT;
 
 /**
@@ -64,6 +74,8 @@ public class PackageLoader {
 
     private Map<PackageID, BPackageSymbol> packages;
     private PackageRepository packageRepo;
+    private AggregatedPackageRepository systemRepo;
+    private ParallelPackageParser parallelParser;
 
     public static PackageLoader getInstance(CompilerContext context) {
         PackageLoader loader = context.get(PACKAGE_LOADER_KEY);
@@ -84,6 +96,12 @@ public class PackageLoader {
 
         this.packages = new HashMap<>();
         loadPackageRepository(context);
+
+        String parallelism = options.get(PARSER_PARALLELISM);
+        if (parallelism != null && Integer.parseInt(parallelism) > 1) {
+            this.parallelParser = new ParallelPackageParser(this.parser, this.packageRepo, this::isSystemPackage,
+                    this.names, Integer.parseInt(parallelism));
+        }
     }
 
     public BLangPackage loadEntryPackage(String sourcePkg) {
@@ -91,22 +109,10 @@ public class PackageLoader {
             throw new IllegalArgumentException("source package/file cannot be null");
         }
 
-        PackageEntity pkgEntity;
-        PackageID pkgId = PackageID.DEFAULT;
-        if (sourcePkg.endsWith(PackageEntity.Kind.SOURCE.getExtension())) {
-            pkgEntity = this.packageRepo.loadPackage(pkgId, sourcePkg);
-        } else {
-            String[] pkgParts = sourcePkg.split("\\.");
-            List<Name> pkgNameComps = Arrays.stream(pkgParts)
-                    .map(part -> names.fromString(part))
-                    .collect(Collectors.toList());
-
-            pkgId = new PackageID(pkgNameComps, Names.DEFAULT_VERSION);
-            pkgEntity = this.packageRepo.loadPackage(pkgId);
-        }
+        PackageID pkgId = getEntryPackageID(sourcePkg);
 
         // TODO Implement the support for loading a source package
-        return loadPackage(pkgId, pkgEntity);
+        return loadPackage(pkgId, loadEntryPackageEntity(pkgId, sourcePkg));
     }
 
     public BLangPackage loadPackage(List<BLangIdentifier> pkgNameComps, BLangIdentifier version) {
@@ -114,7 +120,7 @@ public class PackageLoader {
                 .map(identifier -> names.fromIdNode(identifier))
                 .collect(Collectors.toList());
         PackageID pkgID = new PackageID(nameComps, names.fromIdNode(version));
-        return loadPackage(pkgID, this.packageRepo.loadPackage(pkgID));
+        return loadPackageNode(pkgID);
     }
 
     public BPackageSymbol getPackageSymbol(PackageID pkgId) {
@@ -122,9 +128,46 @@ public class PackageLoader {
     }
 
     public BLangPackage loadPackageNode(PackageID pkgId) {
+        if (this.parallelParser != null) {
+            // The imported package may already have been parsed, ahead of being imported
+            return definePackage(pkgId, this.parallelParser.getImportedPackage(pkgId));
+        }
         return loadPackage(pkgId, this.packageRepo.loadPackage(pkgId));
     }
 
+    /**
+     * Get the ids of the packages loaded so far.
+     *
+     * @return a set of PackageIDs
+     */
+    public Set<PackageID> getLoadedPackages() {
+        return Collections.unmodifiableSet(packages.keySet());
+    }
+
+    /**
+     * Get the fingerprint of the current sources of an entry package, as given to {@link #loadEntryPackage(String)}.
+     * The fingerprint changes if a source of the package is changed, added or removed.
+     *
+     * @param sourcePkg source package/file
+     * @return fingerprint of the sources, or {@code null} if the package is not found
+     */
+    public String getSourceFingerprint(String sourcePkg) {
+        if (sourcePkg == null || sourcePkg.isEmpty()) {
+            throw new IllegalArgumentException("source package/file cannot be null");
+        }
+        return getSourceFingerprint(loadEntryPackageEntity(getEntryPackageID(sourcePkg), sourcePkg));
+    }
+
+    /**
+     * Get the fingerprint of the current sources of a package.
+     *
+     * @param pkgId package id
+     * @return fingerprint of the sources, or {@code null} if the package is not found
+     */
+    public String getSourceFingerprint(PackageID pkgId) {
+        return getSourceFingerprint(this.packageRepo.loadPackage(pkgId));
+    }
+
     /**
      * List all the packages of packageRepo
      *
@@ -135,33 +178,95 @@ public class PackageLoader {
     }
 
     private BLangPackage loadPackage(PackageID pkgId, PackageEntity pkgEntity) {
-        BLangPackage pkgNode;
-        BPackageSymbol pSymbol;
+        PackageSource pkgSource = getPackageSource(pkgId, pkgEntity);
+        if (pkgSource == null) {
+            return null;
+        }
+
+        BLangPackage pkgNode = this.sourceCompile(pkgSource, isSystemPackage(pkgSource));
+        return definePackage(pkgId, pkgNode);
+    }
 
-        // TODO Handle pkgEntity 
+    /**
+     * Get the source of a package loaded from the repository.
+     *
+     * @param pkgId     id of the package
+     * @param pkgEntity package loaded from the repository, or {@code null} if it is not found
+     * @return source of the package, or {@code null} if the package is not found
+     * @throws BLangCompilerException if the package is a compiled package, as compiled packages cannot be loaded
+     */
+    static PackageSource getPackageSource(PackageID pkgId, PackageEntity pkgEntity) {
         if (pkgEntity == null) {
             return null;
         }
 
-        if (pkgEntity.getKind() == PackageEntity.Kind.SOURCE) {
-            pkgNode = this.sourceCompile((PackageSource) pkgEntity);
-            pSymbol = symbolEnter.definePackage(pkgNode);
-            pkgNode.symbol = pSymbol;
-        } else {
-            // This is a compiled package.
-            // TODO Throw an error. Entry package cannot be a compiled package
-            throw new RuntimeException("TODO Entry package cannot be a compiled package");
+        if (pkgEntity.getKind() != PackageEntity.Kind.SOURCE) {
+            throw new BLangCompilerException("cannot load package '" + pkgId + "': loading a compiled package (" +
+                    pkgEntity.getKind().getExtension() + ") is not supported");
+        }
+        return (PackageSource) pkgEntity;
+    }
+
+    private BLangPackage definePackage(PackageID pkgId, BLangPackage pkgNode) {
+        if (pkgNode == null) {
+            return null;
         }
 
+        BPackageSymbol pSymbol = symbolEnter.definePackage(pkgNode);
+        pkgNode.symbol = pSymbol;
         packages.put(pkgId, pSymbol);
         return pkgNode;
     }
 
-    private BLangPackage sourceCompile(PackageSource pkgSource) {
-        BLangPackage pkgNode = this.parser.parse(pkgSource);
+    private BLangPackage sourceCompile(PackageSource pkgSource, boolean isSystemPackage) {
+        // Sources of system packages only change with the distribution, hence their parse trees are cached
+        if (this.parallelParser != null) {
+            return this.parallelParser.parse(pkgSource, isSystemPackage);
+        }
+        BLangPackage pkgNode = this.parser.parse(pkgSource, isSystemPackage);
         return pkgNode;
     }
 
+    private PackageID getEntryPackageID(String sourcePkg) {
+        if (sourcePkg.endsWith(PackageEntity.Kind.SOURCE.getExtension())) {
+            return PackageID.DEFAULT;
+        }
+
+        String[] pkgParts = sourcePkg.split("\\.");
+        List<Name> pkgNameComps = Arrays.stream(pkgParts)
+                .map(part -> names.fromString(part))
+                .collect(Collectors.toList());
+        return new PackageID(pkgNameComps, Names.DEFAULT_VERSION);
+    }
+
+    private PackageEntity loadEntryPackageEntity(PackageID pkgId, String sourcePkg) {
+        if (sourcePkg.endsWith(PackageEntity.Kind.SOURCE.getExtension())) {
+            return this.packageRepo.loadPackage(pkgId, sourcePkg);
+        }
+        return this.packageRepo.loadPackage(pkgId);
+    }
+
+    private String getSourceFingerprint(PackageEntity pkgEntity) {
+        if (pkgEntity == null || pkgEntity.getKind() != PackageEntity.Kind.SOURCE) {
+            return null;
+        }
+
+        List<PackageSourceEntry> sourceEntries = new ArrayList<>(((PackageSource) pkgEntity).getPackageSourceEntries());
+        sourceEntries.sort(Comparator.comparing(PackageSourceEntry::getEntryName));
+        MessageDigest digest = FingerprintUtils.createDigest();
+        for (PackageSourceEntry sourceEntry : sourceEntries) {
+            byte[] code = sourceEntry.getCode();
+            digest.update(sourceEntry.getEntryName().getBytes(StandardCharsets.UTF_8));
+            digest.update(ByteBuffer.allocate(Integer.BYTES).putInt(code.length).array());
+            digest.update(code);
+        }
+        return FingerprintUtils.getFingerprint(digest);
+    }
+
+    private boolean isSystemPackage(PackageEntity pkgEntity) {
+        return this.systemRepo.getRepositories().contains(pkgEntity.getPackageRepository());
+    }
+
     private void loadPackageRepository(CompilerContext context) {
         // Initialize program dir repository a.k.a entry package repository
         PackageRepository programRepo = context.get(PackageRepository.class);
@@ -171,13 +276,14 @@ public class PackageLoader {
             programRepo = new LocalFSPackageRepository(sourceRoot);
         }
 
+        this.systemRepo = this.loadSystemRepository();
         this.packageRepo = new CompositePackageRepository(
-                this.loadSystemRepository(),
+                this.systemRepo,
                 this.loadUserRepository(),
                 programRepo);
     }
 
-    private PackageRepository loadSystemRepository() {
+    private AggregatedPackageRepository loadSystemRepository() {
         ServiceLoader<SystemPackageRepositoryProvider> loader = ServiceLoader.load(
                 SystemPackageRepositoryProvider.class);
         AggregatedPackageRepository repo = new AggregatedPackageRepository();
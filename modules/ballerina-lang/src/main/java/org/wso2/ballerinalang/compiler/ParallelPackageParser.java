@@ -0,0 +1,129 @@
+/*
+*  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.wso2.ballerinalang.compiler;
+
+import org.ballerinalang.model.elements.PackageID;
+import org.ballerinalang.model.tree.NodeKind;
+import org.ballerinalang.model.tree.TopLevelNode;
+import org.ballerinalang.repository.PackageEntity;
+import org.ballerinalang.repository.PackageRepository;
+import org.ballerinalang.repository.PackageSource;
+import org.wso2.ballerinalang.compiler.parser.Parser;
+import org.wso2.ballerinalang.compiler.tree.BLangCompilationUnit;
+import org.wso2.ballerinalang.compiler.tree.BLangImportPackage;
+import org.wso2.ballerinalang.compiler.tree.BLangPackage;
+import org.wso2.ballerinalang.compiler.util.Name;
+import org.wso2.ballerinalang.compiler.util.Names;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+/**
+ * This parses the source packages of a compilation on a fork-join pool.
+ * <p>
+ * The compilation units of a package are parsed concurrently. Once a package is parsed, the packages it imports are
+ * scheduled right away, following the import graph, so that independent packages are parsed concurrently while the
+ * packages imported before them are being defined. Only parsing is done in parallel; the {@link PackageLoader} still
+ * defines the packages one after the other, in the order they are imported.
+ * <p>
+ * The pools are shared by the compilations with the same parallelism, so that a process which compiles many programs,
+ * e.g. a test run, does not create a pool per compilation. The workers of an idle pool are released by the pool.
+ *
+ * @since 0.95
+ */
+class ParallelPackageParser {
+
+    private static final Map<Integer, ForkJoinPool> POOLS = new ConcurrentHashMap<>();
+
+    private final Parser parser;
+    private final PackageRepository packageRepo;
+    private final Predicate<PackageEntity> cacheable;
+    private final Names names;
+    private final ForkJoinPool pool;
+
+    private final Map<PackageID, ForkJoinTask<BLangPackage>> parseTasks = new ConcurrentHashMap<>();
+
+    ParallelPackageParser(Parser parser, PackageRepository packageRepo, Predicate<PackageEntity> cacheable,
+                          Names names, int parallelism) {
+        this.parser = parser;
+        this.packageRepo = packageRepo;
+        this.cacheable = cacheable;
+        this.names = names;
+        this.pool = POOLS.computeIfAbsent(parallelism, ForkJoinPool::new);
+    }
+
+    /**
+     * Parse an entry package, and schedule the packages it imports.
+     *
+     * @param pkgSource source of the package
+     * @param cacheable whether the parse trees of the source can be cached
+     * @return package node
+     */
+    BLangPackage parse(PackageSource pkgSource, boolean cacheable) {
+        return this.pool.invoke(ForkJoinTask.adapt(() -> parseAndScheduleImports(pkgSource, cacheable)));
+    }
+
+    /**
+     * Get an imported package, waiting for it to be parsed. The package is scheduled now if it has not been imported
+     * by a package parsed before.
+     *
+     * @param pkgId package to get
+     * @return package node, or {@code null} if the package is not found in the repository
+     */
+    BLangPackage getImportedPackage(PackageID pkgId) {
+        return schedule(pkgId).join();
+    }
+
+    private ForkJoinTask<BLangPackage> schedule(PackageID pkgId) {
+        return this.parseTasks.computeIfAbsent(pkgId,
+                id -> this.pool.submit(ForkJoinTask.adapt(() -> parseImportedPackage(id))));
+    }
+
+    private BLangPackage parseImportedPackage(PackageID pkgId) {
+        PackageSource pkgSource = PackageLoader.getPackageSource(pkgId, this.packageRepo.loadPackage(pkgId));
+        if (pkgSource == null) {
+            return null;
+        }
+        return parseAndScheduleImports(pkgSource, this.cacheable.test(pkgSource));
+    }
+
+    private BLangPackage parseAndScheduleImports(PackageSource pkgSource, boolean cacheable) {
+        BLangPackage pkgNode = this.parser.parseConcurrently(pkgSource, cacheable);
+        for (BLangCompilationUnit compUnit : pkgNode.getCompilationUnits()) {
+            for (TopLevelNode node : compUnit.getTopLevelNodes()) {
+                if (node.getKind() == NodeKind.IMPORT) {
+                    schedule(getPackageID((BLangImportPackage) node));
+                }
+            }
+        }
+        return pkgNode;
+    }
+
+    private PackageID getPackageID(BLangImportPackage importPkgNode) {
+        // The same as the package id of the import, as created when the symbols of the import are defined
+        List<Name> nameComps = importPkgNode.pkgNameComps.stream()
+                .map(identifier -> this.names.fromIdNode(identifier))
+                .collect(Collectors.toList());
+        return new PackageID(nameComps, this.names.fromIdNode(importPkgNode.version));
+    }
+}
@@ -128,6 +128,7 @@ import org.wso2.ballerinalang.compiler.tree.statements.BLangWorkerReceive;
 import org.wso2.ballerinalang.compiler.tree.statements.BLangWorkerSend;
 import org.wso2.ballerinalang.compiler.tree.statements.BLangXMLNSStatement;
 import org.wso2.ballerinalang.compiler.util.CompilerContext;
+import org.wso2.ballerinalang.compiler.util.CompilerOptions;
 import org.wso2.ballerinalang.compiler.util.TypeDescriptor;
 import org.wso2.ballerinalang.compiler.util.TypeTags;
 import org.wso2.ballerinalang.compiler.util.diagnotic.DiagnosticPos;
@@ -232,6 +233,7 @@ public class CodeGenerator extends BLangNodeVisitor {
     // TODO Remove this dependency from the code generator
     private SymbolEnter symEnter;
     private SymbolTable symTable;
+    private boolean optimize;
 
     private ProgramFile programFile;
 
@@ -275,6 +277,7 @@ public class CodeGenerator extends BLangNodeVisitor {
 
         this.symEnter = SymbolEnter.getInstance(context);
         this.symTable = SymbolTable.getInstance(context);
+        this.optimize = CompilerOptions.getInstance(context).getOptimizationLevel() > 0;
     }
 
     public ProgramFile generate(BLangPackage pkgNode) {
@@ -386,6 +389,10 @@ public class CodeGenerator extends BLangNodeVisitor {
             genNode((BLangNode) pkgLevelNode, this.env);
         }
 
+        if (optimize) {
+            threadJumps(currentPkgInfo.instructionList);
+        }
+
         currentPkgInfo.addAttributeInfo(AttributeInfo.Kind.LINE_NUMBER_TABLE_ATTRIBUTE, lineNoAttrInfo);
         currentPackageRefCPIndex = -1;
         currentPkgID = null;
@@ -2328,11 +2335,14 @@ public class CodeGenerator extends BLangNodeVisitor {
 
     public void visit(BLangWhile whileNode) {
         Instruction gotoTopJumpInstr = InstructionFactory.get(InstructionCodes.GOTO, this.nextIP());
-        this.genNode(whileNode.expr, this.env);
-        Instruction whileCondJumpInstr = InstructionFactory.get(InstructionCodes.BR_FALSE,
-                whileNode.expr.regIndex, -1);
+        Instruction whileCondJumpInstr = null;
+        // A loop on a constant true condition only exits with a break, hence the condition isn't evaluated
+        if (!optimize || !isTrueLiteral(whileNode.expr)) {
+            this.genNode(whileNode.expr, this.env);
+            whileCondJumpInstr = InstructionFactory.get(InstructionCodes.BR_FALSE, whileNode.expr.regIndex, -1);
+            this.emit(whileCondJumpInstr);
+        }
         Instruction exitLoopJumpInstr = InstructionFactory.get(InstructionCodes.GOTO, -1);
-        this.emit(whileCondJumpInstr);
         this.loopResetInstructionStack.push(gotoTopJumpInstr);
         this.loopExitInstructionStack.push(exitLoopJumpInstr);
         this.genNode(whileNode.body, this.env);
@@ -2340,7 +2350,9 @@ public class CodeGenerator extends BLangNodeVisitor {
         this.loopExitInstructionStack.pop();
         this.emit(gotoTopJumpInstr);
         int endIP = this.nextIP();
-        whileCondJumpInstr.setOperand(1, endIP);
+        if (whileCondJumpInstr != null) {
+            whileCondJumpInstr.setOperand(1, endIP);
+        }
         exitLoopJumpInstr.setOperand(0, endIP);
     }
 
@@ -2711,6 +2723,43 @@ public class CodeGenerator extends BLangNodeVisitor {
         emit(InstructionCodes.FPLOAD, funcRefCPIndex, nextIndex);
     }
 
+    private boolean isTrueLiteral(BLangExpression expr) {
+        return expr.getKind() == NodeKind.LITERAL && Boolean.TRUE.equals(((BLangLiteral) expr).value);
+    }
+
+    /**
+     * Retarget the jumps which land on an unconditional jump, to the final destination of the jump chain. Nested
+     * loops and if-else blocks end with such chains, which are otherwise taken on every iteration. Instructions are
+     * only updated in place, so the instruction addresses of the package remain valid.
+     *
+     * @param instructionList instructions of the package
+     */
+    private void threadJumps(List<Instruction> instructionList) {
+        for (Instruction instruction : instructionList) {
+            int targetOperand;
+            if (instruction.getOpcode() == InstructionCodes.GOTO) {
+                targetOperand = 0;
+            } else if (instruction.getOpcode() == InstructionCodes.BR_TRUE ||
+                    instruction.getOpcode() == InstructionCodes.BR_FALSE) {
+                targetOperand = 1;
+            } else {
+                continue;
+            }
+
+            int target = instruction.getOperands()[targetOperand];
+            // Bound the number of hops, so that a chain which loops back to itself terminates
+            for (int hops = 0; hops < instructionList.size() && target >= 0 && target < instructionList.size();
+                 hops++) {
+                Instruction targetInstr = instructionList.get(target);
+                if (targetInstr.getOpcode() != InstructionCodes.GOTO || targetInstr == instruction) {
+                    break;
+                }
+                target = targetInstr.getOperands()[0];
+            }
+            instruction.setOperand(targetOperand, target);
+        }
+    }
+
     private void generateFinallyInstructions(BLangStatement statement) {
         generateFinallyInstructions(statement, null);
     }
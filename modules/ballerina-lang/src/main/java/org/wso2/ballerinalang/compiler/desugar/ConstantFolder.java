@@ -0,0 +1,262 @@
+/*
+*  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.wso2.ballerinalang.compiler.desugar;
+
+import org.ballerinalang.model.tree.NodeKind;
+import org.ballerinalang.model.tree.OperatorKind;
+import org.wso2.ballerinalang.compiler.semantics.model.types.BType;
+import org.wso2.ballerinalang.compiler.tree.expressions.BLangBinaryExpr;
+import org.wso2.ballerinalang.compiler.tree.expressions.BLangExpression;
+import org.wso2.ballerinalang.compiler.tree.expressions.BLangLiteral;
+import org.wso2.ballerinalang.compiler.tree.expressions.BLangUnaryExpr;
+import org.wso2.ballerinalang.compiler.util.CompilerContext;
+import org.wso2.ballerinalang.compiler.util.CompilerOptions;
+import org.wso2.ballerinalang.compiler.util.TypeTags;
+import org.wso2.ballerinalang.compiler.util.diagnotic.DiagnosticPos;
+
+/**
+ * {@code ConstantFolder} evaluates operator expressions on literal operands at compile time.
+ * <p>
+ * Folding is done on the desugared tree, so an expression such as {@code 60 * 60 * 24} is emitted as a single
+ * constant load instead of a sequence of arithmetic instructions. An expression is folded only if it produces the
+ * same value as the VM would, hence divisions by zero are left to fail at runtime.
+ *
+ * @since 0.95
+ */
+public class ConstantFolder {
+
+    private static final CompilerContext.Key<ConstantFolder> CONSTANT_FOLDER_KEY =
+            new CompilerContext.Key<>();
+
+    private final boolean enabled;
+
+    public static ConstantFolder getInstance(CompilerContext context) {
+        ConstantFolder constantFolder = context.get(CONSTANT_FOLDER_KEY);
+        if (constantFolder == null) {
+            constantFolder = new ConstantFolder(context);
+        }
+
+        return constantFolder;
+    }
+
+    private ConstantFolder(CompilerContext context) {
+        context.put(CONSTANT_FOLDER_KEY, this);
+
+        this.enabled = CompilerOptions.getInstance(context).getOptimizationLevel() > 0;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Fold a binary expression, whose operands are already desugared.
+     *
+     * @param binaryExpr binary expression
+     * @return literal with the value of the expression, or the expression itself if it cannot be folded
+     */
+    public BLangExpression fold(BLangBinaryExpr binaryExpr) {
+        if (!enabled || !isLiteral(binaryExpr.lhsExpr) || !isLiteral(binaryExpr.rhsExpr)) {
+            return binaryExpr;
+        }
+
+        BLangLiteral lhsLiteral = (BLangLiteral) binaryExpr.lhsExpr;
+        BLangLiteral rhsLiteral = (BLangLiteral) binaryExpr.rhsExpr;
+        if (lhsLiteral.type.tag != rhsLiteral.type.tag) {
+            return binaryExpr;
+        }
+
+        Object value;
+        switch (lhsLiteral.type.tag) {
+            case TypeTags.INT:
+                value = foldInt(binaryExpr.opKind, (Long) lhsLiteral.value, (Long) rhsLiteral.value);
+                break;
+            case TypeTags.FLOAT:
+                value = foldFloat(binaryExpr.opKind, (Double) lhsLiteral.value, (Double) rhsLiteral.value);
+                break;
+            case TypeTags.STRING:
+                value = foldString(binaryExpr.opKind, (String) lhsLiteral.value, (String) rhsLiteral.value);
+                break;
+            case TypeTags.BOOLEAN:
+                value = foldBoolean(binaryExpr.opKind, (Boolean) lhsLiteral.value, (Boolean) rhsLiteral.value);
+                break;
+            default:
+                value = null;
+        }
+
+        if (value == null) {
+            return binaryExpr;
+        }
+        return createLiteral(binaryExpr.pos, binaryExpr.type, value);
+    }
+
+    /**
+     * Fold a unary expression, whose operand is already desugared.
+     *
+     * @param unaryExpr unary expression
+     * @return literal with the value of the expression, or the expression itself if it cannot be folded
+     */
+    public BLangExpression fold(BLangUnaryExpr unaryExpr) {
+        if (!enabled || !isLiteral(unaryExpr.expr)) {
+            return unaryExpr;
+        }
+
+        BLangLiteral literal = (BLangLiteral) unaryExpr.expr;
+        Object value = null;
+        switch (literal.type.tag) {
+            case TypeTags.INT:
+                if (unaryExpr.operator == OperatorKind.SUB) {
+                    value = -(Long) literal.value;
+                } else if (unaryExpr.operator == OperatorKind.ADD) {
+                    value = literal.value;
+                }
+                break;
+            case TypeTags.FLOAT:
+                if (unaryExpr.operator == OperatorKind.SUB) {
+                    value = -(Double) literal.value;
+                } else if (unaryExpr.operator == OperatorKind.ADD) {
+                    value = literal.value;
+                }
+                break;
+            case TypeTags.BOOLEAN:
+                if (unaryExpr.operator == OperatorKind.NOT) {
+                    value = !(Boolean) literal.value;
+                }
+                break;
+            default:
+                break;
+        }
+
+        if (value == null) {
+            return unaryExpr;
+        }
+        return createLiteral(unaryExpr.pos, unaryExpr.type, value);
+    }
+
+    /**
+     * Get the value of a boolean condition, if it is known at compile time.
+     *
+     * @param expr desugared condition expression
+     * @return value of the condition, or {@code null} if it is only known at runtime
+     */
+    public Boolean getConditionValue(BLangExpression expr) {
+        if (!enabled || !isLiteral(expr) || expr.type.tag != TypeTags.BOOLEAN) {
+            return null;
+        }
+        return (Boolean) ((BLangLiteral) expr).value;
+    }
+
+    private static Object foldInt(OperatorKind opKind, long lhs, long rhs) {
+        switch (opKind) {
+            case ADD:
+                return lhs + rhs;
+            case SUB:
+                return lhs - rhs;
+            case MUL:
+                return lhs * rhs;
+            case DIV:
+                return rhs == 0 ? null : lhs / rhs;
+            case MOD:
+                return rhs == 0 ? null : lhs % rhs;
+            case EQUAL:
+                return lhs == rhs;
+            case NOT_EQUAL:
+                return lhs != rhs;
+            case GREATER_THAN:
+                return lhs > rhs;
+            case GREATER_EQUAL:
+                return lhs >= rhs;
+            case LESS_THAN:
+                return lhs < rhs;
+            case LESS_EQUAL:
+                return lhs <= rhs;
+            default:
+                return null;
+        }
+    }
+
+    private static Object foldFloat(OperatorKind opKind, double lhs, double rhs) {
+        switch (opKind) {
+            case ADD:
+                return lhs + rhs;
+            case SUB:
+                return lhs - rhs;
+            case MUL:
+                return lhs * rhs;
+            case DIV:
+                return rhs == 0 ? null : lhs / rhs;
+            case MOD:
+                return rhs == 0 ? null : lhs % rhs;
+            case EQUAL:
+                return lhs == rhs;
+            case NOT_EQUAL:
+                return lhs != rhs;
+            case GREATER_THAN:
+                return lhs > rhs;
+            case GREATER_EQUAL:
+                return lhs >= rhs;
+            case LESS_THAN:
+                return lhs < rhs;
+            case LESS_EQUAL:
+                return lhs <= rhs;
+            default:
+                return null;
+        }
+    }
+
+    private static Object foldString(OperatorKind opKind, String lhs, String rhs) {
+        switch (opKind) {
+            case ADD:
+                return lhs + rhs;
+            case EQUAL:
+                return lhs.equals(rhs);
+            case NOT_EQUAL:
+                return !lhs.equals(rhs);
+            default:
+                return null;
+        }
+    }
+
+    private static Object foldBoolean(OperatorKind opKind, boolean lhs, boolean rhs) {
+        switch (opKind) {
+            case AND:
+                return lhs && rhs;
+            case OR:
+                return lhs || rhs;
+            case EQUAL:
+                return lhs == rhs;
+            case NOT_EQUAL:
+                return lhs != rhs;
+            default:
+                return null;
+        }
+    }
+
+    private static boolean isLiteral(BLangExpression expr) {
+        return expr.getKind() == NodeKind.LITERAL && ((BLangLiteral) expr).value != null && expr.type != null;
+    }
+
+    private static BLangLiteral createLiteral(DiagnosticPos pos, BType type, Object value) {
+        BLangLiteral literal = new BLangLiteral();
+        literal.pos = pos;
+        literal.value = value;
+        literal.type = type;
+        literal.typeTag = type.tag;
+        return literal;
+    }
+}
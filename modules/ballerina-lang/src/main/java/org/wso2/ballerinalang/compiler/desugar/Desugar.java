@@ -135,6 +135,7 @@ public class Desugar extends BLangNodeVisitor {
     private SymbolTable symTable;
     private SymbolResolver symResolver;
     private SymbolEnter symbolEnter;
+    private ConstantFolder constantFolder;
 
     private BLangNode result;
 
@@ -156,6 +157,7 @@ public class Desugar extends BLangNodeVisitor {
         this.symTable = SymbolTable.getInstance(context);
         this.symResolver = SymbolResolver.getInstance(context);
         this.symbolEnter = SymbolEnter.getInstance(context);
+        this.constantFolder = ConstantFolder.getInstance(context);
     }
 
     public BLangPackage perform(BLangPackage pkgNode) {
@@ -378,6 +380,20 @@ public class Desugar extends BLangNodeVisitor {
         ifNode.body = rewrite(ifNode.body);
         ifNode.elseStmt = rewrite(ifNode.elseStmt);
         result = ifNode;
+
+        // Only the taken branch is generated, if the condition is a constant
+        Boolean conditionValue = constantFolder.getConditionValue(ifNode.expr);
+        if (conditionValue == null) {
+            return;
+        }
+
+        if (conditionValue) {
+            result = ifNode.body;
+        } else if (ifNode.elseStmt != null) {
+            result = ifNode.elseStmt;
+        } else {
+            result = createBlockStmt(ifNode.pos);
+        }
     }
 
     @Override
@@ -385,6 +401,10 @@ public class Desugar extends BLangNodeVisitor {
         whileNode.expr = rewriteExpr(whileNode.expr);
         whileNode.body = rewrite(whileNode.body);
         result = whileNode;
+
+        if (Boolean.FALSE.equals(constantFolder.getConditionValue(whileNode.expr))) {
+            result = createBlockStmt(whileNode.pos);
+        }
     }
 
     @Override
@@ -597,7 +617,10 @@ public class Desugar extends BLangNodeVisitor {
     public void visit(BLangBinaryExpr binaryExpr) {
         binaryExpr.lhsExpr = rewriteExpr(binaryExpr.lhsExpr);
         binaryExpr.rhsExpr = rewriteExpr(binaryExpr.rhsExpr);
-        result = binaryExpr;
+        result = constantFolder.fold(binaryExpr);
+        if (result != binaryExpr) {
+            return;
+        }
 
         // Check lhs and rhs type compatibility
         if (binaryExpr.lhsExpr.type.tag == binaryExpr.rhsExpr.type.tag) {
@@ -631,7 +654,7 @@ public class Desugar extends BLangNodeVisitor {
     @Override
     public void visit(BLangUnaryExpr unaryExpr) {
         unaryExpr.expr = rewriteExpr(unaryExpr.expr);
-        result = unaryExpr;
+        result = constantFolder.fold(unaryExpr);
     }
 
     @Override
@@ -895,6 +918,12 @@ public class Desugar extends BLangNodeVisitor {
         return nodeList;
     }
 
+    private BLangBlockStmt createBlockStmt(DiagnosticPos pos) {
+        BLangBlockStmt blockStmt = (BLangBlockStmt) TreeBuilder.createBlockNode();
+        blockStmt.pos = pos;
+        return blockStmt;
+    }
+
     private BLangLiteral createStringLiteral(DiagnosticPos pos, String value) {
         BLangLiteral stringLit = new BLangLiteral();
         stringLit.pos = pos;
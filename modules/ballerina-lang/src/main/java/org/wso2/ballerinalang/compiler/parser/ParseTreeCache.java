@@ -0,0 +1,98 @@
+/*
+*  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.wso2.ballerinalang.compiler.parser;
+
+import org.ballerinalang.repository.PackageSourceEntry;
+import org.wso2.ballerinalang.compiler.parser.antlr4.BallerinaParser;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * {@code ParseTreeCache} holds the parse trees of system package sources across compilations.
+ * <p>
+ * The builtin and system packages are loaded by every compilation, while their sources only change with the
+ * distribution. A parse tree is immutable once parsed, hence it is shared by all the compiler contexts of the JVM and
+ * the package model is built by walking the cached tree, instead of lexing and parsing the source again. Entries are
+ * keyed by the content hash of the source, so a changed source is never served from the cache.
+ *
+ * @since 0.95
+ */
+public class ParseTreeCache {
+
+    private static final String DIGEST_ALGORITHM = "SHA-256";
+    private static final ParseTreeCache INSTANCE = new ParseTreeCache();
+
+    private final Map<String, BallerinaParser.CompilationUnitContext> parseTrees = new ConcurrentHashMap<>();
+
+    private ParseTreeCache() {
+    }
+
+    public static ParseTreeCache getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Get the cached parse tree of the given source entry.
+     *
+     * @param sourceEntry source entry
+     * @return parse tree of the source, or {@code null} if the source hasn't been parsed yet
+     */
+    public BallerinaParser.CompilationUnitContext get(PackageSourceEntry sourceEntry) {
+        return parseTrees.get(getKey(sourceEntry));
+    }
+
+    /**
+     * Cache the parse tree of the given source entry. Only parse trees without syntax errors should be cached.
+     *
+     * @param sourceEntry source entry
+     * @param parseTree   parse tree of the source
+     */
+    public void put(PackageSourceEntry sourceEntry, BallerinaParser.CompilationUnitContext parseTree) {
+        parseTrees.put(getKey(sourceEntry), parseTree);
+    }
+
+    public void clear() {
+        parseTrees.clear();
+    }
+
+    public int size() {
+        return parseTrees.size();
+    }
+
+    private static String getKey(PackageSourceEntry sourceEntry) {
+        return sourceEntry.getPackageID() + "/" + sourceEntry.getEntryName() + "#" +
+                getContentHash(sourceEntry.getCode());
+    }
+
+    private static String getContentHash(byte[] code) {
+        try {
+            byte[] digest = MessageDigest.getInstance(DIGEST_ALGORITHM).digest(code);
+            StringBuilder hash = new StringBuilder(digest.length * 2);
+            for (byte b : digest) {
+                hash.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+            }
+            return hash.toString();
+        } catch (NoSuchAlgorithmException e) {
+            // Every Java platform is required to support SHA-256
+            throw new IllegalStateException(e.getMessage(), e);
+        }
+    }
+}
@@ -18,8 +18,13 @@
 package org.wso2.ballerinalang.compiler.parser;
 
 import org.antlr.v4.runtime.ANTLRInputStream;
+import org.antlr.v4.runtime.BailErrorStrategy;
 import org.antlr.v4.runtime.CommonTokenStream;
+import org.antlr.v4.runtime.ConsoleErrorListener;
 import org.antlr.v4.runtime.DefaultErrorStrategy;
+import org.antlr.v4.runtime.atn.PredictionMode;
+import org.antlr.v4.runtime.misc.ParseCancellationException;
+import org.antlr.v4.runtime.tree.ParseTreeWalker;
 import org.ballerinalang.compiler.CompilerOptionName;
 import org.ballerinalang.model.TreeBuilder;
 import org.ballerinalang.model.tree.CompilationUnitNode;
@@ -35,8 +40,12 @@ import org.wso2.ballerinalang.compiler.util.diagnotic.BDiagnosticSource;
 import org.wso2.ballerinalang.compiler.util.diagnotic.DiagnosticLog;
 import org.wso2.ballerinalang.compiler.util.diagnotic.DiagnosticPos;
 
-import java.io.ByteArrayInputStream;
-import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.util.List;
+import java.util.concurrent.ForkJoinTask;
+import java.util.stream.Collectors;
 
 /**
  * This represents the Ballerina source parser.
@@ -45,7 +54,14 @@ import java.io.IOException;
  */
 public class Parser {
 
+    /**
+     * System property to turn off parsing in the SLL prediction mode first, e.g. to compare it with the LL mode.
+     */
+    public static final String TWO_STAGE_PARSING_PROPERTY = "ballerina.parser.twoStage";
+
     private static final CompilerContext.Key<Parser> PARSER_KEY = new CompilerContext.Key<>();
+    private static final boolean TWO_STAGE_PARSING =
+            Boolean.parseBoolean(System.getProperty(TWO_STAGE_PARSING_PROPERTY, "true"));
     private final boolean preserveWhitespace;
 
     private CompilerContext context;
@@ -70,38 +86,135 @@ public class Parser {
     }
 
     public BLangPackage parse(PackageSource pkgSource) {
+        return parse(pkgSource, false);
+    }
+
+    /**
+     * Parse the given package source.
+     *
+     * @param pkgSource package source
+     * @param cacheable whether the parse trees of the source can be shared with other compilations, through the
+     *                  {@link ParseTreeCache}
+     * @return package node
+     */
+    public BLangPackage parse(PackageSource pkgSource, boolean cacheable) {
+        boolean useCache = isCacheable(cacheable);
+        List<PackageSourceEntry> sourceEntries = pkgSource.getPackageSourceEntries();
+        BLangPackage pkgNode = createPackageNode(pkgSource, sourceEntries);
+        sourceEntries.forEach(e -> pkgNode.addCompilationUnit(generateCompilationUnit(e, useCache, true)));
+        return pkgNode;
+    }
+
+    /**
+     * Parse the given package source, with its compilation units parsed concurrently. This must be called from a
+     * task of a {@link java.util.concurrent.ForkJoinPool}, on which the compilation units are parsed.
+     *
+     * @param pkgSource package source
+     * @param cacheable whether the parse trees of the source can be shared with other compilations, through the
+     *                  {@link ParseTreeCache}
+     * @return package node
+     */
+    public BLangPackage parseConcurrently(PackageSource pkgSource, boolean cacheable) {
+        boolean useCache = isCacheable(cacheable);
+        List<PackageSourceEntry> sourceEntries = pkgSource.getPackageSourceEntries();
+        List<ForkJoinTask<CompilationUnitNode>> tasks = sourceEntries.stream()
+                .map(e -> ForkJoinTask.adapt(() -> generateCompilationUnit(e, useCache, false)))
+                .collect(Collectors.toList());
+        ForkJoinTask.invokeAll(tasks);
+
+        // The syntax errors are checked once all the units are parsed. Only the errors of this package are counted,
+        // as other packages may be parsed at the same time.
+        if (dlog.getErrorCount(pkgSource.getPackageId()) > 0) {
+            throw new BLangParserException("syntax errors in: " + pkgSource.getPackageId());
+        }
+
+        BLangPackage pkgNode = createPackageNode(pkgSource, sourceEntries);
+        tasks.forEach(task -> pkgNode.addCompilationUnit(task.join()));
+        return pkgNode;
+    }
+
+    private boolean isCacheable(boolean cacheable) {
+        return cacheable && !this.preserveWhitespace && context.get(DefaultErrorStrategy.class) == null;
+    }
+
+    private BLangPackage createPackageNode(PackageSource pkgSource, List<PackageSourceEntry> sourceEntries) {
         BLangPackage pkgNode = (BLangPackage) TreeBuilder.createPackageNode();
-        pkgSource.getPackageSourceEntries()
-                .forEach(e -> pkgNode.addCompilationUnit(generateCompilationUnit(e)));
         pkgNode.pos = new DiagnosticPos(new BDiagnosticSource(pkgSource.getPackageId(),
-                pkgSource.getPackageSourceEntries().get(0).getEntryName()), 1, 1, 1, 1);
+                sourceEntries.get(0).getEntryName()), 1, 1, 1, 1);
         return pkgNode;
     }
 
-    private CompilationUnitNode generateCompilationUnit(PackageSourceEntry sourceEntry) {
-        try {
-            String entryName = sourceEntry.getEntryName();
-            CompilationUnitNode compUnit = TreeBuilder.createCompilationUnit();
-            compUnit.setName(sourceEntry.getEntryName());
+    private CompilationUnitNode generateCompilationUnit(PackageSourceEntry sourceEntry, boolean useCache,
+                                                        boolean checkErrors) {
+        String entryName = sourceEntry.getEntryName();
+        CompilationUnitNode compUnit = TreeBuilder.createCompilationUnit();
+        compUnit.setName(sourceEntry.getEntryName());
+
+        BDiagnosticSource diagnosticSrc = getDiagnosticSource(sourceEntry);
+
+        if (useCache) {
+            BallerinaParser.CompilationUnitContext parseTree = ParseTreeCache.getInstance().get(sourceEntry);
+            if (parseTree != null) {
+                // Replay the parse events of the cached tree on to a new listener
+                ParseTreeWalker.DEFAULT.walk(new BLangParserListener(this.context, compUnit, diagnosticSrc),
+                        parseTree);
+                return compUnit;
+            }
+        }
 
-            BDiagnosticSource diagnosticSrc = getDiagnosticSource(sourceEntry);
+        // The source is decoded straight in to the buffer of the input stream
+        CharBuffer code = Charset.defaultCharset().decode(ByteBuffer.wrap(sourceEntry.getCode()));
+        ANTLRInputStream ais = new ANTLRInputStream(code.array(), code.limit());
+        ais.name = entryName;
+        BallerinaLexer lexer = new BallerinaLexer(ais);
+        CommonTokenStream tokenStream = new CommonTokenStream(lexer);
+        BallerinaParser parser = new BallerinaParser(tokenStream);
+        PredictionCache.getInstance().setInterpreters(lexer, parser);
+
+        // The whitespace preserving listener tracks the tokens as they are parsed, hence it is not given a parse tree
+        BallerinaParser.CompilationUnitContext parseTree = null;
+        if (TWO_STAGE_PARSING && !this.preserveWhitespace) {
+            parseTree = parseWithSLL(parser);
+        }
 
-            ANTLRInputStream ais = new ANTLRInputStream(new ByteArrayInputStream(sourceEntry.getCode()));
-            ais.name = entryName;
-            BallerinaLexer lexer = new BallerinaLexer(ais);
-            CommonTokenStream tokenStream = new CommonTokenStream(lexer);
-            BallerinaParser parser = new BallerinaParser(tokenStream);
+        if (parseTree != null) {
+            ParseTreeWalker.DEFAULT.walk(new BLangParserListener(this.context, compUnit, diagnosticSrc), parseTree);
+        } else {
             parser.setErrorHandler(getErrorStrategy(diagnosticSrc));
             parser.addParseListener(newListener(tokenStream, compUnit, diagnosticSrc));
-            parser.compilationUnit();
+            parseTree = parser.compilationUnit();
+        }
 
-            if (dlog.errorCount > 0) {
-                throw new BLangParserException("syntax errors in: " + entryName);
-            }
+        int errorCount = dlog.getErrorCount(sourceEntry.getPackageID());
+        if (checkErrors && errorCount > 0) {
+            throw new BLangParserException("syntax errors in: " + entryName);
+        }
+
+        if (useCache && errorCount == 0) {
+            ParseTreeCache.getInstance().put(sourceEntry, parseTree);
+        }
+        return compUnit;
+    }
 
-            return compUnit;
-        } catch (IOException e) {
-            throw new RuntimeException("Error in populating package model: " + e.getMessage(), e);
+    /**
+     * Parse with the SLL prediction mode, which is cheaper than the full LL mode and gives the same parse tree
+     * for an input it can parse. Parsing stops at the first syntax error, without reporting it.
+     *
+     * @return parse tree, or {@code null} if the parser has to be run again in the LL mode, either to parse the input
+     * or to report and recover from its syntax errors
+     */
+    private static BallerinaParser.CompilationUnitContext parseWithSLL(BallerinaParser parser) {
+        parser.getInterpreter().setPredictionMode(PredictionMode.SLL);
+        parser.setErrorHandler(new BailErrorStrategy());
+        parser.removeErrorListeners();
+        try {
+            return parser.compilationUnit();
+        } catch (ParseCancellationException e) {
+            // The tokens already read are parsed again, rather than being read again
+            parser.reset();
+            parser.getInterpreter().setPredictionMode(PredictionMode.LL);
+            parser.addErrorListener(ConsoleErrorListener.INSTANCE);
+            return null;
         }
     }
 
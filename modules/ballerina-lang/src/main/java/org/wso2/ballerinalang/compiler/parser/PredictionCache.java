@@ -0,0 +1,117 @@
+/*
+*  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.wso2.ballerinalang.compiler.parser;
+
+import org.antlr.v4.runtime.atn.ATN;
+import org.antlr.v4.runtime.atn.LexerATNSimulator;
+import org.antlr.v4.runtime.atn.ParserATNSimulator;
+import org.antlr.v4.runtime.atn.PredictionContextCache;
+import org.antlr.v4.runtime.dfa.DFA;
+import org.wso2.ballerinalang.compiler.parser.antlr4.BallerinaLexer;
+import org.wso2.ballerinalang.compiler.parser.antlr4.BallerinaParser;
+
+import java.lang.ref.SoftReference;
+
+/**
+ * {@code PredictionCache} holds the DFA and prediction context caches of the Ballerina lexer and parser.
+ * <p>
+ * The lexer and the parser build the DFA of their decisions as they go, which is most of the cost of parsing the first
+ * sources. The caches are shared by all the lexers and parsers of the JVM, so a long-lived process such as the
+ * language server or a build daemon parses with caches already warmed up by the files and compilations before. The
+ * caches only grow, hence they are softly referenced to be dropped under memory pressure, and can be cleared
+ * explicitly. Cleared caches are built up again by the next parses.
+ *
+ * @since 0.95
+ */
+public class PredictionCache {
+
+    private static final PredictionCache INSTANCE = new PredictionCache();
+
+    private volatile SoftReference<Caches> caches = new SoftReference<>(new Caches());
+
+    private PredictionCache() {
+    }
+
+    public static PredictionCache getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Make the given lexer and parser predict with the shared caches.
+     *
+     * @param lexer  lexer of a source
+     * @param parser parser of the tokens of the lexer
+     */
+    void setInterpreters(BallerinaLexer lexer, BallerinaParser parser) {
+        Caches caches = getCaches();
+        lexer.setInterpreter(new LexerATNSimulator(lexer, BallerinaLexer._ATN, caches.lexerDFA,
+                caches.lexerContextCache));
+        parser.setInterpreter(new ParserATNSimulator(parser, BallerinaParser._ATN, caches.parserDFA,
+                caches.parserContextCache));
+    }
+
+    public void clear() {
+        caches = new SoftReference<>(new Caches());
+    }
+
+    /**
+     * Get the number of DFA states cached.
+     *
+     * @return number of DFA states of the lexer and the parser
+     */
+    public int size() {
+        Caches caches = this.caches.get();
+        return caches == null ? 0 : size(caches.lexerDFA) + size(caches.parserDFA);
+    }
+
+    private Caches getCaches() {
+        Caches caches = this.caches.get();
+        if (caches == null) {
+            // Dropped by the garbage collector. Threads racing here may get caches of their own for this parse.
+            caches = new Caches();
+            this.caches = new SoftReference<>(caches);
+        }
+        return caches;
+    }
+
+    private static int size(DFA[] decisionToDFA) {
+        int size = 0;
+        for (DFA dfa : decisionToDFA) {
+            size += dfa.states.size();
+        }
+        return size;
+    }
+
+    /**
+     * The caches of the lexer and the parser, which are thread safe.
+     */
+    private static class Caches {
+        final DFA[] lexerDFA = createDFA(BallerinaLexer._ATN);
+        final DFA[] parserDFA = createDFA(BallerinaParser._ATN);
+        final PredictionContextCache lexerContextCache = new PredictionContextCache();
+        final PredictionContextCache parserContextCache = new PredictionContextCache();
+
+        private static DFA[] createDFA(ATN atn) {
+            DFA[] decisionToDFA = new DFA[atn.getNumberOfDecisions()];
+            for (int i = 0; i < decisionToDFA.length; i++) {
+                decisionToDFA[i] = new DFA(atn.getDecisionState(i), i);
+            }
+            return decisionToDFA;
+        }
+    }
+}
@@ -18,22 +18,28 @@
 package org.wso2.ballerinalang.compiler.util;
 
 
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
+ * The components of a compilation are looked up concurrently by the parser threads, hence a thread safe map.
+ *
  * @since 0.94
  */
 public class CompilerContext {
 
-    private Map<Key<?>, Object> props = new HashMap<>();
-    private Map<Class<?>, Object> objects = new HashMap<>();
+    private Map<Key<?>, Object> props = new ConcurrentHashMap<>();
+    private Map<Class<?>, Object> objects = new ConcurrentHashMap<>();
 
     public CompilerContext() {
     }
 
     public <V> void put(Key<V> key, V value) {
-        props.put(key, value);
+        if (value == null) {
+            props.remove(key);
+        } else {
+            props.put(key, value);
+        }
     }
 
     @SuppressWarnings("unchecked")
@@ -42,7 +48,11 @@ public class CompilerContext {
     }
 
     public <V> void put(Class<V> clazz, V value) {
-        objects.put(clazz, value);
+        if (value == null) {
+            objects.remove(clazz);
+        } else {
+            objects.put(clazz, value);
+        }
     }
 
     @SuppressWarnings("unchecked")
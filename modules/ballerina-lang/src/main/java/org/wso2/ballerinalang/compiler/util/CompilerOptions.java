@@ -32,6 +32,8 @@ public class CompilerOptions {
     private static final CompilerContext.Key<CompilerOptions> OPTIONS_KEY =
             new CompilerContext.Key<>();
 
+    private static final int DEFAULT_OPTIMIZATION_LEVEL = 1;
+
     private Map<CompilerOptionName, String> optionMap;
 
     public static CompilerOptions getInstance(CompilerContext context) {
@@ -55,6 +57,20 @@ public class CompilerOptions {
         return optionMap.containsKey(optionName);
     }
 
+    /**
+     * Get the optimization level of the compilation. Level 0 disables the optimizations of the desugar and the code
+     * generation phases.
+     *
+     * @return optimization level, or the default level if the option is not set
+     */
+    public int getOptimizationLevel() {
+        String level = optionMap.get(CompilerOptionName.OPTIMIZATION_LEVEL);
+        if (level == null || level.isEmpty()) {
+            return DEFAULT_OPTIMIZATION_LEVEL;
+        }
+        return Integer.parseInt(level);
+    }
+
     public void put(CompilerOptionName optionName, String value) {
         optionMap.put(optionName, value);
     }
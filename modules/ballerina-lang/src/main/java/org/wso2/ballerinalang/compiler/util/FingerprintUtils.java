@@ -0,0 +1,73 @@
+/*
+*  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.wso2.ballerinalang.compiler.util;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * Utilities to compute the fingerprints of sources and compiled programs, used to find out whether they have changed.
+ * A fingerprint is the hex encoded SHA-256 digest of the content.
+ *
+ * @since 0.95
+ */
+public class FingerprintUtils {
+
+    private static final String FINGERPRINT_ALGORITHM = "SHA-256";
+
+    /**
+     * Create a digest to compute a fingerprint from content given in parts.
+     *
+     * @return a new digest
+     */
+    public static MessageDigest createDigest() {
+        try {
+            return MessageDigest.getInstance(FINGERPRINT_ALGORITHM);
+        } catch (NoSuchAlgorithmException e) {
+            // Every Java platform is required to support SHA-256
+            throw new IllegalStateException(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Get the fingerprint of the content given to a digest created by {@link #createDigest()}.
+     *
+     * @param digest digest of the content
+     * @return fingerprint of the content
+     */
+    public static String getFingerprint(MessageDigest digest) {
+        byte[] hash = digest.digest();
+        StringBuilder fingerprint = new StringBuilder(hash.length * 2);
+        for (byte b : hash) {
+            fingerprint.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return fingerprint.toString();
+    }
+
+    /**
+     * Get the fingerprint of the given content.
+     *
+     * @param content content to fingerprint
+     * @return fingerprint of the content
+     */
+    public static String getFingerprint(byte[] content) {
+        MessageDigest digest = createDigest();
+        digest.update(content);
+        return getFingerprint(digest);
+    }
+}
@@ -17,17 +17,20 @@
 */
 package org.wso2.ballerinalang.compiler.util.diagnotic;
 
+import org.ballerinalang.model.elements.PackageID;
 import org.ballerinalang.util.diagnostic.Diagnostic;
 import org.ballerinalang.util.diagnostic.DiagnosticCode;
 import org.ballerinalang.util.diagnostic.DiagnosticListener;
 import org.wso2.ballerinalang.compiler.util.CompilerContext;
 
 import java.text.MessageFormat;
+import java.util.HashMap;
 import java.util.Locale;
+import java.util.Map;
 import java.util.ResourceBundle;
 
 /**
- * Diagnostic logger.
+ * Diagnostic logger. Diagnostics may be logged concurrently by the threads parsing the packages.
  *
  * @since 0.94
  */
@@ -43,7 +46,10 @@ public class DiagnosticLog {
     private static String warningMsgKeyPrefix = "warning" + ".";
     private static String noteMsgKeyPrefix = "note" + ".";
 
-    public int errorCount = 0;
+    public volatile int errorCount = 0;
+
+    // Error counts by package, to tell the errors of a package from those of the packages parsed at the same time
+    private final Map<PackageID, Integer> packageErrorCounts = new HashMap<>();
 
     private DiagnosticListener listener;
 
@@ -65,23 +71,36 @@ public class DiagnosticLog {
         }
     }
 
-    public void error(DiagnosticPos pos, DiagnosticCode code, Object... args) {
+    public synchronized void error(DiagnosticPos pos, DiagnosticCode code, Object... args) {
         String msg = formatMessage(errMsgKeyPrefix, code, args);
         BDiagnostic diagnostic = new BDiagnostic(Diagnostic.Kind.ERROR,
                 pos.src, pos, code, msg);
 
         listener.received(diagnostic);
         errorCount++;
+        if (pos.src != null && pos.src.pkgID != null) {
+            packageErrorCounts.merge(pos.src.pkgID, 1, Integer::sum);
+        }
+    }
+
+    /**
+     * Get the number of errors logged in the sources of a package.
+     *
+     * @param pkgId package id
+     * @return number of errors of the package
+     */
+    public synchronized int getErrorCount(PackageID pkgId) {
+        return packageErrorCounts.getOrDefault(pkgId, 0);
     }
 
-    public void warning(DiagnosticPos pos, DiagnosticCode code, Object... args) {
+    public synchronized void warning(DiagnosticPos pos, DiagnosticCode code, Object... args) {
         String msg = formatMessage(warningMsgKeyPrefix, code, args);
         BDiagnostic diagnostic = new BDiagnostic(Diagnostic.Kind.WARNING,
                 pos.src, pos, code, msg);
         listener.received(diagnostic);
     }
 
-    public void note(DiagnosticPos pos, DiagnosticCode code, Object... args) {
+    public synchronized void note(DiagnosticPos pos, DiagnosticCode code, Object... args) {
         String msg = formatMessage(noteMsgKeyPrefix, code, args);
         BDiagnostic diagnostic = new BDiagnostic(Diagnostic.Kind.NOTE,
                 pos.src, pos, code, msg);
@@ -0,0 +1,168 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.test.codegen;
+
+import org.ballerinalang.compiler.CompilerPhase;
+import org.ballerinalang.launcher.LauncherUtils;
+import org.ballerinalang.model.values.BBoolean;
+import org.ballerinalang.model.values.BInteger;
+import org.ballerinalang.model.values.BValue;
+import org.ballerinalang.test.utils.BTestUtils;
+import org.ballerinalang.test.utils.CompileResult;
+import org.ballerinalang.util.diagnostic.DiagnosticListener;
+import org.ballerinalang.util.exceptions.BLangRuntimeException;
+import org.testng.Assert;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+import org.wso2.ballerinalang.compiler.Compiler;
+import org.wso2.ballerinalang.compiler.util.CompilerContext;
+import org.wso2.ballerinalang.compiler.util.CompilerOptions;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import static org.ballerinalang.compiler.CompilerOptionName.COMPILER_PHASE;
+import static org.ballerinalang.compiler.CompilerOptionName.OPTIMIZATION_LEVEL;
+import static org.ballerinalang.compiler.CompilerOptionName.PRESERVE_WHITESPACE;
+import static org.ballerinalang.compiler.CompilerOptionName.SOURCE_ROOT;
+
+/**
+ * Test the optimizations of the desugar and the code generation phases, by comparing the results of programs compiled
+ * with and without optimizations.
+ */
+public class OptimizationTest {
+
+    private static final String CONSTANT_FOLDING_SOURCE = "test-src/codegen/constant-folding.bal";
+
+    private CompileResult result;
+
+    @BeforeClass
+    public void setup() {
+        result = compile(CONSTANT_FOLDING_SOURCE, 1);
+        Assert.assertEquals(result.getErrorCount(), 0);
+    }
+
+    @Test(description = "Test folding operator expressions on constant operands")
+    public void testConstantFolding() {
+        BValue[] returns = BTestUtils.invoke(result, "foldIntExpr");
+        Assert.assertEquals(((BInteger) returns[0]).intValue(), 86395);
+
+        returns = BTestUtils.invoke(result, "foldFloatExpr");
+        Assert.assertEquals(returns[0].stringValue(), "7.0");
+
+        returns = BTestUtils.invoke(result, "foldStringExpr");
+        Assert.assertEquals(returns[0].stringValue(), "Hello, World");
+
+        returns = BTestUtils.invoke(result, "foldBooleanExpr");
+        Assert.assertTrue(((BBoolean) returns[0]).booleanValue());
+        Assert.assertTrue(((BBoolean) returns[1]).booleanValue());
+        Assert.assertFalse(((BBoolean) returns[2]).booleanValue());
+
+        returns = BTestUtils.invoke(result, "foldMixedExpr", new BValue[]{new BInteger(2)});
+        Assert.assertEquals(((BInteger) returns[0]).intValue(), 30);
+    }
+
+    @Test(description = "Test division by a constant zero is not folded",
+            expectedExceptions = {BLangRuntimeException.class},
+            expectedExceptionsMessageRegExp = ".*by zero.*")
+    public void testDivideByZero() {
+        BTestUtils.invoke(result, "divideByZero");
+    }
+
+    @Test(description = "Test branches on constant conditions")
+    public void testConstantConditions() {
+        BValue[] returns = BTestUtils.invoke(result, "constantIfCondition");
+        Assert.assertEquals(returns[0].stringValue(), "taken else-if");
+
+        returns = BTestUtils.invoke(result, "constantWhileCondition");
+        Assert.assertEquals(((BInteger) returns[0]).intValue(), 10);
+    }
+
+    @Test(description = "Test optimized code is smaller than the unoptimized code")
+    public void testInstructionCount() {
+        CompileResult unoptimized = compile(CONSTANT_FOLDING_SOURCE, 0);
+        Assert.assertTrue(result.getProgFile().getEntryPackage().getInstructionCount() <
+                unoptimized.getProgFile().getEntryPackage().getInstructionCount());
+    }
+
+    @DataProvider(name = "programs")
+    public Object[][] programs() {
+        return new Object[][]{
+                {CONSTANT_FOLDING_SOURCE, "nestedLoops", new BValue[]{new BInteger(5)}},
+                {CONSTANT_FOLDING_SOURCE, "foldMixedExpr", new BValue[]{new BInteger(-3)}},
+                {"test-src/statements/ifelse/if-stmt.bal", "testIfStmt",
+                        new BValue[]{new BInteger(10), new BInteger(1), new BInteger(2)}},
+                {"test-src/statements/ifelse/if-stmt.bal", "testAgeGroup", new BValue[]{new BInteger(25)}},
+                {"test-src/statements/ifelse/if-stmt.bal", "nestedIfElseScope",
+                        new BValue[]{new BInteger(2), new BInteger(3)}},
+                {"test-src/statements/ifelse/if-stmt.bal", "testConditionScope", new BValue[]{new BInteger(6)}},
+                {"test-src/statements/whilestatement/while-stmt.bal", "testWhileStmt",
+                        new BValue[]{new BInteger(15), new BInteger(5)}},
+                {"test-src/statements/whilestatement/while-stmt.bal", "testWhileScope",
+                        new BValue[]{new BInteger(1)}},
+                {"test-src/statements/whilestatement/while-stmt.bal", "testWhileScopeWithIf", new BValue[0]},
+                {"test-src/statements/breakstatement/break-stmt.bal", "calculateExp1",
+                        new BValue[]{new BInteger(25), new BInteger(15)}},
+                {"test-src/statements/breakstatement/break-stmt.bal", "nestedBreakStmt",
+                        new BValue[]{new BInteger(12), new BInteger(13)}},
+                {"test-src/expressions/binaryoperations/operator-precedence.bal", "comparatorPrecedence",
+                        new BValue[]{new BInteger(1), new BInteger(2), new BInteger(3), new BInteger(4),
+                                new BInteger(5), new BInteger(6)}},
+                {"test-src/expressions/binaryoperations/binary-expr-precedence.bal", "multiBinaryANDExpr",
+                        new BValue[]{new BBoolean(true), new BBoolean(true), new BBoolean(false)}},
+        };
+    }
+
+    @Test(description = "Test optimized programs return the same results as unoptimized programs",
+            dataProvider = "programs")
+    public void testSemanticEquivalence(String sourceFilePath, String functionName, BValue[] args) {
+        CompileResult unoptimized = compile(sourceFilePath, 0);
+        CompileResult optimized = compile(sourceFilePath, 1);
+        Assert.assertEquals(unoptimized.getErrorCount(), 0);
+        Assert.assertEquals(optimized.getErrorCount(), 0);
+
+        BValue[] expected = BTestUtils.invoke(unoptimized, functionName, args);
+        BValue[] actual = BTestUtils.invoke(optimized, functionName, args);
+        Assert.assertEquals(actual.length, expected.length);
+        for (int i = 0; i < expected.length; i++) {
+            Assert.assertEquals(actual[i].stringValue(), expected[i].stringValue());
+        }
+    }
+
+    private static CompileResult compile(String sourceFilePath, int optimizationLevel) {
+        Path sourcePath = Paths.get("src/test/resources").resolve(sourceFilePath).toAbsolutePath();
+        CompilerContext context = new CompilerContext();
+        CompilerOptions options = CompilerOptions.getInstance(context);
+        options.put(SOURCE_ROOT, sourcePath.getParent().toString());
+        options.put(COMPILER_PHASE, CompilerPhase.CODE_GEN.toString());
+        options.put(PRESERVE_WHITESPACE, "false");
+        options.put(OPTIMIZATION_LEVEL, Integer.toString(optimizationLevel));
+
+        CompileResult compileResult = new CompileResult();
+        context.put(DiagnosticListener.class, (DiagnosticListener) compileResult::addDiagnostic);
+
+        Compiler compiler = Compiler.getInstance(context);
+        compiler.compile(sourcePath.getFileName().toString());
+        if (compiler.getCompiledProgram() != null) {
+            compileResult.setProgFile(LauncherUtils.getExecutableProgram(compiler.getCompiledProgram()));
+        }
+        return compileResult;
+    }
+}
@@ -0,0 +1,157 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://wso2.com) All Rights Reserved.
+ * <p>
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.test.expressions.conversion;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import org.apache.axiom.om.OMElement;
+import org.ballerinalang.model.util.XMLJSONConverter;
+import org.ballerinalang.model.values.BJSON;
+import org.ballerinalang.model.values.BStruct;
+import org.ballerinalang.model.values.BValue;
+import org.ballerinalang.model.values.BXML;
+import org.ballerinalang.model.values.BXMLItem;
+import org.ballerinalang.model.values.BXMLSequence;
+import org.ballerinalang.test.utils.BTestUtils;
+import org.ballerinalang.test.utils.CompileResult;
+import org.testng.Assert;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Test cases for the conversions between xml and json.
+ */
+public class XMLJSONConversionTest {
+
+    private CompileResult compileResult;
+
+    @BeforeClass
+    public void setup() {
+        compileResult = BTestUtils.compile("test-src/expressions/conversion/xml-json-conversion.bal");
+    }
+
+    @Test
+    public void testXMLToJSON() {
+        BValue[] args = {new BXMLItem("<bookStore status=\"online\"><name>foo</name><postalCode>94</postalCode>" +
+                "<rating>4.5</rating><isOpen>true</isOpen><codes>4</codes><codes>8</codes><address/></bookStore>")};
+        BValue[] returns = BTestUtils.invoke(compileResult, "xmlToJson", args);
+
+        Assert.assertTrue(returns[0] instanceof BJSON);
+        JsonNode bookStore = ((BJSON) returns[0]).value().get("bookStore");
+        Assert.assertEquals(bookStore.get("@status").asText(), "online");
+        Assert.assertEquals(bookStore.get("name").asText(), "foo");
+        Assert.assertTrue(bookStore.get("postalCode").isInt());
+        Assert.assertEquals(bookStore.get("postalCode").intValue(), 94);
+        Assert.assertEquals(bookStore.get("rating").doubleValue(), 4.5);
+        Assert.assertTrue(bookStore.get("isOpen").booleanValue());
+        Assert.assertTrue(bookStore.get("codes").isArray());
+        Assert.assertEquals(bookStore.get("codes").toString(), "[4,8]");
+        Assert.assertTrue(bookStore.get("address").isNull());
+    }
+
+    @Test
+    public void testXMLWithNamespacesAndTextToJSON() {
+        BValue[] args = {new BXMLItem("<ns0:book xmlns:ns0=\"http://sample.com/test\" ns0:id=\"0123\">Ballerina" +
+                "</ns0:book>")};
+        BValue[] returns = BTestUtils.invoke(compileResult, "xmlToJson", args);
+
+        Assert.assertEquals(returns[0].stringValue(), "{\"ns0:book\":{\"@xmlns:ns0\":\"http://sample.com/test\"," +
+                "\"@ns0:id\":\"0123\",\"$\":\"Ballerina\"}}");
+    }
+
+    @Test
+    public void testXMLSequenceToJSON() {
+        BValue[] returns = BTestUtils.invoke(compileResult, "convertSequence");
+        Assert.assertEquals(returns[0].stringValue(), "[{\"name\":\"John\"},{\"age\":30}]");
+    }
+
+    @Test
+    public void testJSONToXML() {
+        BValue[] args = {new BJSON("{'info':{'@id':'100','name':'John','age':30,'cars':['honda','audi']}}")};
+        BValue[] returns = BTestUtils.invoke(compileResult, "jsonToXml", args);
+
+        Assert.assertTrue(returns[0] instanceof BXMLItem);
+        Assert.assertNull(returns[1]);
+        Assert.assertEquals(returns[0].stringValue(), "<root><info id=\"100\"><name>John</name><age>30</age>" +
+                "<cars>honda</cars><cars>audi</cars></info></root>");
+    }
+
+    @Test
+    public void testJSONWithNamespacesToXML() {
+        BValue[] args = {new BJSON("{'ns0:book':{'@xmlns:ns0':'http://sample.com/test','$':'Ballerina'}}")};
+        BValue[] returns = BTestUtils.invoke(compileResult, "jsonToXml", args);
+
+        Assert.assertEquals(returns[0].stringValue(), "<root><ns0:book xmlns:ns0=\"http://sample.com/test\">" +
+                "Ballerina</ns0:book></root>");
+    }
+
+    @Test
+    public void testJSONArrayToXML() {
+        BValue[] args = {new BJSON("[3,4,5]")};
+        BValue[] returns = BTestUtils.invoke(compileResult, "jsonToXml", args);
+
+        Assert.assertTrue(returns[0] instanceof BXMLSequence);
+        Assert.assertEquals(returns[0].stringValue(), "<root>3</root><root>4</root><root>5</root>");
+    }
+
+    @Test
+    public void testJSONWithInvalidNameToXML() {
+        BValue[] args = {new BJSON("{'bookStore':{'#storeName':'foo'}}")};
+        BValue[] returns = BTestUtils.invoke(compileResult, "jsonToXml", args);
+
+        Assert.assertNull(returns[0]);
+        Assert.assertTrue(returns[1] instanceof BStruct);
+        Assert.assertEquals(((BStruct) returns[1]).getStringField(0), "'json' cannot be converted to 'xml'");
+    }
+
+    @Test
+    public void testRoundTrip() {
+        String xml = "<person id=\"1\"><name>John</name><phone>123</phone><phone>456</phone></person>";
+        BValue[] returns = BTestUtils.invoke(compileResult, "roundTrip", new BValue[]{new BXMLItem(xml)});
+        Assert.assertEquals(returns[0].stringValue(), "<root>" + xml + "</root>");
+    }
+
+    @Test
+    public void testConvertedJSONIsNotChangedWithXML() {
+        BXMLItem xml = new BXMLItem("<name>John</name>");
+        BJSON json = XMLJSONConverter.toJSON(xml);
+        ((OMElement) xml.value()).setText("Jane");
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        json.setOutputStream(outputStream);
+        json.serializeData();
+        Assert.assertEquals(new String(outputStream.toByteArray(), StandardCharsets.UTF_8), "{\"name\":\"John\"}");
+        Assert.assertEquals(json.value().get("name").asText(), "John");
+    }
+
+    @Test
+    public void testStreamedAndMaterializedJSONAreTheSame() {
+        BXML<?> xml = new BXMLItem("<a x=\"1\"><b>true</b><c>text</c><c/><d>1e3</d></a>");
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        BJSON streamed = XMLJSONConverter.toJSON(xml);
+        streamed.setOutputStream(outputStream);
+        streamed.serializeData();
+
+        Assert.assertEquals(new String(outputStream.toByteArray(), StandardCharsets.UTF_8),
+                XMLJSONConverter.toJSON(xml).stringValue());
+    }
+}
@@ -0,0 +1,177 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.test.expressions.literals;
+
+import org.ballerinalang.model.util.XMLUtils;
+import org.ballerinalang.model.values.BRefValueArray;
+import org.ballerinalang.model.values.BString;
+import org.ballerinalang.model.values.BValue;
+import org.ballerinalang.model.values.BXML;
+import org.ballerinalang.model.values.BXMLItem;
+import org.ballerinalang.model.values.BXMLSequence;
+import org.ballerinalang.test.utils.BTestUtils;
+import org.ballerinalang.test.utils.CompileResult;
+import org.ballerinalang.util.exceptions.BallerinaException;
+import org.testng.Assert;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Test XML sequences read from a stream, which are built only when needed.
+ */
+public class XMLStreamingTest {
+
+    private static final String SOAP_NS = "{http://schemas.xmlsoap.org/soap/envelope/}";
+    private static final String ORDERS_NS = "{http://example.com/orders}";
+    private static final String ENVELOPE = "<soap:Envelope xmlns:soap=\"http://schemas.xmlsoap.org/soap/envelope/\">" +
+            "<soap:Header><auth>secret</auth></soap:Header>" +
+            "<soap:Body xmlns:m=\"http://example.com/orders\">" +
+            "<m:order id=\"1\"><m:item>A</m:item><!-- first --></m:order>" +
+            "<m:order id=\"2\"><m:item>B</m:item>text</m:order>" +
+            "</soap:Body></soap:Envelope>";
+
+    private CompileResult result;
+
+    @BeforeClass
+    public void setup() {
+        result = BTestUtils.compile("test-src/expressions/literals/xml/xml-streaming.bal");
+    }
+
+    @DataProvider(name = "paths")
+    public Object[][] paths() {
+        return new Object[][]{
+                {SOAP_NS + "Envelope/" + SOAP_NS + "Body/*"},
+                {SOAP_NS + "Envelope/" + SOAP_NS + "Header/auth"},
+                {SOAP_NS + "Envelope/*"},
+                {"*/*/" + ORDERS_NS + "order/" + ORDERS_NS + "item"},
+                {"//" + ORDERS_NS + "item"},
+                {SOAP_NS + "Envelope//" + ORDERS_NS + "order"},
+                {"Envelope"},
+        };
+    }
+
+    @Test(description = "Test selecting from a streamed XML selects the same items as from a parsed XML",
+            dataProvider = "paths")
+    public void testSelectPath(String path) {
+        BRefValueArray expected = items(XMLUtils.selectPath(XMLUtils.parse(ENVELOPE), path).elements());
+        BRefValueArray actual = items(XMLUtils.selectPath(stream(ENVELOPE), path).elements());
+
+        Assert.assertEquals(actual.size(), expected.size());
+        for (int i = 0; i < expected.size(); i++) {
+            BXML<?> expectedItem = (BXML<?>) expected.get(i);
+            BXML<?> actualItem = (BXML<?>) actual.get(i);
+            Assert.assertEquals(actualItem.getElementName().stringValue(),
+                    expectedItem.getElementName().stringValue());
+            Assert.assertEquals(actualItem.getTextValue().stringValue(), expectedItem.getTextValue().stringValue());
+        }
+    }
+
+    @Test(description = "Test selecting all the children of streamed elements")
+    public void testChildren() {
+        BXML<?> children = stream(ENVELOPE).elements().children().elements().children();
+        BRefValueArray items = items(children);
+
+        Assert.assertEquals(items.size(), 3);
+        Assert.assertEquals(((BXMLItem) items.get(0)).getElementName().stringValue(), "auth");
+        Assert.assertEquals(((BXMLItem) items.get(1)).getAttribute("id", ""), "1");
+        Assert.assertEquals(items(((BXMLItem) items.get(2)).children()).size(), 2);
+    }
+
+    @Test(description = "Test writing selected items out, with the namespaces declared by their ancestors")
+    public void testSerializeSelection() {
+        BXML<?> items = XMLUtils.selectPath(stream(ENVELOPE), "//" + ORDERS_NS + "item");
+        String output = serialize(items);
+
+        // The output is a well-formed sequence of the selected items
+        BRefValueArray writtenItems = items(stream(output));
+        Assert.assertEquals(writtenItems.size(), 2);
+        Assert.assertEquals(((BXMLItem) writtenItems.get(0)).getElementName().stringValue(), ORDERS_NS + "item");
+        Assert.assertEquals(((BXMLItem) writtenItems.get(1)).getTextValue().stringValue(), "B");
+    }
+
+    @Test(description = "Test writing a whole streamed XML out")
+    public void testSerializeDocument() {
+        BRefValueArray items = items(stream(serialize(stream(ENVELOPE))));
+        Assert.assertEquals(items.size(), 1);
+        Assert.assertEquals(items(((BXMLItem) items.get(0)).descendants(new BString(ORDERS_NS + "order"))).size(), 2);
+    }
+
+    @Test(description = "Test a streamed XML can be read only once",
+            expectedExceptions = BallerinaException.class,
+            expectedExceptionsMessageRegExp = "xml stream has already been read")
+    public void testReadTwice() {
+        BXML<?> xml = stream(ENVELOPE);
+        serialize(xml.children());
+        serialize(xml.elements());
+    }
+
+    @Test(description = "Test a malformed streamed XML is reported when it is read",
+            expectedExceptions = BallerinaException.class,
+            expectedExceptionsMessageRegExp = "failed to create xml: .*")
+    public void testMalformedXML() {
+        BXML<?> xml = stream("<a><b></a>");
+        items(xml.elements());
+    }
+
+    @Test(description = "Test a XML parsed from a stream without streaming it can be read more than once")
+    public void testParseStreamEagerly() {
+        BXML<?> xml = XMLUtils.parse(new ByteArrayInputStream(ENVELOPE.getBytes(StandardCharsets.UTF_8)));
+        Assert.assertEquals(items(XMLUtils.selectPath(xml, "//" + ORDERS_NS + "item")).size(), 2);
+        Assert.assertEquals(items(XMLUtils.selectPath(xml, SOAP_NS + "Envelope/*")).size(), 2);
+    }
+
+    @Test(description = "Test a malformed XML parsed from a stream without streaming it is reported when parsed",
+            expectedExceptions = BallerinaException.class)
+    public void testParseMalformedStreamEagerly() {
+        XMLUtils.parse(new ByteArrayInputStream("<a><b></a>".getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test(description = "Test an invalid path", expectedExceptions = BallerinaException.class,
+            expectedExceptionsMessageRegExp = "invalid xml path: .*")
+    public void testInvalidPath() {
+        XMLUtils.selectPath(stream(ENVELOPE), "a//*");
+    }
+
+    @Test(description = "Test selecting from a streamed XML in a ballerina program")
+    public void testSelectInProgram() {
+        BValue[] returns = BTestUtils.invoke(result, "selectItems", new BValue[]{stream(ENVELOPE)});
+        Assert.assertTrue(returns[0] instanceof BXMLSequence);
+        Assert.assertEquals(((BXML<?>) returns[0]).getTextValue().stringValue(), "AB");
+    }
+
+    private static BXML<?> stream(String xml) {
+        return XMLUtils.parseStreaming(new ByteArrayInputStream(xml.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static BRefValueArray items(BXML<?> xml) {
+        return ((BXMLSequence) xml).value();
+    }
+
+    private static String serialize(BXML<?> xml) {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        xml.setOutputStream(outputStream);
+        xml.serializeData();
+        return new String(outputStream.toByteArray(), StandardCharsets.UTF_8);
+    }
+}
@@ -18,6 +18,10 @@
 package org.ballerinalang.test.expressions.typecast;
 
 
+import org.ballerinalang.bre.bvm.TypeCastCache;
+import org.ballerinalang.model.types.BArrayType;
+import org.ballerinalang.model.types.BType;
+import org.ballerinalang.model.types.BTypes;
 import org.ballerinalang.model.values.BBoolean;
 import org.ballerinalang.model.values.BFloat;
 import org.ballerinalang.model.values.BFloatArray;
@@ -35,6 +39,9 @@ import org.testng.Assert;
 import org.testng.annotations.BeforeClass;
 import org.testng.annotations.Test;
 
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
 /**
  * Test Cases for type casting.
  */
@@ -66,6 +73,23 @@ public class TypeCastExprTest {
 //        Assert.assertEquals(returns[0].stringValue(), expected);
 //    }
 
+    @Test(description = "Test only the casts between the types of the program are cached")
+    public void testTypeCastCache() {
+        TypeCastCache cache = new TypeCastCache(result.getProgFile());
+        BType personType = result.getProgFile().getEntryPackage().getStructInfo("Person").getType();
+        BType studentType = result.getProgFile().getEntryPackage().getStructInfo("Student").getType();
+        cache.put(personType, studentType, false);
+        cache.put(personType, BTypes.typeAny, true);
+        Assert.assertEquals(cache.get(personType, studentType), Boolean.FALSE);
+        Assert.assertEquals(cache.get(personType, BTypes.typeAny), Boolean.TRUE);
+
+        // A type created at run time is not cached, as it is created again the next time
+        BType runtimeType = new BArrayType(BTypes.typeAny);
+        cache.put(runtimeType, BTypes.typeAny, true);
+        Assert.assertNull(cache.get(runtimeType, BTypes.typeAny));
+        Assert.assertEquals(cache.size(), 2);
+    }
+
     @Test
     public void testFloatToInt() {
         BValue[] args = {new BFloat(222222.44444f)};
@@ -629,6 +653,40 @@ public class TypeCastExprTest {
         Assert.assertEquals(targetType, "A");
     }
 
+    @Test
+    public void testRepeatedStructCasting() {
+        BValue[] returns = BTestUtils.invoke(result, "testRepeatedStructCasting", new BValue[]{});
+        Assert.assertEquals(((BInteger) returns[0]).intValue(), 10);
+        Assert.assertEquals(((BInteger) returns[1]).intValue(), 10);
+    }
+
+    @Test
+    public void testCastToConstraintJSON() {
+        String owner = "{\"name\":\"John\",\"pet\":{\"x\":\"cat\",\"y\":3}}";
+        BJSON[] jsons = {new BJSON(owner),
+                new BJSON(new ByteArrayInputStream(owner.getBytes(StandardCharsets.UTF_8)))};
+        for (BJSON json : jsons) {
+            BValue[] returns = BTestUtils.invoke(result, "testCastToConstraintJSON", new BValue[]{json});
+            Assert.assertEquals(returns[0].stringValue(), owner);
+            Assert.assertNull(returns[1]);
+        }
+    }
+
+    @Test
+    public void testCastToConstraintJSONWithMissingFields() {
+        String[] owners = {"{\"name\":\"John\"}", "{\"name\":\"John\",\"pet\":{\"x\":\"cat\"}}",
+                "{\"name\":\"John\",\"pet\":null}", "{\"name\":\"John\",\"pet\":\"cat\"}"};
+        for (String owner : owners) {
+            BJSON[] jsons = {new BJSON(owner),
+                    new BJSON(new ByteArrayInputStream(owner.getBytes(StandardCharsets.UTF_8)))};
+            for (BJSON json : jsons) {
+                BValue[] returns = BTestUtils.invoke(result, "testCastToConstraintJSON", new BValue[]{json});
+                Assert.assertNull(returns[0]);
+                Assert.assertTrue(returns[1] instanceof BStruct);
+            }
+        }
+    }
+
     @Test(description = "Test returning a mismatching error when casting")
     public void testMistmatchErrorInMultiReturnCasting() {
         CompileResult res = BTestUtils.compile("test-src/expressions/typecast/multi-return-casting-negative.bal");
@@ -0,0 +1,57 @@
+/*
+*  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.ballerinalang.test.functions;
+
+import org.ballerinalang.model.values.BInteger;
+import org.ballerinalang.model.values.BValue;
+import org.ballerinalang.test.utils.BTestUtils;
+import org.ballerinalang.test.utils.CompileResult;
+import org.testng.Assert;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+/**
+ * Test recursive and call heavy function invocations, which reuse pooled stack frames.
+ */
+public class RecursiveFunctionTest {
+
+    private CompileResult compileResult;
+
+    @BeforeClass
+    public void setup() {
+        compileResult = BTestUtils.compile("test-src/functions/recursive-functions.bal");
+    }
+
+    @Test(description = "Test recursive function invocation")
+    public void testFib() {
+        BValue[] returns = BTestUtils.invoke(compileResult, "testFib", new BValue[]{new BInteger(20)});
+        Assert.assertEquals(((BInteger) returns[0]).intValue(), 6765);
+    }
+
+    @Test(description = "Test call depth beyond the initial control stack size")
+    public void testDeepRecursion() {
+        BValue[] returns = BTestUtils.invoke(compileResult, "testDeepRecursion", new BValue[]{new BInteger(1500)});
+        Assert.assertEquals(((BInteger) returns[0]).intValue(), 1125750);
+    }
+
+    @Test(description = "Test local variables have zero values when a stack frame is reused")
+    public void testLocalsResetOnReuse() {
+        BValue[] returns = BTestUtils.invoke(compileResult, "testLocalsResetOnReuse");
+        Assert.assertEquals(returns[0].stringValue(), ":0:0.0|:0:0.0");
+    }
+}
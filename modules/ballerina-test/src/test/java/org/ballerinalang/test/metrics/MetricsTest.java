@@ -0,0 +1,171 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.test.metrics;
+
+import org.ballerinalang.model.values.BValue;
+import org.ballerinalang.runtime.metrics.Counter;
+import org.ballerinalang.runtime.metrics.DefaultMetricRegistry;
+import org.ballerinalang.runtime.metrics.MetricId;
+import org.ballerinalang.runtime.metrics.MetricRegistry;
+import org.ballerinalang.runtime.metrics.MetricsMBean;
+import org.ballerinalang.runtime.metrics.MetricsServer;
+import org.ballerinalang.runtime.metrics.PrometheusTextFormatter;
+import org.ballerinalang.runtime.metrics.RuntimeMetrics;
+import org.ballerinalang.runtime.metrics.Timer;
+import org.ballerinalang.test.utils.BTestUtils;
+import org.ballerinalang.test.utils.CompileResult;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.StringWriter;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import javax.management.AttributeNotFoundException;
+
+/**
+ * Test recording and exporting the runtime metrics.
+ */
+public class MetricsTest {
+
+    @Test(description = "Test the quantiles of a timer are within the precision of the buckets")
+    public void testTimerQuantiles() {
+        Timer timer = new Timer(new MetricId("test_duration_seconds", "test"));
+        for (int i = 1; i <= 1000; i++) {
+            timer.record(i, TimeUnit.MILLISECONDS);
+        }
+
+        Timer.Snapshot snapshot = timer.getSnapshot();
+        Assert.assertEquals(snapshot.getCount(), 1000);
+        Assert.assertEquals(timer.getTotalTime(), TimeUnit.MILLISECONDS.toNanos(500500));
+        assertWithinPrecision(snapshot.getValueAtQuantile(0.5), TimeUnit.MILLISECONDS.toNanos(500));
+        assertWithinPrecision(snapshot.getValueAtQuantile(0.99), TimeUnit.MILLISECONDS.toNanos(990));
+        assertWithinPrecision(snapshot.getValueAtQuantile(1), TimeUnit.MILLISECONDS.toNanos(1000));
+    }
+
+    @Test(description = "Test a single duration is read back within the precision of the buckets")
+    public void testTimerPrecision() {
+        for (long value = 1; value < TimeUnit.MINUTES.toNanos(10); value = value * 3 + 1) {
+            Timer timer = new Timer(new MetricId("test_duration_seconds", "test"));
+            timer.record(value);
+            assertWithinPrecision(timer.getSnapshot().getValueAtQuantile(0.5), value);
+        }
+    }
+
+    @Test(description = "Test the registry returns the same metric for the same ID")
+    public void testRegistry() {
+        MetricRegistry registry = new DefaultMetricRegistry();
+        Counter counter = registry.counter(new MetricId("test_total", "test", "a", "1", "b", "2"));
+        counter.increment();
+        // The order of the tags is not significant
+        Counter sameCounter = registry.counter(new MetricId("test_total", "other description", "b", "2", "a", "1"));
+        sameCounter.increment(2);
+
+        Assert.assertSame(sameCounter, counter);
+        Assert.assertEquals(counter.getCount(), 3);
+        Assert.assertEquals(registry.getMetrics().size(), 1);
+
+        registry.remove(new MetricId("test_total", "test", "a", "1", "b", "2"));
+        Assert.assertTrue(registry.getMetrics().isEmpty());
+    }
+
+    @Test(description = "Test getting a metric as a different type",
+            expectedExceptions = IllegalArgumentException.class)
+    public void testRegistryTypeMismatch() {
+        MetricRegistry registry = new DefaultMetricRegistry();
+        registry.counter(new MetricId("test_total", "test"));
+        registry.timer(new MetricId("test_total", "test"));
+    }
+
+    @Test(description = "Test writing the metrics in the Prometheus text format")
+    public void testPrometheusTextFormat() throws IOException {
+        MetricRegistry registry = new DefaultMetricRegistry();
+        registry.counter(new MetricId("test_requests_total", "Number of requests", "path", "/a\"b")).increment(5);
+        registry.gauge(new MetricId("test_queue_depth", "Depth of the queue"), () -> 7);
+        registry.timer(new MetricId("test_duration_seconds", "Duration", "path", "/a")).record(2, TimeUnit.SECONDS);
+
+        StringWriter writer = new StringWriter();
+        PrometheusTextFormatter.write(registry, writer);
+        String text = writer.toString();
+
+        Assert.assertTrue(text.contains("# HELP test_requests_total Number of requests\n"));
+        Assert.assertTrue(text.contains("# TYPE test_requests_total counter\n"));
+        Assert.assertTrue(text.contains("test_requests_total{path=\"/a\\\"b\"} 5\n"));
+        Assert.assertTrue(text.contains("# TYPE test_queue_depth gauge\n"));
+        Assert.assertTrue(text.contains("test_queue_depth 7\n"));
+        Assert.assertTrue(text.contains("# TYPE test_duration_seconds summary\n"));
+        Assert.assertTrue(text.contains("test_duration_seconds{path=\"/a\",quantile=\"0.99\"} "));
+        Assert.assertTrue(text.contains("test_duration_seconds_sum{path=\"/a\"} 2.0\n"));
+        Assert.assertTrue(text.contains("test_duration_seconds_count{path=\"/a\"} 1\n"));
+    }
+
+    @Test(description = "Test scraping the metrics endpoint")
+    public void testMetricsServer() throws IOException {
+        MetricRegistry registry = new DefaultMetricRegistry();
+        registry.counter(new MetricId("test_requests_total", "Number of requests")).increment();
+
+        MetricsServer server = MetricsServer.start(registry, 0);
+        try {
+            URL url = new URL("http://localhost:" + server.getPort() + MetricsServer.METRICS_PATH);
+            HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+            Assert.assertEquals(connection.getResponseCode(), 200);
+            Assert.assertEquals(connection.getContentType(), PrometheusTextFormatter.CONTENT_TYPE);
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(connection.getInputStream(),
+                    StandardCharsets.UTF_8))) {
+                String body = reader.lines().collect(Collectors.joining("\n"));
+                Assert.assertTrue(body.contains("test_requests_total 1"));
+            }
+        } finally {
+            server.stop();
+        }
+    }
+
+    @Test(description = "Test reading the metrics as JMX attributes")
+    public void testMetricsMBean() throws AttributeNotFoundException {
+        MetricRegistry registry = new DefaultMetricRegistry();
+        registry.counter(new MetricId("test_requests_total", "Number of requests", "path", "/a")).increment(4);
+        registry.timer(new MetricId("test_duration_seconds", "Duration")).record(1, TimeUnit.SECONDS);
+
+        MetricsMBean mBean = new MetricsMBean(registry);
+        Assert.assertEquals(mBean.getMBeanInfo().getAttributes().length, 5);
+        Assert.assertEquals(mBean.getAttribute("test_requests_total{path=/a}"), 4L);
+        Assert.assertEquals(mBean.getAttribute("test_duration_seconds.count"), 1L);
+        assertWithinPrecision((long) ((double) mBean.getAttribute("test_duration_seconds.p99") * 1_000_000_000L),
+                TimeUnit.SECONDS.toNanos(1));
+    }
+
+    @Test(description = "Test recording the time workers wait on a data channel")
+    public void testWorkerChannelWaitTime() {
+        CompileResult result = BTestUtils.compile("test-src/workers/basic-worker-actions.bal");
+        long count = RuntimeMetrics.getWorkerChannelWaitTimer().getCount();
+        BTestUtils.invoke(result, "simpleWorkerMessagePassingTest", new BValue[0]);
+        Assert.assertTrue(RuntimeMetrics.getWorkerChannelWaitTimer().getCount() > count);
+    }
+
+    private static void assertWithinPrecision(long actual, long expected) {
+        Assert.assertTrue(actual >= expected && actual <= expected + expected / 8,
+                "expected " + expected + " within 12.5%, but was " + actual);
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.test.natives;
+
+import org.ballerinalang.bre.Context;
+import org.ballerinalang.bre.bvm.StackFrame;
+import org.ballerinalang.model.values.BBoolean;
+import org.ballerinalang.model.values.BFloat;
+import org.ballerinalang.model.values.BInteger;
+import org.ballerinalang.model.values.BString;
+import org.ballerinalang.model.values.BValue;
+import org.ballerinalang.test.utils.BTestUtils;
+import org.ballerinalang.test.utils.CompileResult;
+import org.ballerinalang.util.codegen.FunctionInfo;
+import org.testng.Assert;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+/**
+ * Test native functions which read their arguments and write their return values directly in the registers of the
+ * caller.
+ */
+public class DirectNativeFunctionTest {
+
+    private CompileResult result;
+
+    @BeforeClass
+    public void setup() {
+        result = BTestUtils.compile("test-src/natives/direct-native.bal");
+    }
+
+    @Test(description = "Test the return values of several native calls in the same expression")
+    public void testMathCalls() {
+        BValue[] args = {new BFloat(3.0), new BFloat(2.0), new BInteger(7)};
+        BValue[] returns = BTestUtils.invoke(result, "mathCalls", args);
+
+        Assert.assertEquals(((BFloat) returns[0]).floatValue(), 9.0);
+        Assert.assertEquals(((BInteger) returns[1]).intValue(), 1);
+        Assert.assertEquals(((BFloat) returns[2]).floatValue(), 384.0);
+    }
+
+    @Test(description = "Test arguments of different types are read by their position")
+    public void testMixedArguments() {
+        BValue[] args = {new BString("ballerina"), new BInteger(6), new BInteger(9)};
+        BValue[] returns = BTestUtils.invoke(result, "mixedArguments", args);
+
+        Assert.assertEquals(returns[0].stringValue(), "ina");
+        Assert.assertEquals(((BInteger) returns[1]).intValue(), 3);
+        Assert.assertTrue(((BBoolean) returns[2]).booleanValue());
+    }
+
+    @Test(description = "Test native functions with multiple return values")
+    public void testMultipleReturns() {
+        BValue[] returns = BTestUtils.invoke(result, "timeComponents", new BValue[]{new BInteger(2017)});
+
+        long[] expected = {2017, 2, 14, 10, 30, 15, 250};
+        Assert.assertEquals(returns.length, expected.length);
+        for (int i = 0; i < expected.length; i++) {
+            Assert.assertEquals(((BInteger) returns[i]).intValue(), expected[i]);
+        }
+    }
+
+    @Test(description = "Test an error thrown by a native function is caught by the caller, with the native " +
+            "function in the stack trace")
+    public void testNativeError() {
+        BValue[] returns = BTestUtils.invoke(result, "catchNativeError", new BValue[]{new BString("abc")});
+
+        Assert.assertEquals(returns[0].stringValue(), "");
+        Assert.assertTrue(returns[1].stringValue().startsWith("String index out of range"));
+        Assert.assertEquals(returns[2].stringValue(), "subString");
+    }
+
+    @Test(description = "Test a direct native function invoked as a native function with boxed values")
+    public void testBoxedInvocation() {
+        FunctionInfo functionInfo = result.getProgFile().getPackageInfo("ballerina.lang.strings")
+                .getFunctionInfo("subString");
+        StackFrame frame = new StackFrame(functionInfo, functionInfo.getDefaultWorkerInfo(), -1, null);
+        frame.getStringLocalVars()[0] = "ballerina";
+        frame.getLongLocalVars()[0] = 6;
+        frame.getLongLocalVars()[1] = 9;
+        Context context = new Context(result.getProgFile());
+        context.getControlStackNew().pushFrame(frame);
+
+        BValue[] returns = functionInfo.getNativeFunction().execute(context);
+        Assert.assertEquals(returns.length, 1);
+        Assert.assertTrue(returns[0] instanceof BString);
+        Assert.assertEquals(returns[0].stringValue(), "ina");
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ *  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.ballerinalang.test.net.http;
+
+import org.ballerinalang.net.http.HttpClientConnectorPool;
+import org.ballerinalang.net.http.HttpMetrics;
+import org.ballerinalang.runtime.metrics.DefaultMetricRegistry;
+import org.ballerinalang.runtime.metrics.Gauge;
+import org.ballerinalang.runtime.metrics.Metric;
+import org.ballerinalang.runtime.metrics.MetricRegistry;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import org.wso2.carbon.transport.http.netty.contract.HttpClientConnector;
+
+import java.lang.reflect.Proxy;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Test pooling the client connectors of HTTP endpoints.
+ */
+public class HttpClientConnectorPoolTest {
+
+    @Test(description = "Test requests to the same endpoint reuse the pooled connector")
+    public void testHitsAndMisses() {
+        HttpClientConnectorPool pool = new HttpClientConnectorPool(-1);
+        MetricRegistry registry = new DefaultMetricRegistry();
+        HttpMetrics.registerClientConnectorPool(registry, pool);
+
+        HttpClientConnector connector = pool.getClientConnector("a", () -> createConnector(new AtomicInteger()));
+        pool.release("a");
+        Assert.assertSame(pool.getClientConnector("a", () -> createConnector(new AtomicInteger())), connector);
+        pool.release("a");
+        Assert.assertNotSame(pool.getClientConnector("b", () -> createConnector(new AtomicInteger())), connector);
+        pool.release("b");
+
+        Assert.assertEquals(pool.getHits(), 1);
+        Assert.assertEquals(pool.getMisses(), 2);
+        Assert.assertEquals(pool.size(), 2);
+        Assert.assertEquals(getGaugeValue(registry, "ballerina_http_client_pool_hits"), 1);
+        Assert.assertEquals(getGaugeValue(registry, "ballerina_http_client_pool_misses"), 2);
+        Assert.assertEquals(getGaugeValue(registry, "ballerina_http_client_pool_connectors"), 2);
+    }
+
+    @Test(description = "Test idle connectors are closed and evicted, and connectors in use are not")
+    public void testEviction() throws InterruptedException {
+        HttpClientConnectorPool pool = new HttpClientConnectorPool(50);
+        MetricRegistry registry = new DefaultMetricRegistry();
+        HttpMetrics.registerClientConnectorPool(registry, pool);
+        AtomicInteger idleCloseCount = new AtomicInteger();
+        AtomicInteger inUseCloseCount = new AtomicInteger();
+
+        HttpClientConnector idleConnector = pool.getClientConnector("idle", () -> createConnector(idleCloseCount));
+        pool.release("idle");
+        pool.getClientConnector("in-use", () -> createConnector(inUseCloseCount));
+
+        // Evicted by the timer of the pool
+        for (int i = 0; i < 100 && pool.getEvictions() == 0; i++) {
+            Thread.sleep(50);
+        }
+        Assert.assertEquals(pool.getEvictions(), 1);
+        Assert.assertEquals(getGaugeValue(registry, "ballerina_http_client_pool_evictions"), 1);
+        Assert.assertEquals(idleCloseCount.get(), 1);
+        Assert.assertEquals(inUseCloseCount.get(), 0);
+        Assert.assertEquals(pool.size(), 1);
+        Assert.assertNotSame(pool.getClientConnector("idle", () -> createConnector(new AtomicInteger())),
+                idleConnector);
+    }
+
+    private static HttpClientConnector createConnector(AtomicInteger closeCount) {
+        return (HttpClientConnector) Proxy.newProxyInstance(HttpClientConnector.class.getClassLoader(),
+                new Class<?>[]{HttpClientConnector.class}, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "close":
+                            closeCount.incrementAndGet();
+                            return true;
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        case "equals":
+                            return proxy == args[0];
+                        default:
+                            return null;
+                    }
+                });
+    }
+
+    private static long getGaugeValue(MetricRegistry registry, String name) {
+        for (Metric metric : registry.getMetrics()) {
+            if (metric.getId().getName().equals(name)) {
+                return ((Gauge) metric).getValue();
+            }
+        }
+        throw new AssertionError("no gauge named " + name);
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ *  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.ballerinalang.test.net.http;
+
+import org.ballerinalang.net.http.HttpClientEndpoint;
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.net.MalformedURLException;
+import java.net.URL;
+
+/**
+ * Test resolving request paths against a parsed HTTP client endpoint.
+ */
+public class HttpClientEndpointTest {
+
+    @DataProvider(name = "urls")
+    public Object[][] urls() {
+        return new Object[][]{
+                {"http://localhost:9090", "/echo"},
+                {"http://localhost:9090", ""},
+                {"http://localhost", "/echo?a=b&c=d"},
+                {"https://localhost", "/secure#fragment"},
+                {"https://localhost:9443/base", "/echo?a=b#c"},
+                {"http://localhost:80/base?x=1", "/echo"},
+                {"http://localhost/base#ref", "/echo?a=b"},
+                {"http://localhost:9090/", "echo"},
+        };
+    }
+
+    @Test(description = "Test endpoint resolves the same request as parsing the full URL", dataProvider = "urls")
+    public void testRequestPath(String baseUrl, String path) throws MalformedURLException {
+        HttpClientEndpoint endpoint = HttpClientEndpoint.parse(baseUrl, "");
+        Assert.assertTrue(endpoint.canResolve(path));
+
+        URL url = new URL(baseUrl + path);
+        String expectedPath = url.getQuery() == null ? url.getPath() : url.getPath() + "?" + url.getQuery();
+        int expectedPort = url.getPort() != -1 ? url.getPort() : (url.getProtocol().equals("https") ? 443 : 80);
+
+        Assert.assertEquals(endpoint.getRequestPath(path), expectedPath);
+        Assert.assertEquals(endpoint.getHost(), url.getHost());
+        Assert.assertEquals(endpoint.getPort(), expectedPort);
+        Assert.assertEquals(endpoint.getProtocol(), url.getProtocol());
+    }
+
+    @Test(description = "Test paths which change the authority of the URL are not resolved against the endpoint")
+    public void testUnresolvablePath() throws MalformedURLException {
+        HttpClientEndpoint endpoint = HttpClientEndpoint.parse("http://localhost", "");
+        Assert.assertFalse(endpoint.canResolve(":9090/echo"));
+        Assert.assertTrue(endpoint.canResolve("/echo"));
+    }
+
+    @Test(description = "Test endpoints of the same route and options share a pool key")
+    public void testPoolKey() throws MalformedURLException {
+        String key = HttpClientEndpoint.parse("http://localhost/a", "|0").getPoolKey();
+        Assert.assertEquals(HttpClientEndpoint.parse("http://localhost:80/b", "|0").getPoolKey(), key);
+        Assert.assertNotEquals(HttpClientEndpoint.parse("http://localhost:8080/a", "|0").getPoolKey(), key);
+        Assert.assertNotEquals(HttpClientEndpoint.parse("http://localhost/a", "|1").getPoolKey(), key);
+    }
+}
@@ -0,0 +1,306 @@
+/*
+ *  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.ballerinalang.test.net.ws;
+
+import org.ballerinalang.model.values.BBlob;
+import org.ballerinalang.model.values.BBoolean;
+import org.ballerinalang.model.values.BInteger;
+import org.ballerinalang.model.values.BString;
+import org.ballerinalang.model.values.BStruct;
+import org.ballerinalang.model.values.BValue;
+import org.ballerinalang.net.ws.Constants;
+import org.ballerinalang.net.ws.WebSocketConnectionManager;
+import org.ballerinalang.net.ws.WebSocketOutboundQueue;
+import org.ballerinalang.test.utils.BTestUtils;
+import org.ballerinalang.test.utils.CompileResult;
+import org.ballerinalang.test.utils.ws.MockAsyncRemoteEndpoint;
+import org.ballerinalang.test.utils.ws.MockWebSocketSession;
+import org.ballerinalang.util.exceptions.BLangRuntimeException;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Test the asynchronous push and the broadcast of WebSocket messages, against simulated clients.
+ */
+public class WebSocketBroadcastTestCase {
+
+    private static final int LOAD_TEST_CLIENTS = 2000;
+    private static final int LOAD_TEST_MESSAGES = 50;
+    private static final long LOAD_TEST_TIMEOUT = 30000;
+
+    private CompileResult compileResult;
+    private final List<String> connectionIDs = new ArrayList<>();
+
+    @BeforeClass
+    public void setup() {
+        compileResult = BTestUtils.compile("test-src/net/ws/broadcast.bal");
+    }
+
+    @AfterMethod
+    public void removeConnections() {
+        connectionIDs.forEach(WebSocketConnectionManager.getInstance()::removeConnection);
+        connectionIDs.clear();
+    }
+
+    @Test(description = "Test pushing text without waiting for it to be sent")
+    public void testPushTextAsync() {
+        BStruct wsConnection = createConnection("push_text", new MockAsyncRemoteEndpoint());
+        BValue[] returns = BTestUtils.invoke(compileResult, "testPushTextAsync",
+                                             new BValue[]{wsConnection, new BString("Test Text")});
+
+        Assert.assertTrue(((BBoolean) returns[0]).booleanValue());
+        Assert.assertEquals(((BInteger) returns[1]).intValue(), 0);
+        Assert.assertEquals(getClient(wsConnection).getFramesReceived(), Arrays.asList("Test Text"));
+    }
+
+    @Test(description = "Test pushing binary data without waiting for it to be sent")
+    public void testPushBinaryAsync() {
+        BStruct wsConnection = createConnection("push_binary", new MockAsyncRemoteEndpoint());
+        byte[] data = {1, 2, 3, 4};
+        BValue[] returns = BTestUtils.invoke(compileResult, "testPushBinaryAsync",
+                                             new BValue[]{wsConnection, new BBlob(data)});
+
+        Assert.assertTrue(((BBoolean) returns[0]).booleanValue());
+        Assert.assertEquals((byte[]) getClient(wsConnection).getFramesReceived().get(0), data);
+    }
+
+    @Test(description = "Test the connection is not writable while the data waiting to be sent is over the limit")
+    public void testBackpressure() {
+        MockAsyncRemoteEndpoint client = new MockAsyncRemoteEndpoint();
+        BStruct wsConnection = createConnection("backpressure", client);
+        wsConnection.addNativeData(Constants.NATIVE_DATA_OUTBOUND_QUEUE, new WebSocketOutboundQueue(
+                (MockWebSocketSession) wsConnection.getNativeData(Constants.NATIVE_DATA_WEBSOCKET_SESSION), 10));
+
+        client.pause();
+        BValue[] returns = BTestUtils.invoke(compileResult, "testPushTextAsync",
+                                             new BValue[]{wsConnection, new BString("12345")});
+        Assert.assertTrue(((BBoolean) returns[0]).booleanValue());
+        Assert.assertEquals(((BInteger) returns[1]).intValue(), 5);
+
+        returns = BTestUtils.invoke(compileResult, "testPushTextAsync",
+                                    new BValue[]{wsConnection, new BString("67890")});
+        Assert.assertFalse(((BBoolean) returns[0]).booleanValue());
+        Assert.assertEquals(((BInteger) returns[1]).intValue(), 10);
+        Assert.assertEquals(client.getFrameCount(), 0);
+
+        client.resume();
+        Assert.assertEquals(client.getFramesReceived(), Arrays.asList("12345", "67890"));
+        returns = BTestUtils.invoke(compileResult, "testPushTextAsync", new BValue[]{wsConnection, new BString("")});
+        Assert.assertTrue(((BBoolean) returns[0]).booleanValue());
+        Assert.assertEquals(((BInteger) returns[1]).intValue(), 0);
+    }
+
+    @Test(description = "Test the frames pushed while a frame is being sent are sent as one batch")
+    public void testWriteCoalescing() throws IOException {
+        MockAsyncRemoteEndpoint client = new MockAsyncRemoteEndpoint();
+        BStruct wsConnection = createConnection("coalescing", client);
+
+        client.pause();
+        BTestUtils.invoke(compileResult, "testPushMessages", new BValue[]{wsConnection, new BInteger(5)});
+        client.resume();
+
+        Assert.assertEquals(client.getFramesReceived(),
+                            Arrays.asList("message 0", "message 1", "message 2", "message 3", "message 4"));
+        Assert.assertEquals(client.getFlushCount(), 1);
+        Assert.assertFalse(client.getBatchingAllowed());
+    }
+
+    @Test(description = "Test a backlog of frames whose sends complete on the sending thread is written in a loop")
+    public void testSynchronousSendCompletion() {
+        MockAsyncRemoteEndpoint client = new MockAsyncRemoteEndpoint();
+        WebSocketOutboundQueue queue = new WebSocketOutboundQueue(new MockWebSocketSession("synchronous", client),
+                                                                  Long.MAX_VALUE);
+        int frameCount = 100000;
+
+        client.pause();
+        for (int i = 0; i < frameCount; i++) {
+            Assert.assertTrue(queue.pushText("x"));
+        }
+        Assert.assertEquals(queue.getBufferedAmount(), frameCount);
+
+        // Each send completes in the call to send it, which must not recurse once per frame in the backlog
+        client.resume();
+        Assert.assertEquals(client.getFrameCount(), frameCount);
+        Assert.assertEquals(queue.getBufferedAmount(), 0);
+        Assert.assertEquals(client.getFlushCount(), 1);
+
+        Assert.assertTrue(queue.pushText("last"));
+        Assert.assertEquals(client.getFrameCount(), frameCount + 1);
+        Assert.assertEquals(queue.getBufferedAmount(), 0);
+    }
+
+    @Test(description = "Test a failure to send a frame is reported by the next push",
+          expectedExceptions = BLangRuntimeException.class,
+          expectedExceptionsMessageRegExp = ".*Cannot send the message. Error occurred: connection reset.*")
+    public void testPushAfterFailure() {
+        MockAsyncRemoteEndpoint client = new MockAsyncRemoteEndpoint();
+        BStruct wsConnection = createConnection("failure", client);
+        client.setFailure(new IOException("connection reset"));
+
+        BTestUtils.invoke(compileResult, "testPushTextAsync", new BValue[]{wsConnection, new BString("lost")});
+        BTestUtils.invoke(compileResult, "testPushTextAsync", new BValue[]{wsConnection, new BString("rejected")});
+    }
+
+    @Test(description = "Test broadcasting to the members of a group")
+    public void testBroadcast() {
+        BStruct member1 = createConnection("member_1", new MockAsyncRemoteEndpoint());
+        BStruct member2 = createConnection("member_2", new MockAsyncRemoteEndpoint());
+        BStruct leftMember = createConnection("left_member", new MockAsyncRemoteEndpoint());
+        for (BStruct wsConnection : new BStruct[]{member1, member2, leftMember}) {
+            BTestUtils.invoke(compileResult, "testJoinGroup", new BValue[]{wsConnection, new BString("room")});
+        }
+        BTestUtils.invoke(compileResult, "testLeaveGroup", new BValue[]{leftMember, new BString("room")});
+
+        BValue[] returns = BTestUtils.invoke(compileResult, "testBroadcastText",
+                                             new BValue[]{new BString("room"), new BString("hello")});
+        Assert.assertEquals(((BInteger) returns[0]).intValue(), 2);
+
+        byte[] data = {1, 2, 3};
+        returns = BTestUtils.invoke(compileResult, "testBroadcastBinary",
+                                    new BValue[]{new BString("room"), new BBlob(data)});
+        Assert.assertEquals(((BInteger) returns[0]).intValue(), 2);
+
+        for (BStruct wsConnection : new BStruct[]{member1, member2}) {
+            List<Object> frames = getClient(wsConnection).getFramesReceived();
+            Assert.assertEquals(frames.size(), 2);
+            Assert.assertEquals(frames.get(0), "hello");
+            Assert.assertEquals((byte[]) frames.get(1), data);
+        }
+        Assert.assertEquals(getClient(leftMember).getFrameCount(), 0);
+    }
+
+    @Test(description = "Test the broadcast skips the connections which are closed or not writable")
+    public void testBroadcastSkipsConnections() {
+        MockAsyncRemoteEndpoint slowClient = new MockAsyncRemoteEndpoint();
+        BStruct slowMember = createConnection("slow_member", slowClient);
+        slowMember.addNativeData(Constants.NATIVE_DATA_OUTBOUND_QUEUE, new WebSocketOutboundQueue(
+                (MockWebSocketSession) slowMember.getNativeData(Constants.NATIVE_DATA_WEBSOCKET_SESSION), 10));
+        BStruct closedMember = createConnection("closed_member", new MockAsyncRemoteEndpoint());
+        ((MockWebSocketSession) closedMember.getNativeData(Constants.NATIVE_DATA_WEBSOCKET_SESSION)).setIsOpen(false);
+        BStruct member = createConnection("open_member", new MockAsyncRemoteEndpoint());
+        for (BStruct wsConnection : new BStruct[]{slowMember, closedMember, member}) {
+            BTestUtils.invoke(compileResult, "testJoinGroup", new BValue[]{wsConnection, new BString("skip")});
+        }
+
+        slowClient.pause();
+        BValue[] returns = BTestUtils.invoke(compileResult, "testBroadcastText",
+                                             new BValue[]{new BString("skip"), new BString("0123456789")});
+        Assert.assertEquals(((BInteger) returns[0]).intValue(), 2);
+        returns = BTestUtils.invoke(compileResult, "testBroadcastText",
+                                    new BValue[]{new BString("skip"), new BString("dropped")});
+        Assert.assertEquals(((BInteger) returns[0]).intValue(), 1);
+
+        slowClient.resume();
+        Assert.assertEquals(slowClient.getFramesReceived(), Arrays.asList("0123456789"));
+        Assert.assertEquals(getClient(member).getFramesReceived(), Arrays.asList("0123456789", "dropped"));
+    }
+
+    @Test(description = "Test a removed connection is no longer a member of its groups")
+    public void testRemovedConnectionLeavesGroups() {
+        BStruct wsConnection = createConnection("removed_member", new MockAsyncRemoteEndpoint());
+        BTestUtils.invoke(compileResult, "testJoinGroup", new BValue[]{wsConnection, new BString("removed")});
+        Assert.assertEquals(WebSocketConnectionManager.getInstance().getGroupMembers("removed").size(), 1);
+
+        WebSocketConnectionManager.getInstance().removeConnection("removed_member");
+        Assert.assertTrue(WebSocketConnectionManager.getInstance().getGroupMembers("removed").isEmpty());
+    }
+
+    @Test(description = "Test a removed connection leaves only its own groups, and not the groups it has left")
+    public void testRemovedConnectionKeepsOtherMembers() {
+        WebSocketConnectionManager manager = WebSocketConnectionManager.getInstance();
+        createConnection("leaving_member", new MockAsyncRemoteEndpoint());
+        createConnection("staying_member", new MockAsyncRemoteEndpoint());
+        manager.addToGroup("shared", "leaving_member");
+        manager.addToGroup("shared", "staying_member");
+        manager.addToGroup("left", "leaving_member");
+        manager.addToGroup("left", "staying_member");
+        manager.addToGroup("own", "staying_member");
+
+        manager.removeFromGroup("left", "leaving_member");
+        Assert.assertEquals(manager.getGroupMembers("left"), Collections.singleton("staying_member"));
+        manager.removeConnection("leaving_member");
+        Assert.assertEquals(manager.getGroupMembers("shared"), Collections.singleton("staying_member"));
+        Assert.assertEquals(manager.getGroupMembers("left"), Collections.singleton("staying_member"));
+        Assert.assertEquals(manager.getGroupMembers("own"), Collections.singleton("staying_member"));
+
+        manager.removeConnection("staying_member");
+        Assert.assertTrue(manager.getGroupMembers("shared").isEmpty());
+        Assert.assertTrue(manager.getGroupMembers("left").isEmpty());
+        Assert.assertTrue(manager.getGroupMembers("own").isEmpty());
+    }
+
+    @Test(description = "Load test broadcasting to many clients whose frames are written by a pool of threads")
+    public void testBroadcastLoad() throws InterruptedException {
+        ExecutorService transportThreads = Executors.newFixedThreadPool(4);
+        try {
+            List<MockAsyncRemoteEndpoint> clients = new ArrayList<>();
+            for (int i = 0; i < LOAD_TEST_CLIENTS; i++) {
+                MockAsyncRemoteEndpoint client = new MockAsyncRemoteEndpoint(transportThreads);
+                createConnection("load_" + i, client);
+                WebSocketConnectionManager.getInstance().addToGroup("load", "load_" + i);
+                clients.add(client);
+            }
+
+            BValue[] returns = BTestUtils.invoke(compileResult, "testBroadcastMessages",
+                                                 new BValue[]{new BString("load"), new BInteger(LOAD_TEST_MESSAGES)});
+            Assert.assertEquals(((BInteger) returns[0]).intValue(), LOAD_TEST_CLIENTS * LOAD_TEST_MESSAGES);
+
+            long deadline = System.currentTimeMillis() + LOAD_TEST_TIMEOUT;
+            for (MockAsyncRemoteEndpoint client : clients) {
+                while (client.getFrameCount() < LOAD_TEST_MESSAGES && System.currentTimeMillis() < deadline) {
+                    Thread.sleep(10);
+                }
+                List<Object> frames = client.getFramesReceived();
+                Assert.assertEquals(frames.size(), LOAD_TEST_MESSAGES);
+                for (int i = 0; i < LOAD_TEST_MESSAGES; i++) {
+                    Assert.assertEquals(frames.get(i), "message " + i);
+                }
+            }
+        } finally {
+            transportThreads.shutdownNow();
+        }
+    }
+
+    private BStruct createConnection(String connectionID, MockAsyncRemoteEndpoint client) {
+        BStruct wsConnection = BTestUtils.createAndGetStruct(compileResult.getProgFile(),
+                                                             Constants.WEBSOCKET_PACKAGE_NAME,
+                                                             Constants.STRUCT_WEBSOCKET_CONNECTION);
+        wsConnection.addNativeData(Constants.NATIVE_DATA_WEBSOCKET_SESSION,
+                                   new MockWebSocketSession(connectionID, client));
+        WebSocketConnectionManager.getInstance().addConnection(connectionID, wsConnection);
+        connectionIDs.add(connectionID);
+        return wsConnection;
+    }
+
+    private static MockAsyncRemoteEndpoint getClient(BStruct wsConnection) {
+        MockWebSocketSession session =
+                (MockWebSocketSession) wsConnection.getNativeData(Constants.NATIVE_DATA_WEBSOCKET_SESSION);
+        return session.getAsyncRemoteEndpoint();
+    }
+}
@@ -0,0 +1,151 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.test.parser;
+
+import org.ballerinalang.compiler.CompilerPhase;
+import org.ballerinalang.launcher.LauncherUtils;
+import org.ballerinalang.model.elements.PackageID;
+import org.ballerinalang.model.values.BInteger;
+import org.ballerinalang.model.values.BValue;
+import org.ballerinalang.repository.PackageSource;
+import org.ballerinalang.repository.fs.LocalFSPackageRepository;
+import org.ballerinalang.test.utils.BTestUtils;
+import org.ballerinalang.test.utils.CompileResult;
+import org.ballerinalang.util.diagnostic.DiagnosticListener;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import org.wso2.ballerinalang.compiler.Compiler;
+import org.wso2.ballerinalang.compiler.PackageLoader;
+import org.wso2.ballerinalang.compiler.parser.BLangParserException;
+import org.wso2.ballerinalang.compiler.parser.Parser;
+import org.wso2.ballerinalang.compiler.tree.BLangPackage;
+import org.wso2.ballerinalang.compiler.util.CompilerContext;
+import org.wso2.ballerinalang.compiler.util.CompilerOptions;
+import org.wso2.ballerinalang.compiler.util.Name;
+import org.wso2.ballerinalang.compiler.util.Names;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+import static org.ballerinalang.compiler.CompilerOptionName.COMPILER_PHASE;
+import static org.ballerinalang.compiler.CompilerOptionName.PARSER_PARALLELISM;
+import static org.ballerinalang.compiler.CompilerOptionName.PRESERVE_WHITESPACE;
+import static org.ballerinalang.compiler.CompilerOptionName.SOURCE_ROOT;
+
+/**
+ * Test compilations which parse the source files and the imported packages in parallel.
+ */
+public class ParallelParseTest {
+
+    private static final String SOURCE_ROOT_PATH = "test-src/statements/variabledef";
+    private static final String PACKAGE_NAME = "globalvar.pkg.main";
+
+    @Test
+    public void testCompilePackagesInParallel() {
+        CompileResult result = compile(newContext(SOURCE_ROOT_PATH, 4), PACKAGE_NAME);
+        Assert.assertEquals(result.getErrorCount(), 0);
+
+        BValue[] returns = BTestUtils.invoke(result, "getGlobalVars", new BValue[0]);
+        Assert.assertEquals(((BInteger) returns[0]).intValue(), 800);
+        Assert.assertEquals(returns[1].stringValue(), "value");
+        Assert.assertEquals(((BInteger) returns[3]).intValue(), 88343);
+    }
+
+    @Test
+    public void testCompileWithSyntaxErrorsInParallel() {
+        CompileResult result = compile(newContext("test-src/parser", 4), "semicolon-missing-func-negative.bal");
+        Assert.assertTrue(result.getErrorCount() > 0);
+        Assert.assertNull(result.getProgFile());
+    }
+
+    @Test
+    public void testSourceFingerprints() {
+        CompilerContext context = newContext(SOURCE_ROOT_PATH, 1);
+        compile(context, PACKAGE_NAME);
+        PackageLoader pkgLoader = PackageLoader.getInstance(context);
+        String fingerprint = pkgLoader.getSourceFingerprint(PACKAGE_NAME);
+        Assert.assertNotNull(fingerprint);
+        Assert.assertTrue(pkgLoader.getLoadedPackages().size() > 1, "imported packages are not loaded");
+
+        // The fingerprint only depends on the sources of the package
+        PackageLoader otherPkgLoader = PackageLoader.getInstance(newContext(SOURCE_ROOT_PATH, 1));
+        Assert.assertEquals(otherPkgLoader.getSourceFingerprint(PACKAGE_NAME), fingerprint);
+        Assert.assertNotEquals(otherPkgLoader.getSourceFingerprint("globalvar.pkg.abc"), fingerprint);
+        Assert.assertNull(otherPkgLoader.getSourceFingerprint("globalvar.pkg.missing"));
+    }
+
+    @Test
+    public void testSyntaxErrorsOfOtherPackages() {
+        CompilerContext context = newContext(SOURCE_ROOT_PATH, 2);
+        context.put(DiagnosticListener.class, (DiagnosticListener) diagnostic -> { });
+        Parser parser = Parser.getInstance(context);
+        PackageSource invalidPkg = (PackageSource) new LocalFSPackageRepository(getSourceRoot("test-src/parser"))
+                .loadPackage(PackageID.DEFAULT, "semicolon-missing-func-negative.bal");
+        PackageID validPkgId = new PackageID(Arrays.asList(new Name("globalvar"), new Name("pkg"), new Name("abc")),
+                Names.DEFAULT_VERSION);
+        PackageSource validPkg = (PackageSource) new LocalFSPackageRepository(getSourceRoot(SOURCE_ROOT_PATH))
+                .loadPackage(validPkgId);
+
+        ForkJoinPool pool = new ForkJoinPool(2);
+        try {
+            try {
+                pool.invoke(ForkJoinTask.adapt(() -> parser.parseConcurrently(invalidPkg, false)));
+                Assert.fail("syntax errors are not reported");
+            } catch (BLangParserException e) {
+                Assert.assertTrue(e.getMessage().startsWith("syntax errors in:"), e.getMessage());
+            }
+
+            // The syntax errors of the other package, logged in the same context, are not reported for this package
+            BLangPackage pkgNode = pool.invoke(ForkJoinTask.adapt(() -> parser.parseConcurrently(validPkg, false)));
+            Assert.assertEquals(pkgNode.getCompilationUnits().size(), 1);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private static String getSourceRoot(String sourceRoot) {
+        return Paths.get("src/test/resources").resolve(sourceRoot).toAbsolutePath().toString();
+    }
+
+    private static CompilerContext newContext(String sourceRoot, int parallelism) {
+        Path sourceRootPath = Paths.get(getSourceRoot(sourceRoot));
+        CompilerContext context = new CompilerContext();
+        CompilerOptions options = CompilerOptions.getInstance(context);
+        options.put(SOURCE_ROOT, sourceRootPath.toString());
+        options.put(COMPILER_PHASE, CompilerPhase.CODE_GEN.toString());
+        options.put(PRESERVE_WHITESPACE, "false");
+        options.put(PARSER_PARALLELISM, Integer.toString(parallelism));
+        return context;
+    }
+
+    private static CompileResult compile(CompilerContext context, String packageName) {
+        CompileResult compileResult = new CompileResult();
+        context.put(DiagnosticListener.class, (DiagnosticListener) compileResult::addDiagnostic);
+
+        Compiler compiler = Compiler.getInstance(context);
+        compiler.compile(packageName);
+        if (compiler.getCompiledProgram() != null) {
+            compileResult.setProgFile(LauncherUtils.getExecutableProgram(compiler.getCompiledProgram()));
+        }
+        return compileResult;
+    }
+}
@@ -0,0 +1,53 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.test.parser;
+
+import org.ballerinalang.model.values.BInteger;
+import org.ballerinalang.model.values.BValue;
+import org.ballerinalang.test.utils.BTestUtils;
+import org.ballerinalang.test.utils.CompileResult;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import org.wso2.ballerinalang.compiler.parser.ParseTreeCache;
+
+/**
+ * Test compilations which load the system packages from cached parse trees.
+ */
+public class ParseTreeCacheTest {
+
+    private static final String SOURCE = "test-src/expressions/binaryoperations/add-operation.bal";
+
+    @Test
+    public void testCompileWithCachedSystemPackages() {
+        ParseTreeCache.getInstance().clear();
+        CompileResult result = BTestUtils.compile(SOURCE);
+        Assert.assertEquals(result.getErrorCount(), 0);
+        int cachedEntries = ParseTreeCache.getInstance().size();
+        Assert.assertTrue(cachedEntries > 0, "system package sources are not cached");
+
+        // The builtin packages are now built from the cached parse trees
+        result = BTestUtils.compile(SOURCE);
+        Assert.assertEquals(result.getErrorCount(), 0);
+        Assert.assertEquals(ParseTreeCache.getInstance().size(), cachedEntries);
+
+        BValue[] args = {new BInteger(10), new BInteger(20)};
+        BValue[] returns = BTestUtils.invoke(result, "intAdd", args);
+        Assert.assertEquals(((BInteger) returns[0]).intValue(), 30);
+    }
+}
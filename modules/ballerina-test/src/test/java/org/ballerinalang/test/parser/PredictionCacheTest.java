@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.test.parser;
+
+import org.ballerinalang.model.values.BInteger;
+import org.ballerinalang.model.values.BValue;
+import org.ballerinalang.test.utils.BTestUtils;
+import org.ballerinalang.test.utils.CompileResult;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import org.wso2.ballerinalang.compiler.parser.PredictionCache;
+
+/**
+ * Test compilations which parse with the shared prediction caches.
+ */
+public class PredictionCacheTest {
+
+    private static final String SOURCE = "test-src/expressions/binaryoperations/add-operation.bal";
+
+    @Test
+    public void testCompileWithSharedPredictionCaches() {
+        PredictionCache.getInstance().clear();
+        Assert.assertEquals(PredictionCache.getInstance().size(), 0);
+
+        CompileResult result = BTestUtils.compile(SOURCE);
+        Assert.assertEquals(result.getErrorCount(), 0);
+        Assert.assertTrue(PredictionCache.getInstance().size() > 0, "predictions are not cached");
+
+        // The source is parsed again with the warmed up caches
+        result = BTestUtils.compile(SOURCE);
+        Assert.assertEquals(result.getErrorCount(), 0);
+
+        BValue[] args = {new BInteger(10), new BInteger(20)};
+        BValue[] returns = BTestUtils.invoke(result, "intAdd", args);
+        Assert.assertEquals(((BInteger) returns[0]).intValue(), 30);
+    }
+
+    @Test
+    public void testCompileAfterClearingPredictionCaches() {
+        BTestUtils.compile(SOURCE);
+        PredictionCache.getInstance().clear();
+        Assert.assertEquals(PredictionCache.getInstance().size(), 0);
+
+        CompileResult result = BTestUtils.compile(SOURCE);
+        Assert.assertEquals(result.getErrorCount(), 0);
+        Assert.assertTrue(PredictionCache.getInstance().size() > 0, "predictions are not cached");
+    }
+}
@@ -0,0 +1,156 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.test.profiler;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.ballerinalang.model.values.BInteger;
+import org.ballerinalang.model.values.BJSON;
+import org.ballerinalang.model.values.BValue;
+import org.ballerinalang.test.utils.BTestUtils;
+import org.ballerinalang.test.utils.CompileResult;
+import org.ballerinalang.util.codegen.InstructionCodes;
+import org.ballerinalang.util.profiler.CallNode;
+import org.ballerinalang.util.profiler.VMProfiler;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Test the statistics recorded by the VM profiler.
+ */
+public class VMProfilerTest {
+
+    private CompileResult result;
+
+    @BeforeClass
+    public void setup() {
+        result = BTestUtils.compile("test-src/profiler/profiler-test.bal");
+    }
+
+    @BeforeMethod
+    public void startProfiler() {
+        VMProfiler.getInstance().reset();
+        VMProfiler.getInstance().start();
+    }
+
+    @AfterMethod
+    public void stopProfiler() {
+        VMProfiler.getInstance().stop();
+        VMProfiler.getInstance().reset();
+    }
+
+    @Test(description = "Test recording the calls of each callable unit per call path")
+    public void testCallingContextTree() {
+        BTestUtils.invoke(result, "profiledProgram");
+
+        CallNode programNode = getChild(VMProfiler.getInstance().getRootNode(), "profiledProgram");
+        Assert.assertEquals(programNode.getCalls(), 1);
+
+        CallNode fibNode = getChild(programNode, "fib");
+        Assert.assertEquals(fibNode.getCalls(), 1);
+        Assert.assertEquals(getChild(fibNode, "fib").getCalls(), 2);
+
+        CallNode nativeNode = getChild(getChild(programNode, "toUpperCase"), "ballerina.lang.strings:toUpperCase");
+        Assert.assertEquals(nativeNode.getCalls(), 1);
+        Assert.assertTrue(nativeNode.getCallableUnitInfo().isNative());
+
+        Assert.assertTrue(programNode.getTotalTime() >= fibNode.getTotalTime());
+        Assert.assertTrue(programNode.getSelfTime() <= programNode.getTotalTime());
+    }
+
+    @Test(description = "Test counting the opcodes and the allocations")
+    public void testOpcodeCounts() {
+        BValue[] returns = BTestUtils.invoke(result, "allocate", new BValue[]{new BInteger(5)});
+        Assert.assertEquals(((BInteger) returns[0]).intValue(), 10);
+
+        VMProfiler profiler = VMProfiler.getInstance();
+        Assert.assertEquals(profiler.getOpcodeCount(InstructionCodes.NEWSTRUCT), 5);
+        Assert.assertEquals(profiler.getOpcodeCount(InstructionCodes.NEWMAP), 5);
+        Assert.assertEquals(profiler.getOpcodeCount(InstructionCodes.NEWJSON), 5);
+        Assert.assertTrue(profiler.getOpcodeCount(InstructionCodes.RET) > 0);
+    }
+
+    @Test(description = "Test writing the collapsed stacks")
+    public void testCollapsedStacks() throws IOException {
+        BTestUtils.invoke(result, "profiledProgram");
+
+        StringWriter writer = new StringWriter();
+        VMProfiler.getInstance().writeCollapsedStacks(writer);
+        List<String> stacks = Arrays.asList(writer.toString().split("\n"));
+        Assert.assertTrue(stacks.stream().allMatch(stack -> stack.matches("[^ ]+ \\d+")));
+        Assert.assertTrue(stacks.stream().anyMatch(stack -> stack.startsWith("profiledProgram;fib;fib;fib ")));
+        Assert.assertTrue(stacks.stream().anyMatch(stack ->
+                stack.startsWith("profiledProgram;toUpperCase;ballerina.lang.strings:toUpperCase ")));
+    }
+
+    @Test(description = "Test writing the JSON report")
+    public void testJSONReport() throws IOException {
+        BTestUtils.invoke(result, "profiledProgram");
+        BTestUtils.invoke(result, "allocate", new BValue[]{new BInteger(3)});
+
+        StringWriter writer = new StringWriter();
+        VMProfiler.getInstance().writeJSONReport(writer);
+        JsonNode report = new BJSON(writer.toString()).value();
+
+        Assert.assertEquals(report.get("opcodes").get("NEWSTRUCT").asLong(), 3);
+        Assert.assertEquals(report.get("allocations").get("struct").asLong(), 3);
+        Assert.assertEquals(report.get("allocations").get("map").asLong(), 3);
+        Assert.assertEquals(report.get("allocations").get("json").asLong(), 3);
+
+        JsonNode fibStats = getStats(report.get("callableUnits"), "fib");
+        Assert.assertEquals(fibStats.get("calls").asLong(), 177);
+        Assert.assertTrue(fibStats.get("totalTime").asLong() >= fibStats.get("selfTime").asLong());
+
+        JsonNode nativeStats = getStats(report.get("nativeFunctions"), "ballerina.lang.strings:toUpperCase");
+        Assert.assertEquals(nativeStats.get("calls").asLong(), 1);
+        Assert.assertEquals(report.get("nativeActions").size(), 0);
+    }
+
+    @Test(description = "Test nothing is recorded while profiling is not active")
+    public void testProfilingInactive() {
+        VMProfiler.getInstance().stop();
+        BTestUtils.invoke(result, "profiledProgram");
+
+        Assert.assertTrue(VMProfiler.getInstance().getRootNode().getChildren().isEmpty());
+        Assert.assertEquals(VMProfiler.getInstance().getOpcodeCount(InstructionCodes.RET), 0);
+    }
+
+    private static CallNode getChild(CallNode node, String name) {
+        return node.getChildren().stream()
+                .filter(child -> child.getName().equals(name))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("call to '" + name + "' not recorded"));
+    }
+
+    private static JsonNode getStats(JsonNode statsArray, String name) {
+        for (JsonNode stats : statsArray) {
+            if (stats.get("name").asText().equals(name)) {
+                return stats;
+            }
+        }
+        throw new AssertionError("statistics of '" + name + "' not found");
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.test.programfile;
+
+import org.ballerinalang.compiler.CompilerPhase;
+import org.ballerinalang.model.values.BInteger;
+import org.ballerinalang.model.values.BString;
+import org.ballerinalang.model.values.BValue;
+import org.ballerinalang.util.codegen.LineNumberInfo;
+import org.ballerinalang.util.codegen.PackageInfo;
+import org.ballerinalang.util.codegen.ProgramFile;
+import org.ballerinalang.util.codegen.ProgramFileReader;
+import org.ballerinalang.util.codegen.attributes.AttributeInfo;
+import org.ballerinalang.util.codegen.attributes.LineNumberTableAttributeInfo;
+import org.ballerinalang.util.program.BLangFunctions;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+import org.wso2.ballerinalang.compiler.Compiler;
+import org.wso2.ballerinalang.compiler.util.CompilerContext;
+import org.wso2.ballerinalang.compiler.util.CompilerOptions;
+import org.wso2.ballerinalang.programfile.ProgramFileWriter;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import static org.ballerinalang.compiler.CompilerOptionName.COMPILER_PHASE;
+import static org.ballerinalang.compiler.CompilerOptionName.PRESERVE_WHITESPACE;
+import static org.ballerinalang.compiler.CompilerOptionName.SOURCE_ROOT;
+
+/**
+ * Test reading a program from a memory mapped program file.
+ */
+public class ProgramFileReaderTest {
+
+    private Path programFilePath;
+    private ProgramFile programFile;
+
+    @BeforeClass
+    public void setup() throws IOException {
+        CompilerContext context = new CompilerContext();
+        CompilerOptions options = CompilerOptions.getInstance(context);
+        options.put(SOURCE_ROOT, Paths.get("src/test/resources/test-src/expressions/binaryoperations")
+                .toAbsolutePath().toString());
+        options.put(COMPILER_PHASE, CompilerPhase.CODE_GEN.toString());
+        options.put(PRESERVE_WHITESPACE, "false");
+
+        Compiler compiler = Compiler.getInstance(context);
+        compiler.compile("add-operation.bal");
+
+        programFilePath = Files.createTempFile("add-operation", ".balx");
+        ProgramFileWriter.writeProgram(compiler.getCompiledProgram(), programFilePath);
+        programFile = new ProgramFileReader().readProgram(programFilePath);
+    }
+
+    @Test
+    public void testInvokeFunction() {
+        BValue[] args = {new BInteger(10), new BInteger(20)};
+        BValue[] returns = BLangFunctions.invokeNew(programFile, "intAdd", args);
+        Assert.assertEquals(((BInteger) returns[0]).intValue(), 30);
+
+        args = new BValue[]{new BString("Hello "), new BString("World")};
+        returns = BLangFunctions.invokeNew(programFile, "stringAdd", args);
+        Assert.assertEquals(returns[0].stringValue(), "Hello World");
+    }
+
+    @Test
+    public void testLineNumberTable() {
+        PackageInfo packageInfo = programFile.getEntryPackage();
+        LineNumberTableAttributeInfo lineNumberTable = (LineNumberTableAttributeInfo) packageInfo
+                .getAttributeInfo(AttributeInfo.Kind.LINE_NUMBER_TABLE_ATTRIBUTE);
+        LineNumberInfo[] lineNumberInfos = lineNumberTable.getLineNumberInfoEntries();
+        Assert.assertTrue(lineNumberInfos.length > 0);
+        Assert.assertEquals(lineNumberInfos[0].getFileName(), "add-operation.bal");
+        Assert.assertTrue(packageInfo.getInstructionCount() > 0);
+    }
+
+    @AfterClass
+    public void cleanup() throws IOException {
+        Files.deleteIfExists(programFilePath);
+    }
+}
@@ -492,6 +492,27 @@ public class UriTemplateBestMatchTest {
                 , "Resource dispatched to wrong template");
     }
 
+    @Test(description = "Test dispatching falls back to a shorter literal when the longer one doesn't match")
+    public void testLiteralPrefixFallback() {
+        String path = "/echo66/prefixed/abc";
+        HTTPCarbonMessage cMsg = MessageUtils.generateHTTPMessage(path, "GET");
+        HTTPCarbonMessage response = Services.invokeNew(cMsg);
+        Assert.assertNotNull(response, "Response message not found");
+        BJSON bJson = ((BJSON) response.getMessageDataSource());
+        Assert.assertEquals(bJson.value().get("echo66").asText(), "prefixed"
+                , "Resource dispatched to wrong template");
+        Assert.assertEquals(bJson.value().get("id").asText(), "abc");
+
+        path = "/echo66/prefixabc";
+        cMsg = MessageUtils.generateHTTPMessage(path, "GET");
+        response = Services.invokeNew(cMsg);
+        Assert.assertNotNull(response, "Response message not found");
+        bJson = ((BJSON) response.getMessageDataSource());
+        Assert.assertEquals(bJson.value().get("echo66").asText(), "prefix"
+                , "Resource dispatched to wrong template");
+        Assert.assertEquals(bJson.value().get("id").asText(), "abc");
+    }
+
     @AfterClass
     public void tearDown() {
         EnvironmentInitializer.cleanup(application);
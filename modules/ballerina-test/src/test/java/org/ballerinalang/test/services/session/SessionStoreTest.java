@@ -0,0 +1,310 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.test.services.session;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.TextNode;
+import org.ballerinalang.model.util.XMLUtils;
+import org.ballerinalang.model.values.BBlob;
+import org.ballerinalang.model.values.BBoolean;
+import org.ballerinalang.model.values.BFloat;
+import org.ballerinalang.model.values.BInteger;
+import org.ballerinalang.model.values.BJSON;
+import org.ballerinalang.model.values.BMap;
+import org.ballerinalang.model.values.BString;
+import org.ballerinalang.model.values.BValue;
+import org.ballerinalang.net.http.session.DefaultSessionStore;
+import org.ballerinalang.net.http.session.FileSessionStore;
+import org.ballerinalang.net.http.session.HTTPSession;
+import org.ballerinalang.net.http.session.SessionStore;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Test the expiry and the spilling of sessions by the session stores.
+ */
+public class SessionStoreTest {
+
+    private Path sessionFile;
+
+    @BeforeMethod
+    public void createSessionFile() throws IOException {
+        sessionFile = Files.createTempFile("sessions", ".log");
+        Files.delete(sessionFile);
+    }
+
+    @AfterMethod
+    public void deleteSessionFile() throws IOException {
+        Files.deleteIfExists(sessionFile);
+    }
+
+    @Test(description = "Test sessions are expired once they have been inactive for their max inactive interval")
+    public void testExpiry() {
+        SessionStore store = new DefaultSessionStore();
+        HTTPSession session = new HTTPSession("expiring", 1, "/");
+        HTTPSession immortalSession = new HTTPSession("immortal", -1, "/");
+        store.add(session);
+        store.add(immortalSession);
+        long now = session.getLastAccessedTime();
+
+        Assert.assertEquals(store.expire(now + 500), 0);
+        Assert.assertSame(store.get("expiring"), session);
+
+        Assert.assertEquals(store.expire(now + 2000), 1);
+        Assert.assertNull(store.get("expiring"));
+        Assert.assertFalse(session.isValid());
+        Assert.assertSame(store.get("immortal"), immortalSession);
+        Assert.assertEquals(store.size(), 1);
+
+        // Expiring far in the future visits each slot of the wheel at most once
+        Assert.assertEquals(store.expire(now + 10_000_000), 0);
+        Assert.assertTrue(immortalSession.isValid());
+        store.close();
+    }
+
+    @Test(description = "Test a session is expired on time when its max inactive interval is shortened")
+    public void testExpiryChanged() {
+        SessionStore store = new DefaultSessionStore();
+        HTTPSession session = new HTTPSession("changed", 900, "/");
+        store.add(session);
+        long now = session.getLastAccessedTime();
+
+        session.setMaxInactiveInterval(2);
+        store.expiryChanged(session);
+        Assert.assertEquals(store.expire(now + 3000), 1);
+        Assert.assertNull(store.get("changed"));
+        store.close();
+    }
+
+    @Test(description = "Test idle sessions are spilled out of the heap, and read back when they are used")
+    public void testSpill() throws IOException {
+        DefaultSessionStore store = new DefaultSessionStore(1);
+        HTTPSession session = createSessionWithAttributes("spilled");
+        store.add(session);
+        long now = session.getLastAccessedTime();
+
+        Assert.assertEquals(store.expire(now + 1500), 0);
+        Assert.assertEquals(store.getSpilledCount(), 1);
+        Assert.assertEquals(store.size(), 1);
+
+        HTTPSession readBack = store.get("spilled");
+        Assert.assertNotSame(readBack, session);
+        assertSessionWithAttributes(readBack, session);
+        Assert.assertSame(store.get("spilled"), readBack);
+        Assert.assertEquals(store.getSpilledCount(), 0);
+        Assert.assertEquals(store.size(), 1);
+        store.close();
+    }
+
+    @Test(description = "Test a request which still holds a spilled session changes the session read back")
+    public void testSpilledSessionHeldByRequest() throws IOException {
+        DefaultSessionStore store = new DefaultSessionStore(1);
+        HTTPSession session = new HTTPSession("held", 900, "/");
+        store.add(session);
+        long now = session.getLastAccessedTime();
+
+        store.expire(now + 1500);
+        Assert.assertEquals(store.getSpilledCount(), 1);
+        Assert.assertSame(session.setAccessed(), store.get("held"));
+        Assert.assertEquals(store.getSpilledCount(), 0);
+        session.setAttribute("name", new BString("ballerina"));
+        HTTPSession readBack = store.get("held");
+        Assert.assertNotSame(readBack, session);
+        Assert.assertEquals(readBack.getAttributeValue("name").stringValue(), "ballerina");
+        Assert.assertEquals(session.getAttributeValue("name").stringValue(), "ballerina");
+
+        readBack.removeAttribute("name");
+        Assert.assertNull(session.getAttributeValue("name"));
+        store.close();
+    }
+
+    @Test(description = "Test a spilled session held by a request is invalid once it has expired")
+    public void testSpilledSessionHeldByRequestExpiry() throws IOException {
+        DefaultSessionStore store = new DefaultSessionStore(1);
+        HTTPSession session = new HTTPSession("held_expiring", 3, "/");
+        store.add(session);
+        long now = session.getLastAccessedTime();
+
+        store.expire(now + 1500);
+        Assert.assertEquals(store.getSpilledCount(), 1);
+        Assert.assertEquals(store.expire(now + 4000), 1);
+        Assert.assertFalse(session.isValid());
+        store.close();
+    }
+
+    @Test(description = "Test JSON string attributes are read back as JSON strings")
+    public void testSpillJSONStrings() throws IOException {
+        DefaultSessionStore store = new DefaultSessionStore(1);
+        HTTPSession session = new HTTPSession("json_strings", 900, "/");
+        session.setAttribute("string", new BJSON(new TextNode("hello")));
+        session.setAttribute("empty", new BJSON(new TextNode("")));
+        session.setAttribute("number", new BJSON(new TextNode("123")));
+        store.add(session);
+        long now = session.getLastAccessedTime();
+
+        store.expire(now + 1500);
+        Assert.assertEquals(store.getSpilledCount(), 1);
+        HTTPSession readBack = store.get("json_strings");
+        Assert.assertNotSame(readBack, session);
+        assertJSONString(readBack.getAttributeValue("string"), "hello");
+        assertJSONString(readBack.getAttributeValue("empty"), "");
+        assertJSONString(readBack.getAttributeValue("number"), "123");
+        store.close();
+    }
+
+    @Test(description = "Test sessions with attributes which cannot be serialized stay in the heap")
+    public void testUnserializableSessionNotSpilled() throws IOException {
+        DefaultSessionStore store = new DefaultSessionStore(1);
+        HTTPSession session = new HTTPSession("unserializable", 900, "/");
+        session.setAttribute("map", new BMap<>());
+        store.add(session);
+        long now = session.getLastAccessedTime();
+
+        Assert.assertEquals(store.expire(now + 1500), 0);
+        Assert.assertEquals(store.getSpilledCount(), 0);
+        Assert.assertSame(store.get("unserializable"), session);
+        store.close();
+    }
+
+    @Test(description = "Test spilled sessions are expired without reading them back")
+    public void testSpilledSessionExpiry() throws IOException {
+        DefaultSessionStore store = new DefaultSessionStore(1);
+        HTTPSession session = new HTTPSession("spilled_expiring", 3, "/");
+        store.add(session);
+        long now = session.getLastAccessedTime();
+
+        store.expire(now + 1500);
+        Assert.assertEquals(store.getSpilledCount(), 1);
+        Assert.assertEquals(store.expire(now + 4000), 1);
+        Assert.assertEquals(store.size(), 0);
+        Assert.assertNull(store.get("spilled_expiring"));
+        store.close();
+    }
+
+    @Test(description = "Test the sessions of a file store survive a restart")
+    public void testFileStoreRestart() throws IOException {
+        FileSessionStore store = new FileSessionStore(sessionFile, -1);
+        HTTPSession session = createSessionWithAttributes("persistent");
+        store.add(session);
+        HTTPSession removedSession = new HTTPSession("removed", 900, "/");
+        store.add(removedSession);
+        HTTPSession expiredSession = new HTTPSession("expired", 0, "/");
+        store.add(expiredSession);
+        store.close();
+
+        store = new FileSessionStore(sessionFile, -1);
+        Assert.assertEquals(store.size(), 3);
+        store.remove("removed");
+        store.close();
+
+        store = new FileSessionStore(sessionFile, -1);
+        Assert.assertNull(store.get("removed"));
+        Assert.assertNull(store.get("expired"));
+        assertSessionWithAttributes(store.get("persistent"), session);
+        store.close();
+    }
+
+    @Test(description = "Test a record which was not written completely is dropped when the file is read back")
+    public void testFileStoreTruncatedRecord() throws IOException {
+        FileSessionStore store = new FileSessionStore(sessionFile, -1);
+        HTTPSession session = createSessionWithAttributes("complete");
+        store.add(session);
+        store.close();
+
+        try (FileChannel channel = FileChannel.open(sessionFile, StandardOpenOption.APPEND)) {
+            channel.write(ByteBuffer.wrap(new byte[]{0, 0, 1, 0, 1, 0, 7}));
+        }
+
+        store = new FileSessionStore(sessionFile, -1);
+        Assert.assertEquals(store.size(), 1);
+        assertSessionWithAttributes(store.get("complete"), session);
+        store.close();
+    }
+
+    @Test(description = "Test opening a file which is not a session file",
+          expectedExceptions = IOException.class,
+          expectedExceptionsMessageRegExp = "not a session file: .*")
+    public void testInvalidSessionFile() throws IOException {
+        Files.write(sessionFile, "not a session file".getBytes());
+        new FileSessionStore(sessionFile, -1);
+    }
+
+    @Test(description = "Test the session file is compacted once most of it is taken by stale records")
+    public void testFileStoreCompaction() throws IOException {
+        FileSessionStore store = new FileSessionStore(sessionFile, 0);
+        HTTPSession session = new HTTPSession("large", 900, "/");
+        byte[] data = new byte[600 * 1024];
+        data[data.length - 1] = 1;
+        session.setAttribute("data", new BBlob(data));
+        store.add(session);
+        long now = session.getLastAccessedTime();
+
+        for (int i = 1; i <= 3; i++) {
+            store.expire(now + i * 1000);
+            Assert.assertEquals(store.getSpilledCount(), 1);
+            session = store.get("large");
+            Assert.assertEquals(((BBlob) session.getAttributeValue("data")).blobValue(), data);
+        }
+        Assert.assertTrue(Files.size(sessionFile) < 2 * data.length);
+        store.close();
+    }
+
+    private static HTTPSession createSessionWithAttributes(String id) {
+        HTTPSession session = new HTTPSession(id, 900, "/sample");
+        session.setAttribute("string", new BString("value"));
+        session.setAttribute("int", new BInteger(42));
+        session.setAttribute("float", new BFloat(4.2));
+        session.setAttribute("boolean", new BBoolean(true));
+        session.setAttribute("blob", new BBlob(new byte[]{1, 2, 3}));
+        session.setAttribute("json", new BJSON("{\"name\":\"ballerina\",\"tags\":[1,2]}"));
+        session.setAttribute("xml", XMLUtils.parse("<book><title>Ballerina</title></book>"));
+        return session;
+    }
+
+    private static void assertJSONString(BValue actual, String expected) {
+        JsonNode node = ((BJSON) actual).value();
+        Assert.assertTrue(node.isTextual(), "not a JSON string: " + node);
+        Assert.assertEquals(node.textValue(), expected);
+    }
+
+    private static void assertSessionWithAttributes(HTTPSession actual, HTTPSession expected) {
+        Assert.assertNotNull(actual);
+        Assert.assertEquals(actual.getId(), expected.getId());
+        Assert.assertEquals(actual.getPath(), expected.getPath());
+        Assert.assertEquals(actual.getCreationTime(), expected.getCreationTime());
+        Assert.assertEquals(actual.getLastAccessedTime(), expected.getLastAccessedTime());
+        Assert.assertEquals(actual.getMaxInactiveInterval(), expected.getMaxInactiveInterval());
+        Assert.assertEquals(actual.getAttributeValue("string").stringValue(), "value");
+        Assert.assertEquals(((BInteger) actual.getAttributeValue("int")).intValue(), 42);
+        Assert.assertEquals(((BFloat) actual.getAttributeValue("float")).floatValue(), 4.2);
+        Assert.assertTrue(((BBoolean) actual.getAttributeValue("boolean")).booleanValue());
+        Assert.assertEquals(((BBlob) actual.getAttributeValue("blob")).blobValue(), new byte[]{1, 2, 3});
+        Assert.assertEquals(actual.getAttributeValue("json").stringValue(), "{\"name\":\"ballerina\",\"tags\":[1,2]}");
+        Assert.assertEquals(actual.getAttributeValue("xml").stringValue(), "<book><title>Ballerina</title></book>");
+    }
+}
@@ -76,6 +76,19 @@ public class DatatableTest {
                         + "\"DOUBLE_TYPE\":2.139095039E9,\"BOOLEAN_TYPE\":true,\"STRING_TYPE\":\"Hello\"}]");
     }
 
+    @Test(groups = "DatatableTest", description = "Check toJson methods with array columns.")
+    public void testToJsonArrayTypes() {
+        BValue[] args = {};
+        BValue[] returns = BTestUtils.invoke(result, "testToJsonArrayTypes", args);
+
+        Assert.assertEquals(returns.length, 1);
+        Assert.assertTrue(returns[0] instanceof BJSON);
+        Assert.assertEquals(returns[0].stringValue(),
+                "[{\"INT_ARRAY\":[1,2,3],\"LONG_ARRAY\":[100000000,200000000,300000000],"
+                        + "\"FLOAT_ARRAY\":[245.23,5559.49,8796.123],\"BOOLEAN_ARRAY\":[true,false,true],"
+                        + "\"STRING_ARRAY\":[\"Hello\",\"Ballerina\"]}]");
+    }
+
     @Test(groups = "DatatableTest", description = "Check toXml methods with wrapper element.")
     public void testToXml() {
         BValue[] args = {};
@@ -231,6 +244,27 @@ public class DatatableTest {
                         + "\"STRING_TYPE\":null}]");
     }
 
+    @Test(groups = "DatatableTest", description = "Check toJson methods with a fetch size smaller than the rows.")
+    public void testToJsonWithFetchSize() {
+        BValue[] args = {};
+        BValue[] returns = BTestUtils.invoke(result, "testToJsonWithFetchSize", args);
+
+        Assert.assertEquals(returns.length, 1);
+        Assert.assertTrue(returns[0] instanceof BJSON);
+        Assert.assertEquals(returns[0].stringValue(),
+                "[{\"INT_TYPE\":1,\"STRING_TYPE\":\"Hello\"},{\"INT_TYPE\":0,\"STRING_TYPE\":null}]");
+    }
+
+    @Test(groups = "DatatableTest", description = "Check toJson methods with duplicate column names.")
+    public void testToJsonWithDuplicateColumns() {
+        BValue[] args = {};
+        BValue[] returns = BTestUtils.invoke(result, "testToJsonWithDuplicateColumns", args);
+
+        Assert.assertEquals(returns.length, 1);
+        Assert.assertTrue(returns[0] instanceof BJSON);
+        Assert.assertEquals(returns[0].stringValue(), "[{\"INT_TYPE\":100}]");
+    }
+
     @Test(groups = "DatatableTest", description = "Check toXml method with null values.")
     public void testXmlWithNull() {
         BValue[] args = {};
@@ -0,0 +1,160 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://wso2.com) All Rights Reserved.
+ * <p>
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.test.types.json;
+
+import org.ballerinalang.model.values.BInteger;
+import org.ballerinalang.model.values.BJSON;
+import org.ballerinalang.model.values.BValue;
+import org.ballerinalang.test.utils.BTestUtils;
+import org.ballerinalang.test.utils.CompileResult;
+import org.ballerinalang.util.exceptions.BallerinaException;
+import org.testng.Assert;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Test JSON values read from a stream, which are decoded lazily.
+ */
+public class LazyJSONTest {
+
+    private static final String DOCUMENT =
+            "{\"person\": {\"name\": \"John\", \"address\": {\"city\": \"Colombo\"}}, \"items\": [1, 2, 3]}";
+
+    private CompileResult compileResult;
+
+    @BeforeClass
+    public void setup() {
+        compileResult = BTestUtils.compile("test-src/types/jsontype/lazy-json.bal");
+    }
+
+    @Test(description = "Test reading fields and elements without materializing the document")
+    public void testRead() {
+        BJSON json = parse(DOCUMENT);
+        BValue[] returns = BTestUtils.invoke(compileResult, "getCity", new BValue[]{json});
+        Assert.assertEquals(returns[0].stringValue(), "Colombo");
+
+        returns = BTestUtils.invoke(compileResult, "sumItems", new BValue[]{json});
+        Assert.assertEquals(((BInteger) returns[0]).intValue(), 6);
+        Assert.assertNotNull(json.getLazyValue());
+    }
+
+    @Test(description = "Test an unmodified document is written out as it was read")
+    public void testPassThrough() {
+        BJSON json = parse(DOCUMENT);
+        Assert.assertEquals(serialize(json), DOCUMENT);
+    }
+
+    @Test(description = "Test changes to a nested value are visible through the enclosing values")
+    public void testSetNestedField() {
+        BJSON json = parse(DOCUMENT);
+        BValue[] returns = BTestUtils.invoke(compileResult, "setNestedField", new BValue[]{json});
+        Assert.assertSame(returns[0], json);
+
+        // Only the modified value is written from the tree, the rest is copied as it was read
+        Assert.assertEquals(serialize(json),
+                "{\"person\":{\"name\":\"John\",\"address\":{\"city\":\"Kandy\"}},\"items\":[1, 2, 3]}");
+        Assert.assertEquals(json.stringValue(),
+                "{\"person\":{\"name\":\"John\",\"address\":{\"city\":\"Kandy\"}},\"items\":[1,2,3]}");
+    }
+
+    @Test(description = "Test changes made through a value read from a document are visible in the document")
+    public void testSetThroughElement() {
+        BJSON json = parse(DOCUMENT);
+        BValue[] returns = BTestUtils.invoke(compileResult, "setThroughElement", new BValue[]{json});
+        Assert.assertEquals(returns[0].stringValue(),
+                "{\"person\":{\"name\":\"John\",\"address\":{\"city\":\"Colombo\",\"zip\":20000}},\"items\":[1,2,3]}");
+        Assert.assertEquals(returns[1].stringValue(), "{\"city\":\"Colombo\",\"zip\":20000}");
+    }
+
+    @Test(description = "Test values are decoded the same as when the document is parsed in to a tree")
+    public void testDecoding() {
+        String document = "{\"string\": \"a\\n\\u00e9\\\"\\/\", \"unicode\": \"\u0dc1\u0dca\u200d\u0dbb\u0dd3\", " +
+                "\"int\": 2147483647, \"long\": 2147483648, \"bigInteger\": 92233720368547758070, " +
+                "\"float\": -1.5e2, \"boolean\": [true, false], \"null\": null, \"empty\": [{}, []]}";
+        BJSON json = parse(document);
+        BJSON expected = new BJSON(document);
+
+        Assert.assertEquals(json.stringValue(), expected.stringValue());
+        Assert.assertEquals(json.value(), expected.value());
+        Assert.assertNull(json.getLazyValue());
+    }
+
+    @Test(description = "Test copying a document does not share the changes")
+    public void testCopy() {
+        BJSON json = parse(DOCUMENT);
+        BJSON copy = (BJSON) json.copy();
+        BTestUtils.invoke(compileResult, "setNestedField", new BValue[]{copy});
+
+        Assert.assertEquals(serialize(json), DOCUMENT);
+        Assert.assertTrue(copy.stringValue().contains("Kandy"));
+    }
+
+    @Test(description = "Test a document which is not a standard JSON document is read by the parser")
+    public void testNonStandardDocument() {
+        BJSON json = parse("{'name': 'John'}");
+        Assert.assertNull(json.getLazyValue());
+        Assert.assertEquals(json.value().get("name").textValue(), "John");
+    }
+
+    @Test(description = "Test reading a malformed document",
+            expectedExceptions = BallerinaException.class,
+            expectedExceptionsMessageRegExp = "failed to create json: .*")
+    public void testMalformedDocument() {
+        parse("{\"name\": \"John\"");
+    }
+
+    @Test(description = "Test a document with multi-byte UTF-8 characters is read without materializing it")
+    public void testMultiByteCharacters() {
+        String name = "\u00e9\u0dc1\u0dca\u200d\u0dbb\u0dd3\ud83d\ude00";
+        BJSON json = parse("{\"name\": \"" + name + "\"}");
+        Assert.assertNotNull(json.getLazyValue());
+        Assert.assertEquals(json.getLazyValue().get("name").textValue(), name);
+    }
+
+    @Test(description = "Test reading a document which is not valid UTF-8",
+            expectedExceptions = BallerinaException.class,
+            expectedExceptionsMessageRegExp = "failed to create json: .*")
+    public void testInvalidUTF8Document() {
+        byte[] document = new byte[]{'{', '"', 'a', '"', ':', '"', (byte) 0xC3, '"', '}'};
+        new BJSON(new ByteArrayInputStream(document));
+    }
+
+    @Test(description = "Test a field name which is repeated is counted once, the same as in a tree")
+    public void testDuplicateFields() {
+        String document = "{\"a\": 1, \"b\": 2, \"a\": 3}";
+        BJSON json = parse(document);
+        Assert.assertEquals(json.getLazyValue().size(), 2);
+        Assert.assertEquals(json.getLazyValue().size(), new BJSON(document).value().size());
+        Assert.assertEquals(json.getLazyValue().get("a").materialize().intValue(), 3);
+    }
+
+    private static BJSON parse(String document) {
+        return new BJSON(new ByteArrayInputStream(document.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static String serialize(BJSON json) {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        json.setOutputStream(outputStream);
+        json.serializeData();
+        return new String(outputStream.toByteArray(), StandardCharsets.UTF_8);
+    }
+}
@@ -83,6 +83,44 @@ public class BMapValueTest {
         assertEquals(map.size(), 101);
     }
 
+    @Test(description = "Testing map beyond the previous 64K entry limit")
+    public void testLargeBMap() {
+        BMap<String, BInteger> map = new BMap<>();
+        int count = 100000;
+        for (int i = 0; i < count; i++) {
+            map.put("key" + i, new BInteger(i));
+        }
+        assertEquals(map.size(), count);
+        assertEquals(map.get("key0"), new BInteger(0));
+        assertEquals(map.get("key99999"), new BInteger(99999));
+        Assert.assertNull(map.get("key100000"));
+
+        for (int i = 0; i < count; i += 2) {
+            map.remove("key" + i);
+        }
+        assertEquals(map.size(), count / 2);
+        Assert.assertNull(map.get("key50000"));
+        assertEquals(map.get("key50001"), new BInteger(50001));
+
+        map.put("key50001", new BInteger(-1));
+        assertEquals(map.size(), count / 2);
+        assertEquals(map.get("key50001"), new BInteger(-1));
+    }
+
+    @Test(description = "Testing map preserves insertion order across updates and removals")
+    public void testBMapInsertionOrder() {
+        BMap<String, BRefType> map = new BMap<>();
+        map.put("c", new BInteger(1));
+        map.put("a", new BInteger(2));
+        map.put("b", new BInteger(3));
+        map.remove("a");
+        map.put("c", new BInteger(4));
+        map.put("a", new BInteger(5));
+
+        Assert.assertEquals(map.keySet().toArray(), new String[]{"c", "b", "a"});
+        Assert.assertEquals(map.stringValue(), "{\"c\":4, \"b\":3, \"a\":5}");
+    }
+
     @Test
     void testGrammar() {
         programFile = BTestUtils.compile("test-src/types/map/map-value.bal");
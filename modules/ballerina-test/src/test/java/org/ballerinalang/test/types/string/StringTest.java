@@ -26,6 +26,7 @@ import org.ballerinalang.model.values.BString;
 import org.ballerinalang.model.values.BStringArray;
 import org.ballerinalang.model.values.BValue;
 import org.ballerinalang.model.values.BXMLItem;
+import org.ballerinalang.nativeimpl.lang.utils.PatternCache;
 import org.ballerinalang.test.utils.BTestUtils;
 import org.ballerinalang.test.utils.CompileResult;
 import org.ballerinalang.util.exceptions.BLangRuntimeException;
@@ -34,6 +35,7 @@ import org.testng.annotations.BeforeClass;
 import org.testng.annotations.Test;
 
 import java.io.UnsupportedEncodingException;
+import java.util.regex.Pattern;
 
 /**
  * Test Native functions in ballerina.model.string.
@@ -308,4 +310,82 @@ public class StringTest {
                 "Produced Blob value is wrong");
     }
 
+    @Test
+    public void testRegexMatches() {
+        BValue[] args = {new BString("[a-z]+@[a-z]+\\.com"), new BString("john@example.com")};
+        BValue[] returns = BTestUtils.invoke(result, "regexMatches", args);
+        Assert.assertTrue(((BBoolean) returns[0]).booleanValue());
+
+        args = new BValue[]{new BString("[a-z]+@[a-z]+\\.com"), new BString("mail john@example.com")};
+        returns = BTestUtils.invoke(result, "regexMatches", args);
+        Assert.assertFalse(((BBoolean) returns[0]).booleanValue());
+    }
+
+    @Test
+    public void testRegexFindGroups() {
+        BValue[] args = {new BString("([0-9]+) (GET|POST) ([^ ]+)( HTTP)?"),
+                new BString("1510000000 POST /orders 201")};
+        BValue[] returns = BTestUtils.invoke(result, "regexFindGroups", args);
+
+        BStringArray groups = (BStringArray) returns[0];
+        Assert.assertEquals(groups.size(), 5);
+        Assert.assertEquals(groups.get(0), "1510000000 POST /orders");
+        Assert.assertEquals(groups.get(1), "1510000000");
+        Assert.assertEquals(groups.get(2), "POST");
+        Assert.assertEquals(groups.get(3), "/orders");
+        Assert.assertEquals(groups.get(4), "");
+
+        args = new BValue[]{new BString("([0-9]+) (GET|POST)"), new BString("no match")};
+        returns = BTestUtils.invoke(result, "regexFindGroups", args);
+        Assert.assertEquals(((BStringArray) returns[0]).size(), 0);
+    }
+
+    @Test
+    public void testRegexFindAll() {
+        BValue[] args = {new BString("[0-9]+"), new BString("a1b22c333")};
+        BValue[] returns = BTestUtils.invoke(result, "regexFindAll", args);
+
+        BStringArray matches = (BStringArray) returns[0];
+        Assert.assertEquals(matches.size(), 3);
+        Assert.assertEquals(matches.get(0), "1");
+        Assert.assertEquals(matches.get(1), "22");
+        Assert.assertEquals(matches.get(2), "333");
+    }
+
+    @Test
+    public void testRegexReplace() {
+        BValue[] args = {new BString("([a-z]+)=([0-9]+)"), new BString("a=1, b=2"), new BString("$2=$1")};
+        BValue[] returns = BTestUtils.invoke(result, "regexReplace", args);
+        Assert.assertEquals(returns[0].stringValue(), "1=a, 2=b");
+    }
+
+    @Test
+    public void testRegexStruct() {
+        BValue[] returns = BTestUtils.invoke(result, "regexStructMatches", new BValue[]{new BString("ABC")});
+        Assert.assertFalse(((BBoolean) returns[0]).booleanValue());
+        Assert.assertTrue(((BBoolean) returns[1]).booleanValue());
+    }
+
+    @Test(expectedExceptions = {BLangRuntimeException.class},
+            expectedExceptionsMessageRegExp = "(?s).*invalid regular expression '\\(\\[a-z\\]\\+': .*")
+    public void testInvalidRegex() {
+        BValue[] args = {new BString("([a-z]+"), new BString("abc")};
+        BTestUtils.invoke(result, "regexMatches", args);
+    }
+
+    @Test
+    public void testPatternCacheEviction() {
+        PatternCache patternCache = new PatternCache(2);
+        Pattern first = patternCache.get("a+");
+        patternCache.get("b+");
+        Assert.assertSame(patternCache.get("a+"), first);
+
+        // The least recently used pattern is evicted
+        Pattern third = patternCache.get("c+");
+        Assert.assertEquals(patternCache.size(), 2);
+        Assert.assertSame(patternCache.get("a+"), first);
+        Assert.assertSame(patternCache.get("c+"), third);
+        Assert.assertEquals(patternCache.size(), 2);
+    }
+
 }
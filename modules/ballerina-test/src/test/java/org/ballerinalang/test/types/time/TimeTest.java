@@ -242,4 +242,40 @@ public class TimeTest {
         Assert.assertEquals(returns[9].stringValue(), "08-23-59-544:+0700");
         Assert.assertEquals(returns[10].stringValue(), "2014-05-29-23:44:59.544");
     }
+
+    @Test(description = "Test parsing a time with the UTC offset.")
+    public void testParseTimeWithUTCOffset() {
+        BValue[] args = {};
+        BValue[] returns = BTestUtils.invoke(result, "testParseTimeWithUTCOffset", args);
+        Assert.assertEquals(((BInteger) returns[0]).intValue(), 1498488382440L);
+        Assert.assertEquals((returns[1]).stringValue(), "Z");
+        Assert.assertEquals(((BInteger) returns[2]).intValue(), 0);
+        Assert.assertEquals((returns[3]).stringValue(), "2017-06-26T14:46:22.44Z");
+    }
+
+    @Test(expectedExceptions = BLangRuntimeException.class,
+          expectedExceptionsMessageRegExp = ".*parse date 2017-02-32T09:46:22.444-0500 for the format "
+                  + "yyyy-MM-dd'T'HH:mm:ss.SSSZ failed.*")
+    public void testParseInvalidDate() {
+        BValue[] args = {};
+        BTestUtils.invoke(result, "testParseInvalidDate", args);
+    }
+
+    @Test(description = "Test changing the timezone of a time repeatedly.")
+    public void testRepeatedToTimezone() {
+        BValue[] args = {};
+        BValue[] returns = BTestUtils.invoke(result, "testRepeatedToTimezone", args);
+        Assert.assertEquals((returns[0]).stringValue(), "2016-03-01T20:16:22.444+0530");
+        Assert.assertEquals((returns[1]).stringValue(), "2016-03-01T20:16:22.444+0530");
+        Assert.assertEquals((returns[2]).stringValue(), "Asia/Colombo");
+        Assert.assertEquals(((BInteger) returns[3]).intValue(), 19800);
+    }
+
+    @Test(description = "Test modifying the timezone of a time does not modify the timezone of other times.")
+    public void testModifyTimezone() {
+        BValue[] args = {};
+        BValue[] returns = BTestUtils.invoke(result, "testModifyTimezone", args);
+        Assert.assertEquals((returns[0]).stringValue(), "Asia/Colombo");
+        Assert.assertEquals(((BInteger) returns[1]).intValue(), 19800);
+    }
 }
@@ -0,0 +1,193 @@
+/*
+ *  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.ballerinalang.test.utils.ws;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.websocket.RemoteEndpoint;
+import javax.websocket.SendHandler;
+import javax.websocket.SendResult;
+
+/**
+ * Mock async remote endpoint for WebSocket test cases, which simulates a client reading the frames sent to it.
+ * <p>
+ * A frame is received when its write completes. Writes complete on the thread which sends them, or on the given
+ * executor to simulate a transport completing them on its own threads. While the client is paused, writes do not
+ * complete, the same as when a client does not read.
+ */
+public class MockAsyncRemoteEndpoint implements RemoteEndpoint.Async {
+
+    private final Executor executor;
+    private final List<Object> framesReceived = Collections.synchronizedList(new ArrayList<>());
+    private final List<Runnable> pendingWrites = new ArrayList<>();
+    private final AtomicInteger flushCount = new AtomicInteger();
+    private volatile boolean batchingAllowed = false;
+    private boolean paused = false;
+    private Throwable failure = null;
+
+    public MockAsyncRemoteEndpoint() {
+        this(null);
+    }
+
+    public MockAsyncRemoteEndpoint(Executor executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * Get the frames received so far, in the order they were received. Text frames are strings and binary frames are
+     * byte arrays.
+     *
+     * @return frames received
+     */
+    public List<Object> getFramesReceived() {
+        synchronized (framesReceived) {
+            return new ArrayList<>(framesReceived);
+        }
+    }
+
+    public int getFrameCount() {
+        return framesReceived.size();
+    }
+
+    public int getFlushCount() {
+        return flushCount.get();
+    }
+
+    public synchronized void pause() {
+        paused = true;
+    }
+
+    public void resume() {
+        List<Runnable> writes;
+        synchronized (this) {
+            paused = false;
+            writes = new ArrayList<>(pendingWrites);
+            pendingWrites.clear();
+        }
+        writes.forEach(this::complete);
+    }
+
+    public synchronized void setFailure(Throwable failure) {
+        this.failure = failure;
+    }
+
+    @Override
+    public void sendText(String text, SendHandler handler) {
+        write(text, handler);
+    }
+
+    @Override
+    public void sendBinary(ByteBuffer data, SendHandler handler) {
+        byte[] bytes = new byte[data.remaining()];
+        data.get(bytes);
+        write(bytes, handler);
+    }
+
+    private void write(Object frame, SendHandler handler) {
+        Runnable write;
+        synchronized (this) {
+            if (failure != null) {
+                SendResult result = new SendResult(failure);
+                write = () -> handler.onResult(result);
+            } else {
+                write = () -> {
+                    framesReceived.add(frame);
+                    handler.onResult(new SendResult());
+                };
+            }
+            if (paused) {
+                pendingWrites.add(write);
+                return;
+            }
+        }
+        complete(write);
+    }
+
+    private void complete(Runnable write) {
+        if (executor == null) {
+            write.run();
+        } else {
+            executor.execute(write);
+        }
+    }
+
+    @Override
+    public long getSendTimeout() {
+        return 0;
+    }
+
+    @Override
+    public void setSendTimeout(long timeoutmillis) {
+
+    }
+
+    @Override
+    public Future<Void> sendText(String text) {
+        return null;
+    }
+
+    @Override
+    public Future<Void> sendBinary(ByteBuffer data) {
+        return null;
+    }
+
+    @Override
+    public Future<Void> sendObject(Object data) {
+        return null;
+    }
+
+    @Override
+    public void sendObject(Object data, SendHandler handler) {
+
+    }
+
+    @Override
+    public void setBatchingAllowed(boolean allowed) throws IOException {
+        if (batchingAllowed && !allowed) {
+            flushCount.incrementAndGet();
+        }
+        batchingAllowed = allowed;
+    }
+
+    @Override
+    public boolean getBatchingAllowed() {
+        return batchingAllowed;
+    }
+
+    @Override
+    public void flushBatch() throws IOException {
+        flushCount.incrementAndGet();
+    }
+
+    @Override
+    public void sendPing(ByteBuffer applicationData) throws IOException, IllegalArgumentException {
+
+    }
+
+    @Override
+    public void sendPong(ByteBuffer applicationData) throws IOException, IllegalArgumentException {
+
+    }
+}
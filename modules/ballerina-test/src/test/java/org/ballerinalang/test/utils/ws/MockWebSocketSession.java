@@ -39,14 +39,20 @@ public class MockWebSocketSession implements Session {
 
     private final String id;
     private final MockBasicRemoteEndpoint remoteEndpoint;
+    private final MockAsyncRemoteEndpoint asyncRemoteEndpoint;
     private CloseReason closeReason;
     private boolean isOpen = false;
     private boolean isSecure = false;
     private String subProtocol;
 
     public MockWebSocketSession(String id) {
+        this(id, new MockAsyncRemoteEndpoint());
+    }
+
+    public MockWebSocketSession(String id, MockAsyncRemoteEndpoint asyncRemoteEndpoint) {
         this.id = id;
         remoteEndpoint = new MockBasicRemoteEndpoint();
+        this.asyncRemoteEndpoint = asyncRemoteEndpoint;
         isOpen = true;
     }
 
@@ -157,7 +163,11 @@ public class MockWebSocketSession implements Session {
 
     @Override
     public RemoteEndpoint.Async getAsyncRemote() {
-        return null;
+        return asyncRemoteEndpoint;
+    }
+
+    public MockAsyncRemoteEndpoint getAsyncRemoteEndpoint() {
+        return asyncRemoteEndpoint;
     }
 
     @Override
@@ -50,4 +50,15 @@ public class WorkerInFunctionTest {
         Assert.assertEquals(returns[0].stringValue(), expected);
     }
 
+    @Test(description = "Test workers parking on data channels while passing messages around a ring")
+    public void testWorkerRing() {
+        CompileResult result = BTestUtils.compile("test-src/workers/worker-ring.bal");
+        for (int i = 0; i < 100; i++) {
+            BValue[] args = {new BInteger(500)};
+            BValue[] returns = BTestUtils.invoke(result, "testWorkerRing", args);
+            Assert.assertEquals(returns.length, 1);
+            Assert.assertEquals(((BInteger) returns[0]).intValue(), 1500);
+        }
+    }
+
 }
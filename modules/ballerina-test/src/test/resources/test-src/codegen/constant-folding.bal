@@ -0,0 +1,73 @@
+function foldIntExpr() (int) {
+    return 60 * 60 * 24 + 10 / 3 - 7 % 4 + -5;
+}
+
+function foldFloatExpr() (float) {
+    return 2.5 * 4.0 - 1.5 / 0.5;
+}
+
+function foldStringExpr() (string) {
+    return "Hello" + ", " + "World";
+}
+
+function foldBooleanExpr() (boolean, boolean, boolean) {
+    return 10 > 5 && "a" == "a", !(1.0 <= 0.5) || false, 3 != 3;
+}
+
+function foldMixedExpr(int a) (int) {
+    return a * (2 + 3) + 4 * 5;
+}
+
+function divideByZero() (int) {
+    return 10 / 0;
+}
+
+function constantIfCondition() (string) {
+    string result = "";
+    if (1 < 2) {
+        result = result + "taken";
+    } else {
+        result = result + "not taken";
+    }
+    if (false) {
+        result = result + " unreachable";
+    }
+    if (true && false) {
+        result = result + " unreachable";
+    } else if (!false) {
+        result = result + " else-if";
+    }
+    return result;
+}
+
+function constantWhileCondition() (int) {
+    int i = 0;
+    while (false) {
+        i = i + 100;
+    }
+    while (true) {
+        i = i + 1;
+        if (i >= 10) {
+            break;
+        }
+    }
+    return i;
+}
+
+function nestedLoops(int n) (int) {
+    int count = 0;
+    int i = 0;
+    while (i < n) {
+        int j = 0;
+        while (j < n) {
+            if (j % 2 == 0) {
+                count = count + 1;
+            } else {
+                count = count + 2;
+            }
+            j = j + 1;
+        }
+        i = i + 1;
+    }
+    return count;
+}
@@ -0,0 +1,29 @@
+function xmlToJson(xml x) (json) {
+    json j;
+    j, _ = <json>x;
+    return j;
+}
+
+function jsonToXml(json j) (xml, TypeConversionError) {
+    xml x;
+    TypeConversionError err;
+    x, err = <xml>j;
+    return x, err;
+}
+
+function roundTrip(xml x) (xml) {
+    json j;
+    j, _ = <json>x;
+    xml result;
+    result, _ = <xml>j;
+    return result;
+}
+
+function convertSequence() (json) {
+    xml x1 = xml `<name>John</name>`;
+    xml x2 = xml `<age>30</age>`;
+    xml seq = x1 + x2;
+    json j;
+    j, _ = <json>seq;
+    return j;
+}
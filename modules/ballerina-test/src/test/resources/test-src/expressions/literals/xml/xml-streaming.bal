@@ -0,0 +1,10 @@
+import ballerina.lang.xmls;
+
+function selectOrders (xml envelope) (xml) {
+    return xmls:selectPath(envelope, "{http://schemas.xmlsoap.org/soap/envelope/}Envelope/{http://schemas.xmlsoap.org/soap/envelope/}Body/*");
+}
+
+function selectItems (xml envelope) (xml) {
+    xml orders = selectOrders(envelope);
+    return xmls:selectChildren(orders, "{http://example.com/orders}item");
+}
@@ -536,3 +536,41 @@ function testAnyNullToStringWithErrors()(string, TypeCastError) {
 
     return s, err;
 }
+
+function testRepeatedStructCasting()(int, int) {
+    A a = {x: "x-valueof-a", y:4};
+    B b = {x: "x-valueof-b"};
+    any anyA = a;
+    any anyB = b;
+    B castB;
+    A castA;
+    TypeCastError err;
+    int casts = 0;
+    int errors = 0;
+    int i = 0;
+    while (i < 10) {
+        castB, err = (B) anyA;
+        if (err == null) {
+            casts = casts + 1;
+        }
+        castA, err = (A) anyB;
+        if (err != null) {
+            errors = errors + 1;
+        }
+        i = i + 1;
+    }
+    return casts, errors;
+}
+
+struct Owner {
+    string name;
+    A pet;
+}
+
+function testCastToConstraintJSON(json j)(json<Owner>, TypeCastError) {
+    any a = j;
+    json<Owner> owner;
+    TypeCastError err;
+    owner, err = (json<Owner>) a;
+    return owner, err;
+}
@@ -0,0 +1,38 @@
+function fib(int n) (int) {
+    if (n < 2) {
+        return n;
+    }
+    return fib(n - 1) + fib(n - 2);
+}
+
+function sumTo(int n) (int) {
+    if (n == 0) {
+        return 0;
+    }
+    return n + sumTo(n - 1);
+}
+
+function zeroValues(int seed) (string) {
+    int i;
+    string s;
+    float f;
+    string result = s + ":" + i + ":" + f;
+    i = seed;
+    s = "s" + seed;
+    f = 1.5;
+    return result;
+}
+
+function testFib(int n) (int) {
+    return fib(n);
+}
+
+function testDeepRecursion(int n) (int) {
+    return sumTo(n);
+}
+
+function testLocalsResetOnReuse() (string) {
+    string r1 = zeroValues(5);
+    string r2 = zeroValues(6);
+    return r1 + "|" + r2;
+}
@@ -0,0 +1,39 @@
+import ballerina.lang.math;
+import ballerina.lang.strings;
+import ballerina.lang.time;
+
+function mathCalls (float a, float b, int c) (float, int, float) {
+    return math:pow(a, b), math:floorMod(c, 3), math:scalb(a, c);
+}
+
+function mixedArguments (string s, int from, int to) (string, int, boolean) {
+    string sub = strings:subString(s, from, to);
+    return sub, strings:length(sub), strings:hasSuffix(s, sub);
+}
+
+function timeComponents (int year) (int, int, int, int, int, int, int) {
+    time:Time t = time:createTime(year, 2, 14, 10, 30, 15, 250, "UTC");
+    int y;
+    int m;
+    int d;
+    y, m, d = time:getDate(t);
+    int h;
+    int min;
+    int s;
+    int ms;
+    h, min, s, ms = time:getTime(t);
+    return y, m, d, h, min, s, ms;
+}
+
+function catchNativeError (string s) (string, string, string) {
+    string result = "";
+    string message = "";
+    string caller = "";
+    try {
+        result = strings:subString(s, 2, 100);
+    } catch (error e) {
+        message = e.msg;
+        caller = e.stackTrace[0].caller;
+    }
+    return result, message, caller;
+}
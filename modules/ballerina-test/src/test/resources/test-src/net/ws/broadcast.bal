@@ -0,0 +1,45 @@
+import ballerina.net.ws;
+
+function testPushTextAsync(ws:Connection conn, string text) (boolean, int) {
+    boolean writable = conn.pushTextAsync(text);
+    return writable, conn.getBufferedAmount();
+}
+
+function testPushBinaryAsync(ws:Connection conn, blob data) (boolean, int) {
+    boolean writable = conn.pushBinaryAsync(data);
+    return writable, conn.getBufferedAmount();
+}
+
+function testPushMessages(ws:Connection conn, int count) {
+    int i = 0;
+    while (i < count) {
+        _ = conn.pushTextAsync("message " + i);
+        i = i + 1;
+    }
+}
+
+function testJoinGroup(ws:Connection conn, string groupName) {
+    conn.joinGroup(groupName);
+}
+
+function testLeaveGroup(ws:Connection conn, string groupName) {
+    conn.leaveGroup(groupName);
+}
+
+function testBroadcastText(string groupName, string text) (int) {
+    return ws:broadcastText(groupName, text);
+}
+
+function testBroadcastBinary(string groupName, blob data) (int) {
+    return ws:broadcastBinary(groupName, data);
+}
+
+function testBroadcastMessages(string groupName, int count) (int) {
+    int pushed = 0;
+    int i = 0;
+    while (i < count) {
+        pushed = pushed + ws:broadcastText(groupName, "message " + i);
+        i = i + 1;
+    }
+    return pushed;
+}
@@ -0,0 +1,35 @@
+import ballerina.lang.strings;
+
+struct Person {
+    string name;
+    int age;
+}
+
+function fib(int n) (int) {
+    if (n < 2) {
+        return n;
+    }
+    return fib(n - 1) + fib(n - 2);
+}
+
+function toUpperCase(string s) (string) {
+    return strings:toUpperCase(s);
+}
+
+function profiledProgram() (int, string) {
+    return fib(10), toUpperCase("ballerina");
+}
+
+function allocate(int count) (int) {
+    int i = 0;
+    int total = 0;
+    while (i < count) {
+        Person p = {name:"Tom", age:i};
+        map m = {};
+        json j = {name:p.name};
+        m["person"] = p;
+        total = total + p.age;
+        i = i + 1;
+    }
+    return total;
+}
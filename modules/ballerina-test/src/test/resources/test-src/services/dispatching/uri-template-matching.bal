@@ -307,4 +307,26 @@ service<http> echo55 {
         res.setJsonPayload(responseJson);
         res.send();
     }
-}
\ No newline at end of file
+}
+@http:configuration {basePath:"/echo66"}
+service<http> echo66 {
+    @http:resourceConfig {
+        methods:["GET"],
+        path:"/prefixed/{id}"
+    }
+    resource echo1 (http:Request req, http:Response res, string id) {
+        json responseJson = {"echo66":"prefixed", "id":id};
+        res.setJsonPayload(responseJson);
+        res.send();
+    }
+
+    @http:resourceConfig {
+        methods:["GET"],
+        path:"/prefix{id}"
+    }
+    resource echo2 (http:Request req, http:Response res, string id) {
+        json responseJson = {"echo66":"prefix", "id":id};
+        res.setJsonPayload(responseJson);
+        res.send();
+    }
+}
@@ -110,6 +110,23 @@ function toXmlComplex () (xml) {
     return null;
 }
 
+function testToJsonArrayTypes () (json) {
+    sql:ClientConnector testDB = create sql:ClientConnector(sql:HSQLDB_FILE, "./target/tempdb/",
+                                                            0, "TEST_DATA_TABLE_DB", "SA", "", {maximumPoolSize:1});
+    sql:Parameter[] parameters = [];
+
+    try {
+        datatable dt = testDB.select("SELECT int_array, long_array, float_array, boolean_array, string_array
+                    from ArrayTypes where row_id = 1", parameters);
+        json result;
+        result, _ = <json>dt;
+        return result;
+    } finally {
+        testDB.close();
+    }
+    return null;
+}
+
 function testJsonWithNull () (json) {
     sql:ClientConnector testDB = create sql:ClientConnector(sql:HSQLDB_FILE, "./target/tempdb/",
                                                             0, "TEST_DATA_TABLE_DB", "SA", "", {maximumPoolSize:1});
@@ -127,6 +144,40 @@ function testJsonWithNull () (json) {
     return null;
 }
 
+function testToJsonWithFetchSize () (json) {
+    sql:ClientConnector testDB = create sql:ClientConnector(sql:HSQLDB_FILE, "./target/tempdb/",
+                                                            0, "TEST_DATA_TABLE_DB", "SA", "", {maximumPoolSize:1,
+                                                                                                fetchSize:1});
+
+    sql:Parameter[] parameters = [];
+    try {
+        datatable dt = testDB.select("SELECT int_type, string_type from DataTable ORDER BY row_id", parameters);
+        json result;
+        result, _ = <json>dt;
+        return result;
+    }  finally {
+        testDB.close();
+    }
+    return null;
+}
+
+function testToJsonWithDuplicateColumns () (json) {
+    sql:ClientConnector testDB = create sql:ClientConnector(sql:HSQLDB_FILE, "./target/tempdb/",
+                                                            0, "TEST_DATA_TABLE_DB", "SA", "", {maximumPoolSize:1});
+
+    sql:Parameter[] parameters = [];
+    try {
+        datatable dt = testDB.select("SELECT dt1.int_type, dt2.int_type from DataTable dt1
+           left join DataTableRep dt2 on dt1.row_id = dt2.row_id WHERE dt1.row_id = 1", parameters);
+        json result;
+        result, _ = <json>dt;
+        return result;
+    }  finally {
+        testDB.close();
+    }
+    return null;
+}
+
 function testXmlWithNull () (xml) {
     sql:ClientConnector testDB = create sql:ClientConnector(sql:HSQLDB_FILE, "./target/tempdb/",
                                                             0, "TEST_DATA_TABLE_DB", "SA", "", {maximumPoolSize:1});
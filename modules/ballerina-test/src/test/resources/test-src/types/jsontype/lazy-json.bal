@@ -0,0 +1,28 @@
+function getCity (json j) (string) {
+    string city;
+    city, _ = (string)j.person.address.city;
+    return city;
+}
+
+function sumItems (json j) (int) {
+    int sum = 0;
+    int i = 0;
+    while (i < lengthof j.items) {
+        int value;
+        value, _ = (int)j.items[i];
+        sum = sum + value;
+        i = i + 1;
+    }
+    return sum;
+}
+
+function setNestedField (json j) (json) {
+    j.person.address.city = "Kandy";
+    return j;
+}
+
+function setThroughElement (json j) (json, json) {
+    json address = j.person.address;
+    address.zip = 20000;
+    return j, address;
+}
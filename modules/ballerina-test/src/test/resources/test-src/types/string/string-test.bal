@@ -91,3 +91,30 @@ function split(string j, string k) (string[]) {
 function toBlob(string l, string m) (blob) {
     return strings:toBlob(l, m);
 }
+
+function regexMatches(string regex, string s) (boolean) {
+    strings:Regex compiledRegex = strings:compileRegex(regex);
+    return strings:matchesRegex(compiledRegex, s);
+}
+
+function regexFindGroups(string regex, string s) (string[]) {
+    strings:Regex compiledRegex = strings:compileRegex(regex);
+    return strings:findGroups(compiledRegex, s);
+}
+
+function regexFindAll(string regex, string s) (string[]) {
+    strings:Regex compiledRegex = strings:compileRegex(regex);
+    return strings:findAll(compiledRegex, s);
+}
+
+function regexReplace(string regex, string s, string replaceWith) (string) {
+    strings:Regex compiledRegex = strings:compileRegex(regex);
+    return strings:replaceRegex(compiledRegex, s, replaceWith);
+}
+
+function regexStructMatches(string s) (boolean, boolean) {
+    strings:Regex regex = {pattern:"[a-z]+"};
+    boolean lowerCase = strings:matchesRegex(regex, s);
+    regex.pattern = "[A-Z]+";
+    return lowerCase, strings:matchesRegex(regex, s);
+}
@@ -214,3 +214,38 @@ function testParseTimeWithDifferentFormats () (int year, int month, int day, int
     datetimeStr = time:format(timeStruct, "yyyy-MM-dd-HH:mm:ss.SSS");
     return;
 }
+
+function testParseTimeWithUTCOffset () (int timeValue, string zoneId, int zoneoffset, string timeString) {
+    time:Time timeStruct = time:parse("2017-06-26T14:46:22.440+0000", "yyyy-MM-dd'T'HH:mm:ss.SSSZ");
+    timeValue = timeStruct.time;
+    zoneId = timeStruct.zone.zoneId;
+    zoneoffset = timeStruct.zone.zoneOffset;
+    timeString = time:toString(timeStruct);
+    return;
+}
+
+function testParseInvalidDate () {
+    time:Time timeStruct = time:parse("2017-02-32T09:46:22.444-0500", "yyyy-MM-dd'T'HH:mm:ss.SSSZ");
+}
+
+function testRepeatedToTimezone () (string firstTime, string secondTime, string zoneId, int zoneoffset) {
+    time:Time timeStruct = time:parse("2016-03-01T09:46:22.444-0500", "yyyy-MM-dd'T'HH:mm:ss.SSSZ");
+    time:Time first = time:toTimezone(timeStruct, "Asia/Colombo");
+    time:Time second = time:toTimezone(timeStruct, "Asia/Colombo");
+    firstTime = time:format(first, "yyyy-MM-dd'T'HH:mm:ss.SSSZ");
+    secondTime = time:format(second, "yyyy-MM-dd'T'HH:mm:ss.SSSZ");
+    zoneId = second.zone.zoneId;
+    zoneoffset = second.zone.zoneOffset;
+    return;
+}
+
+function testModifyTimezone () (string zoneId, int zoneoffset) {
+    time:Time timeStruct = time:parse("2016-03-01T09:46:22.444-0500", "yyyy-MM-dd'T'HH:mm:ss.SSSZ");
+    time:Time first = time:toTimezone(timeStruct, "Asia/Colombo");
+    first.zone.zoneId = "modified";
+    first.zone.zoneOffset = 0;
+    time:Time second = time:toTimezone(timeStruct, "Asia/Colombo");
+    zoneId = second.zone.zoneId;
+    zoneoffset = second.zone.zoneOffset;
+    return;
+}
@@ -0,0 +1,45 @@
+function testWorkerRing (int rounds) (int) {
+    worker default {
+        int token = 0;
+        int i = 0;
+        while (i < rounds) {
+            token -> w1;
+            token <- w3;
+            i = i + 1;
+        }
+        return token;
+    }
+
+    worker w1 {
+        int token;
+        int i = 0;
+        while (i < rounds) {
+            token <- default;
+            token = token + 1;
+            token -> w2;
+            i = i + 1;
+        }
+    }
+
+    worker w2 {
+        int token;
+        int i = 0;
+        while (i < rounds) {
+            token <- w1;
+            token = token + 1;
+            token -> w3;
+            i = i + 1;
+        }
+    }
+
+    worker w3 {
+        int token;
+        int i = 0;
+        while (i < rounds) {
+            token <- w2;
+            token = token + 1;
+            token -> default;
+            i = i + 1;
+        }
+    }
+}
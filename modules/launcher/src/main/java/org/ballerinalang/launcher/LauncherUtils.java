@@ -21,10 +21,12 @@ import org.ballerinalang.BLangProgramLoader;
 import org.ballerinalang.BLangProgramRunner;
 import org.ballerinalang.compiler.CompilerPhase;
 import org.ballerinalang.connector.impl.ServerConnectorRegistry;
+import org.ballerinalang.runtime.metrics.Metrics;
 import org.ballerinalang.runtime.threadpool.ThreadPoolFactory;
 import org.ballerinalang.util.BLangConstants;
 import org.ballerinalang.util.codegen.ProgramFile;
 import org.ballerinalang.util.codegen.ProgramFileReader;
+import org.ballerinalang.util.profiler.VMProfiler;
 import org.wso2.ballerinalang.compiler.Compiler;
 import org.wso2.ballerinalang.compiler.util.CompilerContext;
 import org.wso2.ballerinalang.compiler.util.CompilerOptions;
@@ -50,6 +52,7 @@ import java.util.concurrent.TimeUnit;
 import static org.ballerinalang.compiler.CompilerOptionName.COMPILER_PHASE;
 import static org.ballerinalang.compiler.CompilerOptionName.PRESERVE_WHITESPACE;
 import static org.ballerinalang.compiler.CompilerOptionName.SOURCE_ROOT;
+import static org.ballerinalang.runtime.Constants.SYSTEM_PROP_BAL_PROFILE;
 
 /**
  * Contains utility methods for executing a Ballerina program.
@@ -73,6 +76,11 @@ public class LauncherUtils {
             throw new RuntimeException("main function not found in '" + programFile.getProgramFilePath() + "'");
         }
 
+        String profileReportPath = System.getProperty(SYSTEM_PROP_BAL_PROFILE);
+        if (profileReportPath != null) {
+            startProfiler(Paths.get(profileReportPath));
+        }
+
         if (runServices || !programFile.isMainEPAvailable()) {
             if (args.length > 0) {
                 throw LauncherUtils.createUsageException("too many arguments");
@@ -98,6 +106,7 @@ public class LauncherUtils {
         PrintStream outStream = System.out;
 
         ServerConnectorRegistry.getInstance().initServerConnectors();
+        Metrics.startExporters();
 
         outStream.println("ballerina: deploying service(s) in '" + programFile.getProgramFilePath() + "'");
         BLangProgramRunner.runService(programFile);
@@ -105,6 +114,26 @@ public class LauncherUtils {
         ServerConnectorRegistry.getInstance().deploymentComplete();
     }
 
+    /**
+     * Start the VM profiler, and write its reports when the program exits.
+     *
+     * @param reportPath path of the reports without the file extension
+     */
+    public static void startProfiler(Path reportPath) {
+        VMProfiler profiler = VMProfiler.getInstance();
+        profiler.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            profiler.stop();
+            try {
+                profiler.writeReports(reportPath);
+            } catch (IOException e) {
+                PrintStream errStream = System.err;
+                errStream.println("ballerina: cannot write profiler reports to '" + reportPath + "': " +
+                        e.getMessage());
+            }
+        }));
+    }
+
     public static Path getSourceRootPath(String sourceRoot) {
         // Get source root path.
         Path sourceRootPath;
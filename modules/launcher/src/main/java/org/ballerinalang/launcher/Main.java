@@ -41,6 +41,7 @@ import java.util.Properties;
 import java.util.ServiceLoader;
 
 import static org.ballerinalang.runtime.Constants.SYSTEM_PROP_BAL_DEBUG;
+import static org.ballerinalang.runtime.Constants.SYSTEM_PROP_BAL_PROFILE;
 
 /**
  * This class executes a Ballerina program.
@@ -211,6 +212,10 @@ public class Main {
         @Parameter(names = "--ballerina.debug", hidden = true, description = "remote debugging port")
         private String ballerinaDebugPort;
 
+        @Parameter(names = "--profile", description = "profile the program and write the reports to <path>.json " +
+                "and <path>.collapsed")
+        private String profileReportPath;
+
         //TODO: Fix this. Hardcoded parameter for HTTP trace logs due to an issue with JCommander. Github issue #3245
         @Parameter(names = "-Btracelog.http", hidden = true, description = "enable HTTP trace logging")
         private boolean httpTraceLogEnabled;
@@ -235,6 +240,11 @@ public class Main {
                 System.setProperty(SYSTEM_PROP_BAL_DEBUG, ballerinaDebugPort);
             }
 
+            // Enable the VM profiler
+            if (null != profileReportPath) {
+                System.setProperty(SYSTEM_PROP_BAL_PROFILE, profileReportPath);
+            }
+
             Path sourceRootPath = LauncherUtils.getSourceRootPath(sourceRoot);
 
             // Start all services, if the services flag is set.
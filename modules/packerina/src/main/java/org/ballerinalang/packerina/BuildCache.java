@@ -0,0 +1,217 @@
+/*
+*  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.ballerinalang.packerina;
+
+import org.ballerinalang.model.elements.PackageID;
+import org.wso2.ballerinalang.compiler.PackageLoader;
+import org.wso2.ballerinalang.compiler.util.CompilerContext;
+import org.wso2.ballerinalang.compiler.util.CompilerOptions;
+import org.wso2.ballerinalang.compiler.util.FingerprintUtils;
+import org.wso2.ballerinalang.compiler.util.Name;
+import org.wso2.ballerinalang.compiler.util.Names;
+import org.wso2.ballerinalang.programfile.ProgramFileConstants;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.CodeSource;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+import java.util.stream.Collectors;
+
+import static org.ballerinalang.compiler.CompilerOptionName.COMPILER_PHASE;
+import static org.ballerinalang.compiler.CompilerOptionName.PRESERVE_WHITESPACE;
+
+import static org.ballerinalang.util.BLangConstants.USER_REPO_DEFAULT_DIRNAME;
+
+/**
+ * This keeps the fingerprints of the packages a program was built from, so that an incremental build of a program
+ * none of whose packages have changed since its last build is skipped.
+ * <p>
+ * The fingerprints of a program are written to the {@code .ballerina/build-cache} directory of the source root, next
+ * to the fingerprint of the program file written by the build. A program is up to date if the program file is the
+ * one written by the last build, the compiler and the compiler options which affect the program file are the same,
+ * and the sources of the entry package and of every package it was compiled with, including the system packages, are
+ * the same.
+ *
+ * @since 0.95
+ */
+public class BuildCache {
+
+    private static final String BUILD_CACHE_DIRNAME = "build-cache";
+    private static final String FINGERPRINTS_FILE_SUFFIX = ".fingerprints";
+
+    private static final String DISTRIBUTION_PROPERTIES = "/META-INF/launcher.properties";
+    private static final String DISTRIBUTION_VERSION = "ballerina.version";
+    private static final String UNKNOWN_VERSION = "unknown";
+
+    private static final String COMPILER = "compiler";
+    private static final String OUTPUT = "output";
+    private static final String ENTRY = "entry";
+    private static final String PACKAGE = "package";
+
+    private Path fingerprintsFilePath;
+    private Path balxFilePath;
+    private PackageLoader pkgLoader;
+    private CompilerOptions options;
+
+    public BuildCache(Path sourceRootPath, Path balxFilePath, CompilerContext context) {
+        this.fingerprintsFilePath = sourceRootPath.resolve(USER_REPO_DEFAULT_DIRNAME).resolve(BUILD_CACHE_DIRNAME)
+                .resolve(balxFilePath.getFileName() + FINGERPRINTS_FILE_SUFFIX);
+        this.balxFilePath = balxFilePath.toAbsolutePath();
+        this.pkgLoader = PackageLoader.getInstance(context);
+        this.options = CompilerOptions.getInstance(context);
+    }
+
+    /**
+     * Check whether the program built from the given entry package is up to date.
+     *
+     * @param sourcePkg source package/file of the program
+     * @return true if none of the packages of the program have changed since it was built
+     */
+    public boolean isUpToDate(String sourcePkg) {
+        if (!Files.exists(this.fingerprintsFilePath) || !Files.exists(this.balxFilePath)) {
+            return false;
+        }
+
+        try {
+            List<String> lines = Files.readAllLines(this.fingerprintsFilePath, StandardCharsets.UTF_8);
+            // The fingerprint of the compiler comes first, fingerprints written by an older build are out of date
+            if (lines.isEmpty() || !lines.get(0).startsWith(COMPILER + " ")) {
+                return false;
+            }
+            for (String line : lines) {
+                String[] fields = line.split(" ", 3);
+                if (fields.length != 3 || !isUpToDate(fields[0], fields[1], fields[2], sourcePkg)) {
+                    return false;
+                }
+            }
+            return true;
+        } catch (IOException | RuntimeException e) {
+            // A fingerprint which cannot be checked is out of date, the program is built again
+            return false;
+        }
+    }
+
+    /**
+     * Record the fingerprints of a program which has just been built.
+     *
+     * @param sourcePkg source package/file of the program
+     * @throws IOException if the fingerprints cannot be written
+     */
+    public void update(String sourcePkg) throws IOException {
+        List<String> lines = new ArrayList<>();
+        lines.add(COMPILER + " " + getCompilerFingerprint() + " " + getDistributionVersion());
+        lines.add(OUTPUT + " " + getFileFingerprint(this.balxFilePath) + " " + this.balxFilePath);
+        lines.add(ENTRY + " " + this.pkgLoader.getSourceFingerprint(sourcePkg) + " " + sourcePkg);
+        for (PackageID pkgId : this.pkgLoader.getLoadedPackages()) {
+            if (pkgId.equals(PackageID.DEFAULT)) {
+                // The entry source file, which has been fingerprinted as the entry package
+                continue;
+            }
+            lines.add(PACKAGE + " " + this.pkgLoader.getSourceFingerprint(pkgId) + " " + pkgId.getName().value +
+                    " " + pkgId.getPackageVersion().value);
+        }
+
+        Files.createDirectories(this.fingerprintsFilePath.getParent());
+        Files.write(this.fingerprintsFilePath, lines, StandardCharsets.UTF_8);
+    }
+
+    private boolean isUpToDate(String kind, String fingerprint, String name, String sourcePkg) throws IOException {
+        switch (kind) {
+            case COMPILER:
+                return fingerprint.equals(getCompilerFingerprint());
+            case OUTPUT:
+                return name.equals(this.balxFilePath.toString()) &&
+                        fingerprint.equals(getFileFingerprint(this.balxFilePath));
+            case ENTRY:
+                return name.equals(sourcePkg) && fingerprint.equals(this.pkgLoader.getSourceFingerprint(sourcePkg));
+            case PACKAGE:
+                return fingerprint.equals(this.pkgLoader.getSourceFingerprint(getPackageID(name)));
+            default:
+                return false;
+        }
+    }
+
+    private static PackageID getPackageID(String name) {
+        // The name and the version of the package, separated by a space
+        String[] parts = name.split(" ");
+        List<Name> nameComps = Arrays.stream(parts[0].split("\\."))
+                .map(Name::new)
+                .collect(Collectors.toList());
+        Name version = parts.length < 2 || parts[1].equals(Names.DEFAULT_VERSION.value) ?
+                Names.DEFAULT_VERSION : new Name(parts[1]);
+        return new PackageID(nameComps, version);
+    }
+
+    private static String getFileFingerprint(Path filePath) throws IOException {
+        return FingerprintUtils.getFingerprint(Files.readAllBytes(filePath));
+    }
+
+    /**
+     * Get the fingerprint of the compiler which builds the program: the version of the distribution, the version of
+     * the program file format, the build of the compiler classes, and the options which affect the program file.
+     *
+     * @return fingerprint of the compiler
+     * @throws IOException if the compiler classes cannot be read
+     */
+    private String getCompilerFingerprint() throws IOException {
+        String compiler = getDistributionVersion() + " " + ProgramFileConstants.VERSION_NUMBER + " " +
+                getCompilerBuild() + " " + this.options.get(COMPILER_PHASE) + " " +
+                this.options.get(PRESERVE_WHITESPACE) + " " + this.options.getOptimizationLevel();
+        return FingerprintUtils.getFingerprint(compiler.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String getDistributionVersion() {
+        try (InputStream inputStream = BuildCache.class.getResourceAsStream(DISTRIBUTION_PROPERTIES)) {
+            if (inputStream == null) {
+                return UNKNOWN_VERSION;
+            }
+            Properties properties = new Properties();
+            properties.load(inputStream);
+            return properties.getProperty(DISTRIBUTION_VERSION, UNKNOWN_VERSION);
+        } catch (IOException e) {
+            return UNKNOWN_VERSION;
+        }
+    }
+
+    private static String getCompilerBuild() throws IOException {
+        // Snapshot builds of a distribution share its version, the archive of the compiler tells them apart
+        CodeSource codeSource = PackageLoader.class.getProtectionDomain().getCodeSource();
+        URL location = codeSource == null ? null : codeSource.getLocation();
+        if (location == null) {
+            return UNKNOWN_VERSION;
+        }
+        try {
+            Path compilerPath = Paths.get(location.toURI());
+            if (!Files.isRegularFile(compilerPath)) {
+                return compilerPath.toString();
+            }
+            return compilerPath + " " + Files.size(compilerPath) + " " + Files.getLastModifiedTime(compilerPath);
+        } catch (URISyntaxException | IllegalArgumentException e) {
+            return location.toString();
+        }
+    }
+}
@@ -26,17 +26,20 @@ import org.ballerinalang.launcher.BLauncherCmd;
 import org.ballerinalang.launcher.LauncherUtils;
 import org.ballerinalang.util.BLangConstants;
 import org.ballerinalang.util.exceptions.BLangRuntimeException;
+import org.ballerinalang.packerina.BuildCache;
 import org.wso2.ballerinalang.compiler.Compiler;
 import org.wso2.ballerinalang.compiler.util.CompilerContext;
 import org.wso2.ballerinalang.compiler.util.CompilerOptions;
 import org.wso2.ballerinalang.programfile.ProgramFileWriter;
 
+import java.io.IOException;
 import java.io.PrintStream;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.List;
 
 import static org.ballerinalang.compiler.CompilerOptionName.COMPILER_PHASE;
+import static org.ballerinalang.compiler.CompilerOptionName.PARSER_PARALLELISM;
 import static org.ballerinalang.compiler.CompilerOptionName.PRESERVE_WHITESPACE;
 import static org.ballerinalang.compiler.CompilerOptionName.SOURCE_ROOT;
 
@@ -64,6 +67,12 @@ public class BuildCommand implements BLauncherCmd {
     @Parameter(names = "--debug", hidden = true)
     private String debugPort;
 
+    @Parameter(names = "--parallel", description = "parse the sources and the imported packages in parallel")
+    private boolean parallel;
+
+    @Parameter(names = "--incremental", description = "skip the build if no package has changed since the last build")
+    private boolean incremental;
+
     public void execute() {
         if (helpFlag) {
             String commandUsageInfo = BLauncherCmd.getCommandUsageInfo(parentCmdParser, "build");
@@ -88,7 +97,7 @@ public class BuildCommand implements BLauncherCmd {
             targetPath = Paths.get(outputFileName);
         }
 
-        compileAndWrite(sourceRootPath, packagePath, targetPath);
+        compileAndWrite(sourceRootPath, packagePath, targetPath, parallel, incremental);
     }
 
     @Override
@@ -105,11 +114,15 @@ public class BuildCommand implements BLauncherCmd {
         out.append("\n");
         out.append("If the output file is specified with the -o flag, the output \n");
         out.append("will be written to that file. \n");
+        out.append("\n");
+        out.append("With the --parallel flag, source files and imported packages are \n");
+        out.append("parsed in parallel. With the --incremental flag, the build is skipped \n");
+        out.append("if no package of the program has changed since it was last built. \n");
     }
 
     @Override
     public void printUsage(StringBuilder out) {
-        out.append("  ballerina build <balfile | packagename> [-o output] \n");
+        out.append("  ballerina build <balfile | packagename> [-o output] [--parallel] [--incremental] \n");
     }
 
     @Override
@@ -121,26 +134,48 @@ public class BuildCommand implements BLauncherCmd {
     public void setSelfCmdParser(JCommander selfCmdParser) {
     }
 
-    private static void compileAndWrite(Path sourceRootPath, Path packagePath, Path targetPath) {
+    private static void compileAndWrite(Path sourceRootPath, Path packagePath, Path targetPath, boolean parallel,
+                                        boolean incremental) {
         CompilerContext context = new CompilerContext();
         CompilerOptions options = CompilerOptions.getInstance(context);
         options.put(SOURCE_ROOT, sourceRootPath.toString());
         options.put(COMPILER_PHASE, CompilerPhase.CODE_GEN.toString());
         options.put(PRESERVE_WHITESPACE, "false");
+        if (parallel) {
+            options.put(PARSER_PARALLELISM, Integer.toString(Runtime.getRuntime().availableProcessors()));
+        }
 
-        // compile
         Compiler compiler = Compiler.getInstance(context);
+        Path balxFilePath = getTargetBALXFilePath(packagePath, targetPath);
+
+        BuildCache buildCache = null;
+        if (incremental) {
+            buildCache = new BuildCache(sourceRootPath, balxFilePath, context);
+            if (buildCache.isUpToDate(packagePath.toString())) {
+                outStream.println("ballerina: '" + balxFilePath.toString() + "' is up to date");
+                return;
+            }
+        }
+
+        // compile
         compiler.compile(packagePath.toString());
         org.wso2.ballerinalang.programfile.ProgramFile programFile = compiler.getCompiledProgram();
 
-        Path balxFilePath = getTargetBALXFilePath(packagePath, targetPath);
-
         try {
             ProgramFileWriter.writeProgram(programFile, balxFilePath);
         } catch (Throwable e) {
             throw new BLangRuntimeException("ballerina: error writing program file '" + balxFilePath.toString() + "'",
                     e);
         }
+
+        if (buildCache != null) {
+            try {
+                buildCache.update(packagePath.toString());
+            } catch (IOException e) {
+                // The program has been built, only the next build is not skipped
+                outStream.println("ballerina: error writing build cache: " + e.getMessage());
+            }
+        }
     }
 
     private static Path getTargetBALXFilePath(Path packagePath, Path targetPath) {
@@ -0,0 +1,148 @@
+/*
+*  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.ballerinalang.packerina;
+
+import org.ballerinalang.compiler.CompilerPhase;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+import org.wso2.ballerinalang.compiler.Compiler;
+import org.wso2.ballerinalang.compiler.util.CompilerContext;
+import org.wso2.ballerinalang.compiler.util.CompilerOptions;
+import org.wso2.ballerinalang.programfile.ProgramFile;
+import org.wso2.ballerinalang.programfile.ProgramFileWriter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+import static org.ballerinalang.compiler.CompilerOptionName.COMPILER_PHASE;
+import static org.ballerinalang.compiler.CompilerOptionName.OPTIMIZATION_LEVEL;
+import static org.ballerinalang.compiler.CompilerOptionName.PRESERVE_WHITESPACE;
+import static org.ballerinalang.compiler.CompilerOptionName.SOURCE_ROOT;
+
+/**
+ * Test incremental builds, which are skipped if no package of the program has changed since its last build.
+ */
+public class BuildCacheTest {
+
+    private static final String ENTRY_PACKAGE = "hello";
+
+    private Path sourceRootPath;
+    private Path balxFilePath;
+
+    @BeforeClass
+    public void setup() throws IOException {
+        sourceRootPath = Files.createTempDirectory("build-cache-test");
+        balxFilePath = sourceRootPath.resolve(ENTRY_PACKAGE + ".balx");
+        writeSource("hello", "hello.bal", "package hello;\n\n" +
+                "import greeting;\n\n" +
+                "function main (string[] args) {\n" +
+                "    string message = greeting:getGreeting();\n" +
+                "}\n");
+        writeGreeting("Hello");
+    }
+
+    @Test(description = "Test rebuilding a program whose packages have not changed.")
+    public void testRebuildUnchanged() throws IOException {
+        Assert.assertTrue(build(), "the first build is skipped");
+        Assert.assertTrue(Files.exists(balxFilePath));
+        Assert.assertFalse(build(), "the build of an unchanged program is not skipped");
+    }
+
+    @Test(description = "Test rebuilding a program after changing a package it imports.",
+            dependsOnMethods = "testRebuildUnchanged")
+    public void testRebuildChangedImport() throws IOException {
+        writeGreeting("Hi");
+        Assert.assertTrue(build(), "the build after changing an imported package is skipped");
+        Assert.assertFalse(build(), "the build of an unchanged program is not skipped");
+    }
+
+    @Test(description = "Test rebuilding a program after its program file is removed.",
+            dependsOnMethods = "testRebuildChangedImport")
+    public void testRebuildRemovedOutput() throws IOException {
+        Files.delete(balxFilePath);
+        Assert.assertTrue(build(), "the build of a program without its program file is skipped");
+        Assert.assertTrue(Files.exists(balxFilePath));
+    }
+
+    @Test(description = "Test rebuilding a program with a different optimization level.",
+            dependsOnMethods = "testRebuildRemovedOutput")
+    public void testRebuildChangedOptions() throws IOException {
+        Assert.assertTrue(build("0"), "the build with another optimization level is skipped");
+        Assert.assertFalse(build("0"), "the build of an unchanged program is not skipped");
+        Assert.assertTrue(build(), "the build with the default optimization level is skipped");
+    }
+
+    @AfterClass
+    public void cleanup() throws IOException {
+        try (Stream<Path> paths = Files.walk(sourceRootPath)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    /**
+     * Build the entry package incrementally, as {@code ballerina build --incremental} does.
+     *
+     * @return true if the program is built, false if the build is skipped
+     * @throws IOException if the program file or the build cache cannot be written
+     */
+    private boolean build() throws IOException {
+        return build(null);
+    }
+
+    private boolean build(String optimizationLevel) throws IOException {
+        CompilerContext context = new CompilerContext();
+        CompilerOptions options = CompilerOptions.getInstance(context);
+        options.put(SOURCE_ROOT, sourceRootPath.toString());
+        options.put(COMPILER_PHASE, CompilerPhase.CODE_GEN.toString());
+        options.put(PRESERVE_WHITESPACE, "false");
+        if (optimizationLevel != null) {
+            options.put(OPTIMIZATION_LEVEL, optimizationLevel);
+        }
+
+        Compiler compiler = Compiler.getInstance(context);
+        BuildCache buildCache = new BuildCache(sourceRootPath, balxFilePath, context);
+        if (buildCache.isUpToDate(ENTRY_PACKAGE)) {
+            return false;
+        }
+
+        compiler.compile(ENTRY_PACKAGE);
+        ProgramFile programFile = compiler.getCompiledProgram();
+        Assert.assertNotNull(programFile, "compilation failed");
+        ProgramFileWriter.writeProgram(programFile, balxFilePath);
+        buildCache.update(ENTRY_PACKAGE);
+        return true;
+    }
+
+    private void writeGreeting(String greeting) throws IOException {
+        writeSource("greeting", "greeting.bal", "package greeting;\n\n" +
+                "public function getGreeting () (string) {\n" +
+                "    return \"" + greeting + "\";\n" +
+                "}\n");
+    }
+
+    private void writeSource(String pkgName, String fileName, String code) throws IOException {
+        Path pkgPath = Files.createDirectories(sourceRootPath.resolve(pkgName));
+        Files.write(pkgPath.resolve(fileName), code.getBytes(StandardCharsets.UTF_8));
+    }
+}